@@ -0,0 +1,120 @@
+package com.__final_backend.backend.benchmark;
+
+import com.__final_backend.backend.dto.BookingDTO;
+import com.__final_backend.backend.entity.BookingRecord;
+import com.__final_backend.backend.entity.User;
+import com.__final_backend.backend.repository.BookingRecordRepository;
+import com.__final_backend.backend.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-booking work outside the database.
+ * <p>
+ * {@code BookingDTO.fromEntity} runs once per row of every booking list. The
+ * two reference generators are private, so they are called through method
+ * handles, which the JIT inlines like direct calls:
+ * {@code service.BookingService} derives a reference from a random UUID, and
+ * {@code service.db.BookingService} draws random letters and digits and checks
+ * each candidate with a repository query. That query is answered here by a
+ * stub that reports every reference as free, so only the generation itself is
+ * measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+
+    private BookingRecord record;
+    private Object uuidReferenceService;
+    private Object uniqueReferenceService;
+    private MethodHandle uuidReference;
+    private MethodHandle uniqueReference;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("siri");
+        user.setEmail("test@test.com");
+        user.setRoles(Set.of("USER"));
+
+        record = new BookingRecord();
+        record.setId(42L);
+        record.setUser(user);
+        record.setBookingReference("B-3F2A9C01D4");
+        record.setAirlineCode("BA");
+        record.setFlightNumber("BA117");
+        record.setOrigin("LHR");
+        record.setDestination("JFK");
+        record.setDepartureTime(LocalDateTime.of(2026, 11, 1, 8, 30));
+        record.setArrivalTime(LocalDateTime.of(2026, 11, 1, 11, 40));
+        record.setPassengerCount(2);
+        record.setTotalPrice(new BigDecimal("825.00"));
+        record.setCreatedAt(LocalDateTime.of(2026, 10, 1, 12, 0));
+
+        BookingRecordRepository freeReferences = repository(BookingRecordRepository.class);
+        uuidReferenceService = new com.__final_backend.backend.service.BookingService(freeReferences,
+                repository(UserRepository.class));
+        uniqueReferenceService = new com.__final_backend.backend.service.db.BookingService(freeReferences);
+        uuidReference = privateMethod(uuidReferenceService.getClass(), "generateBookingReference");
+        uniqueReference = privateMethod(uniqueReferenceService.getClass(), "generateUniqueBookingReference");
+    }
+
+    /** Converts one booking row for a JSON response. */
+    @Benchmark
+    public BookingDTO fromEntity() {
+        return BookingDTO.fromEntity(record);
+    }
+
+    /** Generates a UUID-based reference. */
+    @Benchmark
+    public String uuidReference() throws Throwable {
+        return (String) uuidReference.invoke(uuidReferenceService);
+    }
+
+    /** Generates a letters-and-digits reference, excluding the uniqueness query. */
+    @Benchmark
+    public String uniqueReference() throws Throwable {
+        return (String) uniqueReference.invoke(uniqueReferenceService);
+    }
+
+    private static MethodHandle privateMethod(Class<?> type, String name) throws ReflectiveOperationException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                .findVirtual(type, name, MethodType.methodType(String.class));
+    }
+
+    /**
+     * Creates a repository whose existence checks all return false. Other
+     * methods are not used by the benchmarked code and fail if called.
+     */
+    private static <T> T repository(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("exists")) {
+                        return false;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+}
@@ -0,0 +1,77 @@
+package com.__final_backend.backend.benchmark;
+
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.service.amadeus.FlightOfferDecoder;
+import com.__final_backend.backend.service.amadeus.FlightOfferMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures decoding and mapping of Flight Offers Search responses.
+ * <p>
+ * Each payload is a synthetic round-trip response shaped like the live API's,
+ * with two segments per itinerary and the fare and pricing sections the decoder
+ * skips. Run through the {@code jmh} profile, which adds the GC profiler so the
+ * results include bytes allocated per operation ({@code gc.alloc.rate.norm})
+ * next to ns/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightOfferMappingBenchmark {
+
+    private static final String[] CARRIERS = { "BA", "AA", "DL", "UA", "VS", "AF" };
+
+    private static final Function<String, String> AIRLINE_FALLBACK = code -> code;
+
+    /** Number of offers in the response. */
+    @Param({ "20", "100", "250" })
+    public int offers;
+
+    private String body;
+    private FlightOfferDecoder.DecodedOffers decoded;
+
+    @Setup
+    public void setUp() {
+        body = FlightOfferPayloads.roundTrip(offers, CARRIERS);
+        decoded = FlightOfferDecoder.decode(body);
+    }
+
+    /** Decodes the raw body into segments and dictionaries. */
+    @Benchmark
+    public FlightOfferDecoder.DecodedOffers decode() {
+        return FlightOfferDecoder.decode(body);
+    }
+
+    /**
+     * Maps already decoded segments to DTOs; this is all
+     * {@code FlightServiceImpl.mapToFlightDTOs} does.
+     */
+    @Benchmark
+    public void map(Blackhole blackhole) {
+        FlightOfferMapper.map(decoded, AIRLINE_FALLBACK, blackhole::consume);
+    }
+
+    /** Runs the full search path from raw body to DTOs. */
+    @Benchmark
+    public void decodeAndMap(Blackhole blackhole) {
+        FlightOfferMapper.map(FlightOfferDecoder.decode(body), AIRLINE_FALLBACK,
+                (FlightDTO flight) -> blackhole.consume(flight));
+    }
+}
@@ -0,0 +1,80 @@
+package com.__final_backend.backend.benchmark;
+
+/**
+ * Builds synthetic Flight Offers Search v2 response bodies for benchmarks.
+ */
+final class FlightOfferPayloads {
+
+    private FlightOfferPayloads() {
+    }
+
+    /**
+     * Builds a round-trip response with two segments per itinerary.
+     *
+     * @param offers   the number of offers
+     * @param carriers the airline codes to rotate through
+     * @return the JSON body
+     */
+    static String roundTrip(int offers, String[] carriers) {
+        StringBuilder json = new StringBuilder(offers * 2400);
+        json.append("{\"meta\":{\"count\":").append(offers).append("},\"data\":[");
+        for (int i = 0; i < offers; i++) {
+            String carrier = carriers[i % carriers.length];
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"type\":\"flight-offer\",\"id\":\"").append(i + 1)
+                    .append("\",\"source\":\"GDS\",\"instantTicketingRequired\":false,")
+                    .append("\"lastTicketingDate\":\"2026-11-30\",\"numberOfBookableSeats\":9,")
+                    .append("\"itineraries\":[");
+            itinerary(json, carrier, 100 + i, "JFK", "BOS", "LHR", 6 + i % 12);
+            json.append(',');
+            itinerary(json, carrier, 200 + i, "LHR", "BOS", "JFK", 9 + i % 12);
+            json.append("],\"price\":{\"currency\":\"USD\",\"total\":\"")
+                    .append(400 + i).append('.').append(10 + i % 90)
+                    .append("\",\"base\":\"350.00\",\"fees\":[{\"amount\":\"0.00\",\"type\":\"SUPPLIER\"}],")
+                    .append("\"grandTotal\":\"").append(400 + i).append(".00\"},")
+                    .append("\"pricingOptions\":{\"fareType\":[\"PUBLISHED\"],\"includedCheckedBagsOnly\":true},")
+                    .append("\"validatingAirlineCodes\":[\"").append(carrier).append("\"],")
+                    .append("\"travelerPricings\":[{\"travelerId\":\"1\",\"fareOption\":\"STANDARD\",")
+                    .append("\"travelerType\":\"ADULT\",\"price\":{\"currency\":\"USD\",\"total\":\"400.00\"},")
+                    .append("\"fareDetailsBySegment\":[{\"segmentId\":\"1\",\"cabin\":\"ECONOMY\",")
+                    .append("\"fareBasis\":\"OLN0O7L1\",\"class\":\"O\",")
+                    .append("\"includedCheckedBags\":{\"quantity\":1}}]}]}");
+        }
+        json.append("],\"dictionaries\":{\"locations\":{")
+                .append("\"JFK\":{\"cityCode\":\"NYC\",\"countryCode\":\"US\"},")
+                .append("\"BOS\":{\"cityCode\":\"BOS\",\"countryCode\":\"US\"},")
+                .append("\"LHR\":{\"cityCode\":\"LON\",\"countryCode\":\"GB\"}},")
+                .append("\"aircraft\":{\"320\":\"AIRBUS A320\",\"777\":\"BOEING 777-200/300\"},")
+                .append("\"currencies\":{\"USD\":\"US DOLLAR\"},\"carriers\":{");
+        for (int i = 0; i < carriers.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(carriers[i]).append("\":\"CARRIER ").append(carriers[i]).append('"');
+        }
+        return json.append("}}}").toString();
+    }
+
+    private static void itinerary(StringBuilder json, String carrier, int number, String from, String via,
+            String to, int hour) {
+        json.append("{\"duration\":\"PT9H15M\",\"segments\":[");
+        segment(json, carrier, number, from, via, hour, "320", "PT1H20M", 1);
+        json.append(',');
+        segment(json, carrier, number + 1000, via, to, hour + 2, "777", "PT6H55M", 2);
+        json.append("]}");
+    }
+
+    private static void segment(StringBuilder json, String carrier, int number, String from, String to, int hour,
+            String aircraft, String duration, int id) {
+        String time = String.format("%02d:%02d:00", hour % 24, (number * 7) % 60);
+        json.append("{\"departure\":{\"iataCode\":\"").append(from).append("\",\"terminal\":\"1\",\"at\":\"2026-12-01T")
+                .append(time).append("\"},\"arrival\":{\"iataCode\":\"").append(to)
+                .append("\",\"at\":\"2026-12-01T").append(time).append("\"},\"carrierCode\":\"").append(carrier)
+                .append("\",\"number\":\"").append(number).append("\",\"aircraft\":{\"code\":\"").append(aircraft)
+                .append("\"},\"operating\":{\"carrierCode\":\"").append(carrier).append("\"},\"duration\":\"")
+                .append(duration).append("\",\"id\":\"").append(id)
+                .append("\",\"numberOfStops\":0,\"blacklistedInEU\":false}");
+    }
+}
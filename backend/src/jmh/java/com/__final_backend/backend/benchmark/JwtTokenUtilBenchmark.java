@@ -0,0 +1,73 @@
+package com.__final_backend.backend.benchmark;
+
+import com.__final_backend.backend.config.JwtProperties;
+import com.__final_backend.backend.security.JwtTokenUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JWT work done on every authenticated request.
+ * <p>
+ * {@code JwtAuthenticationFilter} calls {@code validateToken} and then
+ * {@code getAuthentication} on each request carrying a token, so both parse
+ * and verify the same HS512 signature; login calls {@code generateToken} once.
+ * Uses the default signing key and a user with two roles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenUtilBenchmark {
+
+    private JwtTokenUtil jwtTokenUtil;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil(new JwtProperties());
+        authentication = new UsernamePasswordAuthenticationToken("siri", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+        token = jwtTokenUtil.generateToken(authentication);
+    }
+
+    /** Builds and signs a token, as done at login. */
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(authentication);
+    }
+
+    /** Parses and verifies a token. */
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenUtil.validateToken(token);
+    }
+
+    /** Parses a token again and builds the authenticated principal. */
+    @Benchmark
+    public Authentication getAuthentication() {
+        return jwtTokenUtil.getAuthentication(token);
+    }
+
+    /** Runs the filter's per-request pair of calls. */
+    @Benchmark
+    public Authentication validateAndAuthenticate() {
+        return jwtTokenUtil.validateToken(token) ? jwtTokenUtil.getAuthentication(token) : null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.__final_backend.backend.benchmark;
+
+import com.__final_backend.backend.entity.User;
+import com.__final_backend.backend.security.provider.XmlUserProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures user lookups against the XML user file.
+ * <p>
+ * With {@code app.auth.provider=xml}, every login and registration looks users
+ * up by name, and each lookup reads and parses the whole file. The file is
+ * written in the same format as {@code users.xml}, with bcrypt hashes, so its
+ * size per user matches a real one. {@code existing} finds a user halfway
+ * through the file; {@code missing} scans all of it, as registration's
+ * duplicate check does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlUserProviderBenchmark {
+
+    private static final String PASSWORD_HASH = "$2a$10$wmI08GARyG47kxfkFwZE1.HIJF2cgWuRFaX7S8RYP0TumWXURl1bW";
+
+    /** Number of users in the file. */
+    @Param({ "1000", "10000", "100000" })
+    public int users;
+
+    private Path directory;
+    private XmlUserProvider provider;
+    private String middleUsername;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("xml-users");
+        Path file = directory.resolve("users.xml");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><users>");
+            for (int i = 1; i <= users; i++) {
+                writer.write("<user email=\"user" + i + "@example.com\" id=\"" + i + "\" password=\""
+                        + PASSWORD_HASH + "\" roles=\"USER\" username=\"user" + i + "\"/>");
+            }
+            writer.write("</users>");
+        }
+        middleUsername = "user" + (users / 2);
+
+        provider = new XmlUserProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "xmlFilePath", file.toString());
+        provider.init();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("users.xml"));
+        Files.deleteIfExists(directory);
+    }
+
+    /** Looks up a user in the middle of the file. */
+    @Benchmark
+    public Optional<User> existing() {
+        return provider.findByUsername(middleUsername);
+    }
+
+    /** Looks up a name that is not in the file. */
+    @Benchmark
+    public Optional<User> missing() {
+        return provider.findByUsername("nobody");
+    }
+}
@@ -0,0 +1,101 @@
+package com.__final_backend.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies and outcomes of the requests made to one endpoint.
+ * <p>
+ * Every sample is kept rather than bucketed, so percentiles are exact. A run of
+ * a few minutes produces at most a few million samples, which fit comfortably
+ * in memory as a long array.
+ */
+public class EndpointStats {
+    private final String name;
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+    private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+    /**
+     * Creates empty statistics for an endpoint.
+     *
+     * @param name the endpoint, e.g. "POST /api/flights/search"
+     */
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one request.
+     *
+     * @param nanos  the time from sending the request to reading the whole
+     *               response
+     * @param status the HTTP status, or 0 when no response was received
+     * @param ok     whether the response was the one the scenario expected
+     */
+    public synchronized void record(long nanos, int status, boolean ok) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        if (!ok) {
+            errors++;
+        }
+        statuses.merge(status, 1, Integer::sum);
+    }
+
+    /**
+     * Gets the endpoint name.
+     *
+     * @return the method and path template of the endpoint
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Summarises the recorded requests in a form suitable for a JSON report.
+     *
+     * @param seconds the measured duration the requests were made in
+     * @return a map of statistic names to values
+     */
+    public synchronized Map<String, Object> describe(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("endpoint", name);
+        description.put("requests", count);
+        description.put("errors", errors);
+        description.put("throughputPerSecond", round(count / seconds));
+        description.put("meanMillis", count == 0 ? null : round(millis(Arrays.stream(sorted).sum() / count)));
+        description.put("p50Millis", percentileMillis(sorted, 50));
+        description.put("p95Millis", percentileMillis(sorted, 95));
+        description.put("p99Millis", percentileMillis(sorted, 99));
+        description.put("maxMillis", count == 0 ? null : round(millis(sorted[count - 1])));
+        Map<String, Integer> statusCounts = new LinkedHashMap<>();
+        statuses.forEach((status, requests) -> statusCounts.put(String.valueOf(status), requests));
+        description.put("statuses", statusCounts);
+        return description;
+    }
+
+    /** Nearest-rank percentile, as computed by the service's latency tracker. */
+    private static Double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return null;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return round(millis(sorted[Math.max(0, Math.min(rank, sorted.length - 1))]));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
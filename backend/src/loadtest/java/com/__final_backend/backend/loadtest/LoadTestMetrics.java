@@ -0,0 +1,54 @@
+package com.__final_backend.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint statistics of a load test run.
+ * <p>
+ * Requests made during warm-up are timed like any other but not recorded, so
+ * the report only covers the measured part of the run.
+ */
+public class LoadTestMetrics {
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    /**
+     * Starts or stops recording requests.
+     *
+     * @param recording true to record requests from now on
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Records one request if recording has started.
+     *
+     * @param endpoint the method and path template of the endpoint
+     * @param nanos    the time taken by the request
+     * @param status   the HTTP status, or 0 when no response was received
+     * @param ok       whether the response was the one the scenario expected
+     */
+    public void record(String endpoint, long nanos, int status, boolean ok) {
+        if (recording) {
+            endpoints.computeIfAbsent(endpoint, EndpointStats::new).record(nanos, status, ok);
+        }
+    }
+
+    /**
+     * Summarises every endpoint in a form suitable for a JSON report.
+     *
+     * @param seconds the measured duration
+     * @return one map of statistics per endpoint, ordered by endpoint name
+     */
+    public List<Map<String, Object>> describe(double seconds) {
+        List<Map<String, Object>> description = new ArrayList<>();
+        endpoints.values().stream()
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .forEach(stats -> description.add(stats.describe(seconds)));
+        return description;
+    }
+}
@@ -0,0 +1,211 @@
+package com.__final_backend.backend.loadtest;
+
+import com.__final_backend.backend.BackendApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drives a mixed workload through the public API and reports per-endpoint
+ * throughput and latency.
+ * <p>
+ * Unless a target URL is given, the application is started in this JVM on a
+ * free port with the local Amadeus stand-in enabled, in-memory H2 and
+ * database-backed accounts, so a run needs no network access and leaves no
+ * data behind. Application properties such as the stub's latency or error
+ * rate can be passed on the command line next to the load test settings.
+ * <p>
+ * Virtual users run the journey described in {@link VirtualUser} for the
+ * warm-up period and then for the measured duration. Results are printed and
+ * written as JSON to the output directory, one file per run, so runs before
+ * and after a change can be compared. Run through the {@code loadtest}
+ * profile, e.g.
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--loadtest.users=32"}.
+ */
+public class LoadTestRunner {
+
+    /** Application properties used when the application is started in-process. */
+    private static final Map<String, String> APPLICATION_DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        APPLICATION_DEFAULTS.put("server.port", "0");
+        APPLICATION_DEFAULTS.put("app.amadeus-stub.enabled", "true");
+        APPLICATION_DEFAULTS.put("app.auth.provider", "database");
+        APPLICATION_DEFAULTS.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        // Statement and request logging would dominate the measured latencies
+        APPLICATION_DEFAULTS.put("spring.jpa.show-sql", "false");
+        APPLICATION_DEFAULTS.put("logging.level.root", "WARN");
+    }
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /**
+     * Runs one load test.
+     *
+     * @param args load test settings ({@code --loadtest.*}) and application
+     *             properties for the in-process application
+     * @throws Exception if the application cannot be started or the results
+     *                   cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromArgs(args);
+        ConfigurableApplicationContext application = null;
+        String baseUrl = settings.getTarget();
+        if (baseUrl.isBlank()) {
+            application = new SpringApplicationBuilder(BackendApplication.class)
+                    .run(applicationArgs(args));
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            Map<String, Object> report = run(settings, baseUrl);
+            Path file = write(settings, report);
+            print(report);
+            System.out.println("Results written to " + file.toAbsolutePath());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    /**
+     * Runs the workload against an application and summarises it.
+     *
+     * @param settings the run settings
+     * @param baseUrl  the base URL of the application under test
+     * @return the report, ready to be written as JSON
+     */
+    static Map<String, Object> run(LoadTestSettings settings, String baseUrl) throws InterruptedException {
+        ObjectMapper mapper = new ObjectMapper();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        AtomicBoolean stopped = new AtomicBoolean();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        ExecutorService users = Executors.newFixedThreadPool(settings.getUsers());
+        for (int user = 0; user < settings.getUsers(); user++) {
+            users.execute(new VirtualUser("load-" + runId + "-" + user, baseUrl, client, mapper, settings, metrics,
+                    stopped::get, settings.getSeed() + user));
+        }
+        Thread.sleep(settings.getWarmup().toMillis());
+
+        metrics.setRecording(true);
+        long start = System.nanoTime();
+        Thread.sleep(settings.getDuration().toMillis());
+        metrics.setRecording(false);
+        double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        stopped.set(true);
+        users.shutdown();
+        if (!users.awaitTermination(1, TimeUnit.MINUTES)) {
+            users.shutdownNow();
+        }
+
+        List<Map<String, Object>> endpoints = metrics.describe(seconds);
+        long requests = 0;
+        long errors = 0;
+        for (Map<String, Object> endpoint : endpoints) {
+            requests += ((Number) endpoint.get("requests")).longValue();
+            errors += ((Number) endpoint.get("errors")).longValue();
+        }
+
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("users", settings.getUsers());
+        configuration.put("warmupSeconds", settings.getWarmup().toSeconds());
+        configuration.put("durationSeconds", settings.getDuration().toSeconds());
+        configuration.put("iterationsPerSession", settings.getIterationsPerSession());
+        configuration.put("pageSize", settings.getPageSize());
+        configuration.put("saveAllRate", settings.getSaveAllRate());
+        configuration.put("bookRate", settings.getBookRate());
+        configuration.put("listRate", settings.getListRate());
+        configuration.put("thinkTimeMillis", settings.getThinkTime().toMillis());
+        configuration.put("seed", settings.getSeed());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", settings.getLabel());
+        report.put("startedAt", startedAt.toString());
+        report.put("target", baseUrl);
+        report.put("settings", configuration);
+        report.put("measuredSeconds", Math.round(seconds * 100) / 100.0);
+        report.put("requests", requests);
+        report.put("errors", errors);
+        report.put("throughputPerSecond", Math.round(requests / seconds * 100) / 100.0);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    /**
+     * Builds the arguments of the in-process application: the given arguments
+     * other than load test settings, followed by every default they do not
+     * override.
+     */
+    private static String[] applicationArgs(String[] args) {
+        List<String> applicationArgs = new ArrayList<>();
+        Map<String, String> defaults = new LinkedHashMap<>(APPLICATION_DEFAULTS);
+        for (String arg : args) {
+            if (arg.startsWith("--loadtest.")) {
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (arg.startsWith("--") && equals > 2) {
+                defaults.remove(arg.substring(2, equals));
+            }
+            applicationArgs.add(arg);
+        }
+        defaults.forEach((name, value) -> applicationArgs.add("--" + name + "=" + value));
+        return applicationArgs.toArray(new String[0]);
+    }
+
+    /**
+     * Writes a report as indented JSON to a new timestamped file in the output
+     * directory, creating the directory if needed.
+     *
+     * @param settings the run settings providing the output directory
+     * @param report   the report to write
+     * @return the file written
+     * @throws IOException if the file cannot be written
+     */
+    static Path write(LoadTestSettings settings, Map<String, Object> report) throws IOException {
+        Path directory = Path.of(settings.getOutputDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("results-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        System.out.printf("%n%-32s %9s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        for (Map<String, Object> endpoint : (List<Map<String, Object>>) report.get("endpoints")) {
+            System.out.printf("%-32s %9s %7s %9s %9s %9s %9s%n",
+                    endpoint.get("endpoint"), endpoint.get("requests"), endpoint.get("errors"),
+                    endpoint.get("throughputPerSecond"), endpoint.get("p50Millis"),
+                    endpoint.get("p95Millis"), endpoint.get("p99Millis"));
+        }
+        System.out.printf("%-32s %9s %7s %9s%n%n", "total", report.get("requests"), report.get("errors"),
+                report.get("throughputPerSecond"));
+    }
+}
@@ -0,0 +1,327 @@
+package com.__final_backend.backend.loadtest;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of one load test run.
+ *
+ * <p>
+ * Bound from {@code --key=value} command line arguments with the prefix
+ * 'loadtest', e.g. {@code --loadtest.users=32 --loadtest.duration=2m}. The
+ * workload mix is set by the rates: every iteration of a virtual user
+ * searches, and then saves all results, books one saved flight and lists the
+ * user's saved flights and bookings with the given probabilities.
+ */
+public class LoadTestSettings {
+
+    // Number of concurrent virtual users
+    private int users = 16;
+
+    // Time spent driving load before measuring, so the JIT, caches and
+    // connection pools settle
+    private Duration warmup = Duration.ofSeconds(15);
+
+    // Length of the measured part of the run
+    private Duration duration = Duration.ofSeconds(60);
+
+    // Base URL of a running instance to test; when empty the application is
+    // started in-process against the Amadeus stub and in-memory H2
+    private String target = "";
+
+    // Directory the JSON results are written to
+    private String outputDirectory = "target/loadtest";
+
+    // Free-form name stored with the results to tell runs apart
+    private String label = "";
+
+    // Number of search iterations after which a virtual user logs in again
+    private int iterationsPerSession = 20;
+
+    // Number of results requested per search, and so saved by a save-all
+    private int pageSize = 10;
+
+    // Probability, between 0 and 1, that a search is followed by a save-all
+    private double saveAllRate = 0.3;
+
+    // Probability, between 0 and 1, that an iteration books a saved flight
+    private double bookRate = 0.2;
+
+    // Probability, between 0 and 1, that an iteration lists saved flights and
+    // bookings
+    private double listRate = 0.5;
+
+    // Pause between iterations of a virtual user; zero runs a closed loop
+    private Duration thinkTime = Duration.ZERO;
+
+    // Seed for route, date and workload choices
+    private long seed = 42;
+
+    /**
+     * Binds settings from command line arguments.
+     * <p>
+     * Arguments that are not load test settings are ignored here; the runner
+     * passes them on to the application it starts, so Amadeus stub and other
+     * application properties can be set on the same command line.
+     *
+     * @param args arguments of the form {@code --loadtest.name=value}
+     * @return the bound settings
+     */
+    public static LoadTestSettings fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String setting = arg.startsWith("--") ? arg.substring(2) : arg;
+            int equals = setting.indexOf('=');
+            if (equals > 0 && setting.startsWith("loadtest.")) {
+                values.put(setting.substring(0, equals), setting.substring(equals + 1));
+            }
+        }
+        LoadTestSettings settings = new LoadTestSettings();
+        new Binder(new MapConfigurationPropertySource(values))
+                .bind("loadtest", Bindable.ofInstance(settings));
+        return settings;
+    }
+
+    /**
+     * Gets the number of virtual users.
+     *
+     * @return the number of concurrent virtual users
+     */
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * Sets the number of virtual users.
+     *
+     * @param users the number of concurrent virtual users
+     */
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    /**
+     * Gets the warm-up time.
+     *
+     * @return the time spent driving load before measuring
+     */
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    /**
+     * Sets the warm-up time.
+     *
+     * @param warmup the time spent driving load before measuring
+     */
+    public void setWarmup(Duration warmup) {
+        this.warmup = warmup;
+    }
+
+    /**
+     * Gets the measured duration.
+     *
+     * @return the length of the measured part of the run
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Sets the measured duration.
+     *
+     * @param duration the length of the measured part of the run
+     */
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    /**
+     * Gets the target base URL.
+     *
+     * @return the base URL of a running instance, or an empty string to start
+     *         the application in-process
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * Sets the target base URL.
+     *
+     * @param target the base URL of a running instance
+     */
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    /**
+     * Gets the output directory.
+     *
+     * @return the directory the JSON results are written to
+     */
+    public String getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    /**
+     * Sets the output directory.
+     *
+     * @param outputDirectory the directory the JSON results are written to
+     */
+    public void setOutputDirectory(String outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * Gets the run label.
+     *
+     * @return the name stored with the results
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Sets the run label.
+     *
+     * @param label the name stored with the results
+     */
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the session length.
+     *
+     * @return the number of iterations after which a user logs in again
+     */
+    public int getIterationsPerSession() {
+        return iterationsPerSession;
+    }
+
+    /**
+     * Sets the session length.
+     *
+     * @param iterationsPerSession the number of iterations after which a user
+     *                             logs in again
+     */
+    public void setIterationsPerSession(int iterationsPerSession) {
+        this.iterationsPerSession = iterationsPerSession;
+    }
+
+    /**
+     * Gets the search page size.
+     *
+     * @return the number of results requested per search
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Sets the search page size.
+     *
+     * @param pageSize the number of results requested per search
+     */
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Gets the save-all rate.
+     *
+     * @return the probability that a search is followed by a save-all
+     */
+    public double getSaveAllRate() {
+        return saveAllRate;
+    }
+
+    /**
+     * Sets the save-all rate.
+     *
+     * @param saveAllRate the probability that a search is followed by a save-all
+     */
+    public void setSaveAllRate(double saveAllRate) {
+        this.saveAllRate = saveAllRate;
+    }
+
+    /**
+     * Gets the booking rate.
+     *
+     * @return the probability that an iteration books a saved flight
+     */
+    public double getBookRate() {
+        return bookRate;
+    }
+
+    /**
+     * Sets the booking rate.
+     *
+     * @param bookRate the probability that an iteration books a saved flight
+     */
+    public void setBookRate(double bookRate) {
+        this.bookRate = bookRate;
+    }
+
+    /**
+     * Gets the listing rate.
+     *
+     * @return the probability that an iteration lists saved flights and
+     *         bookings
+     */
+    public double getListRate() {
+        return listRate;
+    }
+
+    /**
+     * Sets the listing rate.
+     *
+     * @param listRate the probability that an iteration lists saved flights and
+     *                 bookings
+     */
+    public void setListRate(double listRate) {
+        this.listRate = listRate;
+    }
+
+    /**
+     * Gets the think time.
+     *
+     * @return the pause between iterations of a virtual user
+     */
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    /**
+     * Sets the think time.
+     *
+     * @param thinkTime the pause between iterations of a virtual user
+     */
+    public void setThinkTime(Duration thinkTime) {
+        this.thinkTime = thinkTime;
+    }
+
+    /**
+     * Gets the random seed.
+     *
+     * @return the seed for route, date and workload choices
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the random seed.
+     *
+     * @param seed the seed for route, date and workload choices
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,257 @@
+package com.__final_backend.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One simulated user of the web client.
+ * <p>
+ * Registers an account once, then repeats the journey the pages drive until
+ * the run is stopped: log in, search a route, save every result the way the
+ * Save All button does, book one of the saved flights the way the booking form
+ * does, and list saved flights and bookings. The later steps happen with the
+ * probabilities set in {@link LoadTestSettings}. Requests are made one at a
+ * time with the same headers and bodies as the browser sends, so their cost is
+ * that of real traffic through the controllers, security filters and database.
+ */
+public class VirtualUser implements Runnable {
+
+    /** Routes searched, as origin and destination IATA codes. */
+    private static final String[][] ROUTES = {
+            { "JFK", "LAX" }, { "LHR", "JFK" }, { "SFO", "ORD" }, { "ATL", "MIA" },
+            { "LAX", "SEA" }, { "BOS", "DFW" }, { "CDG", "LHR" }, { "DEN", "PHX" },
+            { "ORD", "LGA" }, { "FRA", "MAD" }, { "SEA", "SFO" }, { "MIA", "JFK" } };
+
+    /** Number of recently saved flight IDs kept as booking candidates. */
+    private static final int RECENT_SAVES = 50;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    /** Date-time format the saved flight API accepts; seconds are required. */
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final String username;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final LoadTestSettings settings;
+    private final LoadTestMetrics metrics;
+    private final BooleanSupplier stopped;
+    private final Random random;
+
+    private final List<Long> savedFlightIds = new ArrayList<>();
+    private String token;
+
+    /**
+     * Creates a virtual user.
+     *
+     * @param username the unique account name to register
+     * @param baseUrl  the base URL of the application under test
+     * @param client   the HTTP client shared by all users
+     * @param mapper   the JSON mapper used for request and response bodies
+     * @param settings the run settings
+     * @param metrics  where request latencies are recorded
+     * @param stopped  tells the user when to stop
+     * @param seed     seed for this user's route, date and workload choices
+     */
+    public VirtualUser(String username, String baseUrl, HttpClient client, ObjectMapper mapper,
+            LoadTestSettings settings, LoadTestMetrics metrics, BooleanSupplier stopped, long seed) {
+        this.username = username;
+        this.baseUrl = baseUrl;
+        this.client = client;
+        this.mapper = mapper;
+        this.settings = settings;
+        this.metrics = metrics;
+        this.stopped = stopped;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        register();
+        int sessionLength = Math.max(1, settings.getIterationsPerSession());
+        for (int iteration = 0; !stopped.getAsBoolean() && !Thread.currentThread().isInterrupted(); iteration++) {
+            if (token == null || iteration % sessionLength == 0) {
+                login();
+            }
+            if (token != null) {
+                iterate();
+            }
+            pause();
+        }
+    }
+
+    private void register() {
+        ObjectNode body = mapper.createObjectNode()
+                .put("username", username)
+                .put("email", username + "@loadtest.invalid")
+                .put("password", password())
+                .put("firstName", "Load")
+                .put("lastName", "Test");
+        send("POST /api/auth/register", "POST", "/api/auth/register", body, 200);
+    }
+
+    private void login() {
+        ObjectNode body = mapper.createObjectNode()
+                .put("username", username)
+                .put("password", password())
+                .put("rememberMe", false);
+        JsonNode response = send("POST /api/auth/login", "POST", "/api/auth/login", body, 200);
+        token = response != null && response.hasNonNull("token") ? response.get("token").asText() : null;
+    }
+
+    /** One search, followed by the optional save-all, booking and listings. */
+    private void iterate() {
+        String[] route = ROUTES[random.nextInt(ROUTES.length)];
+        LocalDate travelDate = LocalDate.now().plusDays(7 + random.nextInt(60));
+        ObjectNode search = mapper.createObjectNode()
+                .put("startingLocation", route[0])
+                .put("endingLocation", route[1])
+                .put("travelDate", travelDate.toString())
+                .put("numberOfTravelers", 1)
+                .put("tripType", "one-way")
+                .put("pageSize", settings.getPageSize());
+        JsonNode flights = send("POST /api/flights/search", "POST", "/api/flights/search", search, 200);
+
+        if (flights != null && flights.isArray() && chance(settings.getSaveAllRate())) {
+            for (JsonNode flight : flights) {
+                saveFlight(flight, travelDate);
+            }
+        }
+        if (!savedFlightIds.isEmpty() && chance(settings.getBookRate())) {
+            book(savedFlightIds.get(random.nextInt(savedFlightIds.size())));
+        }
+        if (chance(settings.getListRate())) {
+            send("GET /api/saved-flights", "GET", "/api/saved-flights", null, 200);
+            send("GET /api/bookings", "GET", "/api/bookings", null, 200);
+        }
+    }
+
+    /** Saves one search result with the fields the results page sends. */
+    private void saveFlight(JsonNode flight, LocalDate travelDate) {
+        String flightNumber = flight.path("flightNumber").asText();
+        LocalDateTime departure = travelDate.atTime(LocalTime.parse(flight.path("departureTime").asText("00:00")));
+        LocalDateTime arrival = travelDate.atTime(LocalTime.parse(flight.path("arrivalTime").asText("00:00")));
+        if (arrival.isBefore(departure)) {
+            arrival = arrival.plusDays(1);
+        }
+        ObjectNode body = mapper.createObjectNode()
+                .put("airlineCode", flightNumber.length() >= 2 ? flightNumber.substring(0, 2) : flightNumber)
+                .put("airlineName", flight.path("airline").asText())
+                .put("flightNumber", flightNumber)
+                .put("origin", flight.path("departure").asText())
+                .put("destination", flight.path("arrival").asText())
+                .put("departureTime", departure.format(DATE_TIME))
+                .put("arrivalTime", arrival.format(DATE_TIME))
+                .put("price", flight.path("price").asDouble())
+                .put("currency", "USD");
+        JsonNode saved = send("POST /api/saved-flights", "POST", "/api/saved-flights", body, 201);
+        if (saved != null && saved.hasNonNull("id")) {
+            if (savedFlightIds.size() == RECENT_SAVES) {
+                savedFlightIds.remove(0);
+            }
+            savedFlightIds.add(saved.get("id").asLong());
+        }
+    }
+
+    /** Books a saved flight, reading it back first as the booking form does. */
+    private void book(long savedFlightId) {
+        JsonNode flight = send("GET /api/saved-flights/{id}", "GET", "/api/saved-flights/" + savedFlightId, null,
+                200);
+        if (flight == null) {
+            return;
+        }
+        ObjectNode body = mapper.createObjectNode()
+                .put("flightId", flight.path("id").asText())
+                .put("departureAirport", flight.path("origin").asText())
+                .put("arrivalAirport", flight.path("destination").asText())
+                .put("departureTime", flight.path("departureTime").asText())
+                .put("arrivalTime", flight.path("arrivalTime").asText())
+                .put("airline", flight.path("airlineCode").asText())
+                .put("flightNumber", flight.path("flightNumber").asText())
+                .put("passengerCount", 1)
+                .put("totalPrice", flight.path("price").decimalValue())
+                .put("bookingStatus", "CONFIRMED")
+                .put("contactEmail", username + "@loadtest.invalid")
+                .put("contactPhone", "555-0100")
+                .put("additionalNotes", "");
+        send("POST /api/bookings", "POST", "/api/bookings", body, 201);
+    }
+
+    /**
+     * Sends one request and records its latency.
+     *
+     * @return the parsed response body when the expected status was returned,
+     *         otherwise null
+     */
+    private JsonNode send(String endpoint, String method, String path, JsonNode body, int expectedStatus) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body.toString()));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        int status = 0;
+        try {
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            metrics.record(endpoint, System.nanoTime() - start, status, status == expectedStatus);
+            if (status != expectedStatus) {
+                return null;
+            }
+            return response.body().length == 0 ? mapper.nullNode() : mapper.readTree(response.body());
+        } catch (IOException e) {
+            if (status == 0) {
+                metrics.record(endpoint, System.nanoTime() - start, 0, false);
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private boolean chance(double probability) {
+        return random.nextDouble() < probability;
+    }
+
+    private void pause() {
+        long millis = settings.getThinkTime().toMillis();
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String password() {
+        return "Load-" + username;
+    }
+}
@@ -0,0 +1,114 @@
+package com.__final_backend.backend.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EndpointStats
+ * Tests the nearest-rank percentiles, the mean, maximum and throughput, and
+ * the error and status counts
+ */
+class EndpointStatsTest {
+
+  /**
+   * Test that p50, p95 and p99 are the nearest-rank samples whatever order
+   * the requests were recorded in
+   */
+  @Test
+  void testPercentilesAreNearestRank() {
+    List<Long> latencies = new ArrayList<>();
+    for (long millis = 1; millis <= 200; millis++) {
+      latencies.add(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+    Collections.shuffle(latencies, new Random(7));
+    EndpointStats stats = new EndpointStats("POST /api/flights/search");
+    latencies.forEach(nanos -> stats.record(nanos, 200, true));
+
+    Map<String, Object> description = stats.describe(10);
+
+    assertEquals(100.0, description.get("p50Millis"));
+    assertEquals(190.0, description.get("p95Millis"));
+    assertEquals(198.0, description.get("p99Millis"));
+    assertEquals(200.0, description.get("maxMillis"));
+    assertEquals(100.5, description.get("meanMillis"));
+    assertEquals(20.0, description.get("throughputPerSecond"));
+  }
+
+  /**
+   * Test that with few samples each percentile rounds up to the next sample
+   */
+  @Test
+  void testPercentilesOfFewSamples() {
+    EndpointStats stats = new EndpointStats("GET /api/bookings");
+    stats.record(TimeUnit.MILLISECONDS.toNanos(30), 200, true);
+    stats.record(TimeUnit.MILLISECONDS.toNanos(10), 200, true);
+    stats.record(TimeUnit.MILLISECONDS.toNanos(20), 200, true);
+
+    Map<String, Object> description = stats.describe(1);
+
+    assertEquals(20.0, description.get("p50Millis"));
+    assertEquals(30.0, description.get("p95Millis"));
+    assertEquals(30.0, description.get("p99Millis"));
+  }
+
+  /**
+   * Test that samples beyond the initial capacity are all kept
+   */
+  @Test
+  void testSamplesBeyondInitialCapacityAreKept() {
+    EndpointStats stats = new EndpointStats("GET /api/bookings");
+    for (int i = 0; i < 5000; i++) {
+      stats.record(TimeUnit.MILLISECONDS.toNanos(i < 4950 ? 1 : 100), 200, true);
+    }
+
+    Map<String, Object> description = stats.describe(1);
+
+    assertEquals(5000, description.get("requests"));
+    assertEquals(1.0, description.get("p50Millis"));
+    assertEquals(1.0, description.get("p99Millis"));
+    assertEquals(100.0, description.get("maxMillis"));
+  }
+
+  /**
+   * Test that unexpected responses count as errors and statuses are counted
+   * in order, with 0 for requests that got no response
+   */
+  @Test
+  void testErrorsAndStatuses() {
+    EndpointStats stats = new EndpointStats("POST /api/flights/search");
+    stats.record(1_000_000, 200, true);
+    stats.record(1_000_000, 503, false);
+    stats.record(1_000_000, 0, false);
+    stats.record(1_000_000, 200, true);
+
+    Map<String, Object> description = stats.describe(1);
+
+    assertEquals(4, description.get("requests"));
+    assertEquals(2, description.get("errors"));
+    assertEquals(Map.of("0", 1, "200", 2, "503", 1), description.get("statuses"));
+    assertEquals(List.of("0", "200", "503"),
+        new ArrayList<>(((Map<?, ?>) description.get("statuses")).keySet()));
+  }
+
+  /**
+   * Test that an endpoint without requests has no latency figures
+   */
+  @Test
+  void testEmptyStats() {
+    Map<String, Object> description = new EndpointStats("GET /api/bookings").describe(1);
+
+    assertEquals(0, description.get("requests"));
+    assertNull(description.get("meanMillis"));
+    assertNull(description.get("p50Millis"));
+    assertNull(description.get("p99Millis"));
+    assertNull(description.get("maxMillis"));
+  }
+}
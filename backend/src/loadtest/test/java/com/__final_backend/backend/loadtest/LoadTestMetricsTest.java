@@ -0,0 +1,57 @@
+package com.__final_backend.backend.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoadTestMetrics
+ * Tests that only requests made while recording are reported, per endpoint
+ * and in endpoint order
+ */
+class LoadTestMetricsTest {
+
+  /**
+   * Test that warm-up requests made before recording starts and requests
+   * after it stops are left out
+   */
+  @Test
+  void testOnlyRecordedRequestsAreReported() {
+    LoadTestMetrics metrics = new LoadTestMetrics();
+    metrics.record("GET /api/bookings", 1_000_000, 200, true);
+
+    metrics.setRecording(true);
+    metrics.record("GET /api/bookings", 2_000_000, 200, true);
+    metrics.record("GET /api/bookings", 4_000_000, 500, false);
+    metrics.setRecording(false);
+    metrics.record("GET /api/bookings", 8_000_000, 200, true);
+
+    List<Map<String, Object>> description = metrics.describe(2);
+    assertEquals(1, description.size());
+    assertEquals(2, description.get(0).get("requests"));
+    assertEquals(1, description.get(0).get("errors"));
+    assertEquals(4.0, description.get(0).get("maxMillis"));
+  }
+
+  /**
+   * Test that each endpoint is reported separately, ordered by name
+   */
+  @Test
+  void testEndpointsAreOrderedByName() {
+    LoadTestMetrics metrics = new LoadTestMetrics();
+    metrics.setRecording(true);
+    metrics.record("POST /api/flights/search", 1_000_000, 200, true);
+    metrics.record("GET /api/bookings", 1_000_000, 200, true);
+    metrics.record("POST /api/flights/search", 1_000_000, 200, true);
+
+    List<Map<String, Object>> description = metrics.describe(1);
+
+    assertEquals(List.of("GET /api/bookings", "POST /api/flights/search"),
+        description.stream().map(endpoint -> endpoint.get("endpoint")).toList());
+    assertEquals(1, description.get(0).get("requests"));
+    assertEquals(2, description.get(1).get("requests"));
+  }
+}
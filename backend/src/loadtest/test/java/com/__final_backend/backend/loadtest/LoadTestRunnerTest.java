@@ -0,0 +1,56 @@
+package com.__final_backend.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoadTestRunner
+ * Tests that a report is written as a JSON results file that reads back with
+ * every endpoint statistic
+ */
+class LoadTestRunnerTest {
+
+  @TempDir
+  Path tempDir;
+
+  /**
+   * Test that the report is written to a new results file in the output
+   * directory, which is created if needed, and reads back unchanged
+   */
+  @Test
+  void testReportIsWrittenAsJson() throws Exception {
+    LoadTestMetrics metrics = new LoadTestMetrics();
+    metrics.setRecording(true);
+    metrics.record("POST /api/flights/search", 12_000_000, 200, true);
+    metrics.record("POST /api/flights/search", 40_000_000, 504, false);
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("label", "baseline");
+    report.put("requests", 2);
+    report.put("endpoints", metrics.describe(2));
+    LoadTestSettings settings = new LoadTestSettings();
+    settings.setOutputDirectory(tempDir.resolve("loadtest").toString());
+
+    Path file = LoadTestRunner.write(settings, report);
+
+    assertEquals(tempDir.resolve("loadtest"), file.getParent());
+    assertTrue(file.getFileName().toString().matches("results-\\d{8}-\\d{6}\\.json"), file.toString());
+    JsonNode written = new ObjectMapper().readTree(Files.readString(file));
+    assertEquals("baseline", written.get("label").asText());
+    assertEquals(2, written.get("requests").asInt());
+    JsonNode endpoint = written.get("endpoints").get(0);
+    assertEquals("POST /api/flights/search", endpoint.get("endpoint").asText());
+    assertEquals(1, endpoint.get("errors").asInt());
+    assertEquals(12.0, endpoint.get("p50Millis").asDouble());
+    assertEquals(40.0, endpoint.get("p99Millis").asDouble());
+    assertEquals(1, endpoint.get("statuses").get("504").asInt());
+  }
+}
@@ -0,0 +1,135 @@
+package com.__final_backend.backend.config;
+
+import com.__final_backend.backend.service.amadeus.AmadeusHttpTransport;
+import com.__final_backend.backend.service.amadeus.stub.AmadeusStubServer;
+import com.amadeus.Amadeus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Configuration class for the Amadeus API client.
+ *
+ * <p>
+ * Provides a single shared Amadeus client so that flight searches and
+ * background reference-data refreshes reuse the same credentials and access
+ * token instead of each building their own client. Flight offer searches go
+ * through the pooled {@link AmadeusHttpTransport} instead, which keeps its
+ * own connections and refreshes its own token ahead of expiry.
+ */
+@Configuration
+public class AmadeusConfig {
+    private static final Logger logger = LoggerFactory.getLogger(AmadeusConfig.class);
+
+    /** Base URL of the Amadeus test environment. */
+    private static final String TEST_API_URL = "https://test.api.amadeus.com";
+
+    /** The Amadeus API key from application properties. */
+    @Value("${amadeus.api.key}")
+    private String apiKey;
+
+    /** The Amadeus API secret from application properties. */
+    @Value("${amadeus.api.secret}")
+    private String apiSecret;
+
+    /**
+     * Starts the local Amadeus stand-in when it is enabled.
+     *
+     * @param properties latency, failure and result size settings for the stub
+     * @return the running stub, stopped when the context closes
+     * @throws IOException if the stub's port cannot be bound
+     */
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "app.amadeus-stub", name = "enabled", havingValue = "true")
+    public AmadeusStubServer amadeusStubServer(AmadeusStubProperties properties) throws IOException {
+        AmadeusStubServer stub = new AmadeusStubServer(properties);
+        stub.start();
+        return stub;
+    }
+
+    /**
+     * Creates the shared Amadeus API client.
+     *
+     * <p>
+     * The test environment is the free tier and is sufficient for this project.
+     * When the local stub is enabled the client talks to it over plain HTTP
+     * instead, so searches can be load tested offline.
+     *
+     * @param stub the local Amadeus stand-in, if enabled
+     * @return Configured Amadeus client instance ready for API calls
+     */
+    @Bean
+    public Amadeus amadeusClient(ObjectProvider<AmadeusStubServer> stub) {
+        com.amadeus.Configuration configuration = Amadeus.builder(apiKey, apiSecret)
+                .setLogLevel("warn"); // Debug logs every request and response body
+
+        AmadeusStubServer stubServer = stub.getIfAvailable();
+        if (stubServer != null) {
+            configuration.setHost("localhost")
+                    .setPort(stubServer.getPort())
+                    .setSsl(false);
+            logger.warn("Amadeus client created against the local stub on port {}", stubServer.getPort());
+        } else {
+            configuration.setHostname("test")
+                    .setSsl(true); // Ensure SSL is enabled
+            logger.info("Amadeus client created with test environment");
+        }
+        return configuration.build();
+    }
+
+    /**
+     * Creates the scheduler that refreshes the transport's access token.
+     *
+     * <p>
+     * Spring's default scheduler has a single thread that also runs the
+     * {@code @Scheduled} airline jobs, which block on Amadeus calls and the
+     * rate limiter for up to minutes. A refresh queued behind them would let
+     * the token expire and make searches wait for the token endpoint, so the
+     * refresh gets a thread of its own. The bean is not a default candidate,
+     * so it is only injected by name and the default scheduler is still
+     * created for the {@code @Scheduled} jobs.
+     *
+     * @return the token refresh scheduler
+     */
+    @Bean(defaultCandidate = false)
+    public ThreadPoolTaskScheduler amadeusTokenScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("amadeus-token-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+
+    /**
+     * Creates the pooled HTTP transport used for flight offer searches.
+     *
+     * <p>
+     * Talks to the same host as the SDK client. The first access token is
+     * fetched in the background as soon as the transport starts.
+     *
+     * @param stub           the local Amadeus stand-in, if enabled
+     * @param properties     flight search settings providing the transport
+     *                       timeouts and token refresh margin
+     * @param tokenScheduler dedicated scheduler for the background token
+     *                       refreshes
+     * @return the transport, started
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public AmadeusHttpTransport amadeusHttpTransport(ObjectProvider<AmadeusStubServer> stub,
+            FlightSearchProperties properties,
+            @Qualifier("amadeusTokenScheduler") TaskScheduler tokenScheduler) {
+        AmadeusStubServer stubServer = stub.getIfAvailable();
+        URI baseUri = URI.create(stubServer != null ? "http://localhost:" + stubServer.getPort() : TEST_API_URL);
+        return new AmadeusHttpTransport(baseUri, apiKey, apiSecret, properties, tokenScheduler);
+    }
+}
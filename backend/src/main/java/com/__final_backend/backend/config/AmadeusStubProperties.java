@@ -0,0 +1,212 @@
+package com.__final_backend.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the local Amadeus stand-in server.
+ *
+ * <p>
+ * The stub answers the Flight Offers Search, airline reference and OAuth
+ * endpoints with synthetic data so that searches can be load tested offline
+ * and without using the real API quota. Its latency, failure rates and result
+ * sizes are set here. Settings are bound from application properties with the
+ * prefix 'app.amadeus-stub'; the stub only runs when enabled.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.amadeus-stub")
+public class AmadeusStubProperties {
+
+  // Whether to start the stub and point the Amadeus client at it
+  private boolean enabled = false;
+
+  // Port to listen on; 0 picks a free port
+  private int port = 0;
+
+  // Median response time; latencies follow a log-normal distribution
+  private Duration latencyMedian = Duration.ofMillis(150);
+
+  // 99th percentile response time; sets the length of the latency tail
+  private Duration latencyP99 = Duration.ofMillis(1200);
+
+  // Fraction of requests, between 0 and 1, answered with a 500 error
+  private double errorRate = 0;
+
+  // Fraction of requests, between 0 and 1, answered with a 429 at random
+  private double tooManyRequestsRate = 0;
+
+  // Requests per second above which requests get a 429; 0 disables the limit
+  private int maxRequestsPerSecond = 0;
+
+  // Largest number of offers returned for one search; the request's max
+  // parameter can only lower it
+  private int maxOffers = 250;
+
+  // Seed for latencies and failures; offers are derived from the request alone
+  private long seed = 42;
+
+  /**
+   * Checks whether the stub is enabled.
+   *
+   * @return true if the stub is started and used by the Amadeus client
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Sets whether the stub is enabled.
+   *
+   * @param enabled true to start the stub and use it
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Gets the listening port.
+   *
+   * @return The port, or 0 for any free port
+   */
+  public int getPort() {
+    return port;
+  }
+
+  /**
+   * Sets the listening port.
+   *
+   * @param port The port, or 0 for any free port
+   */
+  public void setPort(int port) {
+    this.port = port;
+  }
+
+  /**
+   * Gets the median latency.
+   *
+   * @return The median response time
+   */
+  public Duration getLatencyMedian() {
+    return latencyMedian;
+  }
+
+  /**
+   * Sets the median latency.
+   *
+   * @param latencyMedian The median response time
+   */
+  public void setLatencyMedian(Duration latencyMedian) {
+    this.latencyMedian = latencyMedian;
+  }
+
+  /**
+   * Gets the 99th percentile latency.
+   *
+   * @return The 99th percentile response time
+   */
+  public Duration getLatencyP99() {
+    return latencyP99;
+  }
+
+  /**
+   * Sets the 99th percentile latency.
+   *
+   * @param latencyP99 The 99th percentile response time
+   */
+  public void setLatencyP99(Duration latencyP99) {
+    this.latencyP99 = latencyP99;
+  }
+
+  /**
+   * Gets the server error rate.
+   *
+   * @return The fraction of requests answered with a 500
+   */
+  public double getErrorRate() {
+    return errorRate;
+  }
+
+  /**
+   * Sets the server error rate.
+   *
+   * @param errorRate The fraction of requests answered with a 500
+   */
+  public void setErrorRate(double errorRate) {
+    this.errorRate = errorRate;
+  }
+
+  /**
+   * Gets the random 429 rate.
+   *
+   * @return The fraction of requests answered with a 429
+   */
+  public double getTooManyRequestsRate() {
+    return tooManyRequestsRate;
+  }
+
+  /**
+   * Sets the random 429 rate.
+   *
+   * @param tooManyRequestsRate The fraction of requests answered with a 429
+   */
+  public void setTooManyRequestsRate(double tooManyRequestsRate) {
+    this.tooManyRequestsRate = tooManyRequestsRate;
+  }
+
+  /**
+   * Gets the request rate limit.
+   *
+   * @return The requests allowed per second, or 0 for no limit
+   */
+  public int getMaxRequestsPerSecond() {
+    return maxRequestsPerSecond;
+  }
+
+  /**
+   * Sets the request rate limit.
+   *
+   * @param maxRequestsPerSecond The requests allowed per second, or 0 for no
+   *                             limit
+   */
+  public void setMaxRequestsPerSecond(int maxRequestsPerSecond) {
+    this.maxRequestsPerSecond = maxRequestsPerSecond;
+  }
+
+  /**
+   * Gets the maximum result size.
+   *
+   * @return The largest number of offers per search
+   */
+  public int getMaxOffers() {
+    return maxOffers;
+  }
+
+  /**
+   * Sets the maximum result size.
+   *
+   * @param maxOffers The largest number of offers per search
+   */
+  public void setMaxOffers(int maxOffers) {
+    this.maxOffers = maxOffers;
+  }
+
+  /**
+   * Gets the random seed.
+   *
+   * @return The seed for latencies and failures
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Sets the random seed.
+   *
+   * @param seed The seed for latencies and failures
+   */
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+}
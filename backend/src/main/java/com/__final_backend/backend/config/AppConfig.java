@@ -2,6 +2,8 @@ package com.__final_backend.backend.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -9,9 +11,11 @@ import org.springframework.web.client.RestTemplate;
  *
  * <p>
  * This class provides configuration for various application components and
- * services.
+ * services. It also enables scheduled background tasks such as the airline
+ * reference data refresh.
  */
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     /**
@@ -28,4 +32,108 @@ public class AppConfig {
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates the bounded executor that runs flight searches.
+     *
+     * <p>
+     * Amadeus searches can take tens of seconds, so they run on this pool rather
+     * than on Tomcat worker threads. The queue is bounded: once every thread is
+     * busy and the queue is full, new searches are rejected immediately and the
+     * client receives a 503 instead of waiting behind the backlog. A search
+     * still queued when its 504 is sent is dropped, and one waiting on an
+     * identical search leaves at its deadline, so abandoned searches do not
+     * keep queue slots and threads from later ones.
+     *
+     * @param properties flight search settings providing pool and queue sizes
+     * @return An initialized executor dedicated to flight searches
+     */
+    @Bean(name = "flightSearchExecutor")
+    public ThreadPoolTaskExecutor flightSearchExecutor(FlightSearchProperties properties) {
+        FlightSearchProperties.Async settings = properties.getAsync();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(settings.getCorePoolSize());
+        executor.setMaxPoolSize(settings.getMaxPoolSize());
+        executor.setQueueCapacity(settings.getQueueCapacity());
+        executor.setThreadNamePrefix("flight-search-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Creates the executor that runs the per-day searches of a flexible-date
+     * calendar.
+     *
+     * <p>
+     * The pool size is the cap on concurrent upstream calls made by all
+     * calendars together. The queue is unbounded because the number of
+     * calendars is already limited by the flight search executor and each
+     * calendar submits at most a fixed number of days. Calendars are kept off
+     * the flight search executor so that a calendar waiting on its days can
+     * never starve them of threads.
+     *
+     * @param properties flight search settings providing the concurrency limit
+     * @return An initialized executor dedicated to flexible-date searches
+     */
+    @Bean(name = "fareCalendarExecutor")
+    public ThreadPoolTaskExecutor fareCalendarExecutor(FlightSearchProperties properties) {
+        int concurrency = Math.max(1, properties.getFlexibleDates().getMaxConcurrentSearches());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("fare-calendar-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Creates the executor that runs the airport pair searches of a
+     * multi-airport search.
+     *
+     * <p>
+     * As with the fare calendar executor, the pool size caps concurrent
+     * upstream calls across all requests and the queue is unbounded because
+     * each request submits at most the configured number of pairs.
+     *
+     * @param properties flight search settings providing the concurrency limit
+     * @return An initialized executor dedicated to multi-airport searches
+     */
+    @Bean(name = "multiAirportExecutor")
+    public ThreadPoolTaskExecutor multiAirportExecutor(FlightSearchProperties properties) {
+        int concurrency = Math.max(1, properties.getMultiAirport().getMaxConcurrentSearches());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("multi-airport-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Creates the executor that runs hedged Amadeus calls.
+     *
+     * <p>
+     * Only used when hedging is enabled. Each hedged search needs a thread for
+     * its first call and, if it is slow, one for the hedge. There is no queue: a
+     * call that finds no free thread runs on the caller's thread and is simply
+     * not hedged.
+     *
+     * @param properties flight search settings providing the search pool size
+     * @return An initialized executor dedicated to hedged calls
+     */
+    @Bean(name = "amadeusHedgeExecutor")
+    public ThreadPoolTaskExecutor amadeusHedgeExecutor(FlightSearchProperties properties) {
+        int searches = Math.max(1, properties.getAsync().getMaxPoolSize());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(searches * 2);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("amadeus-hedge-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,5 +1,7 @@
 package com.__final_backend.backend.config;
 
+import com.__final_backend.backend.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -24,12 +26,14 @@ public class CommonSecurityConfig {
    *
    * <p>
    * Uses BCrypt hashing algorithm which automatically includes a random salt
-   * and is resistant to brute force attacks.
+   * and is resistant to brute force attacks. Hashing and verification times are
+   * recorded as metrics.
    *
+   * @param meterRegistry registry the encoder timings are published in
    * @return A BCryptPasswordEncoder instance for password hashing
    */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+    return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
   }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.__final_backend.backend.config;
+
+import com.__final_backend.backend.service.db.SqlDialect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration of the database-specific parts of the JDBC code.
+ * <p>
+ * Flyway applies the migrations under {@code db/migration/common} and those
+ * under the folder of the database in use, e.g. {@code db/migration/mysql}.
+ */
+@Configuration
+public class DatabaseConfig {
+
+  /**
+   * Provides the SQL dialect of the application's database.
+   *
+   * @param dataSource the application's data source
+   * @return the dialect the upserts and id reservations are written in
+   */
+  @Bean
+  public SqlDialect sqlDialect(DataSource dataSource) {
+    return SqlDialect.of(dataSource);
+  }
+}
@@ -0,0 +1,1095 @@
+package com.__final_backend.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the flight search pipeline.
+ *
+ * <p>
+ * This class groups the tuning knobs that sit in front of the Amadeus Flight
+ * Offers Search API, such as the search result cache. Settings are bound from
+ * application properties with the prefix 'app.flight-search' and fall back to
+ * the defaults declared here.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.flight-search")
+public class FlightSearchProperties {
+
+  // Settings for the in-memory search result cache
+  private final Cache cache = new Cache();
+
+  // Settings for the dedicated executor that runs searches off the servlet
+  // threads
+  private final Async async = new Async();
+
+  // Settings for the persistent airline reference data
+  private final Airlines airlines = new Airlines();
+
+  // Settings for flexible-date searches that fan out over neighbouring days
+  private final FlexibleDates flexibleDates = new FlexibleDates();
+
+  // Settings for searches across several origin and destination airports
+  private final MultiAirport multiAirport = new MultiAirport();
+
+  // Settings for the client-side limiter in front of every Amadeus call
+  private final RateLimit rateLimit = new RateLimit();
+
+  // Settings for the circuit breaker that fails fast during Amadeus outages
+  private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+  // Settings for hedging slow Amadeus searches with a second identical call
+  private final Hedging hedging = new Hedging();
+
+  // Settings for the pooled HTTP transport used for flight offer searches
+  private final Transport transport = new Transport();
+
+  // Settings for recording search history in the background
+  private final History history = new History();
+
+  /**
+   * Gets the search result cache settings.
+   *
+   * @return The cache settings
+   */
+  public Cache getCache() {
+    return cache;
+  }
+
+  /**
+   * Gets the asynchronous search execution settings.
+   *
+   * @return The async settings
+   */
+  public Async getAsync() {
+    return async;
+  }
+
+  /**
+   * Gets the airline reference data settings.
+   *
+   * @return The airline settings
+   */
+  public Airlines getAirlines() {
+    return airlines;
+  }
+
+  /**
+   * Gets the flexible-date search settings.
+   *
+   * @return The flexible-date settings
+   */
+  public FlexibleDates getFlexibleDates() {
+    return flexibleDates;
+  }
+
+  /**
+   * Gets the multi-airport search settings.
+   *
+   * @return The multi-airport settings
+   */
+  public MultiAirport getMultiAirport() {
+    return multiAirport;
+  }
+
+  /**
+   * Gets the Amadeus rate limit settings.
+   *
+   * @return The rate limit settings
+   */
+  public RateLimit getRateLimit() {
+    return rateLimit;
+  }
+
+  /**
+   * Gets the Amadeus circuit breaker settings.
+   *
+   * @return The circuit breaker settings
+   */
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /**
+   * Gets the request hedging settings.
+   *
+   * @return The hedging settings
+   */
+  public Hedging getHedging() {
+    return hedging;
+  }
+
+  /**
+   * Gets the Amadeus HTTP transport settings.
+   *
+   * @return The transport settings
+   */
+  public Transport getTransport() {
+    return transport;
+  }
+
+  /**
+   * Gets the search history recording settings.
+   *
+   * @return The history settings
+   */
+  public History getHistory() {
+    return history;
+  }
+
+  /**
+   * Settings for the search result cache kept in front of the Amadeus API.
+   */
+  public static class Cache {
+
+    // Whether search results are cached at all
+    private boolean enabled = true;
+
+    // How long a cached result set is served before Amadeus is called again
+    private Duration ttl = Duration.ofMinutes(5);
+
+    // Maximum number of distinct searches held before the least valuable are
+    // evicted
+    private long maximumSize = 500;
+
+    // How long the last known results for a search are kept as a fallback for
+    // Amadeus outages
+    private Duration staleTtl = Duration.ofHours(24);
+
+    /**
+     * Checks whether the search result cache is enabled.
+     *
+     * @return true if results are cached, false otherwise
+     */
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    /**
+     * Enables or disables the search result cache.
+     *
+     * @param enabled true to cache results, false to always call Amadeus
+     */
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    /**
+     * Gets the time-to-live of a cached result set.
+     *
+     * @return The time-to-live measured from when the entry was written
+     */
+    public Duration getTtl() {
+      return ttl;
+    }
+
+    /**
+     * Sets the time-to-live of a cached result set.
+     *
+     * @param ttl The time-to-live measured from when the entry was written
+     */
+    public void setTtl(Duration ttl) {
+      this.ttl = ttl;
+    }
+
+    /**
+     * Gets the maximum number of cached searches.
+     *
+     * @return The maximum number of entries
+     */
+    public long getMaximumSize() {
+      return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of cached searches.
+     *
+     * @param maximumSize The maximum number of entries
+     */
+    public void setMaximumSize(long maximumSize) {
+      this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Gets how long last known results are kept as an outage fallback.
+     *
+     * @return The stale time-to-live measured from when the entry was written
+     */
+    public Duration getStaleTtl() {
+      return staleTtl;
+    }
+
+    /**
+     * Sets how long last known results are kept as an outage fallback.
+     *
+     * @param staleTtl The stale time-to-live measured from when the entry was
+     *                 written
+     */
+    public void setStaleTtl(Duration staleTtl) {
+      this.staleTtl = staleTtl;
+    }
+  }
+
+  /**
+   * Settings for running flight searches on a dedicated bounded executor so
+   * that slow upstream calls do not hold Tomcat worker threads.
+   */
+  public static class Async {
+
+    // Whether searches run on the dedicated executor instead of the request
+    // thread
+    private boolean enabled = true;
+
+    // Number of threads kept alive for flight searches
+    private int corePoolSize = 8;
+
+    // Upper bound on concurrent flight searches
+    private int maxPoolSize = 32;
+
+    // Searches allowed to wait for a thread before new ones are rejected with 503
+    private int queueCapacity = 100;
+
+    // Time a single search may take before the client receives a 504
+    private Duration deadline = Duration.ofSeconds(30);
+
+    /**
+     * Checks whether searches run asynchronously.
+     *
+     * @return true if searches run on the dedicated executor
+     */
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    /**
+     * Enables or disables asynchronous search execution.
+     *
+     * @param enabled true to run searches on the dedicated executor
+     */
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    /**
+     * Gets the number of core executor threads.
+     *
+     * @return The core pool size
+     */
+    public int getCorePoolSize() {
+      return corePoolSize;
+    }
+
+    /**
+     * Sets the number of core executor threads.
+     *
+     * @param corePoolSize The core pool size
+     */
+    public void setCorePoolSize(int corePoolSize) {
+      this.corePoolSize = corePoolSize;
+    }
+
+    /**
+     * Gets the maximum number of executor threads.
+     *
+     * @return The maximum pool size
+     */
+    public int getMaxPoolSize() {
+      return maxPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of executor threads.
+     *
+     * @param maxPoolSize The maximum pool size
+     */
+    public void setMaxPoolSize(int maxPoolSize) {
+      this.maxPoolSize = maxPoolSize;
+    }
+
+    /**
+     * Gets the number of searches that may wait for a thread.
+     *
+     * @return The queue capacity
+     */
+    public int getQueueCapacity() {
+      return queueCapacity;
+    }
+
+    /**
+     * Sets the number of searches that may wait for a thread.
+     *
+     * @param queueCapacity The queue capacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+      this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the per-request search deadline.
+     *
+     * @return The deadline measured from when the request is accepted
+     */
+    public Duration getDeadline() {
+      return deadline;
+    }
+
+    /**
+     * Sets the per-request search deadline.
+     *
+     * @param deadline The deadline measured from when the request is accepted
+     */
+    public void setDeadline(Duration deadline) {
+      this.deadline = deadline;
+    }
+  }
+
+  /**
+   * Settings for resolving and refreshing airline names in the background.
+   */
+  public static class Airlines {
+
+    // How often newly seen carrier codes are resolved in a single batch request
+    private Duration resolveInterval = Duration.ofSeconds(2);
+
+    // How often every known carrier is re-fetched from Amadeus
+    private Duration refreshInterval = Duration.ofHours(24);
+
+    // Maximum number of carrier codes sent in one Amadeus lookup request
+    private int batchSize = 20;
+
+    // Maximum number of airline names held in memory
+    private long cacheMaximumSize = 2000;
+
+    // How long a resolved airline name stays cached; longer than the refresh
+    // interval so refreshed carriers never expire
+    private Duration cacheTtl = Duration.ofHours(48);
+
+    // How long a code Amadeus has no airline for is remembered before it is
+    // looked up again
+    private Duration negativeCacheTtl = Duration.ofHours(1);
+
+    // Longest wait before retrying a code whose lookup failed; the wait starts
+    // at the resolve interval and doubles with every failure
+    private Duration retryMaxBackoff = Duration.ofMinutes(10);
+
+    /**
+     * Gets the interval between batch resolutions of new carrier codes.
+     *
+     * @return The resolve interval
+     */
+    public Duration getResolveInterval() {
+      return resolveInterval;
+    }
+
+    /**
+     * Sets the interval between batch resolutions of new carrier codes.
+     *
+     * @param resolveInterval The resolve interval
+     */
+    public void setResolveInterval(Duration resolveInterval) {
+      this.resolveInterval = resolveInterval;
+    }
+
+    /**
+     * Gets the interval between full refreshes of the airline table.
+     *
+     * @return The refresh interval
+     */
+    public Duration getRefreshInterval() {
+      return refreshInterval;
+    }
+
+    /**
+     * Sets the interval between full refreshes of the airline table.
+     *
+     * @param refreshInterval The refresh interval
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+      this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Gets the maximum number of codes per lookup request.
+     *
+     * @return The batch size
+     */
+    public int getBatchSize() {
+      return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of codes per lookup request.
+     *
+     * @param batchSize The batch size
+     */
+    public void setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the maximum number of cached airline names.
+     *
+     * @return The maximum number of entries
+     */
+    public long getCacheMaximumSize() {
+      return cacheMaximumSize;
+    }
+
+    /**
+     * Sets the maximum number of cached airline names.
+     *
+     * @param cacheMaximumSize The maximum number of entries
+     */
+    public void setCacheMaximumSize(long cacheMaximumSize) {
+      this.cacheMaximumSize = cacheMaximumSize;
+    }
+
+    /**
+     * Gets the time-to-live of a resolved airline name.
+     *
+     * @return The positive entry TTL
+     */
+    public Duration getCacheTtl() {
+      return cacheTtl;
+    }
+
+    /**
+     * Sets the time-to-live of a resolved airline name.
+     *
+     * @param cacheTtl The positive entry TTL
+     */
+    public void setCacheTtl(Duration cacheTtl) {
+      this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Gets the time-to-live of a negative lookup result.
+     *
+     * @return The negative entry TTL
+     */
+    public Duration getNegativeCacheTtl() {
+      return negativeCacheTtl;
+    }
+
+    /**
+     * Sets the time-to-live of a negative lookup result.
+     *
+     * @param negativeCacheTtl The negative entry TTL
+     */
+    public void setNegativeCacheTtl(Duration negativeCacheTtl) {
+      this.negativeCacheTtl = negativeCacheTtl;
+    }
+
+    /**
+     * Gets the longest wait before retrying a failed lookup.
+     *
+     * @return The maximum retry backoff
+     */
+    public Duration getRetryMaxBackoff() {
+      return retryMaxBackoff;
+    }
+
+    /**
+     * Sets the longest wait before retrying a failed lookup.
+     *
+     * @param retryMaxBackoff The maximum retry backoff
+     */
+    public void setRetryMaxBackoff(Duration retryMaxBackoff) {
+      this.retryMaxBackoff = retryMaxBackoff;
+    }
+  }
+
+  /**
+   * Settings for flexible-date searches that query the days around the
+   * requested travel dates in parallel.
+   */
+  public static class FlexibleDates {
+
+    // Largest number of days either side of each date a client may ask for
+    private int maxWindowDays = 3;
+
+    // Upper bound on upstream searches run at the same time for all calendars
+    private int maxConcurrentSearches = 4;
+
+    // Time to wait for all days before returning the ones that finished
+    private Duration dayTimeout = Duration.ofSeconds(20);
+
+    /**
+     * Gets the largest allowed window either side of a date.
+     *
+     * @return The maximum window in days
+     */
+    public int getMaxWindowDays() {
+      return maxWindowDays;
+    }
+
+    /**
+     * Sets the largest allowed window either side of a date.
+     *
+     * @param maxWindowDays The maximum window in days
+     */
+    public void setMaxWindowDays(int maxWindowDays) {
+      this.maxWindowDays = maxWindowDays;
+    }
+
+    /**
+     * Gets the number of day searches that may run concurrently.
+     *
+     * @return The concurrency limit
+     */
+    public int getMaxConcurrentSearches() {
+      return maxConcurrentSearches;
+    }
+
+    /**
+     * Sets the number of day searches that may run concurrently.
+     *
+     * @param maxConcurrentSearches The concurrency limit
+     */
+    public void setMaxConcurrentSearches(int maxConcurrentSearches) {
+      this.maxConcurrentSearches = maxConcurrentSearches;
+    }
+
+    /**
+     * Gets the time to wait for all days of a calendar to finish.
+     *
+     * @return The day timeout measured from when the calendar starts
+     */
+    public Duration getDayTimeout() {
+      return dayTimeout;
+    }
+
+    /**
+     * Sets the time to wait for all days of a calendar to finish.
+     *
+     * @param dayTimeout The day timeout measured from when the calendar starts
+     */
+    public void setDayTimeout(Duration dayTimeout) {
+      this.dayTimeout = dayTimeout;
+    }
+  }
+
+  /**
+   * Settings for multi-airport searches that query every origin and
+   * destination airport pair in parallel.
+   */
+  public static class MultiAirport {
+
+    // Largest number of airport pairs a single search may expand to
+    private int maxPairs = 24;
+
+    // Upper bound on pair searches run at the same time for all requests
+    private int maxConcurrentSearches = 6;
+
+    // Time to wait for all pairs before returning the ones that finished
+    private Duration pairTimeout = Duration.ofSeconds(20);
+
+    // Number of offers returned when the request does not set a limit
+    private int defaultLimit = 50;
+
+    // Largest number of offers a request may ask for
+    private int maxLimit = 200;
+
+    /**
+     * Gets the maximum number of airport pairs per search.
+     *
+     * @return The maximum number of pairs
+     */
+    public int getMaxPairs() {
+      return maxPairs;
+    }
+
+    /**
+     * Sets the maximum number of airport pairs per search.
+     *
+     * @param maxPairs The maximum number of pairs
+     */
+    public void setMaxPairs(int maxPairs) {
+      this.maxPairs = maxPairs;
+    }
+
+    /**
+     * Gets the number of pair searches that may run concurrently.
+     *
+     * @return The concurrency limit
+     */
+    public int getMaxConcurrentSearches() {
+      return maxConcurrentSearches;
+    }
+
+    /**
+     * Sets the number of pair searches that may run concurrently.
+     *
+     * @param maxConcurrentSearches The concurrency limit
+     */
+    public void setMaxConcurrentSearches(int maxConcurrentSearches) {
+      this.maxConcurrentSearches = maxConcurrentSearches;
+    }
+
+    /**
+     * Gets the time to wait for all pairs to finish.
+     *
+     * @return The pair timeout measured from when the search starts
+     */
+    public Duration getPairTimeout() {
+      return pairTimeout;
+    }
+
+    /**
+     * Sets the time to wait for all pairs to finish.
+     *
+     * @param pairTimeout The pair timeout measured from when the search starts
+     */
+    public void setPairTimeout(Duration pairTimeout) {
+      this.pairTimeout = pairTimeout;
+    }
+
+    /**
+     * Gets the default number of offers returned.
+     *
+     * @return The default result limit
+     */
+    public int getDefaultLimit() {
+      return defaultLimit;
+    }
+
+    /**
+     * Sets the default number of offers returned.
+     *
+     * @param defaultLimit The default result limit
+     */
+    public void setDefaultLimit(int defaultLimit) {
+      this.defaultLimit = defaultLimit;
+    }
+
+    /**
+     * Gets the largest number of offers a request may ask for.
+     *
+     * @return The maximum result limit
+     */
+    public int getMaxLimit() {
+      return maxLimit;
+    }
+
+    /**
+     * Sets the largest number of offers a request may ask for.
+     *
+     * @param maxLimit The maximum result limit
+     */
+    public void setMaxLimit(int maxLimit) {
+      this.maxLimit = maxLimit;
+    }
+  }
+
+  /**
+   * Settings for the token bucket that admits calls to the Amadeus API.
+   */
+  public static class RateLimit {
+
+    // Sustained number of Amadeus calls allowed per second; match the account
+    // quota
+    private double permitsPerSecond = 10;
+
+    // Number of calls that may be made back to back after an idle period
+    private int burst = 10;
+
+    // Longest an interactive search may wait for a call slot before it is
+    // rejected with 503; keep below the request deadline
+    private Duration interactiveMaxWait = Duration.ofSeconds(10);
+
+    // Longest background work may wait for a call slot
+    private Duration backgroundMaxWait = Duration.ofMinutes(2);
+
+    /**
+     * Gets the sustained call rate.
+     *
+     * @return The permitted calls per second
+     */
+    public double getPermitsPerSecond() {
+      return permitsPerSecond;
+    }
+
+    /**
+     * Sets the sustained call rate.
+     *
+     * @param permitsPerSecond The permitted calls per second
+     */
+    public void setPermitsPerSecond(double permitsPerSecond) {
+      this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * Gets the burst size.
+     *
+     * @return The number of calls allowed back to back
+     */
+    public int getBurst() {
+      return burst;
+    }
+
+    /**
+     * Sets the burst size.
+     *
+     * @param burst The number of calls allowed back to back
+     */
+    public void setBurst(int burst) {
+      this.burst = burst;
+    }
+
+    /**
+     * Gets the maximum queue wait for interactive calls.
+     *
+     * @return The interactive maximum wait
+     */
+    public Duration getInteractiveMaxWait() {
+      return interactiveMaxWait;
+    }
+
+    /**
+     * Sets the maximum queue wait for interactive calls.
+     *
+     * @param interactiveMaxWait The interactive maximum wait
+     */
+    public void setInteractiveMaxWait(Duration interactiveMaxWait) {
+      this.interactiveMaxWait = interactiveMaxWait;
+    }
+
+    /**
+     * Gets the maximum queue wait for background calls.
+     *
+     * @return The background maximum wait
+     */
+    public Duration getBackgroundMaxWait() {
+      return backgroundMaxWait;
+    }
+
+    /**
+     * Sets the maximum queue wait for background calls.
+     *
+     * @param backgroundMaxWait The background maximum wait
+     */
+    public void setBackgroundMaxWait(Duration backgroundMaxWait) {
+      this.backgroundMaxWait = backgroundMaxWait;
+    }
+  }
+
+  /**
+   * Settings for the circuit breaker around the Amadeus API.
+   */
+  public static class CircuitBreaker {
+
+    // Consecutive outage failures (5xx or network errors) that open the circuit
+    private int failureThreshold = 5;
+
+    // How long the circuit stays open before a single probe call is allowed
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * Gets the number of consecutive failures that open the circuit.
+     *
+     * @return The failure threshold
+     */
+    public int getFailureThreshold() {
+      return failureThreshold;
+    }
+
+    /**
+     * Sets the number of consecutive failures that open the circuit.
+     *
+     * @param failureThreshold The failure threshold
+     */
+    public void setFailureThreshold(int failureThreshold) {
+      this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Gets how long the circuit stays open before probing.
+     *
+     * @return The open duration
+     */
+    public Duration getOpenDuration() {
+      return openDuration;
+    }
+
+    /**
+     * Sets how long the circuit stays open before probing.
+     *
+     * @param openDuration The open duration
+     */
+    public void setOpenDuration(Duration openDuration) {
+      this.openDuration = openDuration;
+    }
+  }
+
+  /**
+   * Settings for hedging slow Amadeus searches.
+   */
+  public static class Hedging {
+
+    // Whether slow searches are hedged with a second identical call
+    private boolean enabled = false;
+
+    // Percentile of recent upstream latencies after which a hedge is sent
+    private double percentile = 95;
+
+    // Shortest delay before hedging, regardless of the percentile
+    private Duration minDelay = Duration.ofMillis(500);
+
+    // Hedges allowed as a percentage of all search calls
+    private double budgetPercent = 10;
+
+    /**
+     * Checks whether hedging is enabled.
+     *
+     * @return true if slow searches are hedged
+     */
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    /**
+     * Enables or disables hedging.
+     *
+     * @param enabled true to hedge slow searches
+     */
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    /**
+     * Gets the latency percentile used as the hedge delay.
+     *
+     * @return The percentile, between 0 and 100
+     */
+    public double getPercentile() {
+      return percentile;
+    }
+
+    /**
+     * Sets the latency percentile used as the hedge delay.
+     *
+     * @param percentile The percentile, between 0 and 100
+     */
+    public void setPercentile(double percentile) {
+      this.percentile = percentile;
+    }
+
+    /**
+     * Gets the shortest hedge delay.
+     *
+     * @return The minimum delay
+     */
+    public Duration getMinDelay() {
+      return minDelay;
+    }
+
+    /**
+     * Sets the shortest hedge delay.
+     *
+     * @param minDelay The minimum delay
+     */
+    public void setMinDelay(Duration minDelay) {
+      this.minDelay = minDelay;
+    }
+
+    /**
+     * Gets the hedge budget.
+     *
+     * @return Hedges allowed as a percentage of calls
+     */
+    public double getBudgetPercent() {
+      return budgetPercent;
+    }
+
+    /**
+     * Sets the hedge budget.
+     *
+     * @param budgetPercent Hedges allowed as a percentage of calls
+     */
+    public void setBudgetPercent(double budgetPercent) {
+      this.budgetPercent = budgetPercent;
+    }
+  }
+
+  /**
+   * Settings for the pooled HTTP transport used for flight offer searches.
+   */
+  public static class Transport {
+
+    // Longest time to wait for a new connection to Amadeus
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    // Longest time to wait for a response once a request is sent
+    private Duration requestTimeout = Duration.ofSeconds(20);
+
+    // How long before expiry the access token is refreshed in the background
+    private Duration tokenRefreshMargin = Duration.ofMinutes(5);
+
+    // Whether responses are requested gzip-compressed
+    private boolean gzip = true;
+
+    /**
+     * Gets the connect timeout.
+     *
+     * @return The connect timeout
+     */
+    public Duration getConnectTimeout() {
+      return connectTimeout;
+    }
+
+    /**
+     * Sets the connect timeout.
+     *
+     * @param connectTimeout The connect timeout
+     */
+    public void setConnectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Gets the request timeout.
+     *
+     * @return The request timeout
+     */
+    public Duration getRequestTimeout() {
+      return requestTimeout;
+    }
+
+    /**
+     * Sets the request timeout.
+     *
+     * @param requestTimeout The request timeout
+     */
+    public void setRequestTimeout(Duration requestTimeout) {
+      this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Gets how long before expiry the access token is refreshed.
+     *
+     * @return The refresh margin
+     */
+    public Duration getTokenRefreshMargin() {
+      return tokenRefreshMargin;
+    }
+
+    /**
+     * Sets how long before expiry the access token is refreshed.
+     *
+     * @param tokenRefreshMargin The refresh margin
+     */
+    public void setTokenRefreshMargin(Duration tokenRefreshMargin) {
+      this.tokenRefreshMargin = tokenRefreshMargin;
+    }
+
+    /**
+     * Checks whether gzip-compressed responses are requested.
+     *
+     * @return true if gzip is requested
+     */
+    public boolean isGzip() {
+      return gzip;
+    }
+
+    /**
+     * Enables or disables gzip-compressed responses.
+     *
+     * @param gzip true to request gzip
+     */
+    public void setGzip(boolean gzip) {
+      this.gzip = gzip;
+    }
+  }
+
+  /**
+   * Settings for recording search history in the background.
+   */
+  public static class History {
+
+    // Whether searches are recorded in flight_searches
+    private boolean enabled = true;
+
+    // Searches held in memory awaiting the writer; further searches are dropped
+    private int queueCapacity = 10000;
+
+    // Largest number of rows inserted in one JDBC batch
+    private int batchSize = 500;
+
+    // Longest time a recorded search waits for its batch to fill
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    /**
+     * Checks whether search history is recorded.
+     *
+     * @return true if searches are recorded
+     */
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    /**
+     * Enables or disables search history recording.
+     *
+     * @param enabled true to record searches
+     */
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    /**
+     * Gets the capacity of the in-memory queue.
+     *
+     * @return The queue capacity
+     */
+    public int getQueueCapacity() {
+      return queueCapacity;
+    }
+
+    /**
+     * Sets the capacity of the in-memory queue.
+     *
+     * @param queueCapacity The queue capacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+      this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the largest number of rows per insert batch.
+     *
+     * @return The batch size
+     */
+    public int getBatchSize() {
+      return batchSize;
+    }
+
+    /**
+     * Sets the largest number of rows per insert batch.
+     *
+     * @param batchSize The batch size
+     */
+    public void setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets how long a recorded search waits for its batch to fill.
+     *
+     * @return The flush interval
+     */
+    public Duration getFlushInterval() {
+      return flushInterval;
+    }
+
+    /**
+     * Sets how long a recorded search waits for its batch to fill.
+     *
+     * @param flushInterval The flush interval
+     */
+    public void setFlushInterval(Duration flushInterval) {
+      this.flushInterval = flushInterval;
+    }
+  }
+}
@@ -5,6 +5,7 @@ import com.__final_backend.backend.security.JwtAuthenticationFilter;
 import com.__final_backend.backend.security.JwtTokenUtil;
 import com.__final_backend.backend.security.RememberMeAuthenticationFilter;
 import com.__final_backend.backend.service.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -45,6 +46,7 @@ public class SecurityConfig {
     private final JwtTokenUtil jwtTokenUtil;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final AuthService authService;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Creates a new SecurityConfig instance with the required dependencies.
@@ -53,13 +55,16 @@ public class SecurityConfig {
      * @param jwtAuthenticationEntryPoint Entry point for handling authentication
      *                                    failures
      * @param authService                 Service for authentication operations
+     * @param meterRegistry               Registry for authentication metrics
      */
     public SecurityConfig(JwtTokenUtil jwtTokenUtil,
             JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
-            AuthService authService) {
+            AuthService authService,
+            MeterRegistry meterRegistry) {
         this.jwtTokenUtil = jwtTokenUtil;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
         this.authService = authService;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -128,6 +133,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/booking-records/**").authenticated()
                         // Admin-only endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Load balancer and orchestrator probes call health without credentials
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        // Metrics and the other endpoints expose internals, so only admins may read them
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .headers(headers -> headers
                         // Replace deprecated frameOptions with newer API
@@ -166,7 +175,7 @@ public class SecurityConfig {
      */
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtTokenUtil);
+        return new JwtAuthenticationFilter(jwtTokenUtil, meterRegistry);
     }
 
     /**
@@ -0,0 +1,57 @@
+package com.__final_backend.backend.controller;
+
+import com.__final_backend.backend.dto.AirportDTO;
+import com.__final_backend.backend.service.AirportService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST controller for airport reference data in the SkyExplorer application.
+ * <p>
+ * Serves location suggestions for the search form from an in-memory index, so
+ * it is safe to call on every keystroke.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/airports")
+public class AirportController {
+    private final AirportService airportService;
+
+    /**
+     * Constructs an AirportController with the required dependencies.
+     *
+     * @param airportService service that answers suggestion queries
+     */
+    public AirportController(AirportService airportService) {
+        this.airportService = airportService;
+    }
+
+    /**
+     * Suggests airports and cities matching the text typed so far.
+     * <p>
+     * Matches the start of the IATA code, the city name or any word of the
+     * airport name, ignoring case and accents. Suggestions are ranked by
+     * passenger traffic, except that an exact code match always comes first.
+     * The dataset only changes with a release, so responses may be cached by
+     * the browser for an hour.
+     * </p>
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions, up to 10
+     * @return ResponseEntity containing the suggestions, most relevant first
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<AirportDTO>> suggest(@RequestParam("q") String query,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
+                .body(airportService.suggest(query, limit));
+    }
+}
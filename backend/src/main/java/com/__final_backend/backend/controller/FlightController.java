@@ -1,16 +1,47 @@
 package com.__final_backend.backend.controller;
 
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.dto.FareCalendarEntryDTO;
 import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.dto.FlightOffersResponseDTO;
 import com.__final_backend.backend.dto.FlightSearchRequestDTO;
+import com.__final_backend.backend.dto.MultiAirportSearchRequestDTO;
+import com.__final_backend.backend.dto.MultiAirportSearchResultDTO;
+import com.__final_backend.backend.service.FareCalendarService;
 import com.__final_backend.backend.service.FlightService;
+import com.__final_backend.backend.service.MultiAirportSearchService;
+import com.__final_backend.backend.service.db.SearchHistoryRecorder;
+import com.__final_backend.backend.service.query.FlightOfferGrouper;
+import com.__final_backend.backend.service.query.FlightResultPage;
+import com.__final_backend.backend.service.query.FlightResultQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * REST controller that handles flight-related API endpoints in the SkyExplorer
@@ -33,16 +64,51 @@ import java.util.List;
 public class FlightController {
     private static final Logger logger = LoggerFactory.getLogger(FlightController.class);
 
+    /** Media type of the streaming search response: one JSON object per line. */
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /** Response header carrying the cursor of the next result page. */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /** Response header carrying the number of flights across all pages. */
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final FlightService flightService;
+    private final FareCalendarService fareCalendarService;
+    private final MultiAirportSearchService multiAirportSearchService;
+    private final SearchHistoryRecorder searchHistoryRecorder;
+    private final ThreadPoolTaskExecutor flightSearchExecutor;
+    private final FlightSearchProperties.Async asyncSettings;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructs a FlightController with the required dependencies.
      *
-     * @param flightService service that handles flight search operations and
-     *                      communicates with the Amadeus API
+     * @param flightService             service that handles flight search
+     *                                  operations and communicates with the
+     *                                  Amadeus API
+     * @param fareCalendarService       service that builds flexible-date fare
+     *                                  calendars
+     * @param multiAirportSearchService service that searches several airports at
+     *                                  once
+     * @param searchHistoryRecorder     records searches in the background
+     * @param flightSearchExecutor      bounded executor that runs searches off
+     *                                  the servlet threads
+     * @param properties                flight search settings providing the
+     *                                  async mode and per-request deadline
+     * @param objectMapper              JSON mapper used to write streamed results
      */
-    public FlightController(FlightService flightService) {
+    public FlightController(FlightService flightService, FareCalendarService fareCalendarService,
+            MultiAirportSearchService multiAirportSearchService, SearchHistoryRecorder searchHistoryRecorder,
+            @Qualifier("flightSearchExecutor") ThreadPoolTaskExecutor flightSearchExecutor,
+            FlightSearchProperties properties, ObjectMapper objectMapper) {
         this.flightService = flightService;
+        this.fareCalendarService = fareCalendarService;
+        this.multiAirportSearchService = multiAirportSearchService;
+        this.searchHistoryRecorder = searchHistoryRecorder;
+        this.flightSearchExecutor = flightSearchExecutor;
+        this.asyncSettings = properties.getAsync();
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -54,23 +120,429 @@ public class FlightController {
      * departure/arrival
      * times, and pricing information.
      * </p>
+     * <p>
+     * When async mode is enabled the search runs on the dedicated flight search
+     * executor and the servlet thread is released while Amadeus is called. A
+     * search rejected because the executor queue is full completes with 503, and
+     * one that exceeds the configured deadline completes with 504; both are
+     * mapped by {@link GlobalExceptionHandler}. A search still queued at the
+     * deadline is dropped from the queue. One already running is left to
+     * finish, because other callers may have joined it, and is bounded by the
+     * Amadeus timeouts; a caller waiting on another caller's search stops
+     * waiting at its own deadline.
+     * </p>
+     * <p>
+     * The optional sort and filter options are applied on the server to the
+     * cached result of the search, so re-sorting or narrowing a search does not
+     * call Amadeus again. Filters, sorting and paging work on whole offers, so
+     * the segments of a round trip or connection always stay together. When a
+     * page size or cursor is given, only one page of offers is returned; the
+     * total number of matching offers is sent in the
+     * {@value #TOTAL_COUNT_HEADER} header and the cursor of the next page, if
+     * any, in the {@value #NEXT_CURSOR_HEADER} header. The body stays a plain
+     * list either way. A cursor whose search results have changed since it was
+     * issued, for example after the cached result expired, is rejected with 400
+     * and the client starts again from the first page.
+     * </p>
+     * <p>
+     * Each valid search is queued for the search history, which is written in
+     * the background; the search does not wait for it.
+     * </p>
      *
      * @param request the flight search criteria including origin, destination,
-     *                dates, etc.
-     * @return ResponseEntity containing a list of flights matching the search
-     *         criteria
+     *                dates, etc., and optional sort, filter and paging options
+     * @return future ResponseEntity containing a list of flights matching the
+     *         search criteria
      */
     @PostMapping("/search")
-    public ResponseEntity<List<FlightDTO>> searchFlights(@RequestBody @Valid FlightSearchRequestDTO request) {
+    public CompletableFuture<ResponseEntity<List<FlightDTO>>> searchFlights(
+            @RequestBody @Valid FlightSearchRequestDTO request) {
         logger.info("Searching flights with request: {}", request);
-        List<FlightDTO> results = flightService.searchFlights(
+        // Invalid sort and filter options are rejected before any search is started
+        FlightResultQuery query = FlightResultQuery.from(request);
+        recordSearch(request);
+        if (!asyncSettings.isEnabled()) {
+            return CompletableFuture.completedFuture(searchPage(request, query));
+        }
+
+        return withDeadline(() -> searchPage(request, query));
+    }
+
+    /**
+     * Searches for flights and returns them grouped into offers.
+     * <p>
+     * Each offer is listed once with its total price and its segments grouped
+     * by itinerary, instead of one flat row per segment with the offer price
+     * repeated on each. Airline and aircraft names are sent once in lookup
+     * tables and referenced by index, which keeps the payload small for large
+     * result sets. The search itself is shared and cached with
+     * {@code /search}; sort, filter and paging options are not applied here.
+     * Deadlines, rejection and the search history behave as for
+     * {@code /search}.
+     * </p>
+     *
+     * @param request the flight search criteria including origin, destination,
+     *                dates, etc.
+     * @return future ResponseEntity containing the offers and lookup tables
+     */
+    @PostMapping("/search/offers")
+    public CompletableFuture<ResponseEntity<FlightOffersResponseDTO>> searchOffers(
+            @RequestBody @Valid FlightSearchRequestDTO request) {
+        logger.info("Searching flight offers with request: {}", request);
+        recordSearch(request);
+        if (!asyncSettings.isEnabled()) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(FlightOfferGrouper.group(search(request))));
+        }
+
+        return withDeadline(() -> ResponseEntity.ok(FlightOfferGrouper.group(search(request))));
+    }
+
+    /**
+     * Searches the days around the requested dates and returns the cheapest
+     * fare for each.
+     * <p>
+     * The travel date, and for round trips the return date, are each widened by
+     * up to the given number of days in both directions. The result is a compact
+     * calendar with one entry per date combination instead of the individual
+     * flights. Deadlines and rejection behave as for {@code /search}, and the
+     * requested dates are recorded in the search history.
+     * </p>
+     *
+     * @param request the flight search criteria with the preferred dates
+     * @param days    days to search either side of each date; capped by the
+     *                server
+     * @return future ResponseEntity containing one calendar entry per date
+     *         combination
+     */
+    @PostMapping("/search/flexible")
+    public CompletableFuture<ResponseEntity<List<FareCalendarEntryDTO>>> searchFlexibleDates(
+            @RequestBody @Valid FlightSearchRequestDTO request,
+            @RequestParam(defaultValue = "3") int days) {
+        logger.info("Searching flexible dates (+/-{} days) with request: {}", days, request);
+        recordSearch(request);
+        if (!asyncSettings.isEnabled()) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(searchCalendar(request, days)));
+        }
+
+        return withDeadline(() -> ResponseEntity.ok(searchCalendar(request, days)));
+    }
+
+    /**
+     * Searches several origin and destination airports at once.
+     * <p>
+     * Metro area codes such as "NYC" are expanded to their member airports and
+     * every origin airport is searched against every destination airport in
+     * parallel. Whole offers are merged into one list ordered by price. Pairs
+     * that fail or run past the pair timeout are left out and the result is
+     * marked partial. Deadlines and rejection behave as for {@code /search}.
+     * Once the codes are accepted, every requested origin and destination pair
+     * is recorded in the search history as it was given, before metro codes
+     * are expanded.
+     * </p>
+     *
+     * @param request the origins, destinations and remaining search criteria
+     * @return future ResponseEntity containing the cheapest flights across all
+     *         pairs
+     */
+    @PostMapping("/search/multi")
+    public CompletableFuture<ResponseEntity<MultiAirportSearchResultDTO>> searchMultipleAirports(
+            @RequestBody @Valid MultiAirportSearchRequestDTO request) {
+        logger.info("Searching multiple airports with request: {}", request);
+        // The user is only known on the request thread
+        String username = currentUsername();
+        if (!asyncSettings.isEnabled()) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(searchMulti(request, username)));
+        }
+
+        return withDeadline(() -> ResponseEntity.ok(searchMulti(request, username)));
+    }
+
+    /**
+     * Searches for flights and streams each result as soon as it is mapped.
+     * <p>
+     * The response is newline-delimited JSON: every line is one
+     * {@link FlightDTO}, written while the remaining offers are still being
+     * mapped, so the client can render the first flights without waiting for
+     * the whole result set. If the search fails after the response has started,
+     * a final line of the form {"error": "..."} is written before the stream is
+     * closed.
+     * </p>
+     * <p>
+     * The search always runs on the flight search executor. A full queue is
+     * rejected with 503 before the response starts. Once the configured
+     * deadline passes the stream is closed and a search still queued is
+     * dropped; a running search is not interrupted. The search is recorded in
+     * the search history as for {@code /search}.
+     * </p>
+     *
+     * @param request the flight search criteria including origin, destination,
+     *                dates, etc.
+     * @return ResponseEntity whose body emits one JSON line per matching flight
+     */
+    @PostMapping("/search/stream")
+    public ResponseEntity<ResponseBodyEmitter> streamFlights(@RequestBody @Valid FlightSearchRequestDTO request) {
+        logger.info("Streaming flights with request: {}", request);
+        recordSearch(request);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(asyncSettings.getDeadline().toMillis());
+
+        // Throws RejectedExecutionException straight away when the queue is full
+        Future<?> task = flightSearchExecutor.submit(() -> stream(request, emitter));
+        emitter.onTimeout(() -> cancel(task));
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(emitter);
+    }
+
+    /**
+     * Runs a streaming search and writes each flight to the emitter.
+     * <p>
+     * Write failures, usually a client that went away, only stop this
+     * response. The search itself keeps running so that other callers sharing
+     * it still receive their results and the result is cached.
+     * </p>
+     *
+     * @param request the flight search criteria
+     * @param emitter the response body to write to
+     */
+    private void stream(FlightSearchRequestDTO request, ResponseBodyEmitter emitter) {
+        boolean[] disconnected = { false };
+        try {
+            flightService.streamFlights(
+                    request.getStartingLocation(),
+                    request.getEndingLocation(),
+                    request.getTravelDate(),
+                    request.getReturnDate(),
+                    request.getNumberOfTravelers(),
+                    request.getTripType(),
+                    flight -> {
+                        if (!disconnected[0]) {
+                            disconnected[0] = !sendLine(emitter, flight);
+                        }
+                    });
+            emitter.complete();
+        } catch (Exception e) {
+            logger.error("Error streaming flights: {}", e.getMessage());
+            if (!disconnected[0]) {
+                sendLine(emitter, Map.of("error", "Error searching flights"));
+            }
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Writes one value as a single JSON line.
+     *
+     * @param emitter the response body to write to
+     * @param value   the value to serialize
+     * @return true if the line was written, false if the client is gone
+     */
+    private boolean sendLine(ResponseBodyEmitter emitter, Object value) {
+        try {
+            emitter.send(objectMapper.writeValueAsString(value) + "\n", MediaType.TEXT_PLAIN);
+            return true;
+        } catch (JsonProcessingException e) {
+            logger.warn("Skipping flight that could not be serialized: {}", e.getMessage());
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Stopped streaming flights: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Runs a search on the flight search executor, completing the returned
+     * future with its result or, once the configured deadline passes, with a
+     * {@link TimeoutException}.
+     * <p>
+     * A search still queued at the deadline is cancelled, so a burst of slow
+     * Amadeus calls does not keep the queue full after their callers have given
+     * up. A running search is not interrupted: it may be the shared call that
+     * identical searches with later deadlines are waiting on, and interrupting
+     * it would fail all of them. A search that only joined another one leaves
+     * its wait at its own deadline instead.
+     * </p>
+     *
+     * @param search the search to run
+     * @param <T>    the type of the search result
+     * @return future completed with the search result
+     * @throws RejectedExecutionException if the executor queue is full
+     */
+    private <T> CompletableFuture<T> withDeadline(Supplier<T> search) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Throws RejectedExecutionException straight away when the queue is full
+        Future<?> task = flightSearchExecutor.submit(() -> {
+            try {
+                result.complete(search.get());
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.orTimeout(asyncSettings.getDeadline().toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, failure) -> {
+                    if (failure instanceof TimeoutException) {
+                        cancel(task);
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * Cancels a search that missed its deadline, dropping it from the executor
+     * queue if it has not started. A running search is not interrupted.
+     *
+     * @param task the submitted search
+     */
+    private void cancel(Future<?> task) {
+        if (task.cancel(false)) {
+            flightSearchExecutor.getThreadPoolExecutor().purge();
+        }
+    }
+
+    /**
+     * Queues a search for the search history. Must be called on the request
+     * thread, where the user is known.
+     *
+     * @param request the flight search criteria
+     */
+    private void recordSearch(FlightSearchRequestDTO request) {
+        searchHistoryRecorder.record(currentUsername(), request.getStartingLocation(), request.getEndingLocation(),
+                request.getTravelDate(), request.getReturnDate(), request.getNumberOfTravelers(),
+                request.getTripType());
+    }
+
+    /**
+     * Gets the name of the user making the current request.
+     *
+     * @return the username, or null if the request is anonymous
+     */
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Runs a flight search for the given request on the calling thread.
+     *
+     * @param request the flight search criteria
+     * @return the list of flights matching the search criteria
+     */
+    private List<FlightDTO> search(FlightSearchRequestDTO request) {
+        return flightService.searchFlights(
                 request.getStartingLocation(),
                 request.getEndingLocation(),
                 request.getTravelDate(),
                 request.getReturnDate(),
                 request.getNumberOfTravelers(),
                 request.getTripType());
-        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Runs a flight search and applies the sort, filter and paging options of
+     * the request to its result.
+     *
+     * @param request the flight search criteria and result options
+     * @param query   the sort and filter options read from the request
+     * @return ResponseEntity with the matching flights and, when paging, the
+     *         paging headers
+     */
+    private ResponseEntity<List<FlightDTO>> searchPage(FlightSearchRequestDTO request, FlightResultQuery query) {
+        List<FlightDTO> flights = query.apply(search(request));
+        if (request.getPageSize() == null && request.getCursor() == null) {
+            return ResponseEntity.ok(flights);
+        }
+
+        FlightResultPage page = FlightResultPage.of(flights, request.getPageSize(), request.getCursor(),
+                resultScope(request, query));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalCount()));
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getFlights());
+    }
+
+    /**
+     * Identifies the search and query a page cursor is valid for.
+     *
+     * @param request the flight search criteria
+     * @param query   the sort and filter options
+     * @return a string that differs whenever the result list would differ
+     */
+    private static String resultScope(FlightSearchRequestDTO request, FlightResultQuery query) {
+        return String.join("|",
+                String.valueOf(request.getStartingLocation()).toUpperCase(Locale.ROOT),
+                String.valueOf(request.getEndingLocation()).toUpperCase(Locale.ROOT),
+                String.valueOf(request.getTravelDate()),
+                String.valueOf(request.getReturnDate()),
+                String.valueOf(request.getNumberOfTravelers()),
+                String.valueOf(request.getTripType()),
+                query.toString());
+    }
+
+    /**
+     * Builds the fare calendar for the given request on the calling thread.
+     *
+     * @param request the flight search criteria with the preferred dates
+     * @param days    days to search either side of each date
+     * @return one calendar entry per date combination
+     */
+    private List<FareCalendarEntryDTO> searchCalendar(FlightSearchRequestDTO request, int days) {
+        return fareCalendarService.searchCalendar(
+                request.getStartingLocation(),
+                request.getEndingLocation(),
+                request.getTravelDate(),
+                request.getReturnDate(),
+                request.getNumberOfTravelers(),
+                request.getTripType(),
+                days);
+    }
+
+    /**
+     * Runs a multi-airport search for the given request on the calling thread,
+     * then records each requested origin and destination pair in the search
+     * history.
+     *
+     * @param request  the origins, destinations and remaining search criteria
+     * @param username the user who searched, or null if anonymous
+     * @return the cheapest flights across all pairs
+     */
+    private MultiAirportSearchResultDTO searchMulti(MultiAirportSearchRequestDTO request, String username) {
+        MultiAirportSearchResultDTO result = multiAirportSearchService.search(
+                request.getOrigins(),
+                request.getDestinations(),
+                request.getTravelDate(),
+                request.getReturnDate(),
+                request.getNumberOfTravelers(),
+                request.getTripType(),
+                request.getLimit());
+        // Only reached when the service accepted the codes, so the number of
+        // pairs is bounded by its pair limit
+        for (String origin : codes(request.getOrigins())) {
+            for (String destination : codes(request.getDestinations())) {
+                if (!origin.equals(destination)) {
+                    searchHistoryRecorder.record(username, origin, destination, request.getTravelDate(),
+                            request.getReturnDate(), request.getNumberOfTravelers(), request.getTripType());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Trims and upper-cases codes, dropping blanks and duplicates.
+     *
+     * @param codes the codes as requested
+     * @return the distinct codes, in request order
+     */
+    private static Set<String> codes(List<String> codes) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String code : codes) {
+            if (code != null && !code.isBlank()) {
+                distinct.add(code.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return distinct;
     }
 
     /**
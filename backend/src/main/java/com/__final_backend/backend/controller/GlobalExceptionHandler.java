@@ -1,12 +1,18 @@
 package com.__final_backend.backend.controller;
 
+import com.__final_backend.backend.service.amadeus.AmadeusUnavailableException;
+import com.__final_backend.backend.service.query.InvalidResultQueryException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Global exception handler for the SkyExplorer application.
@@ -47,6 +53,74 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
   }
 
+  /**
+   * Handles invalid sort, filter or paging options on a flight search.
+   * <p>
+   * The message names the offending option, such as an unknown sort field or a
+   * page cursor issued for a different search.
+   * </p>
+   *
+   * @param ex the exception describing the invalid option
+   * @return ResponseEntity with error message and HTTP 400 status
+   */
+  @ExceptionHandler(InvalidResultQueryException.class)
+  public ResponseEntity<Map<String, String>> handleInvalidResultQuery(InvalidResultQueryException ex) {
+    Map<String, String> error = new HashMap<>();
+    error.put("error", ex.getMessage());
+    return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles work rejected because a bounded executor is saturated.
+   * <p>
+   * Thrown when the flight search executor's queue is full. The client is told
+   * to retry later instead of waiting behind the backlog.
+   * </p>
+   *
+   * @param ex the rejection raised by the executor
+   * @return ResponseEntity with error message and HTTP 503 status
+   */
+  @ExceptionHandler(RejectedExecutionException.class)
+  public ResponseEntity<Map<String, String>> handleRejectedExecution(RejectedExecutionException ex) {
+    Map<String, String> error = new HashMap<>();
+    error.put("error", "The service is busy, please try again shortly");
+    return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  /**
+   * Handles calls refused because the Amadeus API is unavailable.
+   * <p>
+   * Raised while the Amadeus circuit breaker is open, or when Amadeus fails with
+   * a server or network error and no earlier results can be served instead.
+   * </p>
+   *
+   * @param ex the exception describing the outage
+   * @return ResponseEntity with error message and HTTP 503 status
+   */
+  @ExceptionHandler(AmadeusUnavailableException.class)
+  public ResponseEntity<Map<String, String>> handleAmadeusUnavailable(AmadeusUnavailableException ex) {
+    Map<String, String> error = new HashMap<>();
+    error.put("error", "Flight data is temporarily unavailable, please try again shortly");
+    return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  /**
+   * Handles requests that exceeded their processing deadline.
+   * <p>
+   * Covers both the per-search deadline applied to asynchronous flight searches
+   * and Spring MVC's own async request timeout.
+   * </p>
+   *
+   * @param ex the timeout that ended the request
+   * @return ResponseEntity with error message and HTTP 504 status
+   */
+  @ExceptionHandler({ TimeoutException.class, AsyncRequestTimeoutException.class })
+  public ResponseEntity<Map<String, String>> handleTimeout(Exception ex) {
+    Map<String, String> error = new HashMap<>();
+    error.put("error", "The request took too long to complete, please try again");
+    return new ResponseEntity<>(error, HttpStatus.GATEWAY_TIMEOUT);
+  }
+
   /**
    * Handles all other unhandled exceptions.
    * <p>
@@ -2,6 +2,11 @@ package com.__final_backend.backend.controller.admin;
 
 import com.__final_backend.backend.entity.User;
 import com.__final_backend.backend.service.AuthService;
+import com.__final_backend.backend.service.amadeus.AmadeusCallScheduler;
+import com.__final_backend.backend.service.amadeus.AmadeusHttpTransport;
+import com.__final_backend.backend.service.amadeus.HedgedAmadeusCaller;
+import com.__final_backend.backend.service.cache.AirlineNameCache;
+import com.__final_backend.backend.service.cache.FlightSearchCache;
 import com.__final_backend.backend.service.db.UserService;
 
 import org.springframework.http.ResponseEntity;
@@ -9,6 +14,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -18,6 +24,8 @@ import java.util.Optional;
  * This controller provides endpoints for user role management, including
  * promoting users
  * to admin status, demoting admins, and adding or removing specific roles.
+ * It also exposes runtime statistics for the application's in-memory caches
+ * and the Amadeus call scheduler.
  * All endpoints in this controller require ADMIN role authentication.
  * </p>
  */
@@ -28,10 +36,23 @@ public class AdminController {
 
   private final UserService userService;
   private final AuthService authService;
-
-  public AdminController(UserService userService, AuthService authService) {
+  private final FlightSearchCache flightSearchCache;
+  private final AirlineNameCache airlineNameCache;
+  private final AmadeusCallScheduler amadeusCallScheduler;
+  private final HedgedAmadeusCaller hedgedAmadeusCaller;
+  private final AmadeusHttpTransport amadeusHttpTransport;
+
+  public AdminController(UserService userService, AuthService authService,
+      FlightSearchCache flightSearchCache, AirlineNameCache airlineNameCache,
+      AmadeusCallScheduler amadeusCallScheduler, HedgedAmadeusCaller hedgedAmadeusCaller,
+      AmadeusHttpTransport amadeusHttpTransport) {
     this.userService = userService;
     this.authService = authService;
+    this.flightSearchCache = flightSearchCache;
+    this.airlineNameCache = airlineNameCache;
+    this.amadeusCallScheduler = amadeusCallScheduler;
+    this.hedgedAmadeusCaller = hedgedAmadeusCaller;
+    this.amadeusHttpTransport = amadeusHttpTransport;
   }
 
   /**
@@ -183,4 +204,41 @@ public class AdminController {
     response.put("message", "Role removed from user successfully: " + role);
     return ResponseEntity.ok(response);
   }
+
+  /**
+   * Returns hit, miss and eviction statistics for the in-memory caches.
+   * <p>
+   * This endpoint lets administrators check how effectively repeated flight
+   * searches are being served from memory instead of the Amadeus API.
+   * </p>
+   *
+   * @return ResponseEntity containing statistics keyed by cache name
+   */
+  @GetMapping("/caches")
+  public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("flightSearch", flightSearchCache.describe());
+    response.put("airlineNames", airlineNameCache.describe());
+    return ResponseEntity.ok(response);
+  }
+
+  /**
+   * Returns queue statistics for the Amadeus call scheduler.
+   * <p>
+   * Shows the tokens currently available and, for the interactive and
+   * background lanes, how many calls were admitted or rejected and how long
+   * they waited for a slot. Also includes the circuit breaker state and how
+   * many searches were hedged, and the search transport's request and access
+   * token counters.
+   * </p>
+   *
+   * @return ResponseEntity containing the scheduler statistics
+   */
+  @GetMapping("/amadeus")
+  public ResponseEntity<Map<String, Object>> getAmadeusStatistics() {
+    Map<String, Object> response = new LinkedHashMap<>(amadeusCallScheduler.describe());
+    response.put("hedging", hedgedAmadeusCaller.describe());
+    response.put("transport", amadeusHttpTransport.describe());
+    return ResponseEntity.ok(response);
+  }
 }
\ No newline at end of file
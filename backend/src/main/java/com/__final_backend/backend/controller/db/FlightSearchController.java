@@ -1,8 +1,10 @@
 package com.__final_backend.backend.controller.db;
 
+import com.__final_backend.backend.dto.TrendingRouteDTO;
 import com.__final_backend.backend.entity.FlightSearch;
 import com.__final_backend.backend.entity.User;
 import com.__final_backend.backend.service.db.FlightSearchService;
+import com.__final_backend.backend.service.db.RoutePopularityService;
 import com.__final_backend.backend.service.db.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -23,7 +25,8 @@ import java.util.Optional;
  * This controller provides endpoints for storing, retrieving, and managing
  * user flight search history. It supports operations for individual searches as
  * well as
- * search history for specific users, routes, and date ranges.
+ * search history for specific users, routes, and date ranges, and the most
+ * searched routes across all users.
  */
 @RestController
 @RequestMapping("/api/flight-searches")
@@ -31,10 +34,13 @@ public class FlightSearchController {
 
   private final FlightSearchService flightSearchService;
   private final UserService userService;
+  private final RoutePopularityService routePopularityService;
 
-  public FlightSearchController(FlightSearchService flightSearchService, UserService userService) {
+  public FlightSearchController(FlightSearchService flightSearchService, UserService userService,
+      RoutePopularityService routePopularityService) {
     this.flightSearchService = flightSearchService;
     this.userService = userService;
+    this.routePopularityService = routePopularityService;
   }
 
   /**
@@ -142,6 +148,31 @@ public class FlightSearchController {
     return new ResponseEntity<>(searches, HttpStatus.OK);
   }
 
+  /**
+   * Retrieves the most searched routes over the last days.
+   * <p>
+   * Counts come from the running per-route daily totals rather than from the
+   * search history itself, so the cost does not grow with the size of the
+   * history. The window includes today.
+   * </p>
+   *
+   * @param days  The length of the window in days, from 1 to 90 (default 7)
+   * @param limit The number of routes to return, from 1 to 100 (default 10)
+   * @return The routes with their search counts, most searched first, with
+   *         HTTP status 200 (OK), or HTTP status 400 (Bad Request) if days or
+   *         limit is out of range
+   */
+  @GetMapping("/trending")
+  public ResponseEntity<List<TrendingRouteDTO>> getTrendingRoutes(
+      @RequestParam(defaultValue = "7") int days,
+      @RequestParam(defaultValue = "10") int limit) {
+    if (days < 1 || days > RoutePopularityService.MAX_DAYS
+        || limit < 1 || limit > RoutePopularityService.MAX_LIMIT) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    return new ResponseEntity<>(routePopularityService.findTrending(days, limit), HttpStatus.OK);
+  }
+
   /**
    * Retrieves flight searches within a specified date range.
    * <p>
@@ -0,0 +1,181 @@
+package com.__final_backend.backend.dto;
+
+/**
+ * Data Transfer Object (DTO) for an airport or city suggested while the user
+ * types a location.
+ * <p>
+ * A suggestion is either a single airport or a city served by several airports.
+ * City suggestions carry the IATA city code, such as "LON", which searches
+ * accept in place of an airport code.
+ * </p>
+ */
+public class AirportDTO {
+    /** Suggestion type for a single airport. */
+    public static final String TYPE_AIRPORT = "AIRPORT";
+
+    /** Suggestion type for all airports of a city. */
+    public static final String TYPE_CITY = "CITY";
+
+    /** The IATA code to search with: an airport code or, for cities, a city code. */
+    private String code;
+
+    /** The airport name, or "All airports" for a city suggestion. */
+    private String name;
+
+    /** The city the airport serves (e.g., "London"). */
+    private String city;
+
+    /** The IATA city code of the airport's city (e.g., "LON" for "LHR"). */
+    private String cityCode;
+
+    /** The ISO 3166-1 alpha-2 country code (e.g., "GB"). */
+    private String country;
+
+    /** Either {@link #TYPE_AIRPORT} or {@link #TYPE_CITY}. */
+    private String type;
+
+    /**
+     * Creates an empty AirportDTO.
+     */
+    public AirportDTO() {
+    }
+
+    /**
+     * Creates an AirportDTO with all fields set.
+     *
+     * @param code     the IATA code to search with
+     * @param name     the airport name
+     * @param city     the city name
+     * @param cityCode the IATA city code
+     * @param country  the ISO country code
+     * @param type     {@link #TYPE_AIRPORT} or {@link #TYPE_CITY}
+     */
+    public AirportDTO(String code, String name, String city, String cityCode, String country, String type) {
+        this.code = code;
+        this.name = name;
+        this.city = city;
+        this.cityCode = cityCode;
+        this.country = country;
+        this.type = type;
+    }
+
+    /**
+     * Gets the code to search with.
+     *
+     * @return the airport or city IATA code
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Sets the code to search with.
+     *
+     * @param code the airport or city IATA code
+     */
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    /**
+     * Gets the name.
+     *
+     * @return the airport name, or "All airports" for a city
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name.
+     *
+     * @param name the airport name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the city name.
+     *
+     * @return the city the airport serves
+     */
+    public String getCity() {
+        return city;
+    }
+
+    /**
+     * Sets the city name.
+     *
+     * @param city the city the airport serves
+     */
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    /**
+     * Gets the city code.
+     *
+     * @return the IATA city code
+     */
+    public String getCityCode() {
+        return cityCode;
+    }
+
+    /**
+     * Sets the city code.
+     *
+     * @param cityCode the IATA city code
+     */
+    public void setCityCode(String cityCode) {
+        this.cityCode = cityCode;
+    }
+
+    /**
+     * Gets the country.
+     *
+     * @return the ISO country code
+     */
+    public String getCountry() {
+        return country;
+    }
+
+    /**
+     * Sets the country.
+     *
+     * @param country the ISO country code
+     */
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    /**
+     * Gets the suggestion type.
+     *
+     * @return {@link #TYPE_AIRPORT} or {@link #TYPE_CITY}
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Sets the suggestion type.
+     *
+     * @param type {@link #TYPE_AIRPORT} or {@link #TYPE_CITY}
+     */
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    @Override
+    public String toString() {
+        return "AirportDTO{" +
+                "code='" + code + '\'' +
+                ", name='" + name + '\'' +
+                ", city='" + city + '\'' +
+                ", cityCode='" + cityCode + '\'' +
+                ", country='" + country + '\'' +
+                ", type='" + type + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,166 @@
+package com.__final_backend.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) for one day of a flexible-date fare calendar.
+ * <p>
+ * Each entry summarizes the search for one departure date (and, for round
+ * trips, one return date) by its cheapest fare, so a whole calendar can be
+ * sent to the client without the individual flights.
+ * </p>
+ */
+public class FareCalendarEntryDTO {
+    /**
+     * The departure date this entry was searched for.
+     * Formatted as yyyy-MM-dd for JSON serialization.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate departureDate;
+
+    /**
+     * The return date this entry was searched for.
+     * Formatted as yyyy-MM-dd for JSON serialization; null for one-way trips.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate returnDate;
+
+    /** The cheapest fare found for these dates, or null when none was found. */
+    private Double lowestPrice;
+
+    /** The airline offering the cheapest fare, or null when none was found. */
+    private String airline;
+
+    /** The number of flights the search for these dates returned. */
+    private int flightCount;
+
+    /**
+     * Whether the search for these dates completed. False when the upstream
+     * call failed, in which case no fare information is available.
+     */
+    private boolean available;
+
+    /**
+     * Gets the departure date.
+     *
+     * @return the departure date this entry was searched for
+     */
+    public LocalDate getDepartureDate() {
+        return departureDate;
+    }
+
+    /**
+     * Sets the departure date.
+     *
+     * @param departureDate the departure date this entry was searched for
+     */
+    public void setDepartureDate(LocalDate departureDate) {
+        this.departureDate = departureDate;
+    }
+
+    /**
+     * Gets the return date.
+     *
+     * @return the return date this entry was searched for, null for one-way trips
+     */
+    public LocalDate getReturnDate() {
+        return returnDate;
+    }
+
+    /**
+     * Sets the return date.
+     *
+     * @param returnDate the return date this entry was searched for, null for
+     *                   one-way trips
+     */
+    public void setReturnDate(LocalDate returnDate) {
+        this.returnDate = returnDate;
+    }
+
+    /**
+     * Gets the cheapest fare.
+     *
+     * @return the cheapest fare for these dates, or null when none was found
+     */
+    public Double getLowestPrice() {
+        return lowestPrice;
+    }
+
+    /**
+     * Sets the cheapest fare.
+     *
+     * @param lowestPrice the cheapest fare for these dates
+     */
+    public void setLowestPrice(Double lowestPrice) {
+        this.lowestPrice = lowestPrice;
+    }
+
+    /**
+     * Gets the airline offering the cheapest fare.
+     *
+     * @return the airline name, or null when no fare was found
+     */
+    public String getAirline() {
+        return airline;
+    }
+
+    /**
+     * Sets the airline offering the cheapest fare.
+     *
+     * @param airline the airline name
+     */
+    public void setAirline(String airline) {
+        this.airline = airline;
+    }
+
+    /**
+     * Gets the number of flights found.
+     *
+     * @return the number of flights the search for these dates returned
+     */
+    public int getFlightCount() {
+        return flightCount;
+    }
+
+    /**
+     * Sets the number of flights found.
+     *
+     * @param flightCount the number of flights the search for these dates
+     *                    returned
+     */
+    public void setFlightCount(int flightCount) {
+        this.flightCount = flightCount;
+    }
+
+    /**
+     * Checks whether the search for these dates completed.
+     *
+     * @return true if fare information is available, false if the search failed
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Sets whether the search for these dates completed.
+     *
+     * @param available true if fare information is available
+     */
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    @Override
+    public String toString() {
+        return "FareCalendarEntryDTO{" +
+                "departureDate=" + departureDate +
+                ", returnDate=" + returnDate +
+                ", lowestPrice=" + lowestPrice +
+                ", airline='" + airline + '\'' +
+                ", flightCount=" + flightCount +
+                ", available=" + available +
+                '}';
+    }
+}
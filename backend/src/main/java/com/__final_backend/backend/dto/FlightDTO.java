@@ -1,5 +1,7 @@
 package com.__final_backend.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * Data Transfer Object (DTO) for flight information.
  * <p>
@@ -39,6 +41,67 @@ public class FlightDTO {
      */
     private Double price;
 
+    /** The aircraft model operating the flight (e.g., "AIRBUS A320"), if known. */
+    private String aircraft;
+
+    /** The city code of the departure airport (e.g., "NYC" for "JFK"), if known. */
+    private String departureCity;
+
+    /** The city code of the arrival airport (e.g., "LAX" for "LAX"), if known. */
+    private String arrivalCity;
+
+    /** The scheduled flight time in minutes, if known. */
+    private Integer durationMinutes;
+
+    /**
+     * Whether this flight comes from earlier results served because fresh data
+     * could not be fetched. Stale prices and availability may be out of date.
+     */
+    private boolean stale;
+
+    /**
+     * Position of the offer this segment belongs to within its search result.
+     * Segments of one offer share the same index. Used to regroup the flat list
+     * into offers and not part of the flat JSON response.
+     */
+    @JsonIgnore
+    private int offerIndex;
+
+    /**
+     * Position of the itinerary this segment belongs to within its offer: 0 for
+     * the outbound journey and 1 for the return of a round trip.
+     */
+    @JsonIgnore
+    private int itineraryIndex;
+
+    /**
+     * Creates an empty FlightDTO.
+     */
+    public FlightDTO() {
+    }
+
+    /**
+     * Creates a copy of another FlightDTO.
+     *
+     * @param other the flight to copy
+     */
+    public FlightDTO(FlightDTO other) {
+        this.airline = other.airline;
+        this.flightNumber = other.flightNumber;
+        this.departure = other.departure;
+        this.arrival = other.arrival;
+        this.departureTime = other.departureTime;
+        this.arrivalTime = other.arrivalTime;
+        this.price = other.price;
+        this.aircraft = other.aircraft;
+        this.departureCity = other.departureCity;
+        this.arrivalCity = other.arrivalCity;
+        this.durationMinutes = other.durationMinutes;
+        this.stale = other.stale;
+        this.offerIndex = other.offerIndex;
+        this.itineraryIndex = other.itineraryIndex;
+    }
+
     /**
      * Gets the airline name.
      *
@@ -165,6 +228,135 @@ public class FlightDTO {
         this.price = price;
     }
 
+    /**
+     * Gets the aircraft model.
+     *
+     * @return the aircraft model operating the flight, or null if unknown
+     */
+    public String getAircraft() {
+        return aircraft;
+    }
+
+    /**
+     * Sets the aircraft model.
+     *
+     * @param aircraft the aircraft model operating the flight
+     */
+    public void setAircraft(String aircraft) {
+        this.aircraft = aircraft;
+    }
+
+    /**
+     * Gets the departure city code.
+     *
+     * @return the city code of the departure airport, or null if unknown
+     */
+    public String getDepartureCity() {
+        return departureCity;
+    }
+
+    /**
+     * Sets the departure city code.
+     *
+     * @param departureCity the city code of the departure airport
+     */
+    public void setDepartureCity(String departureCity) {
+        this.departureCity = departureCity;
+    }
+
+    /**
+     * Gets the arrival city code.
+     *
+     * @return the city code of the arrival airport, or null if unknown
+     */
+    public String getArrivalCity() {
+        return arrivalCity;
+    }
+
+    /**
+     * Sets the arrival city code.
+     *
+     * @param arrivalCity the city code of the arrival airport
+     */
+    public void setArrivalCity(String arrivalCity) {
+        this.arrivalCity = arrivalCity;
+    }
+
+    /**
+     * Gets the flight duration.
+     *
+     * @return the scheduled flight time in minutes, or null if unknown
+     */
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    /**
+     * Sets the flight duration.
+     *
+     * @param durationMinutes the scheduled flight time in minutes
+     */
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    /**
+     * Gets the offer position.
+     *
+     * @return the index of the offer this segment belongs to
+     */
+    @JsonIgnore
+    public int getOfferIndex() {
+        return offerIndex;
+    }
+
+    /**
+     * Sets the offer position.
+     *
+     * @param offerIndex the index of the offer this segment belongs to
+     */
+    public void setOfferIndex(int offerIndex) {
+        this.offerIndex = offerIndex;
+    }
+
+    /**
+     * Gets the itinerary position.
+     *
+     * @return the index of the itinerary within its offer
+     */
+    @JsonIgnore
+    public int getItineraryIndex() {
+        return itineraryIndex;
+    }
+
+    /**
+     * Sets the itinerary position.
+     *
+     * @param itineraryIndex the index of the itinerary within its offer
+     */
+    public void setItineraryIndex(int itineraryIndex) {
+        this.itineraryIndex = itineraryIndex;
+    }
+
+    /**
+     * Checks whether this flight comes from stale results.
+     *
+     * @return true if the flight was served from earlier results during an
+     *         outage
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Sets whether this flight comes from stale results.
+     *
+     * @param stale true if the flight was served from earlier results
+     */
+    public void setStale(boolean stale) {
+        this.stale = stale;
+    }
+
     @Override
     public String toString() {
         return "FlightDTO{" +
@@ -175,6 +367,13 @@ public class FlightDTO {
                 ", departureTime='" + departureTime + '\'' +
                 ", arrivalTime='" + arrivalTime + '\'' +
                 ", price=" + price +
+                ", aircraft='" + aircraft + '\'' +
+                ", departureCity='" + departureCity + '\'' +
+                ", arrivalCity='" + arrivalCity + '\'' +
+                ", durationMinutes=" + durationMinutes +
+                ", stale=" + stale +
+                ", offerIndex=" + offerIndex +
+                ", itineraryIndex=" + itineraryIndex +
                 '}';
     }
 }
\ No newline at end of file
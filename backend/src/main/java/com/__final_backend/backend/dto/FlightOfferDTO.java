@@ -0,0 +1,56 @@
+package com.__final_backend.backend.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for one bookable flight offer in the compact offer
+ * response.
+ * <p>
+ * An offer is priced once for the whole journey and holds one itinerary per
+ * direction: a single itinerary for one-way trips and two for round trips.
+ * Each itinerary is the ordered list of segments flown.
+ * </p>
+ */
+public class FlightOfferDTO {
+    /** The total price of the offer in the default currency. */
+    private Double price;
+
+    /** The itineraries of the offer, outbound first, each an ordered list of segments. */
+    private List<List<FlightSegmentDTO>> itineraries;
+
+    /**
+     * Gets the offer price.
+     *
+     * @return the total price of the offer
+     */
+    public Double getPrice() {
+        return price;
+    }
+
+    /**
+     * Sets the offer price.
+     *
+     * @param price the total price of the offer
+     */
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    /**
+     * Gets the itineraries.
+     *
+     * @return the itineraries, outbound first
+     */
+    public List<List<FlightSegmentDTO>> getItineraries() {
+        return itineraries;
+    }
+
+    /**
+     * Sets the itineraries.
+     *
+     * @param itineraries the itineraries, outbound first
+     */
+    public void setItineraries(List<List<FlightSegmentDTO>> itineraries) {
+        this.itineraries = itineraries;
+    }
+}
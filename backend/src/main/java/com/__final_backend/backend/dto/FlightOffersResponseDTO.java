@@ -0,0 +1,125 @@
+package com.__final_backend.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) for the compact, offer-level flight search
+ * response.
+ * <p>
+ * Unlike the flat list of {@link FlightDTO}, which repeats the offer price and
+ * airline name on every segment, this response lists each offer once with its
+ * price and its segments grouped by itinerary. Airline and aircraft names are
+ * stored once in lookup tables and referenced by index from the segments, and
+ * airport city codes are stored once per airport.
+ * </p>
+ */
+public class FlightOffersResponseDTO {
+    /** Airline names referenced by index from the segments. */
+    private List<String> airlines;
+
+    /** Aircraft models referenced by index from the segments. */
+    private List<String> aircraft;
+
+    /** City code of each airport appearing in the offers, e.g., "JFK" to "NYC". */
+    private Map<String, String> cities;
+
+    /** The offers, in the order returned by the provider. */
+    private List<FlightOfferDTO> offers;
+
+    /**
+     * Whether the offers come from earlier results served because fresh data
+     * could not be fetched.
+     */
+    private boolean stale;
+
+    /**
+     * Gets the airline table.
+     *
+     * @return the airline names referenced by the segments
+     */
+    public List<String> getAirlines() {
+        return airlines;
+    }
+
+    /**
+     * Sets the airline table.
+     *
+     * @param airlines the airline names referenced by the segments
+     */
+    public void setAirlines(List<String> airlines) {
+        this.airlines = airlines;
+    }
+
+    /**
+     * Gets the aircraft table.
+     *
+     * @return the aircraft models referenced by the segments
+     */
+    public List<String> getAircraft() {
+        return aircraft;
+    }
+
+    /**
+     * Sets the aircraft table.
+     *
+     * @param aircraft the aircraft models referenced by the segments
+     */
+    public void setAircraft(List<String> aircraft) {
+        this.aircraft = aircraft;
+    }
+
+    /**
+     * Gets the airport cities.
+     *
+     * @return the city code of each airport in the offers
+     */
+    public Map<String, String> getCities() {
+        return cities;
+    }
+
+    /**
+     * Sets the airport cities.
+     *
+     * @param cities the city code of each airport in the offers
+     */
+    public void setCities(Map<String, String> cities) {
+        this.cities = cities;
+    }
+
+    /**
+     * Gets the offers.
+     *
+     * @return the offers in provider order
+     */
+    public List<FlightOfferDTO> getOffers() {
+        return offers;
+    }
+
+    /**
+     * Sets the offers.
+     *
+     * @param offers the offers in provider order
+     */
+    public void setOffers(List<FlightOfferDTO> offers) {
+        this.offers = offers;
+    }
+
+    /**
+     * Checks whether the offers come from stale results.
+     *
+     * @return true if the offers were served from earlier results
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Sets whether the offers come from stale results.
+     *
+     * @param stale true if the offers were served from earlier results
+     */
+    public void setStale(boolean stale) {
+        this.stale = stale;
+    }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
 
 /**
  * Data Transfer Object (DTO) representing flight search request parameters.
@@ -61,6 +63,52 @@ public class FlightSearchRequestDTO {
     @NotNull
     private String tripType;
 
+    /**
+     * The field to sort results by: "price", "departureTime", "duration" or
+     * "airline". Results keep the provider's order when null.
+     */
+    private String sortBy;
+
+    /**
+     * The sort direction, "asc" or "desc". Defaults to ascending.
+     */
+    private String sortDirection;
+
+    /**
+     * The highest price to include. No price limit applies when null.
+     */
+    private Double maxPrice;
+
+    /**
+     * The airlines to include, by name or IATA code. All airlines are included
+     * when null or empty.
+     */
+    private List<String> airlines;
+
+    /**
+     * The earliest departure time to include, formatted as HH:mm.
+     */
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime departureAfter;
+
+    /**
+     * The latest departure time to include, formatted as HH:mm.
+     */
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime departureBefore;
+
+    /**
+     * The number of offers per page. The full result list is returned when
+     * both this and the cursor are null.
+     */
+    private Integer pageSize;
+
+    /**
+     * The opaque token returned with the previous page, used to fetch the next
+     * one. Must be sent with the same search, sort and filter options.
+     */
+    private String cursor;
+
     /**
      * Gets the starting location.
      *
@@ -171,6 +219,150 @@ public class FlightSearchRequestDTO {
         this.tripType = tripType;
     }
 
+    /**
+     * Gets the sort field.
+     *
+     * @return the field to sort by, or null to keep the provider's order
+     */
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    /**
+     * Sets the sort field.
+     *
+     * @param sortBy "price", "departureTime", "duration" or "airline"
+     */
+    public void setSortBy(String sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    /**
+     * Gets the sort direction.
+     *
+     * @return "asc" or "desc", or null for ascending
+     */
+    public String getSortDirection() {
+        return sortDirection;
+    }
+
+    /**
+     * Sets the sort direction.
+     *
+     * @param sortDirection "asc" or "desc"
+     */
+    public void setSortDirection(String sortDirection) {
+        this.sortDirection = sortDirection;
+    }
+
+    /**
+     * Gets the maximum price.
+     *
+     * @return the highest price to include, or null for no limit
+     */
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    /**
+     * Sets the maximum price.
+     *
+     * @param maxPrice the highest price to include
+     */
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    /**
+     * Gets the airline filter.
+     *
+     * @return the airline names or IATA codes to include, or null for all
+     */
+    public List<String> getAirlines() {
+        return airlines;
+    }
+
+    /**
+     * Sets the airline filter.
+     *
+     * @param airlines the airline names or IATA codes to include
+     */
+    public void setAirlines(List<String> airlines) {
+        this.airlines = airlines;
+    }
+
+    /**
+     * Gets the start of the departure window.
+     *
+     * @return the earliest departure time to include, or null for no limit
+     */
+    public LocalTime getDepartureAfter() {
+        return departureAfter;
+    }
+
+    /**
+     * Sets the start of the departure window.
+     *
+     * @param departureAfter the earliest departure time to include
+     */
+    public void setDepartureAfter(LocalTime departureAfter) {
+        this.departureAfter = departureAfter;
+    }
+
+    /**
+     * Gets the end of the departure window.
+     *
+     * @return the latest departure time to include, or null for no limit
+     */
+    public LocalTime getDepartureBefore() {
+        return departureBefore;
+    }
+
+    /**
+     * Sets the end of the departure window.
+     *
+     * @param departureBefore the latest departure time to include
+     */
+    public void setDepartureBefore(LocalTime departureBefore) {
+        this.departureBefore = departureBefore;
+    }
+
+    /**
+     * Gets the page size.
+     *
+     * @return the number of offers per page, or null for no paging
+     */
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Sets the page size.
+     *
+     * @param pageSize the number of offers per page
+     */
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Gets the page cursor.
+     *
+     * @return the token of the page to fetch, or null for the first page
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Sets the page cursor.
+     *
+     * @param cursor the token returned with the previous page
+     */
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
     @Override
     public String toString() {
         return "FlightSearchRequestDTO{" +
@@ -180,6 +372,14 @@ public class FlightSearchRequestDTO {
                 ", returnDate=" + returnDate +
                 ", numberOfTravelers=" + numberOfTravelers +
                 ", tripType='" + tripType + '\'' +
+                ", sortBy='" + sortBy + '\'' +
+                ", sortDirection='" + sortDirection + '\'' +
+                ", maxPrice=" + maxPrice +
+                ", airlines=" + airlines +
+                ", departureAfter=" + departureAfter +
+                ", departureBefore=" + departureBefore +
+                ", pageSize=" + pageSize +
+                ", cursor='" + cursor + '\'' +
                 '}';
     }
 }
\ No newline at end of file
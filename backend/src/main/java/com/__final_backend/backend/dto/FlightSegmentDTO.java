@@ -0,0 +1,185 @@
+package com.__final_backend.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object (DTO) for one segment of a flight offer in the compact
+ * offer response.
+ * <p>
+ * Values repeated across many segments are not written out: the airline and
+ * aircraft are indexes into the lookup tables of the enclosing
+ * {@link FlightOffersResponseDTO}, and the price belongs to the offer. Fields
+ * without a value are omitted from the JSON.
+ * </p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FlightSegmentDTO {
+    /** Index of the operating airline in the response's airline table. */
+    private Integer airline;
+
+    /** The flight identification number (e.g., "AA123"). */
+    private String flightNumber;
+
+    /** The departure airport code (3-letter IATA code, e.g., "JFK"). */
+    private String departure;
+
+    /** The arrival airport code (3-letter IATA code, e.g., "LAX"). */
+    private String arrival;
+
+    /** The local departure time, formatted as HH:mm. */
+    private String departureTime;
+
+    /** The local arrival time, formatted as HH:mm. */
+    private String arrivalTime;
+
+    /** The scheduled flight time in minutes, if known. */
+    private Integer durationMinutes;
+
+    /** Index of the aircraft model in the response's aircraft table, if known. */
+    private Integer aircraft;
+
+    /**
+     * Gets the airline index.
+     *
+     * @return the index of the airline in the response's airline table
+     */
+    public Integer getAirline() {
+        return airline;
+    }
+
+    /**
+     * Sets the airline index.
+     *
+     * @param airline the index of the airline in the response's airline table
+     */
+    public void setAirline(Integer airline) {
+        this.airline = airline;
+    }
+
+    /**
+     * Gets the flight number.
+     *
+     * @return the flight identification number
+     */
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    /**
+     * Sets the flight number.
+     *
+     * @param flightNumber the flight identification number
+     */
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    /**
+     * Gets the departure airport.
+     *
+     * @return the IATA code of the departure airport
+     */
+    public String getDeparture() {
+        return departure;
+    }
+
+    /**
+     * Sets the departure airport.
+     *
+     * @param departure the IATA code of the departure airport
+     */
+    public void setDeparture(String departure) {
+        this.departure = departure;
+    }
+
+    /**
+     * Gets the arrival airport.
+     *
+     * @return the IATA code of the arrival airport
+     */
+    public String getArrival() {
+        return arrival;
+    }
+
+    /**
+     * Sets the arrival airport.
+     *
+     * @param arrival the IATA code of the arrival airport
+     */
+    public void setArrival(String arrival) {
+        this.arrival = arrival;
+    }
+
+    /**
+     * Gets the departure time.
+     *
+     * @return the local departure time
+     */
+    public String getDepartureTime() {
+        return departureTime;
+    }
+
+    /**
+     * Sets the departure time.
+     *
+     * @param departureTime the local departure time
+     */
+    public void setDepartureTime(String departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    /**
+     * Gets the arrival time.
+     *
+     * @return the local arrival time
+     */
+    public String getArrivalTime() {
+        return arrivalTime;
+    }
+
+    /**
+     * Sets the arrival time.
+     *
+     * @param arrivalTime the local arrival time
+     */
+    public void setArrivalTime(String arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
+    /**
+     * Gets the flight duration.
+     *
+     * @return the scheduled flight time in minutes, or null if unknown
+     */
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    /**
+     * Sets the flight duration.
+     *
+     * @param durationMinutes the scheduled flight time in minutes
+     */
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    /**
+     * Gets the aircraft index.
+     *
+     * @return the index of the aircraft in the response's aircraft table, or
+     *         null if unknown
+     */
+    public Integer getAircraft() {
+        return aircraft;
+    }
+
+    /**
+     * Sets the aircraft index.
+     *
+     * @param aircraft the index of the aircraft in the response's aircraft table
+     */
+    public void setAircraft(Integer aircraft) {
+        this.aircraft = aircraft;
+    }
+}
@@ -0,0 +1,207 @@
+package com.__final_backend.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing a multi-airport flight search.
+ * <p>
+ * Works like {@link FlightSearchRequestDTO} but accepts several origins and
+ * destinations. Each entry may be an airport code such as "JFK" or a metro area
+ * code such as "NYC", which is expanded to its member airports. Every origin is
+ * searched against every destination and the results are merged into one
+ * price-ranked list.
+ * </p>
+ */
+public class MultiAirportSearchRequestDTO {
+    /**
+     * The origin airport or metro area codes (3-letter IATA codes).
+     */
+    @NotEmpty
+    private List<String> origins;
+
+    /**
+     * The destination airport or metro area codes (3-letter IATA codes).
+     */
+    @NotEmpty
+    private List<String> destinations;
+
+    /**
+     * The departure date for the flight.
+     * Formatted as yyyy-MM-dd for JSON serialization/deserialization.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @NotNull
+    private LocalDate travelDate;
+
+    /**
+     * The return date for the flight (applicable for round-trip).
+     * Formatted as yyyy-MM-dd for JSON serialization/deserialization.
+     * May be null for one-way trips.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate returnDate;
+
+    /**
+     * The number of passengers traveling.
+     * Must be a positive integer.
+     */
+    @NotNull
+    private Integer numberOfTravelers;
+
+    /**
+     * The type of trip.
+     * Expected values include "one-way" or "round-trip".
+     */
+    @NotNull
+    private String tripType;
+
+    /**
+     * The maximum number of offers to return, each with all of its segments.
+     * The server default applies when null.
+     */
+    private Integer limit;
+
+    /**
+     * Gets the origin codes.
+     *
+     * @return the origin airport or metro area codes
+     */
+    public List<String> getOrigins() {
+        return origins;
+    }
+
+    /**
+     * Sets the origin codes.
+     *
+     * @param origins the origin airport or metro area codes
+     */
+    public void setOrigins(List<String> origins) {
+        this.origins = origins;
+    }
+
+    /**
+     * Gets the destination codes.
+     *
+     * @return the destination airport or metro area codes
+     */
+    public List<String> getDestinations() {
+        return destinations;
+    }
+
+    /**
+     * Sets the destination codes.
+     *
+     * @param destinations the destination airport or metro area codes
+     */
+    public void setDestinations(List<String> destinations) {
+        this.destinations = destinations;
+    }
+
+    /**
+     * Gets the travel date.
+     *
+     * @return the departure date for the flight
+     */
+    public LocalDate getTravelDate() {
+        return travelDate;
+    }
+
+    /**
+     * Sets the travel date.
+     *
+     * @param travelDate the departure date for the flight
+     */
+    public void setTravelDate(LocalDate travelDate) {
+        this.travelDate = travelDate;
+    }
+
+    /**
+     * Gets the return date.
+     *
+     * @return the return date for round-trip flights, may be null for one-way trips
+     */
+    public LocalDate getReturnDate() {
+        return returnDate;
+    }
+
+    /**
+     * Sets the return date.
+     *
+     * @param returnDate the return date for round-trip flights, may be null for
+     *                   one-way trips
+     */
+    public void setReturnDate(LocalDate returnDate) {
+        this.returnDate = returnDate;
+    }
+
+    /**
+     * Gets the number of travelers.
+     *
+     * @return the number of passengers traveling
+     */
+    public Integer getNumberOfTravelers() {
+        return numberOfTravelers;
+    }
+
+    /**
+     * Sets the number of travelers.
+     *
+     * @param numberOfTravelers the number of passengers traveling
+     */
+    public void setNumberOfTravelers(Integer numberOfTravelers) {
+        this.numberOfTravelers = numberOfTravelers;
+    }
+
+    /**
+     * Gets the trip type.
+     *
+     * @return the type of trip (e.g., "one-way", "round-trip")
+     */
+    public String getTripType() {
+        return tripType;
+    }
+
+    /**
+     * Sets the trip type.
+     *
+     * @param tripType the type of trip (e.g., "one-way", "round-trip")
+     */
+    public void setTripType(String tripType) {
+        this.tripType = tripType;
+    }
+
+    /**
+     * Gets the maximum number of flights to return.
+     *
+     * @return the result limit, or null to use the server default
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the maximum number of flights to return.
+     *
+     * @param limit the result limit, or null to use the server default
+     */
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public String toString() {
+        return "MultiAirportSearchRequestDTO{" +
+                "origins=" + origins +
+                ", destinations=" + destinations +
+                ", travelDate=" + travelDate +
+                ", returnDate=" + returnDate +
+                ", numberOfTravelers=" + numberOfTravelers +
+                ", tripType='" + tripType + '\'' +
+                ", limit=" + limit +
+                '}';
+    }
+}
@@ -0,0 +1,111 @@
+package com.__final_backend.backend.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the result of a multi-airport flight search.
+ * <p>
+ * Holds the segments of the cheapest offers across all searched airport
+ * pairs, ordered by price, together with how many pairs contributed. The
+ * segments of an offer are listed together and share its offer index, which is
+ * the offer's rank in the result. When some pairs failed or
+ * did not finish before the deadline the result is marked partial and the
+ * flights come from the pairs that did.
+ * </p>
+ */
+public class MultiAirportSearchResultDTO {
+    /** The segments of the cheapest offers across all completed pairs, lowest price first. */
+    private List<FlightDTO> flights;
+
+    /** The number of airport pairs that were searched. */
+    private int pairsSearched;
+
+    /** The number of airport pairs that returned results in time. */
+    private int pairsCompleted;
+
+    /** Whether some pairs failed or timed out and are missing from the result. */
+    private boolean partial;
+
+    /**
+     * Gets the ranked flights.
+     *
+     * @return the cheapest flights, lowest price first
+     */
+    public List<FlightDTO> getFlights() {
+        return flights;
+    }
+
+    /**
+     * Sets the ranked flights.
+     *
+     * @param flights the cheapest flights, lowest price first
+     */
+    public void setFlights(List<FlightDTO> flights) {
+        this.flights = flights;
+    }
+
+    /**
+     * Gets the number of airport pairs searched.
+     *
+     * @return the number of airport pairs that were searched
+     */
+    public int getPairsSearched() {
+        return pairsSearched;
+    }
+
+    /**
+     * Sets the number of airport pairs searched.
+     *
+     * @param pairsSearched the number of airport pairs that were searched
+     */
+    public void setPairsSearched(int pairsSearched) {
+        this.pairsSearched = pairsSearched;
+    }
+
+    /**
+     * Gets the number of airport pairs that completed.
+     *
+     * @return the number of airport pairs that returned results in time
+     */
+    public int getPairsCompleted() {
+        return pairsCompleted;
+    }
+
+    /**
+     * Sets the number of airport pairs that completed.
+     *
+     * @param pairsCompleted the number of airport pairs that returned results in
+     *                       time
+     */
+    public void setPairsCompleted(int pairsCompleted) {
+        this.pairsCompleted = pairsCompleted;
+    }
+
+    /**
+     * Checks whether the result is missing some pairs.
+     *
+     * @return true if some pairs failed or timed out
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * Sets whether the result is missing some pairs.
+     *
+     * @param partial true if some pairs failed or timed out
+     */
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
+    @Override
+    public String toString() {
+        return "MultiAirportSearchResultDTO{" +
+                "flights=" + (flights == null ? 0 : flights.size()) +
+                ", pairsSearched=" + pairsSearched +
+                ", pairsCompleted=" + pairsCompleted +
+                ", partial=" + partial +
+                '}';
+    }
+}
@@ -0,0 +1,91 @@
+package com.__final_backend.backend.dto;
+
+/**
+ * Data Transfer Object (DTO) for a route ranked by how often it was searched.
+ * <p>
+ * Returned by the trending routes endpoint, most searched route first.
+ * </p>
+ */
+public class TrendingRouteDTO {
+    /** The IATA code of the origin (e.g., "JFK"). */
+    private String origin;
+
+    /** The IATA code of the destination (e.g., "LAX"). */
+    private String destination;
+
+    /** The number of searches for the route within the requested window. */
+    private long searches;
+
+    /**
+     * Creates an empty TrendingRouteDTO.
+     */
+    public TrendingRouteDTO() {
+    }
+
+    /**
+     * Creates a TrendingRouteDTO with all fields set.
+     *
+     * @param origin      the origin IATA code
+     * @param destination the destination IATA code
+     * @param searches    the number of searches in the window
+     */
+    public TrendingRouteDTO(String origin, String destination, long searches) {
+        this.origin = origin;
+        this.destination = destination;
+        this.searches = searches;
+    }
+
+    /**
+     * Gets the origin.
+     *
+     * @return the origin IATA code
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Sets the origin.
+     *
+     * @param origin the origin IATA code
+     */
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Gets the destination.
+     *
+     * @return the destination IATA code
+     */
+    public String getDestination() {
+        return destination;
+    }
+
+    /**
+     * Sets the destination.
+     *
+     * @param destination the destination IATA code
+     */
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    /**
+     * Gets the number of searches.
+     *
+     * @return the number of searches in the window
+     */
+    public long getSearches() {
+        return searches;
+    }
+
+    /**
+     * Sets the number of searches.
+     *
+     * @param searches the number of searches in the window
+     */
+    public void setSearches(long searches) {
+        this.searches = searches;
+    }
+}
@@ -0,0 +1,70 @@
+package com.__final_backend.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing airline reference data resolved from the Amadeus API.
+ * <p>
+ * Each row maps an airline IATA code to the names returned by the Amadeus
+ * Airline Code Lookup API. The table is loaded into memory when the application
+ * starts so that flight searches can resolve carrier names without making
+ * upstream calls, and it is refreshed periodically in the background.
+ * <p>
+ * Maps to the 'airlines' table in the database.
+ */
+@Entity
+@Table(name = "airlines")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AirlineReference {
+  /**
+   * Two- or three-character IATA code of the airline, e.g., "BA".
+   * <p>
+   * Natural primary key; not generated.
+   */
+  @Id
+  @Column(name = "iata_code", length = 3)
+  private String iataCode;
+
+  /**
+   * Commonly used name of the airline as returned by Amadeus.
+   */
+  @Column(name = "common_name", length = 100)
+  private String commonName;
+
+  /**
+   * Registered business name of the airline as returned by Amadeus.
+   */
+  @Column(name = "business_name", length = 100)
+  private String businessName;
+
+  /**
+   * Timestamp of the last time this entry was refreshed from Amadeus.
+   */
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  /**
+   * Returns the best available display name for the airline.
+   * <p>
+   * Prefers the common name, then the business name, and falls back to the
+   * IATA code when Amadeus returned neither.
+   *
+   * @return the display name of the airline
+   */
+  public String getDisplayName() {
+    if (commonName != null && !commonName.isBlank()) {
+      return commonName;
+    }
+    if (businessName != null && !businessName.isBlank()) {
+      return businessName;
+    }
+    return iataCode;
+  }
+}
@@ -29,10 +29,11 @@ public class AuditTrail {
   /**
    * Unique identifier for the audit trail entry.
    * <p>
-   * Automatically generated by the database.
+   * Drawn from the {@code audit_trail_seq} sequence in blocks of 50.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_trail_seq")
+  @SequenceGenerator(name = "audit_trail_seq", sequenceName = "audit_trail_seq", allocationSize = 50)
   private Long id;
 
   /**
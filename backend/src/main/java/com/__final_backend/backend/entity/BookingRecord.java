@@ -29,10 +29,11 @@ public class BookingRecord {
   /**
    * Unique identifier for the booking record.
    * <p>
-   * Automatically generated by the database.
+   * Drawn from the {@code booking_records_seq} sequence in blocks of 50.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_records_seq")
+  @SequenceGenerator(name = "booking_records_seq", sequenceName = "booking_records_seq", allocationSize = 50)
   private Long id;
 
   /**
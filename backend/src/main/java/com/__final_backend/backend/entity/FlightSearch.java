@@ -29,10 +29,11 @@ public class FlightSearch {
   /**
    * Unique identifier for the flight search.
    * <p>
-   * Automatically generated by the database.
+   * Drawn from the {@code flight_searches_seq} sequence in blocks of 50.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flight_searches_seq")
+  @SequenceGenerator(name = "flight_searches_seq", sequenceName = "flight_searches_seq", allocationSize = 50)
   private Long id;
 
   /**
@@ -30,10 +30,11 @@ public class SavedFlight {
   /**
    * Unique identifier for the saved flight.
    * <p>
-   * Automatically generated by the database.
+   * Drawn from the {@code saved_flights_seq} sequence in blocks of 50.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "saved_flights_seq")
+  @SequenceGenerator(name = "saved_flights_seq", sequenceName = "saved_flights_seq", allocationSize = 50)
   private Long id;
 
   /**
@@ -27,9 +27,14 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
-  /** Unique identifier for the user. */
+  /**
+   * Unique identifier for the user.
+   * <p>
+   * Drawn from the {@code users_seq} sequence in blocks of 50.
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+  @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
   private Long id;
 
   /** Unique username for the user account, limited to 50 characters. */
@@ -0,0 +1,18 @@
+package com.__final_backend.backend.repository;
+
+import com.__final_backend.backend.entity.AirlineReference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for AirlineReference entity operations.
+ * <p>
+ * Provides CRUD operations inherited from JpaRepository for the airline
+ * reference table, which is keyed by the airline IATA code. The table is read
+ * in full at startup; resolved carriers are written by
+ * {@code AirlineReferenceService} in JDBC batches rather than through this
+ * repository.
+ */
+@Repository
+public interface AirlineReferenceRepository extends JpaRepository<AirlineReference, String> {
+}
@@ -1,5 +1,7 @@
 package com.__final_backend.backend.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +11,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Filter that processes JWT authentication for incoming requests.
@@ -23,21 +26,36 @@ import java.io.IOException;
  * The filter extends Spring Security's OncePerRequestFilter to ensure it only
  * executes
  * once per request, regardless of request forwarding or includes.
+ * <p>
+ * The time taken to verify each token and build its authentication is recorded
+ * under {@value #TIMER_NAME}, tagged with whether the token was valid.
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+  /** Name of the timer recording token verification. */
+  public static final String TIMER_NAME = "auth.jwt.verification";
+
   /**
    * Utility for JWT token operations like resolution, validation and
    * authentication extraction.
    */
   private final JwtTokenUtil jwtTokenUtil;
 
+  /** Verification time of tokens that were accepted. */
+  private final Timer validTimer;
+
+  /** Verification time of tokens that were rejected. */
+  private final Timer invalidTimer;
+
   /**
    * Constructs a new JWT authentication filter.
    *
-   * @param jwtTokenUtil the utility to use for JWT token operations
+   * @param jwtTokenUtil  the utility to use for JWT token operations
+   * @param meterRegistry registry the verification timings are published in
    */
-  public JwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil) {
+  public JwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil, MeterRegistry meterRegistry) {
     this.jwtTokenUtil = jwtTokenUtil;
+    this.validTimer = timer(meterRegistry, "valid");
+    this.invalidTimer = timer(meterRegistry, "invalid");
   }
 
   /**
@@ -68,12 +86,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     String token = jwtTokenUtil.resolveToken(request);
 
-    if (token != null && jwtTokenUtil.validateToken(token)) {
-      Authentication auth = jwtTokenUtil.getAuthentication(token);
-      SecurityContextHolder.getContext().setAuthentication(auth);
+    if (token != null) {
+      long start = System.nanoTime();
+      if (jwtTokenUtil.validateToken(token)) {
+        Authentication auth = jwtTokenUtil.getAuthentication(token);
+        validTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        SecurityContextHolder.getContext().setAuthentication(auth);
+      } else {
+        invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
     }
 
     // Continue filter chain regardless of authentication outcome
     filterChain.doFilter(request, response);
   }
-}
\ No newline at end of file
+
+  private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder(TIMER_NAME)
+        .description("Time spent verifying JWT tokens and building their authentication")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
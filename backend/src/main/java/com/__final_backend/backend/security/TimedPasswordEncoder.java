@@ -0,0 +1,68 @@
+package com.__final_backend.backend.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password encoder that records how long hashing and verification take.
+ * <p>
+ * BCrypt is deliberately slow, and its cost is paid on every login and
+ * registration. Wrapping the encoder shows that cost under
+ * {@value #TIMER_NAME}, tagged with the operation, so a change of work factor
+ * or a surge of logins is visible in the metrics.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+  /** Name of the timer recording encoder calls. */
+  public static final String TIMER_NAME = "auth.password.encoder";
+
+  private final PasswordEncoder delegate;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+
+  /**
+   * Wraps an encoder.
+   *
+   * @param delegate      the encoder doing the work
+   * @param meterRegistry registry the timers are published in
+   */
+  public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.encodeTimer = timer(meterRegistry, "encode");
+    this.matchesTimer = timer(meterRegistry, "matches");
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    long start = System.nanoTime();
+    try {
+      return delegate.encode(rawPassword);
+    } finally {
+      encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    long start = System.nanoTime();
+    try {
+      return delegate.matches(rawPassword, encodedPassword);
+    } finally {
+      matchesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  private static Timer timer(MeterRegistry meterRegistry, String operation) {
+    return Timer.builder(TIMER_NAME)
+        .description("Time spent hashing and verifying passwords")
+        .tag("operation", operation)
+        .register(meterRegistry);
+  }
+}
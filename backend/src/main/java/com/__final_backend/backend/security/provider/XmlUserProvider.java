@@ -1,6 +1,8 @@
 package com.__final_backend.backend.security.provider;
 
 import com.__final_backend.backend.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -24,6 +26,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -43,9 +46,15 @@ import java.util.concurrent.atomic.AtomicLong;
  * application, allowing user data to be stored in a simple file format rather
  * than
  * requiring a database.
+ * <p>
+ * Every lookup parses the whole file and every change rewrites it, so the time
+ * taken by both is recorded under {@value #TIMER_NAME}.
  */
 @Component
 public class XmlUserProvider implements UserProvider {
+  /** Name of the timer recording parses and writes of the user file. */
+  public static final String TIMER_NAME = "auth.xml.file";
+
   /**
    * Path to the XML file that stores user data, configured via application
    * properties.
@@ -62,6 +71,29 @@ public class XmlUserProvider implements UserProvider {
   /** Counter for generating unique user IDs. */
   private AtomicLong nextId = new AtomicLong(1);
 
+  /** Time taken to read and parse the user file. */
+  private final Timer parseTimer;
+
+  /** Time taken to write the user file. */
+  private final Timer writeTimer;
+
+  /**
+   * Creates the provider.
+   *
+   * @param meterRegistry the registry the file timings are published in
+   */
+  public XmlUserProvider(MeterRegistry meterRegistry) {
+    this.parseTimer = timer(meterRegistry, "parse");
+    this.writeTimer = timer(meterRegistry, "write");
+  }
+
+  private static Timer timer(MeterRegistry meterRegistry, String operation) {
+    return Timer.builder(TIMER_NAME)
+        .description("Time spent parsing and writing the XML user file")
+        .tag("operation", operation)
+        .register(meterRegistry);
+  }
+
   /**
    * Initializes the XML file for user storage.
    * <p>
@@ -133,12 +165,15 @@ public class XmlUserProvider implements UserProvider {
    * @throws RuntimeException if the file cannot be read or parsed
    */
   private Document getDocument() {
+    long start = System.nanoTime();
     try {
       DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
       DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
       return dBuilder.parse(xmlFile);
     } catch (ParserConfigurationException | SAXException | IOException e) {
       throw new RuntimeException("Error reading XML user file", e);
+    } finally {
+      parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
   }
 
@@ -158,7 +193,9 @@ public class XmlUserProvider implements UserProvider {
       DOMSource source = new DOMSource(doc);
       StreamResult result = new StreamResult(xmlFile);
       synchronized (fileLock) {
+        long start = System.nanoTime();
         transformer.transform(source, result);
+        writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
       }
     } catch (TransformerException e) {
       throw new RuntimeException("Error saving XML user file", e);
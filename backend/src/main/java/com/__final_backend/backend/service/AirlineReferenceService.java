@@ -0,0 +1,315 @@
+package com.__final_backend.backend.service;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.entity.AirlineReference;
+import com.__final_backend.backend.repository.AirlineReferenceRepository;
+import com.__final_backend.backend.service.amadeus.AmadeusCallMetrics;
+import com.__final_backend.backend.service.amadeus.AmadeusCallScheduler;
+import com.__final_backend.backend.service.cache.AirlineNameCache;
+import com.__final_backend.backend.service.db.SqlDialect;
+import com.amadeus.Amadeus;
+import com.amadeus.Params;
+import com.amadeus.resources.Airline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service that resolves airline IATA codes to airline names.
+ * <p>
+ * Airline names are kept in the in-memory {@link AirlineNameCache} and backed
+ * by the 'airlines' table so that they survive restarts. The flight search hot
+ * path only ever reads from memory: a code that is not cached is returned as-is
+ * and queued, and a background task resolves all queued codes, first from the
+ * table and then with a single multi-code request to the Amadeus Airline Code
+ * Lookup API, persisting what Amadeus returns. Resolved rows are upserted in
+ * one JDBC batch per lookup, so a batch of codes costs one round trip to the
+ * database rather than a SELECT and a write per row.
+ * <p>
+ * The table is loaded into memory when the application is ready and every
+ * known carrier is re-fetched from Amadeus at the configured refresh interval.
+ * <p>
+ * Codes whose lookup fails are retried with exponential backoff, so an Amadeus
+ * outage does not keep spending background quota and circuit breaker probes
+ * on the same codes every resolve interval.
+ */
+@Service
+public class AirlineReferenceService {
+    private static final Logger logger = LoggerFactory.getLogger(AirlineReferenceService.class);
+
+    private static final String H2_UPSERT_SQL = "MERGE INTO airlines t USING (VALUES ("
+            + "CAST(? AS VARCHAR(3)), CAST(? AS VARCHAR(100)), CAST(? AS VARCHAR(100)), CAST(? AS TIMESTAMP))) "
+            + "s (iata_code, common_name, business_name, updated_at) "
+            + "ON t.iata_code = s.iata_code "
+            + "WHEN MATCHED THEN UPDATE SET common_name = s.common_name, business_name = s.business_name, "
+            + "updated_at = s.updated_at "
+            + "WHEN NOT MATCHED THEN INSERT (iata_code, common_name, business_name, updated_at) "
+            + "VALUES (s.iata_code, s.common_name, s.business_name, s.updated_at)";
+
+    private static final String MYSQL_UPSERT_SQL = "INSERT INTO airlines "
+            + "(iata_code, common_name, business_name, updated_at) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE common_name = VALUES(common_name), business_name = VALUES(business_name), "
+            + "updated_at = VALUES(updated_at)";
+
+    private final AirlineReferenceRepository airlineReferenceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsertSql;
+    private final Amadeus amadeus;
+    private final AirlineNameCache airlineNameCache;
+    private final AmadeusCallScheduler amadeusCallScheduler;
+    private final int batchSize;
+    private final Duration cacheTtl;
+    private final long retryBaseNanos;
+    private final long retryMaxNanos;
+
+    /** Codes seen in search results that are waiting to be resolved. */
+    private final Set<String> pendingCodes = ConcurrentHashMap.newKeySet();
+
+    /** Codes whose last lookup failed, with when they may be tried again. */
+    private final ConcurrentMap<String, FailedLookup> failedLookups = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an AirlineReferenceService with the required dependencies.
+     *
+     * @param airlineReferenceRepository repository for the airline table
+     * @param jdbcTemplate               template resolved airlines are written
+     *                                   with
+     * @param amadeus                    shared Amadeus API client
+     * @param airlineNameCache           in-memory cache of airline names
+     * @param amadeusCallScheduler       rate limiter for Amadeus calls
+     * @param properties                 flight search settings providing the
+     *                                   lookup batch size, cache TTL and retry
+     *                                   backoff
+     * @param dialect                    dialect the upsert of resolved
+     *                                   airlines is written in
+     */
+    public AirlineReferenceService(AirlineReferenceRepository airlineReferenceRepository, JdbcTemplate jdbcTemplate,
+            Amadeus amadeus, AirlineNameCache airlineNameCache, AmadeusCallScheduler amadeusCallScheduler,
+            FlightSearchProperties properties, SqlDialect dialect) {
+        this.airlineReferenceRepository = airlineReferenceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsertSql = dialect == SqlDialect.MYSQL ? MYSQL_UPSERT_SQL : H2_UPSERT_SQL;
+        this.amadeus = amadeus;
+        this.airlineNameCache = airlineNameCache;
+        this.amadeusCallScheduler = amadeusCallScheduler;
+        this.batchSize = Math.max(1, properties.getAirlines().getBatchSize());
+        this.cacheTtl = properties.getAirlines().getCacheTtl();
+        this.retryBaseNanos = Math.max(1, properties.getAirlines().getResolveInterval().toNanos());
+        this.retryMaxNanos = Math.max(retryBaseNanos, properties.getAirlines().getRetryMaxBackoff().toNanos());
+    }
+
+    /**
+     * Loads the persisted airline table into memory once the application is
+     * ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        int loaded = 0;
+        for (AirlineReference airline : airlineReferenceRepository.findAll()) {
+            airlineNameCache.putName(airline.getIataCode(), airline.getDisplayName());
+            loaded++;
+        }
+        logger.info("Preloaded {} airline names", loaded);
+    }
+
+    /**
+     * Returns the airline name for a code without blocking.
+     * <p>
+     * When the code has not been resolved yet it is queued for the next
+     * background batch and the code itself is returned. A missing or blank
+     * code is returned as-is without a lookup.
+     *
+     * @param code the airline IATA code, e.g., "BA"
+     * @return the airline name, or the code when the name is not known yet
+     */
+    public String getAirlineName(String code) {
+        if (code == null || code.isBlank()) {
+            return code;
+        }
+        String name = airlineNameCache.get(code);
+        if (name != null) {
+            return name;
+        }
+        pendingCodes.add(code);
+        return code;
+    }
+
+    /**
+     * Resolves every queued code with batched Amadeus requests.
+     * <p>
+     * Runs on the scheduler thread at the configured resolve interval, never on
+     * a request thread. Codes still backing off after a failed lookup stay
+     * queued until their retry is due.
+     */
+    @Scheduled(fixedDelayString = "#{@flightSearchProperties.airlines.resolveInterval.toMillis()}")
+    public void resolvePendingCodes() {
+        if (pendingCodes.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        List<String> codes = new ArrayList<>();
+        for (Iterator<String> it = pendingCodes.iterator(); it.hasNext();) {
+            String code = it.next();
+            FailedLookup failed = failedLookups.get(code);
+            if (failed != null && now - failed.retryAt < 0) {
+                continue;
+            }
+            codes.add(code);
+            it.remove();
+        }
+        if (!codes.isEmpty()) {
+            resolve(loadFreshFromDatabase(codes));
+        }
+    }
+
+    /**
+     * Serves codes from the airline table when their row is still fresh.
+     * <p>
+     * Codes evicted from the in-memory cache by size pressure are usually still
+     * in the table, so they are restored from there instead of asking Amadeus.
+     *
+     * @param codes the codes to resolve
+     * @return the codes that still need an Amadeus lookup
+     */
+    private List<String> loadFreshFromDatabase(List<String> codes) {
+        LocalDateTime freshAfter = LocalDateTime.now().minus(cacheTtl);
+        Set<String> remaining = new HashSet<>(codes);
+        for (AirlineReference airline : airlineReferenceRepository.findAllById(codes)) {
+            if (airline.getUpdatedAt() != null && airline.getUpdatedAt().isAfter(freshAfter)) {
+                airlineNameCache.putName(airline.getIataCode(), airline.getDisplayName());
+                failedLookups.remove(airline.getIataCode());
+                remaining.remove(airline.getIataCode());
+            }
+        }
+        return new ArrayList<>(remaining);
+    }
+
+    /**
+     * Re-fetches every cached carrier from Amadeus.
+     * <p>
+     * Codes without an airline are not retried here; their negative cache
+     * entries expire on their own and the next search sighting queues them.
+     */
+    @Scheduled(initialDelayString = "#{@flightSearchProperties.airlines.refreshInterval.toMillis()}",
+            fixedDelayString = "#{@flightSearchProperties.airlines.refreshInterval.toMillis()}")
+    public void refreshAll() {
+        Set<String> codes = airlineNameCache.resolvedCodes();
+        logger.info("Refreshing {} airline names", codes.size());
+        resolve(new ArrayList<>(codes));
+    }
+
+    /**
+     * Looks up codes in batches and stores the results in memory and in the
+     * database.
+     * <p>
+     * Lookups use the background lane of the Amadeus call scheduler, so they
+     * only consume quota that interactive searches leave unused.
+     * <p>
+     * Codes Amadeus returns no airline for get a short-lived negative cache
+     * entry. Codes from a batch that fails are not cached at all and are queued
+     * again, to be retried once their backoff has passed.
+     *
+     * @param codes the airline IATA codes to resolve
+     */
+    private void resolve(List<String> codes) {
+        for (int start = 0; start < codes.size(); start += batchSize) {
+            List<String> batch = codes.subList(start, Math.min(start + batchSize, codes.size()));
+            try {
+                Params params = Params.with("airlineCodes", String.join(",", batch));
+                Airline[] airlines = amadeusCallScheduler.execute(AmadeusCallScheduler.Priority.BACKGROUND,
+                        AmadeusCallMetrics.Operation.AIRLINES, () -> amadeus.referenceData.airlines.get(params));
+
+                List<AirlineReference> resolved = new ArrayList<>();
+                Set<String> missing = new HashSet<>(batch);
+                LocalDateTime now = LocalDateTime.now();
+                for (Airline airline : airlines) {
+                    if (airline.getIataCode() == null) {
+                        continue;
+                    }
+                    resolved.add(new AirlineReference(airline.getIataCode(), airline.getCommonName(),
+                            airline.getBusinessName(), now));
+                    missing.remove(airline.getIataCode());
+                }
+
+                save(resolved);
+                for (AirlineReference airline : resolved) {
+                    airlineNameCache.putName(airline.getIataCode(), airline.getDisplayName());
+                    failedLookups.remove(airline.getIataCode());
+                }
+                for (String code : missing) {
+                    airlineNameCache.putMissing(code);
+                    failedLookups.remove(code);
+                }
+                logger.debug("Resolved {} of {} airline codes", resolved.size(), batch.size());
+            } catch (Exception e) {
+                logger.warn("Failed to resolve airline codes {}: {}", batch, e.getMessage());
+                for (String code : batch) {
+                    retryLater(code);
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues a code whose lookup failed, to be retried after the resolve
+     * interval doubled once per consecutive failure, up to the maximum backoff.
+     *
+     * @param code the airline IATA code
+     */
+    private void retryLater(String code) {
+        failedLookups.compute(code, (c, previous) -> {
+            int failures = previous == null ? 1 : previous.failures + 1;
+            long backoff = Math.min(retryMaxNanos, retryBaseNanos << Math.min(failures - 1, 20));
+            return new FailedLookup(failures, System.nanoTime() + backoff);
+        });
+        pendingCodes.add(code);
+    }
+
+    /**
+     * Inserts or updates resolved airlines in one JDBC batch.
+     * <p>
+     * The rows have natural keys, so saving them through JPA would merge each
+     * one and read it back first.
+     *
+     * @param airlines the airlines to store
+     */
+    private void save(List<AirlineReference> airlines) {
+        if (airlines.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(upsertSql, airlines, airlines.size(), (statement, airline) -> {
+            statement.setString(1, airline.getIataCode());
+            statement.setString(2, airline.getCommonName());
+            statement.setString(3, airline.getBusinessName());
+            statement.setTimestamp(4, Timestamp.valueOf(airline.getUpdatedAt()));
+        });
+    }
+
+    /**
+     * Consecutive failed lookups of one code and when it may be tried again.
+     */
+    private static final class FailedLookup {
+        private final int failures;
+        private final long retryAt;
+
+        FailedLookup(int failures, long retryAt) {
+            this.failures = failures;
+            this.retryAt = retryAt;
+        }
+    }
+}
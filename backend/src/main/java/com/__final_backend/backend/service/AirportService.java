@@ -0,0 +1,118 @@
+package com.__final_backend.backend.service;
+
+import com.__final_backend.backend.dto.AirportDTO;
+import com.__final_backend.backend.service.airport.AirportIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service that suggests airports and cities for the location fields of the
+ * search form.
+ * <p>
+ * The bundled {@code data/airports.csv} dataset is loaded once at startup into
+ * an {@link AirportIndex}. Airports are ranked by annual passengers, and every
+ * city served by more than one airport gets an extra "All airports" entry under
+ * its IATA city code, ranked by the combined traffic of its airports.
+ * Suggestions are answered from memory and never call Amadeus.
+ */
+@Service
+public class AirportService {
+    private static final Logger logger = LoggerFactory.getLogger(AirportService.class);
+
+    /** Classpath location of the bundled airport dataset. */
+    static final String DATASET = "data/airports.csv";
+
+    /** Most suggestions returned for one query. */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final AirportIndex index;
+
+    /**
+     * Loads the bundled dataset and builds the index.
+     *
+     * @throws IllegalStateException if the dataset cannot be read
+     */
+    public AirportService() {
+        this.index = load(new ClassPathResource(DATASET));
+        logger.info("Loaded {} airport and city suggestions", index.size());
+    }
+
+    /**
+     * Suggests airports and cities whose code, city or name starts with the
+     * query.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions, capped at
+     *              {@value #MAX_SUGGESTIONS}
+     * @return the suggestions, most relevant first
+     */
+    public List<AirportDTO> suggest(String query, int limit) {
+        return index.suggest(query, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    private static AirportIndex load(ClassPathResource dataset) {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(dataset.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            boolean header = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                String[] columns = line.split(",", -1);
+                if (columns.length != 6) {
+                    throw new IllegalStateException("Invalid airport dataset row: " + line);
+                }
+                rows.add(columns);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read airport dataset " + DATASET, e);
+        }
+
+        AirportIndex.Builder builder = AirportIndex.builder(MAX_SUGGESTIONS);
+        Map<String, List<String[]>> byCity = new LinkedHashMap<>();
+        for (String[] row : rows) {
+            String code = row[0].trim();
+            String name = row[1].trim();
+            String city = row[2].trim();
+            String cityCode = row[3].trim();
+            String country = row[4].trim();
+            double passengers = Double.parseDouble(row[5].trim());
+            builder.add(new AirportDTO(code, name, city, cityCode, country, AirportDTO.TYPE_AIRPORT),
+                    passengers, name, city, cityCode);
+            byCity.computeIfAbsent(cityCode, c -> new ArrayList<>()).add(row);
+        }
+
+        for (Map.Entry<String, List<String[]>> cityAirports : byCity.entrySet()) {
+            List<String[]> airports = cityAirports.getValue();
+            if (airports.size() < 2) {
+                continue;
+            }
+            String[] busiest = airports.get(0);
+            double passengers = 0;
+            for (String[] airport : airports) {
+                passengers += Double.parseDouble(airport[5].trim());
+            }
+            String city = busiest[2].trim();
+            builder.add(new AirportDTO(cityAirports.getKey(), "All airports", city, cityAirports.getKey(),
+                    busiest[4].trim(), AirportDTO.TYPE_CITY), passengers, city);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.__final_backend.backend.service;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.dto.FareCalendarEntryDTO;
+import com.__final_backend.backend.dto.FlightDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service that builds cheapest-fare calendars for flexible-date searches.
+ * <p>
+ * A calendar covers every departure date within the requested window around
+ * the travel date and, for round trips, every return date within the same
+ * window around the return date. Each date combination is an ordinary
+ * {@link FlightService#searchFlights} call, so days that were searched recently
+ * are served from the result cache and identical concurrent searches share one
+ * Amadeus call.
+ * <p>
+ * The day searches run in parallel on the fare calendar executor, whose pool
+ * size caps the number of concurrent upstream calls. A calendar therefore
+ * completes in roughly the time of its slowest batch of searches rather than
+ * the sum of all of them.
+ * <p>
+ * Days that fail or are still running when the day timeout passes are
+ * returned as unavailable. Days not started yet are cancelled so they never
+ * take an executor thread or Amadeus quota. Days already running are not
+ * interrupted: other callers may be waiting on the same coalesced search, and
+ * its result still fills the result cache.
+ */
+@Service
+public class FareCalendarService {
+    private static final Logger logger = LoggerFactory.getLogger(FareCalendarService.class);
+
+    private final FlightService flightService;
+    private final ThreadPoolTaskExecutor fareCalendarExecutor;
+    private final int maxWindowDays;
+    private final Duration dayTimeout;
+
+    /**
+     * Constructs a FareCalendarService with the required dependencies.
+     *
+     * @param flightService        service that runs the individual day searches
+     * @param fareCalendarExecutor bounded executor that runs day searches in
+     *                             parallel
+     * @param properties           flight search settings providing the maximum
+     *                             window and day timeout
+     */
+    public FareCalendarService(FlightService flightService,
+            @Qualifier("fareCalendarExecutor") ThreadPoolTaskExecutor fareCalendarExecutor,
+            FlightSearchProperties properties) {
+        this.flightService = flightService;
+        this.fareCalendarExecutor = fareCalendarExecutor;
+        this.maxWindowDays = Math.max(0, properties.getFlexibleDates().getMaxWindowDays());
+        this.dayTimeout = properties.getFlexibleDates().getDayTimeout();
+    }
+
+    /**
+     * Searches every date combination in the window and returns the cheapest
+     * fare for each.
+     * <p>
+     * Departure dates in the past and return dates before the departure date
+     * are skipped. A day whose search fails, or does not finish within the day
+     * timeout, is returned as unavailable rather than failing the whole
+     * calendar.
+     *
+     * @param startingLocation  The 3-letter IATA code of the departure airport/city
+     * @param endingLocation    The 3-letter IATA code of the arrival airport/city
+     * @param travelDate        The preferred date of departure
+     * @param returnDate        The preferred date of return (for round trips
+     *                          only, can be null for one-way trips)
+     * @param numberOfTravelers The number of adult travelers
+     * @param tripType          The type of trip, either "one-way" or "round-trip"
+     * @param windowDays        days to search either side of each date; capped
+     *                          at the configured maximum
+     * @return one entry per searched date combination, ordered by departure date
+     *         and then return date
+     * @throws IllegalArgumentException if the travel date is missing
+     */
+    public List<FareCalendarEntryDTO> searchCalendar(
+            String startingLocation,
+            String endingLocation,
+            LocalDate travelDate,
+            LocalDate returnDate,
+            Integer numberOfTravelers,
+            String tripType,
+            int windowDays) {
+
+        if (travelDate == null) {
+            throw new IllegalArgumentException("A travel date is required for a flexible-date search");
+        }
+        int window = Math.max(0, Math.min(windowDays, maxWindowDays));
+        boolean roundTrip = "round-trip".equalsIgnoreCase(tripType) && returnDate != null;
+        LocalDate today = LocalDate.now();
+
+        List<LocalDate[]> dates = new ArrayList<>();
+        for (int offset = -window; offset <= window; offset++) {
+            LocalDate departureDate = travelDate.plusDays(offset);
+            if (departureDate.isBefore(today)) {
+                continue;
+            }
+            if (!roundTrip) {
+                dates.add(new LocalDate[] { departureDate, null });
+                continue;
+            }
+            for (int returnOffset = -window; returnOffset <= window; returnOffset++) {
+                LocalDate returnDay = returnDate.plusDays(returnOffset);
+                if (!returnDay.isBefore(departureDate)) {
+                    dates.add(new LocalDate[] { departureDate, returnDay });
+                }
+            }
+        }
+
+        logger.debug("Searching {} date combinations for {}-{}", dates.size(), startingLocation, endingLocation);
+        List<Future<List<FlightDTO>>> searches = new ArrayList<>(dates.size());
+        for (LocalDate[] day : dates) {
+            searches.add(fareCalendarExecutor.submit(() -> flightService.searchFlights(
+                    startingLocation, endingLocation, day[0], day[1], numberOfTravelers, tripType)));
+        }
+
+        List<FareCalendarEntryDTO> calendar = new ArrayList<>(dates.size());
+        long deadline = System.nanoTime() + dayTimeout.toNanos();
+        for (int i = 0; i < searches.size(); i++) {
+            Future<List<FlightDTO>> search = searches.get(i);
+            LocalDate departureDate = dates.get(i)[0];
+            LocalDate returnDay = dates.get(i)[1];
+            FareCalendarEntryDTO entry;
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                entry = summarize(departureDate, returnDay, search.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                search.cancel(false);
+                logger.warn("Calendar search for {} / {} did not finish in time", departureDate, returnDay);
+                entry = unavailable(departureDate, returnDay);
+            } catch (ExecutionException e) {
+                logger.warn("Calendar search for {} / {} failed: {}", departureDate, returnDay,
+                        e.getCause().getMessage());
+                entry = unavailable(departureDate, returnDay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int j = i; j < searches.size(); j++) {
+                    searches.get(j).cancel(false);
+                    calendar.add(unavailable(dates.get(j)[0], dates.get(j)[1]));
+                }
+                break;
+            }
+            calendar.add(entry);
+        }
+        return calendar;
+    }
+
+    /**
+     * Reduces the flights found for one date combination to the cheapest fare.
+     *
+     * @param departureDate the departure date searched
+     * @param returnDate    the return date searched, null for one-way trips
+     * @param flights       the flights found for these dates
+     * @return the calendar entry for these dates
+     */
+    private static FareCalendarEntryDTO summarize(LocalDate departureDate, LocalDate returnDate,
+            List<FlightDTO> flights) {
+        FareCalendarEntryDTO entry = newEntry(departureDate, returnDate);
+        entry.setAvailable(true);
+        entry.setFlightCount(flights.size());
+        for (FlightDTO flight : flights) {
+            Double price = flight.getPrice();
+            if (price != null && (entry.getLowestPrice() == null || price < entry.getLowestPrice())) {
+                entry.setLowestPrice(price);
+                entry.setAirline(flight.getAirline());
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Builds the entry for a date combination whose search gave no result.
+     *
+     * @param departureDate the departure date searched
+     * @param returnDate    the return date searched, null for one-way trips
+     * @return the calendar entry, marked unavailable
+     */
+    private static FareCalendarEntryDTO unavailable(LocalDate departureDate, LocalDate returnDate) {
+        FareCalendarEntryDTO entry = newEntry(departureDate, returnDate);
+        entry.setAvailable(false);
+        return entry;
+    }
+
+    private static FareCalendarEntryDTO newEntry(LocalDate departureDate, LocalDate returnDate) {
+        FareCalendarEntryDTO entry = new FareCalendarEntryDTO();
+        entry.setDepartureDate(departureDate);
+        entry.setReturnDate(returnDate);
+        return entry;
+    }
+}
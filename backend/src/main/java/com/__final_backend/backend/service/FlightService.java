@@ -5,6 +5,7 @@ import com.amadeus.Params;
 import com.amadeus.resources.FlightOfferSearch;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for flight-related operations.
@@ -48,6 +49,37 @@ public interface FlightService {
             Integer numberOfTravelers,
             String tripType);
 
+    /**
+     * Searches for flights and delivers each result as soon as it is available.
+     * <p>
+     * Accepts the same criteria as
+     * {@link #searchFlights(String, String, LocalDate, LocalDate, Integer, String)}
+     * but passes flights to the consumer one at a time instead of returning a
+     * list, so callers can stream results to the client while the rest are
+     * still being prepared.
+     *
+     * @param startingLocation  The 3-letter IATA code of the departure airport/city
+     * @param endingLocation    The 3-letter IATA code of the arrival airport/city
+     * @param travelDate        The date of departure
+     * @param returnDate        The date of return (for round trips only, can be
+     *                          null for one-way trips)
+     * @param numberOfTravelers The number of adult travelers
+     * @param tripType          The type of trip, either "one-way" or "round-trip"
+     * @param consumer          receives each matching flight in result order
+     * @throws IllegalArgumentException if required parameters are invalid or
+     *                                  missing
+     * @throws RuntimeException         if there's an error communicating with the
+     *                                  flight data provider
+     */
+    void streamFlights(
+            String startingLocation,
+            String endingLocation,
+            LocalDate travelDate,
+            LocalDate returnDate,
+            Integer numberOfTravelers,
+            String tripType,
+            Consumer<FlightDTO> consumer);
+
     /**
      * Searches for flights using raw query parameters.
      * <p>
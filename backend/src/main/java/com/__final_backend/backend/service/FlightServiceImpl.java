@@ -1,27 +1,39 @@
 package com.__final_backend.backend.service;
 
+import com.__final_backend.backend.config.FlightSearchProperties;
 import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.service.amadeus.HedgedAmadeusCaller;
+import com.__final_backend.backend.service.amadeus.AmadeusCallMetrics;
+import com.__final_backend.backend.service.amadeus.AmadeusHttpException;
+import com.__final_backend.backend.service.amadeus.AmadeusHttpTransport;
+import com.__final_backend.backend.service.amadeus.AmadeusUnavailableException;
+import com.__final_backend.backend.service.amadeus.FlightOfferDecoder;
+import com.__final_backend.backend.service.amadeus.FlightOfferMapper;
+import com.__final_backend.backend.service.cache.FlightSearchCache;
+import com.__final_backend.backend.service.cache.FlightSearchKey;
+import com.__final_backend.backend.service.cache.RequestCoalescer;
 import com.amadeus.Amadeus;
 import com.amadeus.Params;
 import com.amadeus.exceptions.ResponseException;
-import com.amadeus.resources.Airline;
 import com.amadeus.resources.FlightOfferSearch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
  * Implementation of the FlightService interface that provides flight search
@@ -35,7 +47,9 @@ import java.util.Set;
  * etc.)
  * <li>Converting Amadeus API responses to application DTOs for client
  * consumption
- * <li>Caching airline information to optimize API usage and improve performance
+ * <li>Caching search results to optimize API usage and improve performance
+ * <li>Serving the last known results, marked stale, while Amadeus is down
+ * <li>Resolving airline names from persistent reference data
  * <li>Handling date/time formatting and validation
  * </ul>
  * <p>
@@ -48,56 +62,114 @@ public class FlightServiceImpl implements FlightService {
     /** Logger for this class. */
     private static final Logger logger = LoggerFactory.getLogger(FlightServiceImpl.class);
 
-    /** The Amadeus API key from application properties. */
-    @Value("${amadeus.api.key}")
-    private String apiKey;
+    /** Path of the Flight Offers Search v2 endpoint, relative to the API host. */
+    private static final String FLIGHT_OFFERS_PATH = "/v2/shopping/flight-offers";
 
-    /** The Amadeus API secret from application properties. */
-    @Value("${amadeus.api.secret}")
-    private String apiSecret;
+    /** Three upper-case letters, the form of an IATA airport or city code. */
+    private static final Pattern IATA_CODE = Pattern.compile("[A-Z]{3}");
 
     /**
-     * Cache for airline names to reduce API calls for repeated airline codes.
+     * Shared Amadeus API client.
      * <p>
-     * This improves performance by avoiding redundant API calls for the same
-     * airline.
+     * Created once by {@code AmadeusConfig} and reused across requests for
+     * efficiency.
+     */
+    private final Amadeus amadeusClient;
+
+    /**
+     * Pooled HTTP transport used for flight offer searches, which keeps its
+     * connections and access token warm so searches never wait on either.
+     */
+    private final AmadeusHttpTransport amadeusHttpTransport;
+
+    /**
+     * Resolves airline codes to airline names from memory without blocking.
      * <p>
      * Key: Airline IATA code (e.g., "BA", "AA", "DL")
      * Value: Full airline name (e.g., "British Airways", "American Airlines",
      * "Delta Air Lines")
      */
-    private Map<String, String> airlineCache = new HashMap<>();
+    private final AirlineReferenceService airlineReferenceService;
 
     /**
-     * Singleton instance of the Amadeus API client.
+     * Cache of recent search results keyed by the normalized search criteria.
      * <p>
-     * Created on-demand and reused across requests for efficiency.
+     * Repeated searches for the same route, dates and party size are answered
+     * from memory until the configured TTL elapses.
      */
-    private Amadeus amadeusClient;
+    private final FlightSearchCache flightSearchCache;
 
     /**
-     * Gets or creates the Amadeus API client in a thread-safe manner.
-     * <p>
-     * This method implements lazy initialization with synchronization
-     * to ensure thread safety while maintaining performance. The client is only
-     * created
-     * once and then reused for subsequent API calls.
-     * 
-     * @return Configured Amadeus client instance ready for API calls
+     * Runs search calls through the rate limiter, hedging slow ones when
+     * enabled.
      */
-    protected synchronized Amadeus getAmadeusClient() {
-        if (amadeusClient != null) {
-            return amadeusClient;
-        }
+    private final HedgedAmadeusCaller hedgedAmadeusCaller;
 
-        // Test environment is free tier and sufficient for this project
-        amadeusClient = Amadeus.builder(apiKey, apiSecret)
-                .setHostname("test")
-                .setLogLevel("debug") // Keep debug for troubleshooting
-                .setSsl(true) // Ensure SSL is enabled
-                .build();
+    /**
+     * Executor that runs background refreshes of searches served from stale
+     * results.
+     */
+    private final ThreadPoolTaskExecutor flightSearchExecutor;
+
+    /**
+     * Searches with a background refresh currently queued or running, so that
+     * each stale search is only refreshed once at a time.
+     */
+    private final Set<FlightSearchKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Longest a search waits for an identical search already in flight, the
+     * same as the request deadline, so a caller that joined late leaves once
+     * its own deadline has passed without disturbing the search it joined.
+     */
+    private final Duration coalescedWait;
 
-        logger.info("Amadeus client created with test environment");
+    /**
+     * Coalesces identical concurrent searches so that a burst of requests for
+     * the same route makes a single Amadeus call.
+     */
+    private final RequestCoalescer<FlightSearchKey, List<FlightDTO>> searchCoalescer = new RequestCoalescer<>();
+
+    /**
+     * Coalesces identical concurrent raw-parameter searches, keyed by the
+     * canonical form of their parameters.
+     */
+    private final RequestCoalescer<String, FlightOfferSearch[]> paramsSearchCoalescer = new RequestCoalescer<>();
+
+    /**
+     * Constructs a FlightServiceImpl with the required dependencies.
+     *
+     * @param amadeusClient           shared Amadeus API client
+     * @param amadeusHttpTransport    pooled transport for flight offer searches
+     * @param airlineReferenceService resolves airline codes to names
+     * @param flightSearchCache       cache of recent search results
+     * @param hedgedAmadeusCaller     rate-limited, optionally hedged Amadeus
+     *                                caller
+     * @param flightSearchExecutor    executor for background refreshes of stale
+     *                                results
+     * @param properties              flight search settings providing the
+     *                                request deadline
+     */
+    public FlightServiceImpl(Amadeus amadeusClient, AmadeusHttpTransport amadeusHttpTransport,
+            AirlineReferenceService airlineReferenceService, FlightSearchCache flightSearchCache,
+            HedgedAmadeusCaller hedgedAmadeusCaller,
+            @Qualifier("flightSearchExecutor") ThreadPoolTaskExecutor flightSearchExecutor,
+            FlightSearchProperties properties) {
+        this.amadeusClient = amadeusClient;
+        this.amadeusHttpTransport = amadeusHttpTransport;
+        this.airlineReferenceService = airlineReferenceService;
+        this.flightSearchCache = flightSearchCache;
+        this.hedgedAmadeusCaller = hedgedAmadeusCaller;
+        this.flightSearchExecutor = flightSearchExecutor;
+        this.coalescedWait = properties.getAsync().getDeadline();
+    }
+
+    /**
+     * Gets the shared Amadeus API client.
+     * 
+     * @return Configured Amadeus client instance ready for API calls
+     */
+    protected Amadeus getAmadeusClient() {
         return amadeusClient;
     }
 
@@ -111,6 +183,10 @@ public class FlightServiceImpl implements FlightService {
      * <p>
      * The search is limited to non-stop flights and returns at most 20 results
      * to optimize response time and focus on the most relevant options.
+     * <p>
+     * Results are cached by the normalized search criteria, so a repeated search
+     * within the cache TTL is served without calling the Amadeus API. Concurrent
+     * cache misses for the same criteria are coalesced into one upstream call.
      * 
      * @param startingLocation  The 3-letter IATA code of the departure airport/city
      * @param endingLocation    The 3-letter IATA code of the arrival airport/city
@@ -135,45 +211,27 @@ public class FlightServiceImpl implements FlightService {
             String tripType) {
 
         try {
-            // Parameter validation
-            if (startingLocation == null || !startingLocation.matches("[A-Z]{3}") ||
-                    endingLocation == null || !endingLocation.matches("[A-Z]{3}") ||
-                    travelDate == null || numberOfTravelers == null || numberOfTravelers < 1) {
-                throw new IllegalArgumentException(
-                        "Invalid parameters: origin, destination, date and adults are required");
-            }
-
-            // Get API client
-            Amadeus amadeus = getAmadeusClient();
-
-            // Build params for the API call
-            Params params = Params.with("originLocationCode", startingLocation)
-                    .and("destinationLocationCode", endingLocation)
-                    .and("departureDate", travelDate.toString())
-                    .and("adults", numberOfTravelers.toString())
-                    .and("max", "20")
-                    .and("currencyCode", "USD") // Add currency for better results
-                    .and("nonStop", "true"); // Filter for non-stop flights only
-
-            if (returnDate != null && "round-trip".equals(tripType)) {
-                params.and("returnDate", returnDate.toString())
-                        .and("nonStop", "true");
+            validateSearch(startingLocation, endingLocation, travelDate, numberOfTravelers);
+
+            // Serve repeated searches from the result cache
+            FlightSearchKey cacheKey = FlightSearchKey.of(startingLocation, endingLocation, travelDate,
+                    returnDate, numberOfTravelers, tripType);
+            List<FlightDTO> cachedResults = flightSearchCache.get(cacheKey);
+            if (cachedResults != null) {
+                logger.debug("Returning {} cached flights for {}", cachedResults.size(), cacheKey);
+                return cachedResults;
             }
 
-            // Log the full request parameters for debugging
-            logger.info("Searching flights with params: {}", params);
-
-            // Make the API call with more detailed error handling
+            // Identical concurrent searches share a single upstream call
             try {
-                FlightOfferSearch[] flightOffersSearches = amadeus.shopping.flightOffersSearch.get(params);
-                logger.info("Successfully retrieved {} flight offers", flightOffersSearches.length);
-                return mapToFlightDTOs(flightOffersSearches, amadeus);
-            } catch (ResponseException e) {
-                logger.error("Amadeus API error: {}", e);
-                logger.error("Error details - Code: {}, Error: {}, Description: {}",
-                        e.getCode(), e.getMessage(), e.getDescription());
-                throw new RuntimeException("Error from Amadeus API: " + e.getMessage(), e);
+                return searchCoalescer.execute(cacheKey, () -> fetchFlights(cacheKey, dto -> {
+                }), coalescedWait);
+            } catch (AmadeusUnavailableException e) {
+                return staleFallback(cacheKey, e);
             }
+        } catch (RejectedExecutionException | AmadeusUnavailableException e) {
+            // Saturation and outages surface as 503, not as a generic error
+            throw e;
         } catch (Exception e) {
             logger.error("Error searching flights: {}", e.getMessage());
             throw new RuntimeException("Error searching flights: " + e.getMessage(), e);
@@ -181,141 +239,252 @@ public class FlightServiceImpl implements FlightService {
     }
 
     /**
-     * Converts FlightOfferSearch objects from the Amadeus API to FlightDTO objects.
+     * Searches for flights and hands each result to the consumer as soon as it
+     * is mapped.
      * <p>
-     * This method transforms the complex Amadeus API response structure into a
-     * simplified
-     * DTO format suitable for frontend consumption. The conversion includes:
-     * <ul>
-     * <li>Extracting flight details from nested objects
-     * <li>Resolving airline codes to full airline names using the airline cache
-     * <li>Formatting departure and arrival times
-     * <li>Organizing price information
-     * </ul>
-     * 
-     * @param flightOffers Array of FlightOfferSearch objects from Amadeus API
-     * @param amadeus      The Amadeus client for fetching airline information
-     * @return List of FlightDTO objects with flight details
+     * On a cache miss the caller that runs the Amadeus call receives each flight
+     * while the offers are still being mapped, so the first rows can be sent to
+     * the client before the rest are ready. Callers served from the cache, or
+     * that joined a search already in flight, receive the complete result set
+     * once it is available.
+     *
+     * @param startingLocation  The 3-letter IATA code of the departure airport/city
+     * @param endingLocation    The 3-letter IATA code of the arrival airport/city
+     * @param travelDate        The date of departure
+     * @param returnDate        The date of return (for round trips only, can be
+     *                          null for one-way trips)
+     * @param numberOfTravelers The number of adult travelers
+     * @param tripType          The type of trip, either "one-way" or "round-trip"
+     * @param consumer          receives each matching flight in result order
+     * @throws IllegalArgumentException if required parameters are invalid or
+     *                                  missing
+     * @throws RuntimeException         if there's an error communicating with the
+     *                                  Amadeus API
      */
-    private List<FlightDTO> mapToFlightDTOs(FlightOfferSearch[] flightOffers, Amadeus amadeus) {
-        List<FlightDTO> flightDTOs = new ArrayList<>();
-        Set<String> airlineCodes = new HashSet<>();
-
-        // Extract airline codes first for batch processing
-        for (FlightOfferSearch offer : flightOffers) {
-            for (FlightOfferSearch.Itinerary itinerary : offer.getItineraries()) {
-                for (FlightOfferSearch.SearchSegment segment : itinerary.getSegments()) {
-                    airlineCodes.add(segment.getCarrierCode());
-                }
-            }
-        }
-
-        // Load airline names in batch to minimize API calls
-        loadAirlineNames(airlineCodes, amadeus);
-
-        // Map flight offers to DTOs
-        for (FlightOfferSearch offer : flightOffers) {
-            double price = Double.parseDouble(offer.getPrice().getTotal());
-
-            for (FlightOfferSearch.Itinerary itinerary : offer.getItineraries()) {
-                for (FlightOfferSearch.SearchSegment segment : itinerary.getSegments()) {
-                    FlightDTO dto = new FlightDTO();
-
-                    String airlineCode = segment.getCarrierCode();
-                    dto.setAirline(airlineCache.getOrDefault(airlineCode, airlineCode));
-                    dto.setFlightNumber(airlineCode + segment.getNumber());
-
-                    dto.setDeparture(segment.getDeparture().getIataCode());
-                    dto.setArrival(segment.getArrival().getIataCode());
-
-                    dto.setDepartureTime(extractTimeFromDateTime(segment.getDeparture().getAt()));
-                    dto.setArrivalTime(extractTimeFromDateTime(segment.getArrival().getAt()));
+    @Override
+    public void streamFlights(
+            String startingLocation,
+            String endingLocation,
+            LocalDate travelDate,
+            LocalDate returnDate,
+            Integer numberOfTravelers,
+            String tripType,
+            Consumer<FlightDTO> consumer) {
 
-                    dto.setPrice(price);
+        try {
+            validateSearch(startingLocation, endingLocation, travelDate, numberOfTravelers);
+
+            FlightSearchKey cacheKey = FlightSearchKey.of(startingLocation, endingLocation, travelDate,
+                    returnDate, numberOfTravelers, tripType);
+            List<FlightDTO> cachedResults = flightSearchCache.get(cacheKey);
+            if (cachedResults != null) {
+                cachedResults.forEach(consumer);
+                return;
+            }
 
-                    flightDTOs.add(dto);
-                }
+            // The leader streams while mapping; callers that joined it get the
+            // finished list
+            AtomicBoolean streamed = new AtomicBoolean(false);
+            List<FlightDTO> results;
+            try {
+                results = searchCoalescer.execute(cacheKey, () -> {
+                    streamed.set(true);
+                    return fetchFlights(cacheKey, consumer);
+                }, coalescedWait);
+            } catch (AmadeusUnavailableException e) {
+                // The call failed before any offer was mapped, so nothing was
+                // streamed yet
+                staleFallback(cacheKey, e).forEach(consumer);
+                return;
             }
+            if (!streamed.get()) {
+                results.forEach(consumer);
+            }
+        } catch (RejectedExecutionException | AmadeusUnavailableException e) {
+            // Saturation and outages surface as 503, not as a generic error
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error streaming flights: {}", e.getMessage());
+            throw new RuntimeException("Error searching flights: " + e.getMessage(), e);
         }
-
-        return flightDTOs;
     }
 
     /**
-     * Fetches airline names for a set of airline codes and populates the cache.
+     * Serves the last known results for a search while Amadeus is unavailable.
      * <p>
-     * This method makes batch requests to the Amadeus Airlines API to retrieve
-     * airline names for the given IATA codes. Results are stored in the cache
-     * to avoid redundant API calls in future requests. If an airline name
-     * cannot be fetched, the code itself is used as a fallback.
-     * <p>
-     * The method checks the cache first before making any API calls to optimize
-     * performance and reduce API usage.
-     * 
-     * @param airlineCodes Set of airline IATA codes to fetch names for
-     * @param amadeus      The Amadeus client for making API calls
+     * The results are returned as copies marked stale, and a single background
+     * refresh is scheduled so that fresh results replace them as soon as
+     * Amadeus recovers.
+     *
+     * @param cacheKey the normalized search criteria
+     * @param cause    the failure that prevented a fresh search
+     * @return stale copies of the last known results
+     * @throws AmadeusUnavailableException the given cause, when no earlier
+     *                                     results are kept for this search
      */
-    private void loadAirlineNames(Set<String> airlineCodes, Amadeus amadeus) {
-        for (String code : airlineCodes) {
-            if (airlineCache.containsKey(code)) {
-                continue;
-            }
+    private List<FlightDTO> staleFallback(FlightSearchKey cacheKey, AmadeusUnavailableException cause) {
+        List<FlightDTO> lastKnown = flightSearchCache.getStale(cacheKey);
+        if (lastKnown == null) {
+            throw cause;
+        }
+        logger.warn("Amadeus unavailable, serving {} stale flights for {}", lastKnown.size(), cacheKey);
+        scheduleRefresh(cacheKey);
+
+        List<FlightDTO> stale = new ArrayList<>(lastKnown.size());
+        for (FlightDTO flight : lastKnown) {
+            FlightDTO copy = new FlightDTO(flight);
+            copy.setStale(true);
+            stale.add(copy);
+        }
+        return stale;
+    }
 
-            try {
-                Airline[] airlines = amadeus.referenceData.airlines.get(
-                        Params.with("airlineCodes", code));
-
-                if (airlines.length > 0) {
-                    String airlineName = airlines[0].getCommonName();
-                    airlineCache.put(code, airlineName);
-                } else {
-                    airlineCache.put(code, code);
+    /**
+     * Refreshes a search in the background unless a refresh is already pending.
+     * <p>
+     * While the circuit breaker is open the refresh fails fast without calling
+     * Amadeus; once it is half-open the refresh may become the probe call.
+     *
+     * @param cacheKey the normalized search criteria
+     */
+    private void scheduleRefresh(FlightSearchKey cacheKey) {
+        if (!refreshing.add(cacheKey)) {
+            return;
+        }
+        try {
+            flightSearchExecutor.execute(() -> {
+                try {
+                    searchCoalescer.execute(cacheKey, () -> fetchFlights(cacheKey, dto -> {
+                    }));
+                } catch (RuntimeException e) {
+                    logger.debug("Background refresh of {} failed: {}", cacheKey, e.getMessage());
+                } finally {
+                    refreshing.remove(cacheKey);
                 }
-            } catch (Exception e) {
-                logger.warn("Failed to get airline name for code {}: {}", code, e.getMessage());
-                airlineCache.put(code, code);
-            }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(cacheKey);
         }
     }
 
     /**
-     * Extracts a formatted time string (HH:mm) from an ISO datetime string.
+     * Validates the criteria shared by every search entry point.
+     *
+     * @param startingLocation  The 3-letter IATA code of the departure airport/city
+     * @param endingLocation    The 3-letter IATA code of the arrival airport/city
+     * @param travelDate        The date of departure
+     * @param numberOfTravelers The number of adult travelers
+     * @throws IllegalArgumentException if required parameters are invalid or
+     *                                  missing
+     */
+    private static void validateSearch(String startingLocation, String endingLocation, LocalDate travelDate,
+            Integer numberOfTravelers) {
+        if (startingLocation == null || !IATA_CODE.matcher(startingLocation).matches() ||
+                endingLocation == null || !IATA_CODE.matcher(endingLocation).matches() ||
+                travelDate == null || numberOfTravelers == null || numberOfTravelers < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid parameters: origin, destination, date and adults are required");
+        }
+    }
+
+    /**
+     * Calls the Amadeus API for a search that missed the cache and caches the
+     * mapped results.
      * <p>
-     * This method handles various datetime formats that might be returned by the
-     * API,
-     * including those with and without timezone information. It attempts multiple
-     * parsing
-     * strategies in this order:
-     * <ol>
-     * <li>Parse as ZonedDateTime (with timezone)
-     * <li>Parse as LocalDateTime (without timezone)
-     * <li>Direct substring extraction as fallback
-     * </ol>
-     * 
-     * @param dateTimeString The datetime string to extract time from (e.g.,
-     *                       "2025-05-01T14:30:00")
-     * @return A formatted time string (e.g., "14:30") or "N/A" if parsing fails
+     * Each flight is passed to the sink as soon as it is mapped, before the
+     * complete list is cached and returned.
+     * <p>
+     * Only one caller per search key runs this method at a time; concurrent
+     * duplicates wait for its result through the {@link RequestCoalescer}. The
+     * cache is checked again first because a previous leader may have filled it
+     * between this caller's cache miss and its turn to execute. The re-check is
+     * not counted in the cache statistics, since the caller's own lookup already
+     * was.
+     *
+     * @param cacheKey the normalized search criteria
+     * @param sink     receives each flight as it is mapped
+     * @return List of FlightDTO objects representing matching flights
+     * @throws RuntimeException if there's an error communicating with the
+     *                          Amadeus API
      */
-    private String extractTimeFromDateTime(String dateTimeString) {
-        if (dateTimeString == null || dateTimeString.isEmpty()) {
-            return "N/A";
+    private List<FlightDTO> fetchFlights(FlightSearchKey cacheKey, Consumer<FlightDTO> sink) {
+        List<FlightDTO> cachedResults = flightSearchCache.peek(cacheKey);
+        if (cachedResults != null) {
+            cachedResults.forEach(sink);
+            return cachedResults;
         }
 
+        // Build params for the API call
+        Params params = Params.with("originLocationCode", cacheKey.getOrigin())
+                .and("destinationLocationCode", cacheKey.getDestination())
+                .and("departureDate", cacheKey.getTravelDate().toString())
+                .and("adults", Integer.toString(cacheKey.getAdults()))
+                .and("max", "20")
+                .and("currencyCode", "USD") // Add currency for better results
+                .and("nonStop", "true"); // Filter for non-stop flights only
+
+        if (cacheKey.getReturnDate() != null) {
+            params.and("returnDate", cacheKey.getReturnDate().toString())
+                    .and("nonStop", "true");
+        }
+
+        // Log the full request parameters for debugging
+        logger.info("Searching flights with params: {}", params);
+
+        // Make the API call through the pooled transport with more detailed error
+        // handling. The raw response is decoded directly instead of being bound to
+        // FlightOfferSearch objects.
         try {
-            // Try to parse as ISO datetime with timezone
-            return ZonedDateTime.parse(dateTimeString)
-                    .format(DateTimeFormatter.ofPattern("HH:mm"));
-        } catch (DateTimeParseException e1) {
-            try {
-                // Try to parse as local datetime without timezone
-                return LocalDateTime.parse(dateTimeString)
-                        .format(DateTimeFormatter.ofPattern("HH:mm"));
-            } catch (DateTimeParseException e2) {
-                return dateTimeString.substring(11, 16); // Try to extract time part directly
-            }
+            String body = hedgedAmadeusCaller.execute(AmadeusCallMetrics.Operation.FLIGHT_OFFERS,
+                    () -> amadeusHttpTransport.get(FLIGHT_OFFERS_PATH, params));
+            FlightOfferDecoder.DecodedOffers decoded = FlightOfferDecoder.decode(body);
+            logger.info("Successfully retrieved {} flight offers", decoded.getOfferCount());
+            List<FlightDTO> results = new ArrayList<>(decoded.getSegments().size());
+            mapToFlightDTOs(decoded, dto -> {
+                results.add(dto);
+                sink.accept(dto);
+            });
+            return flightSearchCache.put(cacheKey, results);
+        } catch (AmadeusHttpException e) {
+            logger.error("Amadeus API error - Status: {}, Error: {}", e.getStatusCode(), e.getMessage());
+            throw new RuntimeException("Error from Amadeus API: " + e.getMessage(), e);
+        } catch (ResponseException e) {
+            // Not thrown by the transport, but declared by the scheduler's call type
+            throw new RuntimeException("Error from Amadeus API: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Converts decoded Flight Offers Search segments to FlightDTO objects.
+     * <p>
+     * The response body has already been reduced by {@link FlightOfferDecoder}
+     * to the fields used here. The conversion includes:
+     * <ul>
+     * <li>Resolving carrier names, aircraft models and airport cities from the
+     * response's own {@code dictionaries} block
+     * <li>Falling back to the in-memory airline reference data for carriers the
+     * dictionaries do not name, without making API calls
+     * <li>Formatting departure and arrival times
+     * <li>Copying the offer price onto each of its segments
+     * </ul>
+     * <p>
+     * The per-segment work is done by {@link FlightOfferMapper}, which avoids
+     * temporary objects for the common timestamp and duration formats.
+     * <p>
+     * Carriers missing from both the dictionaries and the reference data are
+     * shown by their code and queued for background resolution.
+     * 
+     * <p>
+     * Each DTO is handed to the sink as soon as it is built, so callers can
+     * stream results without waiting for the whole response to be mapped.
+     * 
+     * @param decoded the segments and dictionaries decoded from the response
+     * @param sink    receives each FlightDTO in result order
+     */
+    private void mapToFlightDTOs(FlightOfferDecoder.DecodedOffers decoded, Consumer<FlightDTO> sink) {
+        FlightOfferMapper.map(decoded, airlineReferenceService::getAirlineName, sink);
+    }
+
     /**
      * Advanced flight search method that accepts raw Amadeus API parameters.
      * <p>
@@ -330,6 +499,9 @@ public class FlightServiceImpl implements FlightService {
      * <li>Airline alliance preferences
      * <li>Complex multi-city itineraries
      * </ul>
+     * <p>
+     * Concurrent calls with the same parameters, in any order, are coalesced
+     * into a single Amadeus request.
      * 
      * @param params Amadeus Params object containing all search parameters
      * @return Array of FlightOfferSearch objects from Amadeus API
@@ -338,12 +510,38 @@ public class FlightServiceImpl implements FlightService {
      */
     @Override
     public FlightOfferSearch[] searchFlightsWithParams(Params params) {
-        try {
-            Amadeus amadeus = getAmadeusClient();
-            return amadeus.shopping.flightOffersSearch.get(params);
-        } catch (ResponseException e) {
-            logger.error("Amadeus API error in searchFlightsWithParams: {} - {}", e.getCode(), e.getMessage());
-            throw new RuntimeException("Error from Amadeus API: " + e.getMessage(), e);
+        // Identical concurrent searches share a single upstream call; each caller
+        // gets its own copy of the result array
+        FlightOfferSearch[] offers = paramsSearchCoalescer.execute(canonicalKey(params), () -> {
+            try {
+                Amadeus amadeus = getAmadeusClient();
+                return hedgedAmadeusCaller.execute(AmadeusCallMetrics.Operation.FLIGHT_OFFERS,
+                        () -> amadeus.shopping.flightOffersSearch.get(params));
+            } catch (ResponseException e) {
+                logger.error("Amadeus API error in searchFlightsWithParams: {} - {}", e.getCode(), e.getMessage());
+                throw new RuntimeException("Error from Amadeus API: " + e.getMessage(), e);
+            }
+        }, coalescedWait);
+        return offers.clone();
+    }
+
+    /**
+     * Builds an order-independent string form of raw search parameters.
+     * <p>
+     * Parameters are sorted by name so that two Params objects holding the same
+     * entries in a different insertion order produce the same coalescing key.
+     *
+     * @param params the raw Amadeus search parameters
+     * @return the canonical key, e.g. "adults=1&departureDate=2025-06-15&..."
+     */
+    private static String canonicalKey(Params params) {
+        StringBuilder key = new StringBuilder();
+        for (Map.Entry<String, String> entry : new TreeMap<>(params).entrySet()) {
+            if (key.length() > 0) {
+                key.append('&');
+            }
+            key.append(entry.getKey()).append('=').append(entry.getValue());
         }
+        return key.toString();
     }
 }
\ No newline at end of file
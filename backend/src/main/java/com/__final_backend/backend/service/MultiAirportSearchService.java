@@ -0,0 +1,268 @@
+package com.__final_backend.backend.service;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.dto.MultiAirportSearchResultDTO;
+import com.__final_backend.backend.service.amadeus.MetroAreas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service that searches several origin and destination airports at once.
+ * <p>
+ * Metro area codes are expanded to their member airports and every origin
+ * airport is paired with every destination airport. Each pair is an ordinary
+ * {@link FlightService#searchFlights} call run on the multi-airport executor,
+ * whose pool size caps the number of concurrent upstream calls, so cached pairs
+ * are served from memory.
+ * <p>
+ * Each pair's segments are grouped back into whole offers, so an outbound
+ * flight never travels without its return or one leg of a connection without
+ * the other. Offers are merged into a single price-ranked list of at most the
+ * requested size using a bounded max-heap, which keeps only the cheapest offers
+ * seen so far instead of sorting every result. The returned segments are
+ * renumbered by rank, so their offer index identifies the offer across all
+ * pairs.
+ * <p>
+ * Pairs that fail or are still running when the pair timeout passes are left
+ * out and the result is marked partial. Pairs not started yet are cancelled
+ * so they never take an executor thread or Amadeus quota. Pairs already
+ * running are not interrupted: other callers may be waiting on the same
+ * coalesced search, and its result still fills the result cache.
+ */
+@Service
+public class MultiAirportSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(MultiAirportSearchService.class);
+
+    /** Orders offers by price, treating a missing price as the most expensive. */
+    private static final Comparator<Offer> BY_PRICE = Comparator.comparing(Offer::getPrice,
+            Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final FlightService flightService;
+    private final ThreadPoolTaskExecutor multiAirportExecutor;
+    private final FlightSearchProperties.MultiAirport settings;
+
+    /**
+     * Constructs a MultiAirportSearchService with the required dependencies.
+     *
+     * @param flightService        service that runs the individual pair searches
+     * @param multiAirportExecutor bounded executor that runs pair searches in
+     *                             parallel
+     * @param properties           flight search settings providing pair and
+     *                             result limits
+     */
+    public MultiAirportSearchService(FlightService flightService,
+            @Qualifier("multiAirportExecutor") ThreadPoolTaskExecutor multiAirportExecutor,
+            FlightSearchProperties properties) {
+        this.flightService = flightService;
+        this.multiAirportExecutor = multiAirportExecutor;
+        this.settings = properties.getMultiAirport();
+    }
+
+    /**
+     * Searches every origin and destination airport pair and returns the
+     * cheapest offers across all of them.
+     *
+     * @param origins           origin airport or metro area codes
+     * @param destinations      destination airport or metro area codes
+     * @param travelDate        The date of departure
+     * @param returnDate        The date of return (for round trips only, can be
+     *                          null for one-way trips)
+     * @param numberOfTravelers The number of adult travelers
+     * @param tripType          The type of trip, either "one-way" or "round-trip"
+     * @param limit             the maximum number of offers to return, or null
+     *                          for the configured default
+     * @return the segments of the cheapest offers, lowest price first, with
+     *         pair counts
+     * @throws IllegalArgumentException if the codes expand to no pairs or to more
+     *                                  pairs than allowed
+     */
+    public MultiAirportSearchResultDTO search(
+            Collection<String> origins,
+            Collection<String> destinations,
+            LocalDate travelDate,
+            LocalDate returnDate,
+            Integer numberOfTravelers,
+            String tripType,
+            Integer limit) {
+
+        Set<String> originAirports = expand(origins);
+        Set<String> destinationAirports = expand(destinations);
+        List<String[]> pairs = new ArrayList<>();
+        for (String origin : originAirports) {
+            for (String destination : destinationAirports) {
+                if (!origin.equals(destination)) {
+                    pairs.add(new String[] { origin, destination });
+                }
+            }
+        }
+        if (pairs.isEmpty()) {
+            throw new IllegalArgumentException("Invalid parameters: no origin and destination airport pairs");
+        }
+        if (pairs.size() > settings.getMaxPairs()) {
+            throw new IllegalArgumentException("Too many airport pairs: " + pairs.size()
+                    + " requested, at most " + settings.getMaxPairs() + " allowed");
+        }
+
+        List<Future<List<FlightDTO>>> searches = new ArrayList<>(pairs.size());
+        for (String[] pair : pairs) {
+            searches.add(multiAirportExecutor.submit(() -> flightService.searchFlights(
+                    pair[0], pair[1], travelDate, returnDate, numberOfTravelers, tripType)));
+        }
+
+        int size = limit == null
+                ? settings.getDefaultLimit()
+                : Math.max(1, Math.min(limit, settings.getMaxLimit()));
+        PriorityQueue<Offer> cheapest = new PriorityQueue<>(size + 1, BY_PRICE.reversed());
+        int completed = 0;
+        long deadline = System.nanoTime() + settings.getPairTimeout().toNanos();
+        for (int i = 0; i < searches.size(); i++) {
+            Future<List<FlightDTO>> search = searches.get(i);
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                offerAll(cheapest, groupOffers(search.get(remaining, TimeUnit.NANOSECONDS)), size);
+                completed++;
+            } catch (TimeoutException e) {
+                search.cancel(false);
+                logger.warn("Search for {}-{} did not finish in time", pairs.get(i)[0], pairs.get(i)[1]);
+            } catch (ExecutionException e) {
+                logger.warn("Search for {}-{} failed: {}", pairs.get(i)[0], pairs.get(i)[1],
+                        e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int j = i; j < searches.size(); j++) {
+                    searches.get(j).cancel(false);
+                }
+                break;
+            }
+        }
+
+        List<Offer> ranked = new ArrayList<>(cheapest);
+        ranked.sort(BY_PRICE);
+
+        MultiAirportSearchResultDTO result = new MultiAirportSearchResultDTO();
+        result.setFlights(flatten(ranked));
+        result.setPairsSearched(pairs.size());
+        result.setPairsCompleted(completed);
+        result.setPartial(completed < pairs.size());
+        return result;
+    }
+
+    /**
+     * Expands metro area codes to their member airports, keeping request order
+     * and dropping duplicates.
+     *
+     * @param codes airport or metro area codes
+     * @return the distinct airport codes
+     */
+    private static Set<String> expand(Collection<String> codes) {
+        Set<String> airports = new LinkedHashSet<>();
+        if (codes != null) {
+            for (String code : codes) {
+                if (code != null) {
+                    airports.addAll(MetroAreas.airportsFor(code.trim().toUpperCase(Locale.ROOT)));
+                }
+            }
+        }
+        return airports;
+    }
+
+    /**
+     * Groups the segments of one pair's search by the offer they belong to.
+     *
+     * @param flights the segments found for one pair, in result order
+     * @return the offers in result order
+     */
+    private static List<Offer> groupOffers(List<FlightDTO> flights) {
+        Map<Integer, List<FlightDTO>> segmentsByOffer = new LinkedHashMap<>();
+        for (FlightDTO flight : flights) {
+            segmentsByOffer.computeIfAbsent(flight.getOfferIndex(), index -> new ArrayList<>(4)).add(flight);
+        }
+        List<Offer> offers = new ArrayList<>(segmentsByOffer.size());
+        for (List<FlightDTO> segments : segmentsByOffer.values()) {
+            offers.add(new Offer(segments));
+        }
+        return offers;
+    }
+
+    /**
+     * Adds offers to the bounded heap, evicting the most expensive offer
+     * whenever it grows past the limit.
+     *
+     * @param cheapest max-heap holding the cheapest offers seen so far
+     * @param offers   the offers found for one pair
+     * @param limit    the maximum heap size
+     */
+    private static void offerAll(PriorityQueue<Offer> cheapest, List<Offer> offers, int limit) {
+        for (Offer offer : offers) {
+            if (cheapest.size() < limit) {
+                cheapest.offer(offer);
+            } else if (BY_PRICE.compare(offer, cheapest.peek()) < 0) {
+                cheapest.poll();
+                cheapest.offer(offer);
+            }
+        }
+    }
+
+    /**
+     * Lists the segments of the ranked offers, renumbering each offer by its
+     * rank.
+     * <p>
+     * Offer indexes restart at 0 for every pair, so they are replaced to keep
+     * offers from different pairs apart. The segments may be shared with the
+     * search cache and are copied rather than modified.
+     *
+     * @param ranked the offers, cheapest first
+     * @return the segments of every offer, in rank order
+     */
+    private static List<FlightDTO> flatten(List<Offer> ranked) {
+        List<FlightDTO> flights = new ArrayList<>();
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            for (FlightDTO segment : ranked.get(rank).segments) {
+                FlightDTO copy = new FlightDTO(segment);
+                copy.setOfferIndex(rank);
+                flights.add(copy);
+            }
+        }
+        return flights;
+    }
+
+    /**
+     * The segments of one offer, ranked by the offer's total price.
+     */
+    private static final class Offer {
+        private final List<FlightDTO> segments;
+
+        Offer(List<FlightDTO> segments) {
+            this.segments = segments;
+        }
+
+        /**
+         * Gets the total price, which every segment of the offer carries.
+         *
+         * @return the offer price, or null when it is unknown
+         */
+        Double getPrice() {
+            return segments.get(0).getPrice();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.__final_backend.backend.service.airport;
+
+import com.__final_backend.backend.dto.AirportDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable prefix index over airports and cities, ranked by popularity.
+ * <p>
+ * Every entry is reachable by its IATA code, its city name and each word of
+ * its name, compared without case or accents. The index is a trie whose nodes
+ * keep their children in sorted parallel arrays, and each node also stores the
+ * most popular entries below it. A lookup therefore walks one node per typed
+ * character and returns a list that was ranked when the index was built; it
+ * does no sorting or scanning per request.
+ * <p>
+ * An entry whose code equals the query exactly is always ranked first, so
+ * typing a complete code suggests that airport or city before more popular
+ * entries that only share the prefix.
+ */
+public final class AirportIndex {
+
+    private final List<AirportDTO> entries;
+    private final Map<String, Integer> byCode;
+    private final Node root;
+    private final int maxResults;
+
+    private AirportIndex(List<AirportDTO> entries, Map<String, Integer> byCode, Node root, int maxResults) {
+        this.entries = entries;
+        this.byCode = byCode;
+        this.root = root;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Finds the entries matching a prefix.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of entries to return
+     * @return the matching entries, most relevant first; empty for a blank
+     *         query
+     */
+    public List<AirportDTO> suggest(String query, int limit) {
+        String key = normalize(query);
+        int count = Math.min(limit, maxResults);
+        if (key.isEmpty() || count <= 0) {
+            return Collections.emptyList();
+        }
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        Integer exact = byCode.get(key.toUpperCase(Locale.ROOT));
+        if (node == null) {
+            return exact == null ? Collections.emptyList() : List.of(entries.get(exact));
+        }
+
+        List<AirportDTO> result = new ArrayList<>(count);
+        if (exact != null) {
+            result.add(entries.get(exact));
+        }
+        for (int i = 0; i < node.top.length && result.size() < count; i++) {
+            if (exact == null || node.top[i] != exact) {
+                result.add(entries.get(node.top[i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of indexed entries.
+     *
+     * @return the number of airports and cities
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Normalizes text for matching: lower case, accents removed, and anything
+     * other than letters and digits collapsed to single spaces.
+     *
+     * @param text the text to normalize
+     * @return the normalized text, or an empty string for null
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean space = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (space && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Creates a builder.
+     *
+     * @param maxResults the most entries any lookup can return
+     * @return a new builder
+     */
+    public static Builder builder(int maxResults) {
+        return new Builder(maxResults);
+    }
+
+    /**
+     * Collects entries and builds the index.
+     */
+    public static final class Builder {
+        private final int maxResults;
+        private final List<AirportDTO> entries = new ArrayList<>();
+        private final List<Double> popularity = new ArrayList<>();
+        private final List<Set<String>> keys = new ArrayList<>();
+
+        private Builder(int maxResults) {
+            this.maxResults = Math.max(1, maxResults);
+        }
+
+        /**
+         * Adds an entry.
+         *
+         * @param entry      the airport or city
+         * @param popularity its ranking weight; higher ranks first
+         * @param names      texts the entry should be found by, in addition to
+         *                   its code; each word is indexed separately
+         * @return this builder
+         */
+        public Builder add(AirportDTO entry, double popularity, String... names) {
+            Set<String> entryKeys = new LinkedHashSet<>();
+            entryKeys.add(normalize(entry.getCode()));
+            for (String name : names) {
+                String normalized = normalize(name);
+                if (normalized.isEmpty()) {
+                    continue;
+                }
+                // The full text and every suffix starting at a word, so
+                // "kennedy" and "new york" both find JFK
+                entryKeys.add(normalized);
+                for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+                    entryKeys.add(normalized.substring(i + 1));
+                }
+            }
+            entries.add(entry);
+            this.popularity.add(popularity);
+            keys.add(entryKeys);
+            return this;
+        }
+
+        /**
+         * Builds the index.
+         *
+         * @return the immutable index
+         */
+        public AirportIndex build() {
+            // Rank ids once; each node then keeps the first ids that reach it
+            Integer[] ranked = new Integer[entries.size()];
+            for (int i = 0; i < ranked.length; i++) {
+                ranked[i] = i;
+            }
+            Arrays.sort(ranked, (a, b) -> Double.compare(popularity.get(b), popularity.get(a)));
+
+            MutableNode root = new MutableNode();
+            Map<String, Integer> byCode = new HashMap<>();
+            for (int id : ranked) {
+                byCode.putIfAbsent(entries.get(id).getCode(), id);
+                Set<MutableNode> reached = new LinkedHashSet<>();
+                for (String key : keys.get(id)) {
+                    MutableNode node = root;
+                    for (int i = 0; i < key.length(); i++) {
+                        node = node.children.computeIfAbsent(key.charAt(i), c -> new MutableNode());
+                        reached.add(node);
+                    }
+                }
+                for (MutableNode node : reached) {
+                    if (node.top.size() < maxResults) {
+                        node.top.add(id);
+                    }
+                }
+            }
+            return new AirportIndex(List.copyOf(entries), Map.copyOf(byCode), root.freeze(), maxResults);
+        }
+    }
+
+    /** Trie node used while building. */
+    private static final class MutableNode {
+        private final Map<Character, MutableNode> children = new HashMap<>();
+        private final List<Integer> top = new ArrayList<>();
+
+        Node freeze() {
+            char[] labels = new char[children.size()];
+            int i = 0;
+            for (char label : children.keySet()) {
+                labels[i++] = label;
+            }
+            Arrays.sort(labels);
+            Node[] frozen = new Node[labels.length];
+            for (i = 0; i < labels.length; i++) {
+                frozen[i] = children.get(labels[i]).freeze();
+            }
+            return new Node(labels, frozen, top.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /** Compact trie node: sorted child labels, children and ranked entry ids. */
+    private static final class Node {
+        private final char[] labels;
+        private final Node[] children;
+        private final int[] top;
+
+        Node(char[] labels, Node[] children, int[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+
+        Node child(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            return i < 0 ? null : children[i];
+        }
+    }
+}
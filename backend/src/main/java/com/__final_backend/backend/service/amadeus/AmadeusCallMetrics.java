@@ -0,0 +1,137 @@
+package com.__final_backend.backend.service.amadeus;
+
+import com.amadeus.exceptions.ClientException;
+import com.amadeus.exceptions.NetworkException;
+import com.amadeus.exceptions.ResponseException;
+import com.amadeus.exceptions.ServerException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for calls made to the Amadeus API.
+ * <p>
+ * Each call is recorded under {@value #TIMER_NAME}, tagged with the API
+ * operation and the outcome of the call. Only time spent in the upstream call
+ * is recorded; time queued in the {@link AmadeusCallScheduler} is not. Every
+ * operation and outcome pair is registered up front, so recording a call is a
+ * pair of array lookups and does not allocate.
+ */
+@Component
+public class AmadeusCallMetrics {
+
+    /** Name of the call timer. */
+    public static final String TIMER_NAME = "amadeus.calls";
+
+    /**
+     * Amadeus API operations, used as the {@code operation} tag.
+     */
+    public enum Operation {
+        /** Flight Offers Search. */
+        FLIGHT_OFFERS,
+        /** Airline Code Lookup. */
+        AIRLINES
+    }
+
+    /**
+     * Outcomes of a call, used as the {@code outcome} tag.
+     */
+    public enum Outcome {
+        /** A successful response. */
+        SUCCESS,
+        /** A 4xx response other than 429. */
+        CLIENT_ERROR,
+        /** A 429 response. */
+        RATE_LIMITED,
+        /** A 5xx response. */
+        SERVER_ERROR,
+        /** No response, e.g. a connection failure or timeout. */
+        NETWORK_ERROR,
+        /** Any other failure, such as a response that could not be parsed. */
+        ERROR
+    }
+
+    private final Timer[][] timers = new Timer[Operation.values().length][Outcome.values().length];
+
+    /**
+     * Registers a timer for every operation and outcome.
+     *
+     * @param meterRegistry registry the timers are published in
+     */
+    public AmadeusCallMetrics(MeterRegistry meterRegistry) {
+        for (Operation operation : Operation.values()) {
+            for (Outcome outcome : Outcome.values()) {
+                timers[operation.ordinal()][outcome.ordinal()] = Timer.builder(TIMER_NAME)
+                        .description("Time spent in calls to the Amadeus API")
+                        .tag("operation", tag(operation))
+                        .tag("outcome", tag(outcome))
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * Records one call.
+     *
+     * @param operation the API operation called
+     * @param outcome   how the call ended
+     * @param nanos     the time spent in the call
+     */
+    public void record(Operation operation, Outcome outcome, long nanos) {
+        timers[operation.ordinal()][outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Classifies a failed call.
+     *
+     * @param e the failure reported by the SDK
+     * @return the matching outcome
+     */
+    public static Outcome outcomeOf(ResponseException e) {
+        if (e instanceof NetworkException) {
+            return Outcome.NETWORK_ERROR;
+        }
+        int status = e.getResponse() != null ? e.getResponse().getStatusCode() : 0;
+        if (status == 429) {
+            return Outcome.RATE_LIMITED;
+        }
+        if (e instanceof ServerException || status >= 500) {
+            return Outcome.SERVER_ERROR;
+        }
+        if (e instanceof ClientException || status >= 400) {
+            return Outcome.CLIENT_ERROR;
+        }
+        return Outcome.ERROR;
+    }
+
+    /**
+     * Classifies a call that failed in the {@link AmadeusHttpTransport}.
+     *
+     * @param e the failure reported by the transport
+     * @return the matching outcome
+     */
+    public static Outcome outcomeOf(AmadeusHttpException e) {
+        int status = e.getStatusCode();
+        if (status == 0) {
+            return Outcome.NETWORK_ERROR;
+        }
+        if (status == 429) {
+            return Outcome.RATE_LIMITED;
+        }
+        if (status >= 500) {
+            return Outcome.SERVER_ERROR;
+        }
+        if (status >= 400) {
+            return Outcome.CLIENT_ERROR;
+        }
+        return Outcome.ERROR;
+    }
+
+    /** Converts an enum constant to a tag value, e.g. FLIGHT_OFFERS to flight-offers. */
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
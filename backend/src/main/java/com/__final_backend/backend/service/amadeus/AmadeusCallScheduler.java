@@ -0,0 +1,331 @@
+package com.__final_backend.backend.service.amadeus;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.amadeus.exceptions.NetworkException;
+import com.amadeus.exceptions.ResponseException;
+import com.amadeus.exceptions.ServerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Central gate for every call made to the Amadeus API.
+ * <p>
+ * Calls are admitted by a token bucket sized to the account quota: tokens are
+ * added at the configured rate up to the burst size, and each call takes one.
+ * Callers wait in one of two priority lanes:
+ * <ul>
+ * <li>{@link Priority#INTERACTIVE} for searches a user is waiting on</li>
+ * <li>{@link Priority#BACKGROUND} for reference data refreshes, cache warming
+ * and other work nobody is waiting on</li>
+ * </ul>
+ * A background call only takes a token when no interactive call is waiting, so
+ * background work soaks up spare quota without delaying users.
+ * <p>
+ * Before a caller starts waiting, the time until a token would be free for it
+ * is estimated from the callers already ahead of it. When that exceeds the
+ * lane's maximum wait the call is rejected immediately with a
+ * {@link RejectedExecutionException} instead of queueing past the request
+ * deadline. A 429 response from Amadeus empties the bucket so the following
+ * calls back off until the quota recovers.
+ * <p>
+ * Calls also pass the {@link AmadeusCircuitBreaker} before they queue for a
+ * token, so while Amadeus is down they fail fast without using quota. Server
+ * and network errors, whether reported by the SDK or by the
+ * {@link AmadeusHttpTransport}, are reported to the breaker and rethrown as
+ * {@link AmadeusUnavailableException}.
+ * <p>
+ * The time spent in each admitted call is recorded in
+ * {@link AmadeusCallMetrics}, tagged with the operation and outcome.
+ */
+@Component
+public class AmadeusCallScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(AmadeusCallScheduler.class);
+
+    /**
+     * Priority lanes for Amadeus calls.
+     */
+    public enum Priority {
+        /** Calls a user is actively waiting on. */
+        INTERACTIVE,
+        /** Calls made by background jobs. */
+        BACKGROUND
+    }
+
+    /**
+     * An Amadeus call to run once a token has been acquired, made either
+     * through the SDK or through the {@link AmadeusHttpTransport}.
+     *
+     * @param <T> the type of the call result
+     */
+    @FunctionalInterface
+    public interface AmadeusCall<T> {
+        /**
+         * Performs the call.
+         *
+         * @return the call result
+         * @throws ResponseException if Amadeus returns an error to an SDK call
+         */
+        T call() throws ResponseException;
+    }
+
+    private final AmadeusCircuitBreaker circuitBreaker;
+    private final AmadeusCallMetrics callMetrics;
+    private final double permitsPerNanosecond;
+    private final double burst;
+    private final Map<Priority, Duration> maxWait = new EnumMap<>(Priority.class);
+    private final Map<Priority, LaneStats> stats = new EnumMap<>(Priority.class);
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition changed = lock.newCondition();
+    private final int[] waiting = new int[Priority.values().length];
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Creates the scheduler from the configured rate limit settings.
+     *
+     * @param properties     flight search settings providing the quota and lane
+     *                       waits
+     * @param circuitBreaker breaker that refuses calls during Amadeus outages
+     * @param callMetrics    timers the upstream time of each call is recorded in
+     */
+    public AmadeusCallScheduler(FlightSearchProperties properties, AmadeusCircuitBreaker circuitBreaker,
+            AmadeusCallMetrics callMetrics) {
+        this.circuitBreaker = circuitBreaker;
+        this.callMetrics = callMetrics;
+        FlightSearchProperties.RateLimit settings = properties.getRateLimit();
+        this.permitsPerNanosecond = Math.max(0.01, settings.getPermitsPerSecond()) / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, settings.getBurst());
+        this.maxWait.put(Priority.INTERACTIVE, settings.getInteractiveMaxWait());
+        this.maxWait.put(Priority.BACKGROUND, settings.getBackgroundMaxWait());
+        for (Priority priority : Priority.values()) {
+            stats.put(priority, new LaneStats());
+        }
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Runs an Amadeus call once the rate limiter admits it.
+     *
+     * @param priority  the lane to wait in
+     * @param operation the API operation called, for metrics
+     * @param call      the SDK call to run
+     * @param <T>       the type of the call result
+     * @return the call result
+     * @throws ResponseException           if Amadeus rejects an SDK request
+     * @throws AmadeusHttpException        if Amadeus rejects a transport request
+     * @throws AmadeusUnavailableException if the circuit is open or Amadeus
+     *                                     fails with a server or network error
+     * @throws RejectedExecutionException  if the call would have to wait longer
+     *                                     than the lane allows
+     */
+    public <T> T execute(Priority priority, AmadeusCallMetrics.Operation operation, AmadeusCall<T> call)
+            throws ResponseException {
+        AmadeusCircuitBreaker.Permit permit = circuitBreaker.acquirePermission();
+        try {
+            acquire(priority);
+        } catch (RuntimeException e) {
+            circuitBreaker.release(permit);
+            throw e;
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            callMetrics.record(operation, AmadeusCallMetrics.Outcome.SUCCESS, System.nanoTime() - start);
+            circuitBreaker.onSuccess(permit);
+            return result;
+        } catch (ResponseException e) {
+            callMetrics.record(operation, AmadeusCallMetrics.outcomeOf(e), System.nanoTime() - start);
+            if (isOutage(e)) {
+                circuitBreaker.onFailure(permit);
+                throw new AmadeusUnavailableException("Amadeus is unavailable: " + e.getMessage(), e);
+            }
+            circuitBreaker.onSuccess(permit);
+            if (e.getResponse() != null && e.getResponse().getStatusCode() == 429) {
+                onRateLimited();
+            }
+            throw e;
+        } catch (AmadeusHttpException e) {
+            callMetrics.record(operation, AmadeusCallMetrics.outcomeOf(e), System.nanoTime() - start);
+            if (Thread.currentThread().isInterrupted()) {
+                // The caller cancelled the call, which says nothing about Amadeus
+                circuitBreaker.release(permit);
+                throw e;
+            }
+            if (e.getStatusCode() == 0 || e.getStatusCode() >= 500) {
+                circuitBreaker.onFailure(permit);
+                throw new AmadeusUnavailableException("Amadeus is unavailable: " + e.getMessage(), e);
+            }
+            circuitBreaker.onSuccess(permit);
+            if (e.getStatusCode() == 429) {
+                onRateLimited();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            callMetrics.record(operation, AmadeusCallMetrics.Outcome.ERROR, System.nanoTime() - start);
+            circuitBreaker.release(permit);
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether a failed call indicates that Amadeus itself is down rather
+     * than that the request was rejected.
+     *
+     * @param e the failure
+     * @return true for network errors and 5xx responses
+     */
+    private static boolean isOutage(ResponseException e) {
+        if (e instanceof NetworkException || e instanceof ServerException) {
+            return true;
+        }
+        return e.getResponse() != null && e.getResponse().getStatusCode() >= 500;
+    }
+
+    /**
+     * Waits for a token in the given lane.
+     *
+     * @param priority the lane to wait in
+     * @throws RejectedExecutionException if the estimated or actual wait exceeds
+     *                                    the lane's maximum
+     */
+    private void acquire(Priority priority) {
+        LaneStats lane = stats.get(priority);
+        long start = System.nanoTime();
+        long deadline = start + maxWait.get(priority).toNanos();
+
+        lock.lock();
+        try {
+            refill(start);
+            int ahead = waiting[Priority.INTERACTIVE.ordinal()];
+            if (priority == Priority.BACKGROUND) {
+                ahead += waiting[Priority.BACKGROUND.ordinal()];
+            }
+            if (nanosUntilTokens(ahead + 1) > deadline - start) {
+                lane.rejected.increment();
+                throw new RejectedExecutionException("Amadeus call queue for " + priority + " is full");
+            }
+
+            waiting[priority.ordinal()]++;
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    boolean turn = priority == Priority.INTERACTIVE
+                            || waiting[Priority.INTERACTIVE.ordinal()] == 0;
+                    if (turn && tokens >= 1) {
+                        tokens -= 1;
+                        break;
+                    }
+                    if (now >= deadline) {
+                        lane.rejected.increment();
+                        throw new RejectedExecutionException("Timed out waiting for an Amadeus call slot");
+                    }
+                    long pause = turn ? nanosUntilTokens(1) : deadline - now;
+                    changed.awaitNanos(Math.max(1, Math.min(pause, deadline - now)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.rejected.increment();
+                throw new RejectedExecutionException("Interrupted waiting for an Amadeus call slot", e);
+            } finally {
+                waiting[priority.ordinal()]--;
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        lane.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Empties the bucket after Amadeus reported that the quota was exceeded.
+     */
+    private void onRateLimited() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            tokens = Math.min(tokens, 0);
+        } finally {
+            lock.unlock();
+        }
+        logger.warn("Amadeus rate limit hit, pausing calls until the quota recovers");
+    }
+
+    /** Adds the tokens accrued since the last refill. Requires the lock. */
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNanosecond);
+        lastRefillNanos = now;
+    }
+
+    /** Time until the bucket holds the given number of tokens. Requires the lock. */
+    private long nanosUntilTokens(int needed) {
+        double deficit = needed - tokens;
+        return deficit <= 0 ? 0 : (long) Math.ceil(deficit / permitsPerNanosecond);
+    }
+
+    /**
+     * Returns the lane counters in a form suitable for a JSON response.
+     *
+     * @return a map of lane names to their statistics
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            description.put("availableTokens", Math.floor(tokens));
+            description.put("circuitBreaker", circuitBreaker.describe());
+            for (Priority priority : Priority.values()) {
+                Map<String, Object> lane = stats.get(priority).describe();
+                lane.put("waiting", waiting[priority.ordinal()]);
+                description.put(priority.name().toLowerCase(Locale.ROOT), lane);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return description;
+    }
+
+    /**
+     * Queue time and admission counters for one lane.
+     */
+    private static final class LaneStats {
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        void record(long waitNanos) {
+            acquired.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+
+        Map<String, Object> describe() {
+            long count = acquired.sum();
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("acquired", count);
+            description.put("rejected", rejected.sum());
+            description.put("averageWaitMillis",
+                    count == 0 ? 0.0 : totalWaitNanos.sum() / (double) count / 1_000_000);
+            description.put("maxWaitMillis", TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+            return description;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.__final_backend.backend.service.amadeus;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker that stops calling Amadeus while it is having an outage.
+ * <p>
+ * The breaker moves between three states:
+ * <ul>
+ * <li>{@link State#CLOSED}: calls go through. After the configured number of
+ * consecutive outage failures the circuit opens.</li>
+ * <li>{@link State#OPEN}: calls are refused immediately with an
+ * {@link AmadeusUnavailableException} instead of waiting out the upstream
+ * timeout. Once the open duration has passed the circuit becomes half-open.</li>
+ * <li>{@link State#HALF_OPEN}: a single probe call is let through. If it
+ * succeeds the circuit closes; if it fails the circuit opens again.</li>
+ * </ul>
+ * Only outages count as failures. A 4xx response means Amadeus is up and
+ * answering, so it counts as a success.
+ * <p>
+ * Each admitted call holds a {@link Permit} and reports its outcome with it.
+ * Only the probe's own permit ends the probe, and outcomes of calls admitted
+ * before the circuit last opened are ignored, so a slow call from before an
+ * outage cannot let a second probe in or decide the half-open state.
+ */
+@Component
+public class AmadeusCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(AmadeusCircuitBreaker.class);
+
+    /**
+     * Circuit breaker states.
+     */
+    public enum State {
+        /** Calls go through normally. */
+        CLOSED,
+        /** Calls are refused without contacting Amadeus. */
+        OPEN,
+        /** A single probe call is allowed to test whether Amadeus recovered. */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+    private long generation;
+    private long timesOpened;
+    private long rejected;
+
+    /**
+     * Creates the breaker from the configured settings.
+     *
+     * @param properties flight search settings providing the threshold and open
+     *                   duration
+     */
+    public AmadeusCircuitBreaker(FlightSearchProperties properties) {
+        FlightSearchProperties.CircuitBreaker settings = properties.getCircuitBreaker();
+        this.failureThreshold = Math.max(1, settings.getFailureThreshold());
+        this.openDurationNanos = settings.getOpenDuration().toNanos();
+    }
+
+    /**
+     * Asks for permission to make a call.
+     * <p>
+     * A caller that is granted permission must report the outcome with
+     * {@link #onSuccess(Permit)} or {@link #onFailure(Permit)}, or give the
+     * permission back with {@link #release(Permit)} if it ends up not calling
+     * Amadeus.
+     *
+     * @return the permit to report the outcome with
+     * @throws AmadeusUnavailableException if the circuit is open, or half-open
+     *                                     with a probe already running
+     */
+    public synchronized Permit acquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+            logger.info("Amadeus circuit half-open, probing");
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && probeInFlight)) {
+            rejected++;
+            throw new AmadeusUnavailableException("Amadeus is unavailable, please try again shortly");
+        }
+        if (state == State.HALF_OPEN) {
+            probeInFlight = true;
+            return new Permit(generation, true);
+        }
+        return new Permit(generation, false);
+    }
+
+    /**
+     * Gives back a permission that was not used for a call.
+     *
+     * @param permit the permit returned by {@link #acquirePermission()}
+     */
+    public synchronized void release(Permit permit) {
+        if (permit.probe && permit.generation == generation) {
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * Records a call that reached Amadeus and got an answer.
+     *
+     * @param permit the permit the call was made with
+     */
+    public synchronized void onSuccess(Permit permit) {
+        if (permit.generation != generation) {
+            return;
+        }
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            logger.info("Amadeus circuit closed");
+        }
+    }
+
+    /**
+     * Records a call that failed because of an Amadeus outage.
+     *
+     * @param permit the permit the call was made with
+     */
+    public synchronized void onFailure(Permit permit) {
+        if (permit.generation != generation) {
+            return;
+        }
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            timesOpened++;
+            logger.warn("Amadeus circuit opened after {} consecutive failures", consecutiveFailures);
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+            generation++;
+        }
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return the breaker state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the breaker state and counters in a form suitable for a JSON
+     * response.
+     *
+     * @return a map of statistic names to values
+     */
+    public synchronized Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("state", state);
+        description.put("consecutiveFailures", consecutiveFailures);
+        description.put("timesOpened", timesOpened);
+        description.put("rejected", rejected);
+        return description;
+    }
+
+    /**
+     * Permission for one call, handed back with its outcome.
+     */
+    public static final class Permit {
+        private final long generation;
+        private final boolean probe;
+
+        private Permit(long generation, boolean probe) {
+            this.generation = generation;
+            this.probe = probe;
+        }
+
+        /**
+         * Checks whether this permit is for the half-open probe.
+         *
+         * @return true if the call is the probe
+         */
+        public boolean isProbe() {
+            return probe;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.__final_backend.backend.service.amadeus;
+
+/**
+ * Thrown by {@link AmadeusHttpTransport} when a call does not return a
+ * successful response.
+ * <p>
+ * Carries the HTTP status of the error response, or 0 when no response was
+ * received at all, e.g. after a connection failure or timeout. The
+ * {@link AmadeusCallScheduler} classifies it by that status the same way it
+ * classifies the SDK's {@code ResponseException}.
+ */
+public class AmadeusHttpException extends RuntimeException {
+
+    private final int statusCode;
+
+    /**
+     * Creates the exception for an error response or a failed exchange.
+     *
+     * @param statusCode the HTTP status, or 0 if there was no response
+     * @param message    description of the failure
+     * @param cause      the underlying I/O failure, or null
+     */
+    public AmadeusHttpException(int statusCode, String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Gets the HTTP status of the error response.
+     *
+     * @return the status, or 0 if no response was received
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,353 @@
+package com.__final_backend.backend.service.amadeus;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * HTTP transport for the Amadeus self-service API, used on the search hot path
+ * in place of the SDK's own client.
+ * <p>
+ * The SDK opens a new {@code URLConnection} per call and fetches its OAuth
+ * access token lazily, so the first search after the token expires pays for
+ * the token request on top of its own. This transport instead:
+ * <ul>
+ * <li>sends every call through one shared {@link HttpClient}, which keeps
+ * connections open between calls: over TLS a single multiplexed HTTP/2
+ * connection, otherwise a pool of HTTP/1.1 keep-alive connections</li>
+ * <li>asks for gzip-compressed responses and inflates them</li>
+ * <li>fetches the access token at startup, which also opens the first
+ * connection, and refreshes it on the {@link TaskScheduler} a configured
+ * margin before it expires</li>
+ * </ul>
+ * A caller only waits for the token endpoint when no valid token is held,
+ * which happens when the token could not be fetched in the background at all.
+ * A 401 response is retried once with a new token in case the token was
+ * revoked early.
+ * <p>
+ * Failures are thrown as {@link AmadeusHttpException}, so calls must be run
+ * through the {@link AmadeusCallScheduler} like SDK calls.
+ */
+public class AmadeusHttpTransport {
+    private static final Logger logger = LoggerFactory.getLogger(AmadeusHttpTransport.class);
+
+    /** Path of the OAuth2 token endpoint, relative to the API host. */
+    private static final String TOKEN_PATH = "/v1/security/oauth2/token";
+
+    /** A token is treated as expired this long before Amadeus says it is. */
+    private static final Duration EXPIRY_SLACK = Duration.ofSeconds(30);
+
+    /** Delay before retrying a background token refresh that failed. */
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(10);
+
+    /** Longest part of an error body included in exception messages. */
+    private static final int MAX_ERROR_BODY = 500;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final URI baseUri;
+    private final String apiKey;
+    private final String apiSecret;
+    private final FlightSearchProperties.Transport settings;
+    private final TaskScheduler taskScheduler;
+    private final HttpClient httpClient;
+
+    private final Object tokenLock = new Object();
+    private volatile AccessToken token;
+    private ScheduledFuture<?> scheduledRefresh;
+    private volatile boolean stopped;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder gzipResponses = new LongAdder();
+    private final LongAdder tokenRefreshes = new LongAdder();
+    private final LongAdder tokenRefreshFailures = new LongAdder();
+    private final LongAdder blockingTokenFetches = new LongAdder();
+
+    /**
+     * Creates the transport. No connection is made until {@link #start()}.
+     *
+     * @param baseUri       scheme, host and port of the Amadeus API
+     * @param apiKey        the API key, used as the OAuth client id
+     * @param apiSecret     the API secret, used as the OAuth client secret
+     * @param properties    flight search settings providing the timeouts,
+     *                      token refresh margin and compression
+     * @param taskScheduler scheduler that runs the background token refreshes;
+     *                      it should not be shared with long-running jobs,
+     *                      which could hold a refresh back past token expiry
+     */
+    public AmadeusHttpTransport(URI baseUri, String apiKey, String apiSecret,
+            FlightSearchProperties properties, TaskScheduler taskScheduler) {
+        this.baseUri = baseUri;
+        this.apiKey = apiKey;
+        this.apiSecret = apiSecret;
+        this.settings = properties.getTransport();
+        this.taskScheduler = taskScheduler;
+        this.httpClient = HttpClient.newBuilder()
+                .version("https".equalsIgnoreCase(baseUri.getScheme())
+                        ? HttpClient.Version.HTTP_2
+                        : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(settings.getConnectTimeout())
+                .build();
+    }
+
+    /**
+     * Fetches the first access token in the background, warming up the
+     * connection before the first search.
+     */
+    public void start() {
+        synchronized (tokenLock) {
+            scheduledRefresh = taskScheduler.schedule(this::refreshInBackground, Instant.now());
+        }
+    }
+
+    /**
+     * Cancels the pending token refresh.
+     */
+    public void stop() {
+        stopped = true;
+        synchronized (tokenLock) {
+            if (scheduledRefresh != null) {
+                scheduledRefresh.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Sends a GET request and returns the response body.
+     *
+     * @param path   the endpoint path, relative to the API host
+     * @param params the query parameters
+     * @return the decoded response body
+     * @throws AmadeusHttpException if Amadeus returns an error status or cannot
+     *                              be reached
+     */
+    public String get(String path, Map<String, String> params) {
+        requests.increment();
+        URI uri = baseUri.resolve(path + query(params));
+        AccessToken used = accessToken();
+        HttpResponse<byte[]> response = send(uri, used);
+        if (response.statusCode() == 401) {
+            logger.warn("Amadeus rejected the access token, fetching a new one");
+            invalidate(used);
+            response = send(uri, accessToken());
+        }
+        String body = body(response);
+        if (response.statusCode() >= 400) {
+            throw new AmadeusHttpException(response.statusCode(),
+                    "Amadeus returned " + response.statusCode() + ": " + abbreviate(body), null);
+        }
+        return body;
+    }
+
+    /**
+     * Returns a valid access token, fetching one on the calling thread only if
+     * none is held.
+     */
+    private AccessToken accessToken() {
+        AccessToken current = token;
+        if (current != null && current.isValid(System.nanoTime())) {
+            return current;
+        }
+        synchronized (tokenLock) {
+            current = token;
+            if (current != null && current.isValid(System.nanoTime())) {
+                return current;
+            }
+            blockingTokenFetches.increment();
+            return fetchToken();
+        }
+    }
+
+    /** Drops a token Amadeus rejected, unless it has already been replaced. */
+    private void invalidate(AccessToken rejected) {
+        synchronized (tokenLock) {
+            if (token == rejected) {
+                token = null;
+            }
+        }
+    }
+
+    /** Refreshes the token, retrying shortly if Amadeus cannot be reached. */
+    private void refreshInBackground() {
+        if (stopped) {
+            return;
+        }
+        synchronized (tokenLock) {
+            try {
+                fetchToken();
+                tokenRefreshes.increment();
+            } catch (RuntimeException e) {
+                tokenRefreshFailures.increment();
+                logger.warn("Could not refresh the Amadeus access token, retrying in {} s: {}",
+                        RETRY_INTERVAL.toSeconds(), e.getMessage());
+                scheduleRefresh(RETRY_INTERVAL);
+            }
+        }
+    }
+
+    /**
+     * Requests a new token and schedules its refresh. Requires the token lock.
+     *
+     * @return the new token
+     */
+    private AccessToken fetchToken() {
+        String form = "grant_type=client_credentials"
+                + "&client_id=" + URLEncoder.encode(apiKey, StandardCharsets.UTF_8)
+                + "&client_secret=" + URLEncoder.encode(apiSecret, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(TOKEN_PATH))
+                .timeout(settings.getRequestTimeout())
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        HttpResponse<byte[]> response = exchange(request);
+        String body = body(response);
+        if (response.statusCode() != 200) {
+            throw new AmadeusHttpException(response.statusCode(),
+                    "Amadeus token request failed with " + response.statusCode() + ": " + abbreviate(body), null);
+        }
+
+        JsonNode json;
+        try {
+            json = MAPPER.readTree(body);
+        } catch (IOException e) {
+            throw new AmadeusHttpException(response.statusCode(), "Unreadable Amadeus token response", e);
+        }
+        String value = json.path("access_token").asText(null);
+        long expiresInSeconds = json.path("expires_in").asLong(0);
+        if (value == null || expiresInSeconds <= 0) {
+            throw new AmadeusHttpException(response.statusCode(), "Amadeus token response has no token", null);
+        }
+
+        Duration lifetime = Duration.ofSeconds(expiresInSeconds);
+        AccessToken fetched = new AccessToken(value, System.nanoTime() + lifetime.minus(EXPIRY_SLACK).toNanos());
+        token = fetched;
+        Duration refreshIn = lifetime.minus(settings.getTokenRefreshMargin());
+        scheduleRefresh(refreshIn.compareTo(lifetime.dividedBy(2)) < 0 ? lifetime.dividedBy(2) : refreshIn);
+        logger.debug("Fetched Amadeus access token valid for {} s", expiresInSeconds);
+        return fetched;
+    }
+
+    /** Replaces the pending refresh with one after the given delay. Requires the token lock. */
+    private void scheduleRefresh(Duration delay) {
+        if (stopped) {
+            return;
+        }
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        scheduledRefresh = taskScheduler.schedule(this::refreshInBackground, Instant.now().plus(delay));
+    }
+
+    private HttpResponse<byte[]> send(URI uri, AccessToken accessToken) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(settings.getRequestTimeout())
+                .header("Authorization", "Bearer " + accessToken.value)
+                .header("Accept", "application/vnd.amadeus+json, application/json");
+        if (settings.isGzip()) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        return exchange(request.GET().build());
+    }
+
+    private HttpResponse<byte[]> exchange(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new AmadeusHttpException(0, "Amadeus request failed: " + e, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmadeusHttpException(0, "Interrupted waiting for Amadeus", e);
+        }
+    }
+
+    /** Decodes a response body, inflating it if it was sent gzip-compressed. */
+    private String body(HttpResponse<byte[]> response) {
+        byte[] bytes = response.body();
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        if (gzip) {
+            gzipResponses.increment();
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = in.readAllBytes();
+            } catch (IOException e) {
+                throw new AmadeusHttpException(response.statusCode(), "Corrupt gzip response from Amadeus", e);
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String query(Map<String, String> params) {
+        if (params.isEmpty()) {
+            return "";
+        }
+        StringJoiner query = new StringJoiner("&", "?", "");
+        params.forEach((name, value) -> query.add(URLEncoder.encode(name, StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return query.toString();
+    }
+
+    private static String abbreviate(String body) {
+        return body.length() <= MAX_ERROR_BODY ? body : body.substring(0, MAX_ERROR_BODY) + "...";
+    }
+
+    /**
+     * Returns the connection and token counters in a form suitable for a JSON
+     * response.
+     *
+     * @return a map of statistic names to values
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        AccessToken current = token;
+        description.put("baseUrl", baseUri.toString());
+        description.put("protocol", httpClient.version().name());
+        description.put("requests", requests.sum());
+        description.put("gzipResponses", gzipResponses.sum());
+        description.put("tokenValidForSeconds", current == null ? null
+                : Math.max(0, TimeUnit.NANOSECONDS.toSeconds(current.expiresAtNanos - System.nanoTime())));
+        description.put("tokenRefreshes", tokenRefreshes.sum());
+        description.put("tokenRefreshFailures", tokenRefreshFailures.sum());
+        description.put("blockingTokenFetches", blockingTokenFetches.sum());
+        return description;
+    }
+
+    /**
+     * An OAuth access token and the time it stops being used.
+     */
+    private static final class AccessToken {
+        private final String value;
+        private final long expiresAtNanos;
+
+        AccessToken(String value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isValid(long now) {
+            return expiresAtNanos - now > 0;
+        }
+    }
+}
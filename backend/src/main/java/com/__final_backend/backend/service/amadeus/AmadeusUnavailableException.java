@@ -0,0 +1,31 @@
+package com.__final_backend.backend.service.amadeus;
+
+/**
+ * Thrown when the Amadeus API cannot be reached or is failing.
+ * <p>
+ * Raised either because a call failed with a server or network error, or
+ * without calling Amadeus at all while the circuit breaker is open. Callers
+ * that hold older data may fall back to it; otherwise the client receives a
+ * 503.
+ */
+public class AmadeusUnavailableException extends RuntimeException {
+
+    /**
+     * Creates the exception with a message.
+     *
+     * @param message description of why Amadeus is unavailable
+     */
+    public AmadeusUnavailableException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates the exception with a message and the failure that caused it.
+     *
+     * @param message description of why Amadeus is unavailable
+     * @param cause   the failed call's exception
+     */
+    public AmadeusUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,484 @@
+package com.__final_backend.backend.service.amadeus;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming decoder for Flight Offers Search v2 response bodies.
+ * <p>
+ * The SDK binds every offer to a full {@code FlightOfferSearch} object graph,
+ * including fare details, traveler pricings and other sections the search
+ * results never use. This decoder instead walks the raw body once with a
+ * streaming {@link JsonReader}, keeps only the segment fields, offer price and
+ * dictionaries, and skips everything else without building objects for it.
+ * <p>
+ * Offers list their price after their itineraries, and the dictionaries follow
+ * all offers, so segments are collected first and their names are resolved by
+ * the caller once the whole body has been read.
+ */
+public final class FlightOfferDecoder {
+
+    /** Exact powers of ten for scaling parsed prices. */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16 };
+
+    private FlightOfferDecoder() {
+    }
+
+    /**
+     * Decodes a response body.
+     *
+     * @param body the raw JSON body of a Flight Offers Search response
+     * @return the decoded segments and dictionaries
+     * @throws IllegalStateException if the body is not valid JSON of the
+     *                               expected shape
+     */
+    public static DecodedOffers decode(String body) {
+        if (body == null || body.isEmpty()) {
+            return new DecodedOffers(Collections.emptyList(), 0, FlightOfferDictionaries.EMPTY);
+        }
+        return decode(new StringReader(body));
+    }
+
+    /**
+     * Decodes a response body from a reader.
+     *
+     * @param body reader over the raw JSON body; not closed by this method
+     * @return the decoded segments and dictionaries
+     * @throws IllegalStateException if the body is not valid JSON of the
+     *                               expected shape
+     */
+    public static DecodedOffers decode(Reader body) {
+        List<Segment> segments = new ArrayList<>();
+        int offerCount = 0;
+        FlightOfferDictionaries dictionaries = FlightOfferDictionaries.EMPTY;
+        try {
+            JsonReader reader = new JsonReader(body);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "data":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            readOffer(reader, offerCount++, segments);
+                        }
+                        reader.endArray();
+                        break;
+                    case "dictionaries":
+                        dictionaries = readDictionaries(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new IllegalStateException("Malformed flight offers response: " + e.getMessage(), e);
+        }
+        return new DecodedOffers(segments, offerCount, dictionaries);
+    }
+
+    private static void readOffer(JsonReader reader, int offerIndex, List<Segment> segments) throws IOException {
+        int first = segments.size();
+        Double price = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "itineraries":
+                    int itineraryIndex = 0;
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        readItinerary(reader, offerIndex, itineraryIndex++, segments);
+                    }
+                    reader.endArray();
+                    break;
+                case "price":
+                    price = readTotalPrice(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        for (int i = first; i < segments.size(); i++) {
+            segments.get(i).price = price;
+        }
+    }
+
+    private static void readItinerary(JsonReader reader, int offerIndex, int itineraryIndex,
+            List<Segment> segments) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("segments")) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    segments.add(readSegment(reader, offerIndex, itineraryIndex));
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static Segment readSegment(JsonReader reader, int offerIndex, int itineraryIndex) throws IOException {
+        Segment segment = new Segment(offerIndex, itineraryIndex);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "departure":
+                    String[] departure = readEndpoint(reader);
+                    segment.departureIataCode = departure[0];
+                    segment.departureAt = departure[1];
+                    break;
+                case "arrival":
+                    String[] arrival = readEndpoint(reader);
+                    segment.arrivalIataCode = arrival[0];
+                    segment.arrivalAt = arrival[1];
+                    break;
+                case "carrierCode":
+                    segment.carrierCode = nextString(reader);
+                    break;
+                case "number":
+                    segment.number = nextString(reader);
+                    break;
+                case "aircraft":
+                    segment.aircraftCode = readField(reader, "code");
+                    break;
+                case "duration":
+                    segment.duration = nextString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return segment;
+    }
+
+    /** Reads a departure or arrival object as {iataCode, at}. */
+    private static String[] readEndpoint(JsonReader reader) throws IOException {
+        String[] endpoint = new String[2];
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "iataCode":
+                    endpoint[0] = nextString(reader);
+                    break;
+                case "at":
+                    endpoint[1] = nextString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return endpoint;
+    }
+
+    private static Double readTotalPrice(JsonReader reader) throws IOException {
+        String total = readField(reader, "total");
+        return total == null ? null : parsePrice(total);
+    }
+
+    /**
+     * Parses a decimal price such as "812.40".
+     * <p>
+     * Plain decimals with up to 15 significant digits are read as a whole
+     * number of hundredths, or the relevant power of ten, and divided once.
+     * Both operands are exact doubles and the division is correctly rounded,
+     * so the result equals {@link Double#parseDouble}. Other forms, such as
+     * exponents, go through {@link Double#parseDouble}.
+     *
+     * @param price the price string from the response
+     * @return the price
+     * @throws NumberFormatException if the price is not a number
+     */
+    static double parsePrice(String price) {
+        long digits = 0;
+        int significant = 0;
+        int scale = -1;
+        int length = price.length();
+        for (int i = 0; i < length; i++) {
+            char c = price.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = digits * 10 + (c - '0');
+                if (digits != 0 && ++significant > 15) {
+                    return Double.parseDouble(price);
+                }
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return Double.parseDouble(price);
+            }
+        }
+        if (length == 0 || scale == 0 || scale >= POWERS_OF_TEN.length) {
+            // Empty, "." or a trailing point, or too many decimals to scale exactly
+            return Double.parseDouble(price);
+        }
+        return scale < 0 ? digits : digits / POWERS_OF_TEN[scale];
+    }
+
+    /** Reads one string field of an object and skips the rest. */
+    private static String readField(JsonReader reader, String name) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        String value = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(name)) {
+                value = nextString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+
+    private static FlightOfferDictionaries readDictionaries(JsonReader reader) throws IOException {
+        Map<String, String> carriers = Collections.emptyMap();
+        Map<String, String> aircraft = Collections.emptyMap();
+        Map<String, String> locationCities = Collections.emptyMap();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "carriers":
+                    carriers = readStrings(reader);
+                    break;
+                case "aircraft":
+                    aircraft = readStrings(reader);
+                    break;
+                case "locations":
+                    locationCities = readLocationCities(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new FlightOfferDictionaries(carriers, aircraft, locationCities);
+    }
+
+    private static Map<String, String> readStrings(JsonReader reader) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            String value = nextString(reader);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        reader.endObject();
+        return values;
+    }
+
+    private static Map<String, String> readLocationCities(JsonReader reader) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String airport = reader.nextName();
+            String cityCode = readField(reader, "cityCode");
+            if (cityCode != null) {
+                values.put(airport, cityCode);
+            }
+        }
+        reader.endObject();
+        return values;
+    }
+
+    /** Reads a scalar as a string, or skips any other value and returns null. */
+    private static String nextString(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return Boolean.toString(reader.nextBoolean());
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    /**
+     * The result of decoding one response body.
+     */
+    public static final class DecodedOffers {
+        private final List<Segment> segments;
+        private final int offerCount;
+        private final FlightOfferDictionaries dictionaries;
+
+        private DecodedOffers(List<Segment> segments, int offerCount, FlightOfferDictionaries dictionaries) {
+            this.segments = segments;
+            this.offerCount = offerCount;
+            this.dictionaries = dictionaries;
+        }
+
+        /**
+         * Gets the segments of all offers.
+         *
+         * @return the segments in offer and itinerary order
+         */
+        public List<Segment> getSegments() {
+            return segments;
+        }
+
+        /**
+         * Gets the number of offers in the response.
+         *
+         * @return the offer count
+         */
+        public int getOfferCount() {
+            return offerCount;
+        }
+
+        /**
+         * Gets the dictionaries of the response.
+         *
+         * @return the dictionaries, or {@link FlightOfferDictionaries#EMPTY} when
+         *         the response had none
+         */
+        public FlightOfferDictionaries getDictionaries() {
+            return dictionaries;
+        }
+    }
+
+    /**
+     * The fields of one flight segment that the search results use. Values
+     * missing from the response are null.
+     */
+    public static final class Segment {
+        private final int offerIndex;
+        private final int itineraryIndex;
+        private String carrierCode;
+        private String number;
+        private String departureIataCode;
+        private String departureAt;
+        private String arrivalIataCode;
+        private String arrivalAt;
+        private String aircraftCode;
+        private String duration;
+        private Double price;
+
+        private Segment(int offerIndex, int itineraryIndex) {
+            this.offerIndex = offerIndex;
+            this.itineraryIndex = itineraryIndex;
+        }
+
+        /**
+         * Gets the offer position.
+         *
+         * @return the position of the segment's offer in the response
+         */
+        public int getOfferIndex() {
+            return offerIndex;
+        }
+
+        /**
+         * Gets the itinerary position.
+         *
+         * @return the position of the segment's itinerary within its offer
+         */
+        public int getItineraryIndex() {
+            return itineraryIndex;
+        }
+
+        /**
+         * Gets the airline code.
+         *
+         * @return the marketing airline code, e.g. "BA"
+         */
+        public String getCarrierCode() {
+            return carrierCode;
+        }
+
+        /**
+         * Gets the flight number.
+         *
+         * @return the flight number without the airline code, e.g. "117"
+         */
+        public String getNumber() {
+            return number;
+        }
+
+        /**
+         * Gets the departure airport.
+         *
+         * @return the departure airport code
+         */
+        public String getDepartureIataCode() {
+            return departureIataCode;
+        }
+
+        /**
+         * Gets the departure time.
+         *
+         * @return the local departure date and time in ISO format
+         */
+        public String getDepartureAt() {
+            return departureAt;
+        }
+
+        /**
+         * Gets the arrival airport.
+         *
+         * @return the arrival airport code
+         */
+        public String getArrivalIataCode() {
+            return arrivalIataCode;
+        }
+
+        /**
+         * Gets the arrival time.
+         *
+         * @return the local arrival date and time in ISO format
+         */
+        public String getArrivalAt() {
+            return arrivalAt;
+        }
+
+        /**
+         * Gets the aircraft code.
+         *
+         * @return the aircraft equipment code, e.g. "320"
+         */
+        public String getAircraftCode() {
+            return aircraftCode;
+        }
+
+        /**
+         * Gets the segment duration.
+         *
+         * @return the ISO-8601 segment duration, e.g. "PT7H10M"
+         */
+        public String getDuration() {
+            return duration;
+        }
+
+        /**
+         * Gets the offer price.
+         *
+         * @return the total price of the segment's offer
+         */
+        public Double getPrice() {
+            return price;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.__final_backend.backend.service.amadeus;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Reference names returned alongside a Flight Offers Search response.
+ * <p>
+ * Every Flight Offers Search v2 response carries a {@code dictionaries} block
+ * that maps the codes used in the offers to human-readable values:
+ * <ul>
+ * <li>{@code carriers}: airline code to airline name, e.g., "BA" to "BRITISH
+ * AIRWAYS"
+ * <li>{@code aircraft}: equipment code to aircraft model, e.g., "320" to
+ * "AIRBUS A320"
+ * <li>{@code locations}: airport code to its city code, e.g., "LHR" to "LON"
+ * </ul>
+ * {@link FlightOfferDecoder} reads them while streaming the response, which
+ * lets the offer mapping resolve names without separate reference-data calls.
+ * Any section may be missing, in which case lookups for it return null.
+ */
+public final class FlightOfferDictionaries {
+    /** Dictionaries with no entries, used when a response carries none. */
+    public static final FlightOfferDictionaries EMPTY = new FlightOfferDictionaries(
+            Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<String, String> carriers;
+    private final Map<String, String> aircraft;
+    private final Map<String, String> locationCities;
+
+    /**
+     * Creates dictionaries from already extracted lookup tables.
+     *
+     * @param carriers       airline code to airline name
+     * @param aircraft       aircraft code to aircraft model
+     * @param locationCities airport code to city code
+     */
+    public FlightOfferDictionaries(Map<String, String> carriers, Map<String, String> aircraft,
+            Map<String, String> locationCities) {
+        this.carriers = carriers;
+        this.aircraft = aircraft;
+        this.locationCities = locationCities;
+    }
+
+    /**
+     * Looks up an airline name.
+     *
+     * @param carrierCode the airline IATA code
+     * @return the airline name, or null when the response did not include it
+     */
+    public String getCarrierName(String carrierCode) {
+        return carriers.get(carrierCode);
+    }
+
+    /**
+     * Looks up an aircraft model.
+     *
+     * @param aircraftCode the aircraft equipment code
+     * @return the aircraft model, or null when the response did not include it
+     */
+    public String getAircraftName(String aircraftCode) {
+        return aircraft.get(aircraftCode);
+    }
+
+    /**
+     * Looks up the city an airport belongs to.
+     *
+     * @param iataCode the airport IATA code
+     * @return the city code, or null when the response did not include it
+     */
+    public String getCityCode(String iataCode) {
+        return locationCities.get(iataCode);
+    }
+}
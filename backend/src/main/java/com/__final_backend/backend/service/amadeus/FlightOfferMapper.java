@@ -0,0 +1,212 @@
+package com.__final_backend.backend.service.amadeus;
+
+import com.__final_backend.backend.dto.FlightDTO;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Maps decoded flight offer segments to {@link FlightDTO} objects.
+ * <p>
+ * This runs once per segment of every search that misses the cache, so the
+ * common cases avoid temporary objects:
+ * <ul>
+ * <li>Times are sliced from fixed positions of the ISO timestamp and returned
+ * from a table of all 1440 "HH:mm" strings, instead of parsing a date-time and
+ * formatting it again.</li>
+ * <li>Durations of the usual "PT#H#M" form are read digit by digit instead of
+ * through {@link Duration#parse}, which uses a regular expression, and
+ * typical values are returned from a table of boxed minutes.</li>
+ * </ul>
+ * Input in any other format falls back to the general parsers, so the output
+ * is the same as before for every value.
+ */
+public final class FlightOfferMapper {
+
+    /** Time shown when a timestamp is missing or cannot be read. */
+    static final String UNKNOWN_TIME = "N/A";
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    /** Every time of day as "HH:mm", indexed by minute of the day. */
+    private static final String[] TIMES_OF_DAY = new String[24 * 60];
+
+    /** Boxed durations up to two days, indexed by minutes. */
+    private static final Integer[] DURATIONS = new Integer[2 * 24 * 60 + 1];
+
+    static {
+        for (int minute = 0; minute < TIMES_OF_DAY.length; minute++) {
+            TIMES_OF_DAY[minute] = String.format("%02d:%02d", minute / 60, minute % 60);
+        }
+        for (int minutes = 0; minutes < DURATIONS.length; minutes++) {
+            DURATIONS[minutes] = minutes;
+        }
+    }
+
+    private FlightOfferMapper() {
+    }
+
+    /**
+     * Converts decoded segments to FlightDTO objects.
+     * <p>
+     * Carrier names, aircraft models and airport cities are resolved from the
+     * response's own dictionaries. Carriers the dictionaries do not name are
+     * looked up with the fallback, which must not block. A segment without a
+     * carrier code gets no airline and a flight number of just its number.
+     *
+     * @param decoded         the segments and dictionaries decoded from the
+     *                        response
+     * @param fallbackAirline resolves airline codes missing from the
+     *                        dictionaries
+     * @param sink            receives each FlightDTO in result order
+     */
+    public static void map(FlightOfferDecoder.DecodedOffers decoded, Function<String, String> fallbackAirline,
+            Consumer<FlightDTO> sink) {
+        FlightOfferDictionaries dictionaries = decoded.getDictionaries();
+
+        for (FlightOfferDecoder.Segment segment : decoded.getSegments()) {
+            FlightDTO dto = new FlightDTO();
+            dto.setOfferIndex(segment.getOfferIndex());
+            dto.setItineraryIndex(segment.getItineraryIndex());
+
+            String airlineCode = segment.getCarrierCode();
+            if (airlineCode != null) {
+                String airlineName = dictionaries.getCarrierName(airlineCode);
+                dto.setAirline(airlineName != null ? airlineName : fallbackAirline.apply(airlineCode));
+                dto.setFlightNumber(segment.getNumber() != null ? airlineCode + segment.getNumber() : airlineCode);
+            } else {
+                // A segment without a carrier has no airline to look up
+                dto.setFlightNumber(segment.getNumber());
+            }
+
+            dto.setDeparture(segment.getDepartureIataCode());
+            dto.setArrival(segment.getArrivalIataCode());
+            dto.setDepartureCity(dictionaries.getCityCode(dto.getDeparture()));
+            dto.setArrivalCity(dictionaries.getCityCode(dto.getArrival()));
+            if (segment.getAircraftCode() != null) {
+                dto.setAircraft(dictionaries.getAircraftName(segment.getAircraftCode()));
+            }
+
+            dto.setDepartureTime(timeOfDay(segment.getDepartureAt()));
+            dto.setArrivalTime(timeOfDay(segment.getArrivalAt()));
+            dto.setDurationMinutes(durationMinutes(segment.getDuration()));
+
+            dto.setPrice(segment.getPrice());
+
+            sink.accept(dto);
+        }
+    }
+
+    /**
+     * Extracts the time of day from an ISO date-time such as
+     * "2025-05-01T14:30:00" or "2025-05-01T14:30:00+02:00".
+     * <p>
+     * Well-formed timestamps are read at fixed positions. Anything else is
+     * parsed as a zoned date-time, then as a local date-time, and finally cut at
+     * the usual time position.
+     *
+     * @param dateTime the timestamp from the response
+     * @return the time as "HH:mm", or "N/A" if it cannot be read
+     */
+    public static String timeOfDay(String dateTime) {
+        if (dateTime == null || dateTime.isEmpty()) {
+            return UNKNOWN_TIME;
+        }
+        if (dateTime.length() >= 16 && dateTime.charAt(10) == 'T' && dateTime.charAt(13) == ':') {
+            int hours = twoDigits(dateTime, 11);
+            int minutes = twoDigits(dateTime, 14);
+            if (hours >= 0 && hours < 24 && minutes >= 0 && minutes < 60) {
+                return TIMES_OF_DAY[hours * 60 + minutes];
+            }
+        }
+        return parseTimeOfDay(dateTime);
+    }
+
+    private static String parseTimeOfDay(String dateTime) {
+        try {
+            return ZonedDateTime.parse(dateTime).format(TIME_FORMAT);
+        } catch (DateTimeParseException e1) {
+            try {
+                return LocalDateTime.parse(dateTime).format(TIME_FORMAT);
+            } catch (DateTimeParseException e2) {
+                return dateTime.length() >= 16 ? dateTime.substring(11, 16) : UNKNOWN_TIME;
+            }
+        }
+    }
+
+    /**
+     * Converts an ISO-8601 duration such as "PT5H30M" to minutes.
+     * <p>
+     * Durations made only of whole hours and minutes are read directly; other
+     * forms, such as ones with days or seconds, go through
+     * {@link Duration#parse}.
+     *
+     * @param duration the segment duration from the response
+     * @return the duration in minutes, or null if it is missing or malformed
+     */
+    public static Integer durationMinutes(String duration) {
+        if (duration == null || duration.isEmpty()) {
+            return null;
+        }
+        int minutes = readHoursAndMinutes(duration);
+        if (minutes < 0) {
+            try {
+                return (int) Duration.parse(duration).toMinutes();
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+        return minutes < DURATIONS.length ? DURATIONS[minutes] : Integer.valueOf(minutes);
+    }
+
+    /**
+     * Reads a duration of the form "PT#H", "PT#M" or "PT#H#M".
+     *
+     * @return the total minutes, or -1 if the duration has any other form
+     */
+    private static int readHoursAndMinutes(String duration) {
+        if (duration.length() < 4 || duration.charAt(0) != 'P' || duration.charAt(1) != 'T') {
+            return -1;
+        }
+        int total = 0;
+        int value = 0;
+        boolean digits = false;
+        boolean seenMinutes = false;
+        for (int i = 2; i < duration.length(); i++) {
+            char c = duration.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits = true;
+                if (value > 1_000_000) {
+                    return -1;
+                }
+            } else if (c == 'H' && digits && !seenMinutes && total == 0) {
+                total = value * 60;
+                value = 0;
+                digits = false;
+            } else if (c == 'M' && digits && !seenMinutes) {
+                total += value;
+                value = 0;
+                digits = false;
+                seenMinutes = true;
+            } else {
+                return -1;
+            }
+        }
+        return digits ? -1 : total;
+    }
+
+    private static int twoDigits(String text, int offset) {
+        char tens = text.charAt(offset);
+        char units = text.charAt(offset + 1);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+}
@@ -0,0 +1,247 @@
+package com.__final_backend.backend.service.amadeus;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.amadeus.exceptions.ResponseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs interactive Amadeus calls with optional request hedging.
+ * <p>
+ * Upstream latency has a long tail: a small share of calls take many times the
+ * median. When hedging is enabled and a call has not answered within the
+ * configured percentile of recent latencies, an identical second call is made
+ * and whichever succeeds first is returned. The slower call is left to finish
+ * in the background and its result is discarded.
+ * <p>
+ * Hedges are limited by a budget: each call earns a fraction of a hedge, set by
+ * the budget percentage, and each hedge spends one. Hedges also wait in the
+ * background lane of the {@link AmadeusCallScheduler}, so they only use quota
+ * that interactive searches leave free. No hedges are sent until enough
+ * latency samples have been collected to estimate the percentile.
+ * <p>
+ * With hedging disabled, calls run on the calling thread through the
+ * interactive lane exactly as before.
+ */
+@Component
+public class HedgedAmadeusCaller {
+    private static final Logger logger = LoggerFactory.getLogger(HedgedAmadeusCaller.class);
+
+    /** Number of recent latencies the hedge delay is computed from. */
+    private static final int LATENCY_WINDOW = 256;
+
+    /** Samples required before the percentile is trusted enough to hedge. */
+    private static final int MIN_SAMPLES = 20;
+
+    /** Largest number of unspent hedges that can be saved up. */
+    private static final double MAX_CREDIT = 10;
+
+    private final AmadeusCallScheduler amadeusCallScheduler;
+    private final ThreadPoolTaskExecutor hedgeExecutor;
+    private final FlightSearchProperties.Hedging settings;
+    private final LatencyTracker latencies = new LatencyTracker(LATENCY_WINDOW);
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private double credit;
+
+    /**
+     * Creates the caller.
+     *
+     * @param amadeusCallScheduler rate limiter every call passes through
+     * @param hedgeExecutor        executor that runs the competing calls
+     * @param properties           flight search settings providing the hedging
+     *                             mode, percentile and budget
+     */
+    public HedgedAmadeusCaller(AmadeusCallScheduler amadeusCallScheduler,
+            @Qualifier("amadeusHedgeExecutor") ThreadPoolTaskExecutor hedgeExecutor,
+            FlightSearchProperties properties) {
+        this.amadeusCallScheduler = amadeusCallScheduler;
+        this.hedgeExecutor = hedgeExecutor;
+        this.settings = properties.getHedging();
+    }
+
+    /**
+     * Runs an interactive Amadeus call, hedging it if it is slow.
+     *
+     * @param operation the API operation called, for metrics
+     * @param call      the SDK call to run; it must be safe to run twice
+     * @param <T>       the type of the call result
+     * @return the result of whichever call succeeded first
+     * @throws ResponseException if Amadeus rejects the request
+     */
+    public <T> T execute(AmadeusCallMetrics.Operation operation, AmadeusCallScheduler.AmadeusCall<T> call)
+            throws ResponseException {
+        calls.increment();
+        long delay = settings.isEnabled() ? hedgeDelayNanos() : -1;
+        if (settings.isEnabled()) {
+            earnCredit();
+        }
+        CompletableFuture<T> primary = delay < 0 ? null : start(AmadeusCallScheduler.Priority.INTERACTIVE, operation, call);
+        if (primary == null) {
+            // Not hedging this call, or no spare thread to hedge with
+            return amadeusCallScheduler.execute(AmadeusCallScheduler.Priority.INTERACTIVE, operation,
+                    timed(call));
+        }
+
+        try {
+            return primary.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Slower than the hedge delay; fall through and consider a hedge
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+
+        if (!spendCredit()) {
+            return await(primary);
+        }
+        CompletableFuture<T> hedge = start(AmadeusCallScheduler.Priority.BACKGROUND, operation, call);
+        if (hedge == null) {
+            return await(primary);
+        }
+        hedges.increment();
+        logger.debug("Hedging Amadeus call after {} ms", TimeUnit.NANOSECONDS.toMillis(delay));
+        hedge.thenRun(() -> {
+            if (!primary.isDone()) {
+                hedgeWins.increment();
+            }
+        });
+        return await(firstSuccessful(primary, hedge));
+    }
+
+    /**
+     * Computes how long to wait before hedging.
+     *
+     * @return the delay in nanoseconds, or -1 when there are too few samples to
+     *         hedge yet
+     */
+    private long hedgeDelayNanos() {
+        if (latencies.size() < MIN_SAMPLES) {
+            return -1;
+        }
+        return Math.max(settings.getMinDelay().toNanos(), latencies.percentile(settings.getPercentile()));
+    }
+
+    /**
+     * Starts a call on the hedge executor.
+     *
+     * @return the pending result, or null when the executor has no free thread
+     */
+    private <T> CompletableFuture<T> start(AmadeusCallScheduler.Priority priority,
+            AmadeusCallMetrics.Operation operation, AmadeusCallScheduler.AmadeusCall<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return amadeusCallScheduler.execute(priority, operation, timed(call));
+                } catch (ResponseException e) {
+                    throw new CompletionException(e);
+                }
+            }, hedgeExecutor);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    /** Wraps a call so that its upstream latency is recorded. */
+    private <T> AmadeusCallScheduler.AmadeusCall<T> timed(AmadeusCallScheduler.AmadeusCall<T> call) {
+        return () -> {
+            long start = System.nanoTime();
+            T result = call.call();
+            latencies.record(System.nanoTime() - start);
+            return result;
+        };
+    }
+
+    /**
+     * Completes with the first of two calls to succeed, or fails once both have
+     * failed.
+     */
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> primary,
+            CompletableFuture<T> hedge) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((value, failure) -> {
+                if (failure == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(failure);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws ResponseException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    /** Rethrows the original exception of a failed call. */
+    private static ResponseException unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof ResponseException) {
+            return (ResponseException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        throw new CompletionException(cause);
+    }
+
+    private synchronized void earnCredit() {
+        credit = Math.min(MAX_CREDIT, credit + settings.getBudgetPercent() / 100.0);
+    }
+
+    private synchronized boolean spendCredit() {
+        if (credit < 1) {
+            return false;
+        }
+        credit -= 1;
+        return true;
+    }
+
+    /**
+     * Returns the hedging counters in a form suitable for a JSON response.
+     *
+     * @return a map of statistic names to values
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("enabled", settings.isEnabled());
+        description.put("calls", calls.sum());
+        description.put("hedges", hedges.sum());
+        description.put("hedgeWins", hedgeWins.sum());
+        long delay = hedgeDelayNanos();
+        description.put("hedgeDelayMillis", delay < 0 ? null : TimeUnit.NANOSECONDS.toMillis(delay));
+        return description;
+    }
+}
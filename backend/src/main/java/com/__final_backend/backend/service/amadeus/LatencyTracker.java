@@ -0,0 +1,68 @@
+package com.__final_backend.backend.service.amadeus;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of recent call latencies.
+ * <p>
+ * Keeps the last {@code capacity} samples in a ring buffer and answers
+ * percentile queries over them, so the estimate follows the upstream's current
+ * behaviour rather than its all-time history. Percentiles are computed by
+ * sorting a copy of the window, which is cheap at the window sizes used here
+ * compared with the network calls being measured.
+ */
+public class LatencyTracker {
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    /**
+     * Creates a tracker holding up to the given number of samples.
+     *
+     * @param capacity the window size
+     */
+    public LatencyTracker(int capacity) {
+        this.samples = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * Records one latency sample, replacing the oldest once the window is full.
+     *
+     * @param nanos the observed latency in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * Gets the number of samples currently in the window.
+     *
+     * @return the sample count
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Computes a percentile of the samples in the window.
+     *
+     * @param percentile the percentile to compute, between 0 and 100
+     * @return the latency in nanoseconds, or -1 when no samples were recorded
+     */
+    public long percentile(double percentile) {
+        long[] window;
+        synchronized (this) {
+            if (count == 0) {
+                return -1;
+            }
+            window = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(window);
+        int rank = (int) Math.ceil(percentile / 100.0 * window.length) - 1;
+        return window[Math.max(0, Math.min(rank, window.length - 1))];
+    }
+}
@@ -0,0 +1,83 @@
+package com.__final_backend.backend.service.amadeus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Member airports of the metropolitan area codes users commonly search by.
+ * <p>
+ * IATA assigns city codes such as "NYC" or "LON" to areas served by several
+ * airports. The Flight Offers Search API expects airport codes for a precise
+ * comparison across airports, so multi-airport searches expand a metro code to
+ * its members here. Codes that are not listed are treated as a single airport.
+ */
+public final class MetroAreas {
+    private static final Map<String, List<String>> MEMBERS = Map.ofEntries(
+            Map.entry("NYC", List.of("JFK", "LGA", "EWR")),
+            Map.entry("WAS", List.of("IAD", "DCA", "BWI")),
+            Map.entry("CHI", List.of("ORD", "MDW")),
+            Map.entry("SFO", List.of("SFO", "OAK", "SJC")),
+            Map.entry("LAX", List.of("LAX", "BUR", "LGB", "SNA", "ONT")),
+            Map.entry("DFW", List.of("DFW", "DAL")),
+            Map.entry("HOU", List.of("IAH", "HOU")),
+            Map.entry("MIA", List.of("MIA", "FLL", "PBI")),
+            Map.entry("YTO", List.of("YYZ", "YTZ")),
+            Map.entry("YMQ", List.of("YUL")),
+            Map.entry("LON", List.of("LHR", "LGW", "STN", "LTN", "LCY", "SEN")),
+            Map.entry("PAR", List.of("CDG", "ORY")),
+            Map.entry("MIL", List.of("MXP", "LIN", "BGY")),
+            Map.entry("ROM", List.of("FCO", "CIA")),
+            Map.entry("BER", List.of("BER")),
+            Map.entry("STO", List.of("ARN", "BMA")),
+            Map.entry("MOW", List.of("SVO", "DME", "VKO")),
+            Map.entry("IST", List.of("IST", "SAW")),
+            Map.entry("TYO", List.of("HND", "NRT")),
+            Map.entry("OSA", List.of("KIX", "ITM")),
+            Map.entry("SEL", List.of("ICN", "GMP")),
+            Map.entry("BJS", List.of("PEK", "PKX")),
+            Map.entry("SHA", List.of("PVG", "SHA")),
+            Map.entry("BKK", List.of("BKK", "DMK")),
+            Map.entry("SAO", List.of("GRU", "CGH", "VCP")),
+            Map.entry("BUE", List.of("EZE", "AEP")));
+
+    /** Metro area code of each member airport. */
+    private static final Map<String, String> CITY_CODES = MEMBERS.entrySet().stream()
+            .flatMap(area -> area.getValue().stream().map(airport -> Map.entry(airport, area.getKey())))
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+
+    private MetroAreas() {
+    }
+
+    /**
+     * Returns the airports a code stands for.
+     *
+     * @param code an airport or metro area IATA code
+     * @return the member airports for a metro code, or a list containing just
+     *         the code itself for an airport
+     */
+    public static List<String> airportsFor(String code) {
+        return MEMBERS.getOrDefault(code, List.of(code));
+    }
+
+    /**
+     * Returns the metro area an airport belongs to.
+     *
+     * @param airport an airport IATA code
+     * @return the metro area code, or the airport code itself for airports
+     *         outside the listed areas
+     */
+    public static String cityCodeOf(String airport) {
+        return CITY_CODES.getOrDefault(airport, airport);
+    }
+
+    /**
+     * Checks whether a code is a known metro area.
+     *
+     * @param code an IATA code
+     * @return true if the code expands to member airports
+     */
+    public static boolean isMetroArea(String code) {
+        return MEMBERS.containsKey(code);
+    }
+}
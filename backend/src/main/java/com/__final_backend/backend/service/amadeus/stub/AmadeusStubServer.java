@@ -0,0 +1,325 @@
+package com.__final_backend.backend.service.amadeus.stub;
+
+import com.__final_backend.backend.config.AmadeusStubProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local stand-in for the Amadeus API used for offline performance runs.
+ * <p>
+ * Serves the endpoints the application calls, on the loopback interface over
+ * plain HTTP:
+ * <ul>
+ * <li>{@code POST /v1/security/oauth2/token}: issues a fixed access token</li>
+ * <li>{@code GET /v2/shopping/flight-offers}: synthetic offers from
+ * {@link SyntheticFlightOffers}</li>
+ * <li>{@code GET /v1/reference-data/airlines}: names for the requested airline
+ * codes</li>
+ * </ul>
+ * Search and reference requests are delayed by a log-normal latency with the
+ * configured median and 99th percentile, and fail with 500 or 429 at the
+ * configured rates. A requests-per-second limit answers excess requests with
+ * 429 straight away, like the real gateway. Error bodies use the API's
+ * {@code errors} format so the SDK raises the same exceptions as in production.
+ * Responses are gzip-compressed when the request accepts it.
+ * <p>
+ * Inside the application the stub is started by {@code AmadeusConfig} when
+ * {@code app.amadeus-stub.enabled} is true. It can also run on its own, for
+ * example to serve several application instances:
+ * {@code java -cp <app classpath> ...AmadeusStubServer --port=9090 --latency-median=200ms}.
+ */
+public class AmadeusStubServer {
+    private static final Logger logger = LoggerFactory.getLogger(AmadeusStubServer.class);
+
+    /** Standard normal quantile of the 99th percentile. */
+    private static final double Z_99 = 2.3263;
+
+    private static final String JSON = "application/vnd.amadeus+json";
+
+    private final AmadeusStubProperties settings;
+    private final Random random;
+    private final double latencySigma;
+
+    private final AtomicLong windowSecond = new AtomicLong();
+    private final AtomicInteger windowCount = new AtomicInteger();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a stub with the given settings. The stub does not listen until
+     * {@link #start()} is called.
+     *
+     * @param settings latency, failure and result size settings
+     */
+    public AmadeusStubServer(AmadeusStubProperties settings) {
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+        double median = Math.max(1, settings.getLatencyMedian().toNanos());
+        double p99 = Math.max(median, settings.getLatencyP99().toNanos());
+        this.latencySigma = Math.log(p99 / median) / Z_99;
+    }
+
+    /**
+     * Starts listening on the loopback interface.
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "amadeus-stub-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), settings.getPort()), 256);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Amadeus stub listening on port {} (median {} ms, p99 {} ms, error rate {}, 429 rate {})",
+                getPort(), settings.getLatencyMedian().toMillis(), settings.getLatencyP99().toMillis(),
+                settings.getErrorRate(), settings.getTooManyRequestsRate());
+    }
+
+    /**
+     * Stops listening and releases the worker threads.
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        executor = null;
+    }
+
+    /**
+     * Gets the port the stub listens on.
+     *
+     * @return the bound port
+     * @throws IllegalStateException if the stub is not running
+     */
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("Amadeus stub is not running");
+        }
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/v1/security/oauth2/token")) {
+                exchange.getRequestBody().readAllBytes();
+                send(exchange, 200, "{\"type\":\"amadeusOAuth2Token\",\"username\":\"stub\","
+                        + "\"application_name\":\"stub\",\"client_id\":\"stub\",\"token_type\":\"Bearer\","
+                        + "\"access_token\":\"stub-access-token\",\"expires_in\":1799,\"state\":\"approved\","
+                        + "\"scope\":\"\"}");
+                return;
+            }
+
+            requests.increment();
+            if (overRateLimit() || chance(settings.getTooManyRequestsRate())) {
+                throttled.increment();
+                send(exchange, 429, error(429, 38194, "Too many requests",
+                        "The network rate limit is exceeded, please try again later"));
+                return;
+            }
+            sleep(sampleLatencyNanos());
+            if (chance(settings.getErrorRate())) {
+                serverErrors.increment();
+                send(exchange, 500, error(500, 141, "SYSTEM ERROR HAS OCCURRED", null));
+                return;
+            }
+
+            Map<String, String> params = queryParams(exchange.getRequestURI().getRawQuery());
+            if (path.equals("/v2/shopping/flight-offers")) {
+                for (String required : List.of("originLocationCode", "destinationLocationCode", "departureDate",
+                        "adults")) {
+                    if (!params.containsKey(required)) {
+                        send(exchange, 400, error(400, 32171, "MANDATORY DATA MISSING", required));
+                        return;
+                    }
+                }
+                send(exchange, 200, SyntheticFlightOffers.search(params, settings.getMaxOffers()));
+            } else if (path.equals("/v1/reference-data/airlines")) {
+                String codes = params.getOrDefault("airlineCodes", "");
+                send(exchange, 200, SyntheticFlightOffers.airlines(
+                        Arrays.stream(codes.split(",")).map(String::trim).filter(c -> !c.isEmpty()).toList()));
+            } else {
+                send(exchange, 404, error(404, 38196, "Resource not found", path));
+                return;
+            }
+            served.increment();
+        } catch (RuntimeException e) {
+            logger.warn("Amadeus stub failed to answer {}: {}", exchange.getRequestURI(), e.getMessage());
+            send(exchange, 400, error(400, 477, "INVALID FORMAT", e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /** Counts the request against the current one-second window. */
+    private boolean overRateLimit() {
+        int limit = settings.getMaxRequestsPerSecond();
+        if (limit <= 0) {
+            return false;
+        }
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long current = windowSecond.get();
+        if (second != current && windowSecond.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() > limit;
+    }
+
+    /**
+     * Draws the delay of one search or reference request from the log-normal
+     * latency distribution.
+     *
+     * @return the delay in nanoseconds
+     */
+    public long sampleLatencyNanos() {
+        double gaussian;
+        synchronized (random) {
+            gaussian = random.nextGaussian();
+        }
+        return (long) (settings.getLatencyMedian().toNanos() * Math.exp(latencySigma * gaussian));
+    }
+
+    private boolean chance(double rate) {
+        if (rate <= 0) {
+            return false;
+        }
+        synchronized (random) {
+            return random.nextDouble() < rate;
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> queryParams(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static String error(int status, int code, String title, String detail) {
+        return "{\"errors\":[{\"status\":" + status + ",\"code\":" + code + ",\"title\":\"" + title + "\""
+                + (detail == null ? "" : ",\"detail\":\"" + detail.replace("\"", "'") + "\"") + "}]}";
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (accepted != null && accepted.contains("gzip")) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(status, 0);
+            try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                out.write(bytes);
+            }
+            return;
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Returns the request counters in a form suitable for a JSON response.
+     *
+     * @return a map of statistic names to values
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("requests", requests.sum());
+        description.put("served", served.sum());
+        description.put("serverErrors", serverErrors.sum());
+        description.put("throttled", throttled.sum());
+        return description;
+    }
+
+    /**
+     * Runs the stub on its own until the process is stopped.
+     * <p>
+     * Accepts the {@code app.amadeus-stub} settings as arguments, with or
+     * without the prefix, e.g. {@code --port=9090 --error-rate=0.02}.
+     *
+     * @param args the settings
+     * @throws Exception if the stub cannot start
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String setting = arg.startsWith("--") ? arg.substring(2) : arg;
+            int equals = setting.indexOf('=');
+            if (equals > 0) {
+                String name = setting.substring(0, equals);
+                values.put(name.startsWith("app.amadeus-stub.") ? name : "app.amadeus-stub." + name,
+                        setting.substring(equals + 1));
+            }
+        }
+        AmadeusStubProperties settings = new AmadeusStubProperties();
+        if (!values.containsKey("app.amadeus-stub.port")) {
+            settings.setPort(9090);
+        }
+        new Binder(new MapConfigurationPropertySource(values))
+                .bind("app.amadeus-stub", Bindable.ofInstance(settings));
+
+        AmadeusStubServer stub = new AmadeusStubServer(settings);
+        stub.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::stop));
+        Thread.currentThread().join();
+    }
+}
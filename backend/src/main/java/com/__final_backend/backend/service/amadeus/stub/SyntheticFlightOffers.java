@@ -0,0 +1,375 @@
+package com.__final_backend.backend.service.amadeus.stub;
+
+import com.__final_backend.backend.service.amadeus.MetroAreas;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generates Flight Offers Search v2 responses with synthetic offers.
+ * <p>
+ * Responses follow the bundled swagger specification: every offer has its
+ * itineraries, price, pricing options, validating airline and one traveler
+ * pricing per adult, and the response carries the meta and dictionaries blocks.
+ * Offers are derived from the search criteria alone, so the same search always
+ * returns the same offers, and route durations and prices stay consistent
+ * between dates. Offers are sorted by price, as the real API returns them.
+ */
+public final class SyntheticFlightOffers {
+
+    /** Airlines offers are drawn from: IATA code, ICAO code and name. */
+    static final String[][] CARRIERS = {
+            { "BA", "BAW", "BRITISH AIRWAYS" },
+            { "AA", "AAL", "AMERICAN AIRLINES" },
+            { "DL", "DAL", "DELTA AIR LINES" },
+            { "UA", "UAL", "UNITED AIRLINES" },
+            { "LH", "DLH", "LUFTHANSA" },
+            { "AF", "AFR", "AIR FRANCE" },
+            { "KL", "KLM", "KLM ROYAL DUTCH AIRLINES" },
+            { "IB", "IBE", "IBERIA" },
+            { "EK", "UAE", "EMIRATES" },
+            { "TK", "THY", "TURKISH AIRLINES" } };
+
+    private static final String[][] AIRCRAFT = {
+            { "320", "AIRBUS A320" },
+            { "32N", "AIRBUS A320NEO" },
+            { "321", "AIRBUS A321" },
+            { "738", "BOEING 737-800" },
+            { "789", "BOEING 787-9" },
+            { "77W", "BOEING 777-300ER" },
+            { "359", "AIRBUS A350-900" } };
+
+    private static final String[] HUBS = { "FRA", "AMS", "CDG", "LHR", "IST", "DXB", "ORD", "ATL" };
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private SyntheticFlightOffers() {
+    }
+
+    /**
+     * Builds a response body for a search.
+     *
+     * @param params    the query parameters of the request
+     * @param maxOffers the largest number of offers to return
+     * @return the JSON body
+     */
+    public static String search(Map<String, String> params, int maxOffers) {
+        String origin = params.get("originLocationCode").toUpperCase(Locale.ROOT);
+        String destination = params.get("destinationLocationCode").toUpperCase(Locale.ROOT);
+        LocalDate departureDate = LocalDate.parse(params.get("departureDate"));
+        LocalDate returnDate = params.containsKey("returnDate") ? LocalDate.parse(params.get("returnDate")) : null;
+        int adults = Integer.parseInt(params.get("adults"));
+        boolean nonStop = Boolean.parseBoolean(params.get("nonStop"));
+        String currency = params.getOrDefault("currencyCode", "EUR");
+        int max = params.containsKey("max") ? Integer.parseInt(params.get("max")) : 250;
+
+        SplittableRandom random = new SplittableRandom(
+                Objects.hash(origin, destination, departureDate, returnDate, adults, nonStop));
+        int routeMinutes = routeMinutes(origin, destination);
+        double routePrice = 60 + routeMinutes * 0.45;
+
+        List<Offer> offers = new ArrayList<>();
+        int count = Math.max(0, Math.min(max, maxOffers));
+        for (int i = 0; i < count; i++) {
+            String[] carrier = CARRIERS[random.nextInt(CARRIERS.length)];
+            Offer offer = new Offer(carrier[0], random.nextInt(1, 10));
+            offer.itineraries.add(itinerary(random, carrier[0], origin, destination, departureDate, routeMinutes,
+                    nonStop));
+            if (returnDate != null) {
+                offer.itineraries.add(itinerary(random, carrier[0], destination, origin, returnDate, routeMinutes,
+                        nonStop));
+            }
+            double factor = 0.7 + random.nextDouble() * 1.1 + (offer.connecting() ? -0.15 : 0);
+            offer.pricePerAdult = Math.round(routePrice * offer.itineraries.size() * factor * 100) / 100.0;
+            offers.add(offer);
+        }
+        offers.sort(Comparator.comparingDouble(offer -> offer.pricePerAdult));
+
+        try {
+            StringWriter body = new StringWriter(count * 2048 + 512);
+            JsonWriter json = new JsonWriter(body);
+            json.beginObject();
+            json.name("meta").beginObject().name("count").value(offers.size()).endObject();
+            json.name("data").beginArray();
+            for (int i = 0; i < offers.size(); i++) {
+                writeOffer(json, offers.get(i), i + 1, departureDate, adults, currency);
+            }
+            json.endArray();
+            writeDictionaries(json, offers, currency);
+            json.endObject();
+            json.flush();
+            return body.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds an airline reference response.
+     *
+     * @param codes the requested airline codes
+     * @return the JSON body
+     */
+    public static String airlines(List<String> codes) {
+        try {
+            StringWriter body = new StringWriter();
+            JsonWriter json = new JsonWriter(body);
+            json.beginObject();
+            json.name("meta").beginObject().name("count").value(codes.size()).endObject();
+            json.name("data").beginArray();
+            for (String code : codes) {
+                String[] carrier = carrier(code);
+                json.beginObject()
+                        .name("type").value("airline")
+                        .name("iataCode").value(code)
+                        .name("icaoCode").value(carrier[1])
+                        .name("businessName").value(carrier[2])
+                        .name("commonName").value(carrier[2])
+                        .endObject();
+            }
+            json.endArray();
+            json.endObject();
+            json.flush();
+            return body.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Itinerary itinerary(SplittableRandom random, String carrier, String from, String to,
+            LocalDate date, int routeMinutes, boolean nonStop) {
+        Itinerary itinerary = new Itinerary();
+        LocalDateTime departure = date.atStartOfDay().plusMinutes(300 + random.nextInt(1080) / 5 * 5);
+        String[] aircraft = AIRCRAFT[random.nextInt(AIRCRAFT.length)];
+        if (nonStop || random.nextInt(3) > 0) {
+            itinerary.segments.add(new Segment(carrier, from, to, departure, routeMinutes,
+                    1 + random.nextInt(8999), aircraft[0]));
+            itinerary.minutes = routeMinutes;
+            return itinerary;
+        }
+
+        int hubIndex = random.nextInt(HUBS.length);
+        while (HUBS[hubIndex].equals(from) || HUBS[hubIndex].equals(to)) {
+            hubIndex = (hubIndex + 1) % HUBS.length;
+        }
+        String hub = HUBS[hubIndex];
+        int first = Math.max(45, routeMinutes * (50 + random.nextInt(20)) / 100);
+        int second = Math.max(45, routeMinutes - first + 30);
+        int layover = 60 + random.nextInt(24) * 5;
+        itinerary.segments.add(new Segment(carrier, from, hub, departure, first, 1 + random.nextInt(8999),
+                aircraft[0]));
+        itinerary.segments.add(new Segment(carrier, hub, to, departure.plusMinutes(first + layover), second,
+                1 + random.nextInt(8999), AIRCRAFT[random.nextInt(AIRCRAFT.length)][0]));
+        itinerary.minutes = first + layover + second;
+        return itinerary;
+    }
+
+    /** Derives a stable flight time between 1 and 12 hours for a route. */
+    private static int routeMinutes(String origin, String destination) {
+        String route = origin.compareTo(destination) < 0 ? origin + destination : destination + origin;
+        return 60 + Math.floorMod(route.hashCode(), 133) * 5;
+    }
+
+    private static void writeOffer(JsonWriter json, Offer offer, int id, LocalDate departureDate, int adults,
+            String currency) throws IOException {
+        String total = amount(offer.pricePerAdult * adults);
+        String base = amount(offer.pricePerAdult * adults * 0.82);
+        json.beginObject()
+                .name("type").value("flight-offer")
+                .name("id").value(Integer.toString(id))
+                .name("source").value("GDS")
+                .name("instantTicketingRequired").value(false)
+                .name("nonHomogeneous").value(false)
+                .name("oneWay").value(false)
+                .name("lastTicketingDate").value(departureDate.minusDays(1).toString())
+                .name("numberOfBookableSeats").value(offer.seats);
+
+        json.name("itineraries").beginArray();
+        int segmentId = 1;
+        for (Itinerary itinerary : offer.itineraries) {
+            json.beginObject().name("duration").value(duration(itinerary.minutes)).name("segments").beginArray();
+            for (Segment segment : itinerary.segments) {
+                writeSegment(json, segment, segmentId++);
+            }
+            json.endArray().endObject();
+        }
+        json.endArray();
+
+        json.name("price").beginObject()
+                .name("currency").value(currency)
+                .name("total").value(total)
+                .name("base").value(base)
+                .name("fees").beginArray()
+                .beginObject().name("amount").value("0.00").name("type").value("SUPPLIER").endObject()
+                .beginObject().name("amount").value("0.00").name("type").value("TICKETING").endObject()
+                .endArray()
+                .name("grandTotal").value(total)
+                .endObject();
+        json.name("pricingOptions").beginObject()
+                .name("fareType").beginArray().value("PUBLISHED").endArray()
+                .name("includedCheckedBagsOnly").value(true)
+                .endObject();
+        json.name("validatingAirlineCodes").beginArray().value(offer.carrier).endArray();
+
+        json.name("travelerPricings").beginArray();
+        for (int traveler = 1; traveler <= adults; traveler++) {
+            json.beginObject()
+                    .name("travelerId").value(Integer.toString(traveler))
+                    .name("fareOption").value("STANDARD")
+                    .name("travelerType").value("ADULT")
+                    .name("price").beginObject()
+                    .name("currency").value(currency)
+                    .name("total").value(amount(offer.pricePerAdult))
+                    .name("base").value(amount(offer.pricePerAdult * 0.82))
+                    .endObject();
+            json.name("fareDetailsBySegment").beginArray();
+            for (int segment = 1; segment < segmentId; segment++) {
+                json.beginObject()
+                        .name("segmentId").value(Integer.toString(segment))
+                        .name("cabin").value("ECONOMY")
+                        .name("fareBasis").value("YLOW" + offer.carrier)
+                        .name("class").value("Y")
+                        .name("includedCheckedBags").beginObject().name("quantity").value(1).endObject()
+                        .endObject();
+            }
+            json.endArray().endObject();
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    private static void writeSegment(JsonWriter json, Segment segment, int id) throws IOException {
+        json.beginObject()
+                .name("departure").beginObject()
+                .name("iataCode").value(segment.from)
+                .name("at").value(DATE_TIME.format(segment.departure))
+                .endObject()
+                .name("arrival").beginObject()
+                .name("iataCode").value(segment.to)
+                .name("at").value(DATE_TIME.format(segment.arrival()))
+                .endObject()
+                .name("carrierCode").value(segment.carrier)
+                .name("number").value(Integer.toString(segment.number))
+                .name("aircraft").beginObject().name("code").value(segment.aircraft).endObject()
+                .name("operating").beginObject().name("carrierCode").value(segment.carrier).endObject()
+                .name("duration").value(duration(segment.minutes))
+                .name("id").value(Integer.toString(id))
+                .name("numberOfStops").value(0)
+                .name("blacklistedInEU").value(false)
+                .endObject();
+    }
+
+    private static void writeDictionaries(JsonWriter json, List<Offer> offers, String currency) throws IOException {
+        Set<String> airports = new LinkedHashSet<>();
+        Set<String> aircraft = new LinkedHashSet<>();
+        Set<String> carriers = new LinkedHashSet<>();
+        for (Offer offer : offers) {
+            for (Itinerary itinerary : offer.itineraries) {
+                for (Segment segment : itinerary.segments) {
+                    airports.add(segment.from);
+                    airports.add(segment.to);
+                    aircraft.add(segment.aircraft);
+                    carriers.add(segment.carrier);
+                }
+            }
+        }
+
+        json.name("dictionaries").beginObject();
+        json.name("locations").beginObject();
+        for (String airport : airports) {
+            json.name(airport).beginObject().name("cityCode").value(MetroAreas.cityCodeOf(airport)).endObject();
+        }
+        json.endObject();
+        json.name("aircraft").beginObject();
+        for (String[] model : AIRCRAFT) {
+            if (aircraft.contains(model[0])) {
+                json.name(model[0]).value(model[1]);
+            }
+        }
+        json.endObject();
+        json.name("currencies").beginObject().name(currency).value(currency).endObject();
+        json.name("carriers").beginObject();
+        for (String carrier : carriers) {
+            json.name(carrier).value(carrier(carrier)[2]);
+        }
+        json.endObject();
+        json.endObject();
+    }
+
+    private static String[] carrier(String code) {
+        for (String[] carrier : CARRIERS) {
+            if (carrier[0].equals(code)) {
+                return carrier;
+            }
+        }
+        return new String[] { code, code + "X", code + " AIRWAYS" };
+    }
+
+    private static String amount(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String duration(int minutes) {
+        return "PT" + minutes / 60 + "H" + (minutes % 60 == 0 ? "" : minutes % 60 + "M");
+    }
+
+    private static final class Offer {
+        private final String carrier;
+        private final int seats;
+        private final List<Itinerary> itineraries = new ArrayList<>(2);
+        private double pricePerAdult;
+
+        Offer(String carrier, int seats) {
+            this.carrier = carrier;
+            this.seats = seats;
+        }
+
+        boolean connecting() {
+            return itineraries.stream().anyMatch(itinerary -> itinerary.segments.size() > 1);
+        }
+    }
+
+    private static final class Itinerary {
+        private final List<Segment> segments = new ArrayList<>(2);
+        private int minutes;
+    }
+
+    private static final class Segment {
+        private final String carrier;
+        private final String from;
+        private final String to;
+        private final LocalDateTime departure;
+        private final int minutes;
+        private final int number;
+        private final String aircraft;
+
+        Segment(String carrier, String from, String to, LocalDateTime departure, int minutes, int number,
+                String aircraft) {
+            this.carrier = carrier;
+            this.from = from;
+            this.to = to;
+            this.departure = departure;
+            this.minutes = minutes;
+            this.number = number;
+            this.aircraft = aircraft;
+        }
+
+        LocalDateTime arrival() {
+            return departure.plusMinutes(minutes);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.__final_backend.backend.service.cache;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Concurrent, bounded cache of airline names keyed by IATA code.
+ * <p>
+ * Reads are lock-free, so the offer mapping phase can look up carrier names
+ * from many request threads at once without contention. The cache holds two
+ * kinds of entries:
+ * <ul>
+ * <li>Positive entries map a code to the airline name and live for the
+ * configured TTL, which is longer than the background refresh interval so that
+ * refreshed carriers never expire.
+ * <li>Negative entries record that Amadeus knows no airline for a code. They
+ * expire after a much shorter TTL so the code is looked up again later instead
+ * of being stuck on the raw code forever.
+ * </ul>
+ * Failed lookups are never cached. Once the maximum size is reached the least
+ * valuable entries are evicted.
+ * <p>
+ * Hit, miss, eviction and size metrics are published under the cache name
+ * 'airlineNames', along with the hit ratio since startup.
+ */
+@Component
+public class AirlineNameCache implements MeterBinder {
+    private final Cache<String, Optional<String>> cache;
+
+    /**
+     * Creates the cache from the configured airline settings.
+     *
+     * @param properties flight search settings providing size and TTLs
+     */
+    @Autowired
+    public AirlineNameCache(FlightSearchProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    /**
+     * Creates the cache with the given time source, so that expiry can be
+     * tested without waiting.
+     *
+     * @param properties flight search settings providing size and TTLs
+     * @param ticker     time source entries expire by
+     */
+    public AirlineNameCache(FlightSearchProperties properties, Ticker ticker) {
+        FlightSearchProperties.Airlines settings = properties.getAirlines();
+        Duration ttl = settings.getCacheTtl();
+        Duration negativeTtl = settings.getNegativeCacheTtl();
+        this.cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(settings.getCacheMaximumSize())
+                .expireAfter(new Expiry<String, Optional<String>>() {
+                    @Override
+                    public long expireAfterCreate(String code, Optional<String> name, long currentTime) {
+                        return (name.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String code, Optional<String> name, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(code, name, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String code, Optional<String> name, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Looks up the name for an airline code.
+     *
+     * @param code the airline IATA code
+     * @return the airline name; the code itself when Amadeus is known to have no
+     *         airline for it; or null when the code is not cached
+     */
+    public String get(String code) {
+        Optional<String> name = cache.getIfPresent(code);
+        if (name == null) {
+            return null;
+        }
+        return name.orElse(code);
+    }
+
+    /**
+     * Stores the resolved name for an airline code.
+     *
+     * @param code the airline IATA code
+     * @param name the airline name
+     */
+    public void putName(String code, String name) {
+        cache.put(code, Optional.of(name));
+    }
+
+    /**
+     * Records that no airline exists for a code.
+     *
+     * @param code the airline IATA code
+     */
+    public void putMissing(String code) {
+        cache.put(code, Optional.empty());
+    }
+
+    /**
+     * Returns the codes that currently have a resolved name.
+     *
+     * @return a snapshot of the positively cached codes
+     */
+    public Set<String> resolvedCodes() {
+        Set<String> codes = new HashSet<>();
+        cache.asMap().forEach((code, name) -> {
+            if (name.isPresent()) {
+                codes.add(code);
+            }
+        });
+        return codes;
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the current hit, miss and eviction statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the cache counters in a form suitable for a JSON response.
+     *
+     * @return a map of statistic names to values
+     */
+    public Map<String, Object> describe() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", cache.estimatedSize());
+        description.put("hits", stats.hitCount());
+        description.put("misses", stats.missCount());
+        description.put("hitRate", stats.hitRate());
+        description.put("evictions", stats.evictionCount());
+        return description;
+    }
+
+    /**
+     * Publishes the cache statistics as metrics.
+     *
+     * @param registry the registry to publish in
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "airlineNames");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of lookups answered from the cache since startup")
+                .tag("cache", "airlineNames")
+                .register(registry);
+    }
+}
@@ -0,0 +1,171 @@
+package com.__final_backend.backend.service.cache;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.dto.FlightDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded, time-limited cache of flight search results.
+ * <p>
+ * Sits in front of the Amadeus Flight Offers Search API so that repeated
+ * searches for the same route, dates and party size are answered from memory
+ * instead of another upstream round trip. Entries expire a fixed time after
+ * they are written and, once the configured maximum size is reached, the cache
+ * evicts entries using Caffeine's frequency-aware (W-TinyLFU) policy.
+ * <p>
+ * Every stored result is also kept as the last known result for its search
+ * for a longer stale TTL. Those entries are never served as fresh; they are a
+ * fallback for when Amadeus is unavailable.
+ * <p>
+ * Cached lists are unmodifiable. The DTOs inside them are shared between
+ * callers and must be treated as read-only.
+ * <p>
+ * Hit, miss, eviction and size metrics are published under the cache name
+ * 'flightSearch', along with the hit ratio since startup.
+ */
+@Component
+public class FlightSearchCache implements MeterBinder {
+    private final boolean enabled;
+    private final Cache<FlightSearchKey, List<FlightDTO>> cache;
+    private final Cache<FlightSearchKey, List<FlightDTO>> lastKnown;
+
+    /**
+     * Creates the cache from the configured flight search properties.
+     *
+     * @param properties flight search settings providing TTLs and maximum size
+     */
+    public FlightSearchCache(FlightSearchProperties properties) {
+        FlightSearchProperties.Cache settings = properties.getCache();
+        this.enabled = settings.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(settings.getTtl())
+                .maximumSize(settings.getMaximumSize())
+                .recordStats()
+                .build();
+        this.lastKnown = Caffeine.newBuilder()
+                .expireAfterWrite(settings.getStaleTtl())
+                .maximumSize(settings.getMaximumSize())
+                .build();
+    }
+
+    /**
+     * Looks up the cached results for a search.
+     *
+     * @param key the normalized search key
+     * @return the cached results, or null on a miss or when caching is disabled
+     */
+    public List<FlightDTO> get(FlightSearchKey key) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Looks up the cached results for a search without counting a hit or miss.
+     * <p>
+     * For re-checking a key the caller has already looked up with
+     * {@link #get(FlightSearchKey)}, so one search is counted once.
+     *
+     * @param key the normalized search key
+     * @return the cached results, or null on a miss or when caching is disabled
+     */
+    public List<FlightDTO> peek(FlightSearchKey key) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.asMap().get(key);
+    }
+
+    /**
+     * Looks up the last known results for a search, however old.
+     * <p>
+     * Intended only as a fallback when fresh results cannot be fetched.
+     *
+     * @param key the normalized search key
+     * @return the last stored results within the stale TTL, or null when none
+     *         are kept or caching is disabled
+     */
+    public List<FlightDTO> getStale(FlightSearchKey key) {
+        if (!enabled) {
+            return null;
+        }
+        return lastKnown.getIfPresent(key);
+    }
+
+    /**
+     * Stores the results of a successful search.
+     *
+     * @param key     the normalized search key
+     * @param results the results returned for the search
+     * @return an unmodifiable view of the stored results
+     */
+    public List<FlightDTO> put(FlightSearchKey key, List<FlightDTO> results) {
+        List<FlightDTO> immutable = List.copyOf(results);
+        if (enabled) {
+            cache.put(key, immutable);
+            lastKnown.put(key, immutable);
+        }
+        return immutable;
+    }
+
+    /**
+     * Removes every cached search result.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        lastKnown.invalidateAll();
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the current hit, miss and eviction statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the cache counters in a form suitable for a JSON response.
+     *
+     * @return a map of statistic names to values
+     */
+    public Map<String, Object> describe() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("enabled", enabled);
+        description.put("size", cache.estimatedSize());
+        description.put("hits", stats.hitCount());
+        description.put("misses", stats.missCount());
+        description.put("hitRate", stats.hitRate());
+        description.put("evictions", stats.evictionCount());
+        description.put("staleSize", lastKnown.estimatedSize());
+        return description;
+    }
+
+    /**
+     * Publishes the cache statistics as metrics.
+     *
+     * @param registry the registry to publish in
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "flightSearch");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of lookups answered from the cache since startup")
+                .tag("cache", "flightSearch")
+                .register(registry);
+    }
+}
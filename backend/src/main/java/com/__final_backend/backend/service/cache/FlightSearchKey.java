@@ -0,0 +1,156 @@
+package com.__final_backend.backend.service.cache;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Normalized identity of a flight search used as a cache key.
+ * <p>
+ * Two searches that would produce the same Amadeus request map to equal keys:
+ * airport codes are trimmed and upper-cased, the trip type is lower-cased, and
+ * the return date is dropped for anything other than a round trip because the
+ * search service ignores it in that case. Only the exact trip type
+ * "round-trip" counts as a round trip, as it always has for the search itself;
+ * the lower-cased trip type is used for key equality only.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class FlightSearchKey {
+    private final String origin;
+    private final String destination;
+    private final LocalDate travelDate;
+    private final LocalDate returnDate;
+    private final int adults;
+    private final String tripType;
+    private final int hash;
+
+    private FlightSearchKey(String origin, String destination, LocalDate travelDate,
+            LocalDate returnDate, int adults, String tripType) {
+        this.origin = origin;
+        this.destination = destination;
+        this.travelDate = travelDate;
+        this.returnDate = returnDate;
+        this.adults = adults;
+        this.tripType = tripType;
+        this.hash = Objects.hash(origin, destination, travelDate, returnDate, adults, tripType);
+    }
+
+    /**
+     * Creates a normalized key from raw search criteria.
+     *
+     * @param origin      The departure IATA code
+     * @param destination The arrival IATA code
+     * @param travelDate  The departure date
+     * @param returnDate  The return date, ignored unless the trip is a round trip
+     * @param adults      The number of adult travelers
+     * @param tripType    The trip type, either "one-way" or "round-trip"
+     * @return The normalized key
+     */
+    public static FlightSearchKey of(String origin, String destination, LocalDate travelDate,
+            LocalDate returnDate, Integer adults, String tripType) {
+        String normalizedTripType = tripType == null ? "" : tripType.trim().toLowerCase(Locale.ROOT);
+        // Normalizing must not turn "Round-Trip" into a round trip search
+        boolean roundTrip = "round-trip".equals(tripType);
+        return new FlightSearchKey(
+                normalizeCode(origin),
+                normalizeCode(destination),
+                travelDate,
+                roundTrip ? returnDate : null,
+                adults == null ? 0 : adults,
+                normalizedTripType);
+    }
+
+    private static String normalizeCode(String code) {
+        return code == null ? "" : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the normalized departure IATA code.
+     *
+     * @return the upper-cased origin code
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Gets the normalized arrival IATA code.
+     *
+     * @return the upper-cased destination code
+     */
+    public String getDestination() {
+        return destination;
+    }
+
+    /**
+     * Gets the departure date.
+     *
+     * @return the departure date
+     */
+    public LocalDate getTravelDate() {
+        return travelDate;
+    }
+
+    /**
+     * Gets the return date.
+     *
+     * @return the return date, or null when the search is not a round trip
+     */
+    public LocalDate getReturnDate() {
+        return returnDate;
+    }
+
+    /**
+     * Gets the number of adult travelers.
+     *
+     * @return the traveler count
+     */
+    public int getAdults() {
+        return adults;
+    }
+
+    /**
+     * Gets the normalized trip type.
+     *
+     * @return the lower-cased trip type
+     */
+    public String getTripType() {
+        return tripType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FlightSearchKey)) {
+            return false;
+        }
+        FlightSearchKey other = (FlightSearchKey) o;
+        return hash == other.hash
+                && adults == other.adults
+                && origin.equals(other.origin)
+                && destination.equals(other.destination)
+                && Objects.equals(travelDate, other.travelDate)
+                && Objects.equals(returnDate, other.returnDate)
+                && tripType.equals(other.tripType);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "FlightSearchKey{" +
+                "origin='" + origin + '\'' +
+                ", destination='" + destination + '\'' +
+                ", travelDate=" + travelDate +
+                ", returnDate=" + returnDate +
+                ", adults=" + adults +
+                ", tripType='" + tripType + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,140 @@
+package com.__final_backend.backend.service.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent requests into a single execution.
+ * <p>
+ * The first caller for a key becomes the leader and runs the supplied loader on
+ * its own thread. Callers that arrive with the same key while the leader is
+ * still running do not start a second execution; they wait on the leader's
+ * future and receive the same result or the same exception. Once the leader
+ * finishes the key is released, so later calls start a fresh execution.
+ * <p>
+ * Followers wait interruptibly and, when given a maximum wait, leave on their
+ * own once it passes, without affecting the leader or other followers. The
+ * leader runs the loader on the caller's thread, so interrupting a caller that
+ * may be leading fails every follower with it; callers that give up on a
+ * search should stop waiting rather than interrupt the thread running it.
+ * <p>
+ * This class holds no results after completion. It is intended to sit behind a
+ * cache so that a burst of identical cache misses costs one upstream call.
+ *
+ * @param <K> the key type, which must implement equals and hashCode
+ * @param <V> the result type
+ */
+public class RequestCoalescer<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs the loader for the key, or joins an execution already in progress
+     * and waits for it for as long as it takes.
+     *
+     * @param key    the key identifying equivalent requests
+     * @param loader the work to perform when no execution is in progress
+     * @return the loader's result
+     * @throws RuntimeException the exception thrown by the loader, rethrown to
+     *                          the leader and to every waiting caller
+     */
+    public V execute(K key, Supplier<V> loader) {
+        return execute(key, loader, null);
+    }
+
+    /**
+     * Runs the loader for the key, or joins an execution already in progress
+     * and waits for it at most the given time.
+     *
+     * @param key     the key identifying equivalent requests
+     * @param loader  the work to perform when no execution is in progress
+     * @param maxWait the longest a follower waits for the leader, or null to
+     *                wait until it finishes
+     * @return the loader's result
+     * @throws CompletionException   if this caller joined an execution that did
+     *                               not finish within the maximum wait; the
+     *                               execution itself carries on
+     * @throws CancellationException if this caller was interrupted while
+     *                               waiting for an execution
+     * @throws RuntimeException      the exception thrown by the loader,
+     *                               rethrown to the leader and to every waiting
+     *                               caller
+     */
+    public V execute(K key, Supplier<V> loader, Duration maxWait) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing, maxWait);
+        }
+
+        executions.increment();
+        try {
+            V result = loader.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(CompletableFuture<V> future, Duration maxWait) {
+        try {
+            return maxWait == null ? future.get() : future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted waiting for a request already in progress");
+        } catch (TimeoutException e) {
+            throw new CompletionException("Timed out waiting for a request already in progress", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    /**
+     * Gets the number of loader executions started.
+     *
+     * @return the number of calls that became leaders
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * Gets the number of calls that joined an execution already in progress.
+     *
+     * @return the number of calls served without their own execution
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Gets the number of keys currently executing.
+     *
+     * @return the number of in-flight executions
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -29,6 +30,9 @@ public class FlightSearchServiceImpl implements FlightSearchService {
   /** Repository for database operations on FlightSearch entities. */
   private final FlightSearchRepository flightSearchRepository;
 
+  /** Running per-route counts, updated for each new search. */
+  private final RoutePopularityService routePopularityService;
+
   /**
    * Constructs a new FlightSearchServiceImpl with the specified repository.
    * <p>
@@ -38,23 +42,33 @@ public class FlightSearchServiceImpl implements FlightSearchService {
    * 4.3.
    *
    * @param flightSearchRepository the JPA repository for FlightSearch entities
+   * @param routePopularityService running per-route counts of searches
    */
-  public FlightSearchServiceImpl(FlightSearchRepository flightSearchRepository) {
+  public FlightSearchServiceImpl(FlightSearchRepository flightSearchRepository,
+      RoutePopularityService routePopularityService) {
     this.flightSearchRepository = flightSearchRepository;
+    this.routePopularityService = routePopularityService;
   }
 
   /**
    * {@inheritDoc}
    * <p>
    * Persists the flight search entity to the database. If the entity has an ID,
-   * this will update the existing record; otherwise, a new record is created.
+   * this will update the existing record; otherwise, a new record is created
+   * and counted in the route's popularity for today.
    * 
    * @param flightSearch the flight search to save
    * @return the saved flight search with populated ID and metadata
    */
   @Override
   public FlightSearch saveFlightSearch(FlightSearch flightSearch) {
-    return flightSearchRepository.save(flightSearch);
+    boolean isNew = flightSearch.getId() == null;
+    FlightSearch saved = flightSearchRepository.save(flightSearch);
+    if (isNew) {
+      routePopularityService.increment(Map.of(new RoutePopularityService.RouteDay(saved.getOrigin(),
+          saved.getDestination(), saved.getSearchTime().toLocalDate()), 1L));
+    }
+    return saved;
   }
 
   /**
@@ -0,0 +1,147 @@
+package com.__final_backend.backend.service.db;
+
+import com.__final_backend.backend.dto.TrendingRouteDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains the per-day search counts of each route and answers which routes
+ * are trending.
+ * <p>
+ * The {@code route_search_counts} table holds one row per route and day with a
+ * running count. Counts are added whenever searches are recorded, by
+ * {@link SearchHistoryRecorder} for each batch it writes and by
+ * {@link FlightSearchServiceImpl} for searches saved one at a time, inside the
+ * same transaction as the searches themselves. Deleting a search does not
+ * lower the counts: they count searches made, not history kept.
+ * <p>
+ * A trending query reads only the rows of the days in its window, so its cost
+ * depends on the window and the number of routes searched in it, not on the
+ * size of {@code flight_searches}.
+ */
+@Service
+public class RoutePopularityService {
+
+  /** Longest window, in days, a trending query may cover. */
+  public static final int MAX_DAYS = 90;
+
+  /** Largest number of routes a trending query may return. */
+  public static final int MAX_LIMIT = 100;
+
+  private static final String H2_INCREMENT_SQL = "MERGE INTO route_search_counts t USING (VALUES ("
+      + "CAST(? AS DATE), CAST(? AS VARCHAR(3)), CAST(? AS VARCHAR(3)), CAST(? AS BIGINT))) "
+      + "s (search_day, origin, destination, searches) "
+      + "ON t.search_day = s.search_day AND t.origin = s.origin AND t.destination = s.destination "
+      + "WHEN MATCHED THEN UPDATE SET search_count = t.search_count + s.searches "
+      + "WHEN NOT MATCHED THEN INSERT (search_day, origin, destination, search_count) "
+      + "VALUES (s.search_day, s.origin, s.destination, s.searches)";
+
+  private static final String MYSQL_INCREMENT_SQL = "INSERT INTO route_search_counts "
+      + "(search_day, origin, destination, search_count) VALUES (?, ?, ?, ?) "
+      + "ON DUPLICATE KEY UPDATE search_count = search_count + VALUES(search_count)";
+
+  private static final String TRENDING_SQL = "SELECT origin, destination, SUM(search_count) AS searches "
+      + "FROM route_search_counts WHERE search_day >= ? "
+      + "GROUP BY origin, destination ORDER BY searches DESC, origin, destination LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String incrementSql;
+
+  /**
+   * Constructs the service.
+   *
+   * @param jdbcTemplate template the counts are read and written with
+   * @param dialect      dialect the upsert of the counts is written in
+   */
+  public RoutePopularityService(JdbcTemplate jdbcTemplate, SqlDialect dialect) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.incrementSql = dialect == SqlDialect.MYSQL ? MYSQL_INCREMENT_SQL : H2_INCREMENT_SQL;
+  }
+
+  /**
+   * Adds searches to the running counts in one JDBC batch. Joins the caller's
+   * transaction, if any.
+   *
+   * @param counts the number of searches to add per route and day
+   */
+  public void increment(Map<RouteDay, Long> counts) {
+    if (counts.isEmpty()) {
+      return;
+    }
+    List<Map.Entry<RouteDay, Long>> entries = new ArrayList<>(counts.entrySet());
+    jdbcTemplate.batchUpdate(incrementSql, entries, entries.size(), (statement, entry) -> {
+      statement.setDate(1, Date.valueOf(entry.getKey().day));
+      statement.setString(2, entry.getKey().origin);
+      statement.setString(3, entry.getKey().destination);
+      statement.setLong(4, entry.getValue());
+    });
+  }
+
+  /**
+   * Finds the most searched routes over the last days, today included.
+   *
+   * @param days  the length of the window in days, from 1 to {@value #MAX_DAYS}
+   * @param limit the number of routes to return, from 1 to {@value #MAX_LIMIT}
+   * @return the routes with their search counts, most searched first
+   * @throws IllegalArgumentException if days or limit is out of range
+   */
+  public List<TrendingRouteDTO> findTrending(int days, int limit) {
+    if (days < 1 || days > MAX_DAYS) {
+      throw new IllegalArgumentException("days must be between 1 and " + MAX_DAYS);
+    }
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+    }
+    LocalDate since = LocalDate.now().minusDays(days - 1L);
+    return jdbcTemplate.query(TRENDING_SQL,
+        (row, index) -> new TrendingRouteDTO(row.getString("origin"), row.getString("destination"),
+            row.getLong("searches")),
+        Date.valueOf(since), limit);
+  }
+
+  /**
+   * A route on one day, the key of the running counts.
+   */
+  public static final class RouteDay {
+    private final String origin;
+    private final String destination;
+    private final LocalDate day;
+
+    /**
+     * Creates the key.
+     *
+     * @param origin      the origin IATA code
+     * @param destination the destination IATA code
+     * @param day         the day the searches were made
+     */
+    public RouteDay(String origin, String destination, LocalDate day) {
+      this.origin = origin;
+      this.destination = destination;
+      this.day = day;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof RouteDay)) {
+        return false;
+      }
+      RouteDay that = (RouteDay) other;
+      return origin.equals(that.origin) && destination.equals(that.destination) && day.equals(that.day);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(origin, destination, day);
+    }
+  }
+}
@@ -0,0 +1,415 @@
+package com.__final_backend.backend.service.db;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records flight searches in the {@code flight_searches} table without making
+ * the search wait on the database.
+ * <p>
+ * {@link #record} only offers the search to a bounded in-memory queue. A single
+ * writer thread drains the queue and inserts the searches with JDBC batch
+ * inserts, one transaction per batch. The same transaction adds the batch to
+ * the per-route daily counts kept by {@link RoutePopularityService}. A batch is written once it holds
+ * {@code batch-size} searches or its first search has waited
+ * {@code flush-interval}, whichever comes first, so the database sees a few
+ * large writes rather than one per search. When a batch fails, its searches
+ * are retried one per transaction, so only the searches that cannot be
+ * written are lost and only written searches are counted per route.
+ * <p>
+ * When the writer falls behind and the queue is full, further searches are
+ * dropped rather than queued without bound or made to wait. Searches are
+ * counted under {@value #RECORDS_METER}, tagged {@code queued},
+ * {@code dropped}, {@code written} or {@code failed}, and the queue depth is
+ * published as {@value #QUEUE_METER}. On shutdown the writer inserts whatever
+ * is still queued before the data source closes.
+ * <p>
+ * The user is stored by looking up the username inside the insert, so no
+ * query is made on the request thread. Searches by anonymous users, or by
+ * users who are not in the database, are stored without a user. Ids are
+ * taken from {@code flight_searches_seq} a block at a time, the same way
+ * Hibernate takes them for {@code FlightSearch}. On MySQL the sequence is a
+ * one-row table, so a block is reserved by locking the row and raising it in
+ * a transaction of its own, which releases the lock before the batch is
+ * written.
+ */
+@Component
+public class SearchHistoryRecorder {
+  private static final Logger logger = LoggerFactory.getLogger(SearchHistoryRecorder.class);
+
+  /** Name of the counter of recorded searches, tagged by outcome. */
+  public static final String RECORDS_METER = "search.history.records";
+
+  /** Name of the gauge of searches waiting in the queue. */
+  public static final String QUEUE_METER = "search.history.queue.size";
+
+  /** Name of the timer of batch inserts. */
+  public static final String FLUSH_METER = "search.history.flush";
+
+  /** Longest trip type the trip_type column holds. */
+  private static final int MAX_TRIP_TYPE_LENGTH = 20;
+
+  /** Ids reserved by each call to the sequence; equal to its increment. */
+  private static final int ID_BLOCK_SIZE = 50;
+
+  private static final String H2_NEXT_ID_SQL = "SELECT NEXT VALUE FOR flight_searches_seq";
+
+  private static final String MYSQL_NEXT_ID_SQL = "SELECT next_val FROM flight_searches_seq FOR UPDATE";
+
+  private static final String MYSQL_RESERVE_IDS_SQL = "UPDATE flight_searches_seq SET next_val = next_val + ?";
+
+  private static final String INSERT_SQL = "INSERT INTO flight_searches (id, user_id, origin, destination, "
+      + "departure_date, return_date, number_of_travelers, trip_type, search_time) "
+      + "VALUES (?, (SELECT id FROM users WHERE username = ?), ?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final RoutePopularityService routePopularityService;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate idTransactionTemplate;
+  private final SqlDialect dialect;
+  private final FlightSearchProperties.History settings;
+  private final BlockingQueue<SearchRecord> queue;
+
+  private final Counter queued;
+  private final Counter dropped;
+  private final Counter written;
+  private final Counter failed;
+  private final Timer flushTimer;
+
+  private volatile boolean running;
+  private volatile boolean dropping;
+  private Thread writer;
+
+  // Next unused id and the end of the reserved block; used by the writer only
+  private long nextId;
+  private long idBlockEnd;
+
+  /**
+   * Creates the recorder. The writer thread is started once the bean is
+   * initialised.
+   *
+   * @param jdbcTemplate           template the batch inserts are run with
+   * @param routePopularityService running per-route counts updated with each
+   *                               batch
+   * @param transactionManager     manager of the per-batch transactions
+   * @param properties             flight search settings providing the queue
+   *                               capacity, batch size and flush interval
+   * @param meterRegistry          registry the counters and timers are
+   *                               published in
+   * @param dialect                dialect ids are reserved in
+   */
+  public SearchHistoryRecorder(JdbcTemplate jdbcTemplate, RoutePopularityService routePopularityService,
+      PlatformTransactionManager transactionManager, FlightSearchProperties properties,
+      MeterRegistry meterRegistry, SqlDialect dialect) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.routePopularityService = routePopularityService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.idTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.idTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.dialect = dialect;
+    this.settings = properties.getHistory();
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+    this.queued = counter(meterRegistry, "queued");
+    this.dropped = counter(meterRegistry, "dropped");
+    this.written = counter(meterRegistry, "written");
+    this.failed = counter(meterRegistry, "failed");
+    this.flushTimer = Timer.builder(FLUSH_METER)
+        .description("Time spent inserting a batch of searches")
+        .register(meterRegistry);
+    Gauge.builder(QUEUE_METER, queue, BlockingQueue::size)
+        .description("Searches waiting to be written")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts the writer thread, unless recording is disabled.
+   */
+  @PostConstruct
+  public void start() {
+    if (!settings.isEnabled()) {
+      return;
+    }
+    running = true;
+    writer = new Thread(this::runWriter, "search-history-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * Stops the writer after it has written the searches still queued.
+   *
+   * @throws InterruptedException if interrupted while waiting for the writer
+   */
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (writer == null) {
+      return;
+    }
+    // Not interrupted: an interrupt during a write can close the database file
+    running = false;
+    writer.join(TimeUnit.SECONDS.toMillis(10));
+  }
+
+  /**
+   * Queues a search to be recorded. Never blocks: if the queue is full the
+   * search is dropped and counted.
+   *
+   * @param username          the user who searched, or null if anonymous
+   * @param origin            the origin IATA code
+   * @param destination       the destination IATA code
+   * @param departureDate     the departure date
+   * @param returnDate        the return date, or null for one-way searches
+   * @param numberOfTravelers the number of travelers
+   * @param tripType          the trip type, e.g. "one-way"
+   */
+  public void record(String username, String origin, String destination, LocalDate departureDate,
+      LocalDate returnDate, Integer numberOfTravelers, String tripType) {
+    if (!running) {
+      return;
+    }
+    SearchRecord search = new SearchRecord(username,
+        origin.toUpperCase(Locale.ROOT),
+        destination.toUpperCase(Locale.ROOT),
+        departureDate,
+        returnDate,
+        numberOfTravelers != null ? numberOfTravelers : 1,
+        tripType == null ? "one-way"
+            : tripType.length() > MAX_TRIP_TYPE_LENGTH ? tripType.substring(0, MAX_TRIP_TYPE_LENGTH) : tripType,
+        LocalDateTime.now());
+    if (queue.offer(search)) {
+      queued.increment();
+      if (dropping) {
+        dropping = false;
+        logger.info("Search history queue has room again");
+      }
+    } else {
+      dropped.increment();
+      if (!dropping) {
+        dropping = true;
+        logger.warn("Search history queue is full ({} searches), dropping searches until the writer catches up",
+            settings.getQueueCapacity());
+      }
+    }
+  }
+
+  /**
+   * Writer loop: fills and flushes batches until stopped, then writes what is
+   * left. Stopping takes effect within one flush interval.
+   */
+  private void runWriter() {
+    int batchSize = Math.max(1, settings.getBatchSize());
+    List<SearchRecord> batch = new ArrayList<>(batchSize);
+    try {
+      while (running) {
+        fill(batch, batchSize);
+        if (!batch.isEmpty()) {
+          flush(batch);
+          batch.clear();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    queue.drainTo(batch);
+    for (int from = 0; from < batch.size(); from += batchSize) {
+      flush(batch.subList(from, Math.min(batch.size(), from + batchSize)));
+    }
+  }
+
+  /**
+   * Waits for a first search, then keeps adding searches until the batch is
+   * full or the flush interval since the first search has passed.
+   */
+  private void fill(List<SearchRecord> batch, int batchSize) throws InterruptedException {
+    long interval = settings.getFlushInterval().toNanos();
+    SearchRecord first = queue.poll(interval, TimeUnit.NANOSECONDS);
+    if (first == null) {
+      return;
+    }
+    batch.add(first);
+    long deadline = System.nanoTime() + interval;
+    while (batch.size() < batchSize) {
+      queue.drainTo(batch, batchSize - batch.size());
+      long remaining = deadline - System.nanoTime();
+      if (batch.size() >= batchSize || remaining <= 0) {
+        return;
+      }
+      SearchRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  /**
+   * Inserts a batch in one transaction. If the batch fails, its searches are
+   * retried one at a time so that one bad search cannot lose the others;
+   * searches that still fail are counted and discarded so that they cannot
+   * stall the queue.
+   */
+  private void flush(List<SearchRecord> batch) {
+    long start = System.nanoTime();
+    try {
+      insert(batch);
+      written.increment(batch.size());
+    } catch (RuntimeException e) {
+      if (batch.size() == 1) {
+        failed.increment();
+        logger.warn("Could not write a search to the search history: {}", e.getMessage());
+      } else {
+        logger.warn("Could not write {} searches to the search history, retrying them one at a time: {}",
+            batch.size(), e.getMessage());
+        retryEach(batch);
+      }
+    } finally {
+      flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** Inserts each search of a failed batch in its own transaction. */
+  private void retryEach(List<SearchRecord> batch) {
+    int failures = 0;
+    for (SearchRecord search : batch) {
+      try {
+        insert(List.of(search));
+        written.increment();
+      } catch (RuntimeException e) {
+        failures++;
+        failed.increment();
+        logger.debug("Could not write search {}-{} to the search history: {}",
+            search.origin, search.destination, e.getMessage());
+      }
+    }
+    if (failures > 0) {
+      logger.warn("Discarded {} of {} searches that could not be written to the search history",
+          failures, batch.size());
+    }
+  }
+
+  /**
+   * Inserts searches and adds them to the route counts in one transaction.
+   * Searches keep the id they were given by an earlier attempt.
+   */
+  private void insert(List<SearchRecord> searches) {
+    transactionTemplate.executeWithoutResult(status -> {
+      for (SearchRecord search : searches) {
+        if (search.id == 0) {
+          search.id = nextId();
+        }
+      }
+      jdbcTemplate.batchUpdate(INSERT_SQL, searches, searches.size(), (statement, search) -> {
+        statement.setLong(1, search.id);
+        statement.setString(2, search.username);
+        statement.setString(3, search.origin);
+        statement.setString(4, search.destination);
+        statement.setDate(5, Date.valueOf(search.departureDate));
+        if (search.returnDate != null) {
+          statement.setDate(6, Date.valueOf(search.returnDate));
+        } else {
+          statement.setNull(6, Types.DATE);
+        }
+        statement.setInt(7, search.numberOfTravelers);
+        statement.setString(8, search.tripType);
+        statement.setTimestamp(9, Timestamp.valueOf(search.searchTime));
+      });
+      routePopularityService.increment(routeCounts(searches));
+    });
+  }
+
+  /** Counts searches per route and day. */
+  private static Map<RoutePopularityService.RouteDay, Long> routeCounts(List<SearchRecord> searches) {
+    Map<RoutePopularityService.RouteDay, Long> counts = new HashMap<>();
+    for (SearchRecord search : searches) {
+      counts.merge(new RoutePopularityService.RouteDay(search.origin, search.destination,
+          search.searchTime.toLocalDate()), 1L, Long::sum);
+    }
+    return counts;
+  }
+
+  /** Returns the next id, reserving a new block from the sequence when needed. */
+  private long nextId() {
+    if (nextId == idBlockEnd) {
+      nextId = reserveIdBlock();
+      idBlockEnd = nextId + ID_BLOCK_SIZE;
+    }
+    return nextId++;
+  }
+
+  /** Reserves the next block of ids and returns its first id. */
+  private long reserveIdBlock() {
+    if (dialect != SqlDialect.MYSQL) {
+      return jdbcTemplate.queryForObject(H2_NEXT_ID_SQL, Long.class);
+    }
+    Long first = idTransactionTemplate.execute(status -> {
+      Long next = jdbcTemplate.queryForObject(MYSQL_NEXT_ID_SQL, Long.class);
+      jdbcTemplate.update(MYSQL_RESERVE_IDS_SQL, ID_BLOCK_SIZE);
+      return next;
+    });
+    if (first == null) {
+      throw new IllegalStateException("flight_searches_seq holds no value");
+    }
+    return first;
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder(RECORDS_METER)
+        .description("Searches offered to the search history")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  /**
+   * One search waiting to be written.
+   */
+  private static final class SearchRecord {
+    private long id;
+    private final String username;
+    private final String origin;
+    private final String destination;
+    private final LocalDate departureDate;
+    private final LocalDate returnDate;
+    private final int numberOfTravelers;
+    private final String tripType;
+    private final LocalDateTime searchTime;
+
+    SearchRecord(String username, String origin, String destination, LocalDate departureDate,
+        LocalDate returnDate, int numberOfTravelers, String tripType, LocalDateTime searchTime) {
+      this.username = username;
+      this.origin = origin;
+      this.destination = destination;
+      this.departureDate = departureDate;
+      this.returnDate = returnDate;
+      this.numberOfTravelers = numberOfTravelers;
+      this.tripType = tripType;
+      this.searchTime = searchTime;
+    }
+  }
+}
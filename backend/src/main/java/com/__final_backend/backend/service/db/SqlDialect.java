@@ -0,0 +1,46 @@
+package com.__final_backend.backend.service.db;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Databases the hand-written JDBC statements are available for.
+ * <p>
+ * Most statements are portable. Upserts and sequences are not: H2 has
+ * {@code MERGE ... USING} and real sequences, while MySQL has
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE} and no sequences, so Hibernate
+ * keeps each sequence there as a one-row table. The dialect is resolved from
+ * the JDBC URL the same way Flyway's {@code {vendor}} migration location is,
+ * so statements and schema always come from the same database.
+ */
+public enum SqlDialect {
+  H2,
+  MYSQL;
+
+  /**
+   * Resolves the dialect of a data source.
+   *
+   * @param dataSource the application's data source
+   * @return the matching dialect
+   * @throws IllegalStateException if the database is not supported
+   */
+  public static SqlDialect of(DataSource dataSource) {
+    String url;
+    try {
+      url = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getURL);
+    } catch (MetaDataAccessException e) {
+      throw new IllegalStateException("Could not determine the database in use", e);
+    }
+    DatabaseDriver driver = DatabaseDriver.fromJdbcUrl(url);
+    return switch (driver) {
+      case H2 -> H2;
+      case MYSQL -> MYSQL;
+      default -> throw new IllegalStateException("Unsupported database " + driver + " at " + url
+          + "; only H2 and MySQL have migrations");
+    };
+  }
+}
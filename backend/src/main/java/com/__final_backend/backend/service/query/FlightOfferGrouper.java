@@ -0,0 +1,132 @@
+package com.__final_backend.backend.service.query;
+
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.dto.FlightOfferDTO;
+import com.__final_backend.backend.dto.FlightOffersResponseDTO;
+import com.__final_backend.backend.dto.FlightSegmentDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the compact offer-level response from a flat search result.
+ * <p>
+ * The search result is one {@link FlightDTO} per segment, in offer order, with
+ * each segment tagged with the offer and itinerary it belongs to. Consecutive
+ * segments of the same offer are folded into one {@link FlightOfferDTO} carrying
+ * the price once, and repeated names are replaced by indexes into lookup tables
+ * that are written once per response.
+ */
+public final class FlightOfferGrouper {
+
+    private FlightOfferGrouper() {
+    }
+
+    /**
+     * Groups a flat search result into offers.
+     *
+     * @param flights the segments of a single search, in result order
+     * @return the compact response
+     */
+    public static FlightOffersResponseDTO group(List<FlightDTO> flights) {
+        LookupTable airlines = new LookupTable();
+        LookupTable aircraft = new LookupTable();
+        Map<String, String> cities = new LinkedHashMap<>();
+        List<FlightOfferDTO> offers = new ArrayList<>();
+        boolean stale = false;
+
+        FlightOfferDTO offer = null;
+        List<FlightSegmentDTO> itinerary = null;
+        int offerIndex = -1;
+        int itineraryIndex = -1;
+        for (FlightDTO flight : flights) {
+            if (offer == null || flight.getOfferIndex() != offerIndex) {
+                offer = new FlightOfferDTO();
+                offer.setPrice(flight.getPrice());
+                offer.setItineraries(new ArrayList<>(2));
+                offers.add(offer);
+                offerIndex = flight.getOfferIndex();
+                itineraryIndex = -1;
+            }
+            if (flight.getItineraryIndex() != itineraryIndex) {
+                itinerary = new ArrayList<>();
+                offer.getItineraries().add(itinerary);
+                itineraryIndex = flight.getItineraryIndex();
+            }
+
+            FlightSegmentDTO segment = new FlightSegmentDTO();
+            segment.setAirline(airlines.indexOf(flight.getAirline()));
+            segment.setFlightNumber(flight.getFlightNumber());
+            segment.setDeparture(flight.getDeparture());
+            segment.setArrival(flight.getArrival());
+            segment.setDepartureTime(flight.getDepartureTime());
+            segment.setArrivalTime(flight.getArrivalTime());
+            segment.setDurationMinutes(flight.getDurationMinutes());
+            segment.setAircraft(aircraft.indexOf(flight.getAircraft()));
+            itinerary.add(segment);
+
+            putCity(cities, flight.getDeparture(), flight.getDepartureCity());
+            putCity(cities, flight.getArrival(), flight.getArrivalCity());
+            stale |= flight.isStale();
+        }
+
+        FlightOffersResponseDTO response = new FlightOffersResponseDTO();
+        response.setAirlines(airlines.values);
+        response.setAircraft(aircraft.values);
+        response.setCities(cities);
+        response.setOffers(offers);
+        response.setStale(stale);
+        return response;
+    }
+
+    /**
+     * Splits a flat search result into the segments of each offer.
+     * <p>
+     * Segments are grouped by offer index, so an offer stays whole even if its
+     * segments are not adjacent. Offers keep the order of their first segment
+     * and segments keep their order within the offer.
+     *
+     * @param flights the segments of a single search
+     * @return the segments of each offer, in result order
+     */
+    static List<List<FlightDTO>> segmentsByOffer(List<FlightDTO> flights) {
+        Map<Integer, List<FlightDTO>> segmentsByOffer = new LinkedHashMap<>();
+        for (FlightDTO flight : flights) {
+            segmentsByOffer.computeIfAbsent(flight.getOfferIndex(), index -> new ArrayList<>(4)).add(flight);
+        }
+        return new ArrayList<>(segmentsByOffer.values());
+    }
+
+    private static void putCity(Map<String, String> cities, String airport, String city) {
+        if (airport != null && city != null) {
+            cities.putIfAbsent(airport, city);
+        }
+    }
+
+    /**
+     * Distinct values in first-seen order, addressed by index.
+     */
+    private static final class LookupTable {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        /**
+         * Gets the index of a value, adding it to the table on first use.
+         *
+         * @param value the value to look up
+         * @return its index, or null for a null value
+         */
+        Integer indexOf(String value) {
+            if (value == null) {
+                return null;
+            }
+            return indexes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.__final_backend.backend.service.query;
+
+import com.__final_backend.backend.dto.FlightDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One page of a sorted and filtered flight search result.
+ * <p>
+ * Pages are cut by offer, so an offer's segments are always on the same page
+ * and the page size and total count are numbers of offers.
+ * <p>
+ * Pages are addressed by an opaque cursor rather than a page number. The
+ * cursor records the offset of the next page together with a fingerprint of
+ * the search and query it belongs to, so a cursor sent with different search,
+ * sort or filter options is rejected instead of silently returning an
+ * unrelated page.
+ * <p>
+ * The cursor also carries a version of the result list it was cut from. When
+ * the list changes between pages, for example because the cached search
+ * expired and was fetched again or a stale fallback was replaced, the offset
+ * no longer points at the next unseen offer and the cursor is rejected
+ * rather than skipping or repeating offers.
+ */
+public final class FlightResultPage {
+
+    /** Largest page a client may request. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String CURSOR_VERSION = "3";
+
+    private final List<FlightDTO> flights;
+    private final int totalCount;
+    private final String nextCursor;
+
+    private FlightResultPage(List<FlightDTO> flights, int totalCount, String nextCursor) {
+        this.flights = flights;
+        this.totalCount = totalCount;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Cuts one page out of a result list.
+     *
+     * @param results  the sorted and filtered result list, offer by offer
+     * @param pageSize the number of offers per page, or null for the maximum
+     * @param cursor   the cursor of the page to return, or null for the first
+     *                 page
+     * @param scope    a string identifying the search and query; cursors are
+     *                 only accepted for the scope they were issued for
+     * @return the requested page
+     * @throws InvalidResultQueryException if the page size is out of range or
+     *                                     the cursor is malformed, belongs to
+     *                                     another scope or was issued for a
+     *                                     different result list
+     */
+    public static FlightResultPage of(List<FlightDTO> results, Integer pageSize, String cursor, String scope) {
+        int size = pageSize == null ? MAX_PAGE_SIZE : pageSize;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidResultQueryException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String fingerprint = fingerprint(scope);
+        String version = resultVersion(results);
+        int offset = cursor == null || cursor.isEmpty() ? 0 : decodeOffset(cursor, fingerprint, version);
+
+        List<List<FlightDTO>> offers = FlightOfferGrouper.segmentsByOffer(results);
+        int from = Math.min(offset, offers.size());
+        int to = Math.min(from + size, offers.size());
+        String next = to < offers.size() ? encode(to, fingerprint, version) : null;
+        List<FlightDTO> flights = new ArrayList<>();
+        offers.subList(from, to).forEach(flights::addAll);
+        return new FlightResultPage(List.copyOf(flights), offers.size(), next);
+    }
+
+    private static String fingerprint(String scope) {
+        return Integer.toHexString(scope.hashCode());
+    }
+
+    /**
+     * Hashes the flights of a result list, in order.
+     * <p>
+     * Equal results fetched again keep their version, so paging carries on
+     * across a cache refresh that returned the same offers.
+     *
+     * @param results the result list the page is cut from
+     * @return a version that changes whenever the list does
+     */
+    private static String resultVersion(List<FlightDTO> results) {
+        int hash = 1;
+        for (FlightDTO flight : results) {
+            hash = 31 * hash + flight.getOfferIndex();
+            hash = 31 * hash + flight.getItineraryIndex();
+            hash = 31 * hash + Objects.hashCode(flight.getFlightNumber());
+            hash = 31 * hash + Objects.hashCode(flight.getDepartureTime());
+            hash = 31 * hash + Objects.hashCode(flight.getArrivalTime());
+            hash = 31 * hash + Objects.hashCode(flight.getPrice());
+            hash = 31 * hash + Boolean.hashCode(flight.isStale());
+        }
+        return Integer.toHexString(hash);
+    }
+
+    private static String encode(int offset, String fingerprint, String version) {
+        String raw = CURSOR_VERSION + ":" + offset + ":" + fingerprint + ":" + version;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeOffset(String cursor, String fingerprint, String version) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            throw new InvalidResultQueryException("Malformed page cursor");
+        }
+        if (parts.length != 4 || !CURSOR_VERSION.equals(parts[0])) {
+            throw new InvalidResultQueryException("Malformed page cursor");
+        }
+        if (!fingerprint.equals(parts[2])) {
+            throw new InvalidResultQueryException("Page cursor does not match this search");
+        }
+        if (!version.equals(parts[3])) {
+            throw new InvalidResultQueryException(
+                    "Search results have changed since this page cursor was issued; request the first page again");
+        }
+        try {
+            int offset = Integer.parseInt(parts[1]);
+            if (offset < 0) {
+                throw new InvalidResultQueryException("Malformed page cursor");
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new InvalidResultQueryException("Malformed page cursor");
+        }
+    }
+
+    /**
+     * Gets the flights on this page.
+     *
+     * @return the segments of the offers on this page, in result order
+     */
+    public List<FlightDTO> getFlights() {
+        return flights;
+    }
+
+    /**
+     * Gets the number of offers across all pages.
+     *
+     * @return the number of offers in the filtered result
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Gets the cursor of the following page.
+     *
+     * @return the cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
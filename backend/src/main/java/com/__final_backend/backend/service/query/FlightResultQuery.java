@@ -0,0 +1,244 @@
+package com.__final_backend.backend.service.query;
+
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.dto.FlightSearchRequestDTO;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sort and filter options applied to a flight search result on the server.
+ * <p>
+ * The options are read from a {@link FlightSearchRequestDTO} and applied to the
+ * full, usually cached, result list of the search. Changing the sort order or a
+ * filter therefore does not call Amadeus again as long as the search itself is
+ * still cached.
+ * <p>
+ * Options apply to whole offers, so a round trip or connection is never split
+ * or returned without some of its segments. The price is the offer price, the
+ * airline filter keeps an offer when any of its segments matches, and the
+ * departure window and the other sort values are read from the first segment
+ * of the outbound itinerary.
+ * <p>
+ * Offers missing the sort value are placed last in either direction, and ties
+ * keep the provider's order so that paging through equal prices is stable.
+ */
+public final class FlightResultQuery {
+
+    /**
+     * Fields search results can be sorted by.
+     */
+    public enum SortKey {
+        /** Ticket price. */
+        PRICE("price", FlightDTO::getPrice),
+        /** Departure time of day. */
+        DEPARTURE_TIME("departureTime", flight -> parseTime(flight.getDepartureTime())),
+        /** Scheduled flight time. */
+        DURATION("duration", FlightDTO::getDurationMinutes),
+        /** Airline name, ignoring case. */
+        AIRLINE("airline", flight -> flight.getAirline() == null
+                ? null : flight.getAirline().toLowerCase(Locale.ROOT));
+
+        private final String parameter;
+        private final Function<FlightDTO, ? extends Comparable<?>> extractor;
+
+        SortKey(String parameter, Function<FlightDTO, ? extends Comparable<?>> extractor) {
+            this.parameter = parameter;
+            this.extractor = extractor;
+        }
+
+        /**
+         * Finds the sort key for a request parameter value.
+         *
+         * @param parameter the value sent by the client, e.g. "departureTime"
+         * @return the matching key
+         * @throws InvalidResultQueryException if no key matches
+         */
+        static SortKey fromParameter(String parameter) {
+            for (SortKey key : values()) {
+                if (key.parameter.equalsIgnoreCase(parameter)) {
+                    return key;
+                }
+            }
+            throw new InvalidResultQueryException("Unknown sort field: " + parameter);
+        }
+    }
+
+    private final SortKey sortKey;
+    private final boolean descending;
+    private final Double maxPrice;
+    private final Set<String> airlines;
+    private final LocalTime departureAfter;
+    private final LocalTime departureBefore;
+
+    private FlightResultQuery(SortKey sortKey, boolean descending, Double maxPrice, Set<String> airlines,
+            LocalTime departureAfter, LocalTime departureBefore) {
+        this.sortKey = sortKey;
+        this.descending = descending;
+        this.maxPrice = maxPrice;
+        this.airlines = airlines;
+        this.departureAfter = departureAfter;
+        this.departureBefore = departureBefore;
+    }
+
+    /**
+     * Reads the sort and filter options of a search request.
+     *
+     * @param request the search request
+     * @return the query; one without options returns results unchanged
+     * @throws InvalidResultQueryException if the sort field or direction is
+     *                                     unknown, or the maximum price is
+     *                                     negative
+     */
+    public static FlightResultQuery from(FlightSearchRequestDTO request) {
+        SortKey sortKey = request.getSortBy() == null || request.getSortBy().isBlank()
+                ? null : SortKey.fromParameter(request.getSortBy().trim());
+
+        String direction = request.getSortDirection();
+        boolean descending;
+        if (direction == null || direction.isBlank() || direction.trim().equalsIgnoreCase("asc")) {
+            descending = false;
+        } else if (direction.trim().equalsIgnoreCase("desc")) {
+            descending = true;
+        } else {
+            throw new InvalidResultQueryException("Unknown sort direction: " + direction);
+        }
+
+        if (request.getMaxPrice() != null && request.getMaxPrice() < 0) {
+            throw new InvalidResultQueryException("Maximum price must not be negative");
+        }
+
+        Set<String> airlines = request.getAirlines() == null ? Set.of() : request.getAirlines().stream()
+                .filter(Objects::nonNull)
+                .map(airline -> airline.trim().toUpperCase(Locale.ROOT))
+                .filter(airline -> !airline.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        return new FlightResultQuery(sortKey, descending, request.getMaxPrice(), airlines,
+                request.getDepartureAfter(), request.getDepartureBefore());
+    }
+
+    /**
+     * Filters and sorts a result list by offer.
+     *
+     * @param flights the full result of the search; not modified
+     * @return a new list with the segments of the matching offers, offer by
+     *         offer in the requested order
+     */
+    public List<FlightDTO> apply(List<FlightDTO> flights) {
+        List<List<FlightDTO>> offers = FlightOfferGrouper.segmentsByOffer(flights);
+        offers.removeIf(offer -> !matches(offer));
+        if (sortKey != null) {
+            offers.sort(comparator());
+        }
+        List<FlightDTO> matching = new ArrayList<>(flights.size());
+        offers.forEach(matching::addAll);
+        return matching;
+    }
+
+    /**
+     * Checks an offer against the filters.
+     *
+     * @param offer the segments of the offer to check
+     * @return true if the offer passes every filter that is set
+     */
+    private boolean matches(List<FlightDTO> offer) {
+        FlightDTO flight = firstOutbound(offer);
+        if (maxPrice != null && (flight.getPrice() == null || flight.getPrice() > maxPrice)) {
+            return false;
+        }
+        if (!airlines.isEmpty() && offer.stream().noneMatch(this::matchesAirline)) {
+            return false;
+        }
+        if (departureAfter != null || departureBefore != null) {
+            LocalTime departure = parseTime(flight.getDepartureTime());
+            if (departure == null) {
+                return false;
+            }
+            if (departureAfter != null && departureBefore != null && departureAfter.isAfter(departureBefore)) {
+                // Window wraps past midnight, e.g. 22:00 to 06:00
+                return !departure.isBefore(departureAfter) || !departure.isAfter(departureBefore);
+            }
+            if (departureAfter != null && departure.isBefore(departureAfter)) {
+                return false;
+            }
+            if (departureBefore != null && departure.isAfter(departureBefore)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matches the airline filter against the airline name or the carrier code
+     * at the start of the flight number.
+     */
+    private boolean matchesAirline(FlightDTO flight) {
+        if (flight.getAirline() != null && airlines.contains(flight.getAirline().toUpperCase(Locale.ROOT))) {
+            return true;
+        }
+        String flightNumber = flight.getFlightNumber();
+        return flightNumber != null && flightNumber.length() >= 2
+                && airlines.contains(flightNumber.substring(0, 2).toUpperCase(Locale.ROOT));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Comparator<List<FlightDTO>> comparator() {
+        Comparator<Comparable> order = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        Function<FlightDTO, Comparable> extractor = (Function) sortKey.extractor;
+        return Comparator.comparing(offer -> extractor.apply(firstOutbound(offer)), Comparator.nullsLast(order));
+    }
+
+    /**
+     * Finds the first segment of the outbound itinerary of an offer.
+     *
+     * @param offer the segments of the offer, in result order
+     * @return the first segment with the lowest itinerary index
+     */
+    private static FlightDTO firstOutbound(List<FlightDTO> offer) {
+        FlightDTO first = offer.get(0);
+        for (FlightDTO flight : offer) {
+            if (flight.getItineraryIndex() < first.getItineraryIndex()) {
+                first = flight;
+            }
+        }
+        return first;
+    }
+
+    private static LocalTime parseTime(String time) {
+        if (time == null || time.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalTime.parse(time);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Describes the options in a canonical form, used to tie page cursors to
+     * the query they were issued for.
+     *
+     * @return a string that is equal for equal queries
+     */
+    @Override
+    public String toString() {
+        return "FlightResultQuery{" +
+                "sortKey=" + sortKey +
+                ", descending=" + descending +
+                ", maxPrice=" + maxPrice +
+                ", airlines=" + airlines.stream().sorted().collect(Collectors.toList()) +
+                ", departureAfter=" + departureAfter +
+                ", departureBefore=" + departureBefore +
+                '}';
+    }
+}
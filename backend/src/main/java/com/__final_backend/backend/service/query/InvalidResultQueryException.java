@@ -0,0 +1,21 @@
+package com.__final_backend.backend.service.query;
+
+/**
+ * Thrown when the sort, filter or paging options of a search are invalid.
+ * <p>
+ * Covers unknown sort fields or directions, out of range page sizes and page
+ * cursors that are malformed, were issued for a different search or were cut
+ * from results that have since changed. The client receives a 400 with the
+ * message.
+ */
+public class InvalidResultQueryException extends RuntimeException {
+
+    /**
+     * Creates the exception with a message.
+     *
+     * @param message description of the invalid option, safe to show to clients
+     */
+    public InvalidResultQueryException(String message) {
+        super(message);
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import com.__final_backend.backend.service.amadeus.AmadeusCallMetrics;
+import com.__final_backend.backend.service.amadeus.AmadeusCallScheduler;
 import com.amadeus.Amadeus;
 import com.amadeus.Params;
 import com.amadeus.exceptions.ResponseException;
@@ -46,6 +48,18 @@ public class AmadeusApiConnectionHelper implements CommandLineRunner {
   @Value("${amadeus.api.secret}")
   private String apiSecret;
 
+  /** Rate limiter shared with the rest of the application's Amadeus calls. */
+  private final AmadeusCallScheduler amadeusCallScheduler;
+
+  /**
+   * Creates the connection check.
+   *
+   * @param amadeusCallScheduler rate limiter the test call is admitted through
+   */
+  public AmadeusApiConnectionHelper(AmadeusCallScheduler amadeusCallScheduler) {
+    this.amadeusCallScheduler = amadeusCallScheduler;
+  }
+
   /**
    * Executes the Amadeus connection check when the application starts.
    * <p>
@@ -99,8 +113,11 @@ public class AmadeusApiConnectionHelper implements CommandLineRunner {
       try {
         // Try to get information about an airline (British Airways) as a simple
         // authenticated API call
-        Airline[] airlines = amadeus.referenceData.airlines.get(
-            Params.with("airlineCodes", "BA"));
+        // The check counts against the same quota as every other call
+        Airline[] airlines = amadeusCallScheduler.execute(
+            AmadeusCallScheduler.Priority.BACKGROUND,
+            AmadeusCallMetrics.Operation.AIRLINES,
+            () -> amadeus.referenceData.airlines.get(Params.with("airlineCodes", "BA")));
 
         // Log the results of the API call
         logger.info("API call successful: {} airlines found", airlines != null ? airlines.length : 0);
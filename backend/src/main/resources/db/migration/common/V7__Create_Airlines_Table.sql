@@ -0,0 +1,8 @@
+-- Persistent airline reference data resolved from the Amadeus Airline Code Lookup API.
+-- Loaded into memory at startup so flight searches never wait on airline name lookups.
+CREATE TABLE airlines (
+    iata_code VARCHAR(3) PRIMARY KEY,
+    common_name VARCHAR(100),
+    business_name VARCHAR(100),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
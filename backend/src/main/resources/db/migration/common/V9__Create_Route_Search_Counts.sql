@@ -0,0 +1,17 @@
+-- Running count of searches per route and day, kept up to date as searches are recorded so
+-- trending routes are read from a few rows per day instead of scanning flight_searches.
+-- The key starts with the day, so a time window is a range scan of the primary key.
+CREATE TABLE route_search_counts (
+    search_day DATE NOT NULL,
+    origin VARCHAR(3) NOT NULL,
+    destination VARCHAR(3) NOT NULL,
+    search_count BIGINT NOT NULL,
+    PRIMARY KEY (search_day, origin, destination)
+);
+
+-- Count the searches recorded before this table existed
+INSERT INTO route_search_counts (search_day, origin, destination, search_count)
+SELECT CAST(search_time AS DATE), origin, destination, COUNT(*)
+FROM flight_searches
+WHERE search_time IS NOT NULL
+GROUP BY CAST(search_time AS DATE), origin, destination;
@@ -0,0 +1,30 @@
+-- Move primary keys from IDENTITY columns to sequences so Hibernate can batch inserts.
+-- With IDENTITY every insert must run on its own to read back the generated key. Each
+-- sequence hands out blocks of 50 ids (pooled-lo): one call reserves ids n to n + 49.
+-- Each sequence starts after the table's highest id. The column default also draws from
+-- the sequence, so plain SQL inserts that omit the id still get one that is never reused.
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM users);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_seq;
+
+CREATE SEQUENCE flight_searches_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE flight_searches_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM flight_searches);
+ALTER TABLE flight_searches ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE flight_searches ALTER COLUMN id SET DEFAULT NEXT VALUE FOR flight_searches_seq;
+
+CREATE SEQUENCE saved_flights_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE saved_flights_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM saved_flights);
+ALTER TABLE saved_flights ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE saved_flights ALTER COLUMN id SET DEFAULT NEXT VALUE FOR saved_flights_seq;
+
+CREATE SEQUENCE booking_records_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE booking_records_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM booking_records);
+ALTER TABLE booking_records ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE booking_records ALTER COLUMN id SET DEFAULT NEXT VALUE FOR booking_records_seq;
+
+CREATE SEQUENCE audit_trail_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE audit_trail_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM audit_trail);
+ALTER TABLE audit_trail ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE audit_trail ALTER COLUMN id SET DEFAULT NEXT VALUE FOR audit_trail_seq;
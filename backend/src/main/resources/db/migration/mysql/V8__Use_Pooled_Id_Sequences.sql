@@ -0,0 +1,27 @@
+-- Move primary keys from AUTO_INCREMENT columns to sequences so Hibernate can batch inserts.
+-- MySQL has no sequences, so Hibernate keeps each one as a single-row table whose next_val
+-- column holds the next unreserved id. Each call reserves a block of 50 ids (pooled-lo):
+-- it reads n and raises next_val to n + 50.
+-- Each sequence starts after the table's highest id. AUTO_INCREMENT is removed, so a plain
+-- SQL insert that omits the id fails instead of taking an id a sequence has reserved; such
+-- inserts must reserve their ids from these tables.
+
+CREATE TABLE users_seq (next_val BIGINT);
+INSERT INTO users_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM users;
+ALTER TABLE users MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE flight_searches_seq (next_val BIGINT);
+INSERT INTO flight_searches_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM flight_searches;
+ALTER TABLE flight_searches MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE saved_flights_seq (next_val BIGINT);
+INSERT INTO saved_flights_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM saved_flights;
+ALTER TABLE saved_flights MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE booking_records_seq (next_val BIGINT);
+INSERT INTO booking_records_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM booking_records;
+ALTER TABLE booking_records MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE audit_trail_seq (next_val BIGINT);
+INSERT INTO audit_trail_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM audit_trail;
+ALTER TABLE audit_trail MODIFY id BIGINT NOT NULL;
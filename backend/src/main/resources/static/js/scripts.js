@@ -22,6 +22,9 @@ document.addEventListener('DOMContentLoaded', () => {
 	// Store search results for save all functionality and sorting
 	let currentSearchResults = [];
 
+	// Set when the current search ended with an error message
+	let searchFailed = false;
+
 	// Track flight IDs that have been successfully saved
 	let savedFlightIds = [];
 
@@ -47,6 +50,48 @@ document.addEventListener('DOMContentLoaded', () => {
 		}
 	});
 
+	/**
+	 * Suggest airports and cities while a location is typed
+	 * Fills the input's datalist from the server-side airport index
+	 */
+	['startingLocation', 'endingLocation'].forEach((id) => {
+		const input = document.getElementById(id);
+		const suggestions = document.getElementById(`${id}Suggestions`);
+		if (!input || !suggestions) return;
+
+		let latestQuery = '';
+		input.addEventListener('input', async () => {
+			const query = input.value.trim();
+			latestQuery = query;
+			if (query.length < 2) {
+				suggestions.innerHTML = '';
+				return;
+			}
+
+			try {
+				const response = await fetch(
+					`/api/airports/suggest?q=${encodeURIComponent(query)}`
+				);
+				// Ignore answers to queries the user has already typed past
+				if (!response.ok || query !== latestQuery) return;
+
+				const airports = await response.json();
+				suggestions.innerHTML = '';
+				airports.forEach((airport) => {
+					const option = document.createElement('option');
+					option.value = airport.code;
+					option.label =
+						airport.type === 'CITY'
+							? `${airport.city} (all airports)`
+							: `${airport.city} - ${airport.name}`;
+					suggestions.appendChild(option);
+				});
+			} catch (error) {
+				console.error('Error fetching airport suggestions:', error);
+			}
+		});
+	});
+
 	/**
 	 * Process flight search form submission using async/await pattern
 	 * Sends search criteria to the backend API and displays results
@@ -62,8 +107,8 @@ document.addEventListener('DOMContentLoaded', () => {
 		const formData = new FormData(flightSearchForm);
 
 		try {
-			// Send flight search request to backend API
-			const response = await fetch('/api/flights/search', {
+			// Stream results so each flight is shown as soon as the server maps it
+			const response = await fetch('/api/flights/search/stream', {
 				method: 'POST',
 				headers: {
 					'Content-Type': 'application/json',
@@ -71,84 +116,155 @@ document.addEventListener('DOMContentLoaded', () => {
 				body: JSON.stringify(Object.fromEntries(formData)),
 			});
 
-			// Reset search button to original state
-			searchButton.innerHTML =
-				'<i class="material-icons align-middle me-1">search</i> Search Flights';
-			searchButton.disabled = false;
+			resultsList.innerHTML = '';
+			currentSearchResults = []; // Store the search results for later use
+			saveAllFlightsBtn.style.display = 'none';
+			searchFailed = false;
 
 			if (!response.ok) {
-				const error = await response.text();
+				// Busy (503) and deadline (504) responses carry an error message
+				const body = await response.json().catch(() => ({}));
+				showSearchError(
+					body.error || 'The flight search failed, please try again later.'
+				);
+				resetSearchButton();
 				return;
 			}
 
-			const flights = await response.json();
-			resultsList.innerHTML = '';
-			currentSearchResults = flights; // Store the search results for later use
+			// The response is newline-delimited JSON: one flight per line
+			const reader = response.body.getReader();
+			const decoder = new TextDecoder();
+			let buffered = '';
+			let done = false;
+			while (!done) {
+				const chunk = await reader.read();
+				done = chunk.done;
+				buffered += decoder.decode(chunk.value || new Uint8Array(), {
+					stream: !done,
+				});
 
-			// Check authentication status to show/hide save options
-			const isAuthenticated = isUserAuthenticated();
-			if (isAuthenticated && flights.length > 0) {
-				saveAllFlightsBtn.style.display = 'inline-block';
-			} else {
-				saveAllFlightsBtn.style.display = 'none';
+				const lines = buffered.split('\n');
+				buffered = done ? '' : lines.pop();
+				lines
+					.filter((line) => line.trim() !== '')
+					.forEach((line) => appendStreamedFlight(JSON.parse(line)));
 			}
 
-			if (flights.length === 0) {
-				// Handle case when no flights are found
-				resultsList.innerHTML =
-					'<li class="list-group-item text-center py-4">No flights found matching your criteria.</li>';
+			resetSearchButton();
+
+			if (currentSearchResults.length === 0) {
+				// Handle case when no flights are found, unless the error is shown
+				if (!searchFailed) {
+					resultsList.innerHTML =
+						'<li class="list-group-item text-center py-4">No flights found matching your criteria.</li>';
+					flightResults.style.display = 'block';
+				}
 			} else {
-				// Create flight result cards for each flight returned
-				flights.forEach((flight, index) => {
-					const listItem = document.createElement('li');
-					listItem.className = 'list-group-item';
-					listItem.innerHTML = `
-						<div class="d-flex justify-content-between align-items-center mb-2">
-							<h5 class="mb-0 text-primary">
-								<i class="material-icons align-middle me-2" style="font-size: 18px;">flight</i>
-								<strong>${flight.airline}</strong> - ${flight.flightNumber}
-							</h5>
-							<span class="badge bg-primary rounded-pill">$${flight.price}</span>
-						</div>
-						<div class="row">
-							<div class="col-md-6">
-								<div class="mb-1"><strong>From:</strong> ${flight.departure}</div>
-								<div><strong>Departure:</strong> ${flight.departureTime}</div>
-							</div>
-							<div class="col-md-6">
-								<div class="mb-1"><strong>To:</strong> ${flight.arrival}</div>
-								<div><strong>Arrival:</strong> ${flight.arrivalTime}</div>
-							</div>
-						</div>
-						<div class="mt-2 text-end">
-							<button class="btn btn-sm btn-outline-primary save-flight-btn" data-index="${index}">
-								<i class="material-icons align-middle" style="font-size: 16px;">favorite_border</i> Save Flight
-							</button>
-						</div>
-					`;
-					resultsList.appendChild(listItem);
-				}); // Add event listeners to individual flight save buttons - CSP compliant
-				attachSaveButtonListeners();
+				// Show save options only once the full result set has arrived
+				if (isUserAuthenticated()) {
+					saveAllFlightsBtn.style.display = 'inline-block';
+				}
 
 				// Check if any flights are already saved and update buttons accordingly
 				if (isUserAuthenticated() && savedFlightIds.length > 0) {
 					updateSaveButtonStates();
 				}
 			}
-
-			// Display the results section
-			flightResults.style.display = 'block';
-
-			// Smoothly scroll to the results section
-			flightResults.scrollIntoView({ behavior: 'smooth' });
 		} catch (error) {
+			console.error('Error searching flights:', error);
+			showSearchError('The flight search failed, please try again later.');
 			// Reset button state
-			searchButton.innerHTML =
-				'<i class="material-icons align-middle me-1">search</i> Search Flights';
-			searchButton.disabled = false;
+			resetSearchButton();
 		}
 	});
 
+	/**
+	 * Restore the search button after a search finishes or fails
+	 */
+	function resetSearchButton() {
+		searchButton.innerHTML =
+			'<i class="material-icons align-middle me-1">search</i> Search Flights';
+		searchButton.disabled = false;
+	}
+
+	/**
+	 * Render one line of a streamed search response
+	 * Flights are appended as they arrive; an error line ends the results early
+	 * @param {Object} item - A flight, or an object with an error message
+	 */
+	function appendStreamedFlight(item) {
+		if (item.error) {
+			console.error('Flight search failed:', item.error);
+			showSearchError(item.error);
+			return;
+		}
+
+		const index = currentSearchResults.length;
+		currentSearchResults.push(item);
+		resultsList.appendChild(createFlightListItem(item, index));
+
+		// Reveal the results section as soon as the first flight arrives
+		if (index === 0) {
+			flightResults.style.display = 'block';
+			flightResults.scrollIntoView({ behavior: 'smooth' });
+		}
+	}
+
+	/**
+	 * Show a failed search in the results list, below any flights already shown
+	 * @param {string} message - The error message to display
+	 */
+	function showSearchError(message) {
+		searchFailed = true;
+		const listItem = document.createElement('li');
+		listItem.className = 'list-group-item text-center text-danger py-4';
+		listItem.textContent = message;
+		resultsList.appendChild(listItem);
+		flightResults.style.display = 'block';
+	}
+
+	/**
+	 * Build the result card for a single flight
+	 * @param {Object} flight - Flight data from the search response
+	 * @param {number} index - Position of the flight in currentSearchResults
+	 * @returns {HTMLElement} List item with a CSP-compliant save button listener
+	 */
+	function createFlightListItem(flight, index) {
+		const listItem = document.createElement('li');
+		listItem.className = 'list-group-item';
+		listItem.innerHTML = `
+			<div class="d-flex justify-content-between align-items-center mb-2">
+				<h5 class="mb-0 text-primary">
+					<i class="material-icons align-middle me-2" style="font-size: 18px;">flight</i>
+					<strong>${flight.airline}</strong> - ${flight.flightNumber}
+				</h5>
+				<span>
+					${flight.stale ? '<span class="badge bg-warning text-dark me-1" title="Live prices are temporarily unavailable">Cached</span>' : ''}
+					<span class="badge bg-primary rounded-pill">$${flight.price}</span>
+				</span>
+			</div>
+			<div class="row">
+				<div class="col-md-6">
+					<div class="mb-1"><strong>From:</strong> ${flight.departure}</div>
+					<div><strong>Departure:</strong> ${flight.departureTime}</div>
+				</div>
+				<div class="col-md-6">
+					<div class="mb-1"><strong>To:</strong> ${flight.arrival}</div>
+					<div><strong>Arrival:</strong> ${flight.arrivalTime}</div>
+				</div>
+			</div>
+			<div class="mt-2 text-end">
+				<button class="btn btn-sm btn-outline-primary save-flight-btn" data-index="${index}">
+					<i class="material-icons align-middle" style="font-size: 16px;">favorite_border</i> Save Flight
+				</button>
+			</div>
+		`;
+		listItem
+			.querySelector('.save-flight-btn')
+			.addEventListener('click', handleSaveFlight);
+		return listItem;
+	}
+
 	/**
 	 * Set up "Save All Flights" button click handler if the button exists
 	 */
@@ -0,0 +1,101 @@
+package com.__final_backend.backend.test.unit.config;
+
+import com.__final_backend.backend.config.AmadeusConfig;
+import com.__final_backend.backend.config.AmadeusStubProperties;
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.service.amadeus.AmadeusHttpTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AmadeusConfig
+ * Tests that the transport refreshes its token on its own scheduler, against
+ * the local Amadeus stub, while the default scheduler is busy with a
+ * long-running scheduled job
+ */
+class AmadeusConfigTest {
+
+  private static final CountDownLatch JOB_RUNNING = new CountDownLatch(1);
+  private static final CountDownLatch RELEASE_JOB = new CountDownLatch(1);
+  private static volatile String jobThread;
+  private static volatile boolean jobFinished;
+
+  private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+      .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class,
+          TaskSchedulingAutoConfiguration.class))
+      .withUserConfiguration(BlockingJobConfig.class, FlightSearchProperties.class, AmadeusStubProperties.class,
+          AmadeusConfig.class)
+      .withPropertyValues(
+          "amadeus.api.key=key",
+          "amadeus.api.secret=secret",
+          "app.amadeus-stub.enabled=true");
+
+  @AfterEach
+  void tearDown() {
+    RELEASE_JOB.countDown();
+  }
+
+  /**
+   * Test that a token refresh still runs while a scheduled job holds the
+   * default scheduler's only thread, and that the default scheduler is kept
+   * for scheduled jobs
+   */
+  @Test
+  void testTokenRefreshRunsWhileDefaultSchedulerIsBusy() {
+    contextRunner.run(context -> {
+      assertNull(context.getStartupFailure());
+      assertTrue(JOB_RUNNING.await(5, TimeUnit.SECONDS), "The scheduled job should have started");
+      AmadeusHttpTransport transport = context.getBean(AmadeusHttpTransport.class);
+      awaitTokenRefreshes(transport, 1L);
+
+      // Ask for another refresh while the job is still blocking
+      transport.start();
+      awaitTokenRefreshes(transport, 2L);
+
+      assertEquals(2L, transport.describe().get("tokenRefreshes"));
+      assertFalse(jobFinished, "The scheduled job should still be blocking");
+      assertFalse(jobThread.startsWith("amadeus-token-"), jobThread);
+      assertNotSame(context.getBean("taskScheduler", TaskScheduler.class),
+          context.getBean("amadeusTokenScheduler", TaskScheduler.class));
+    });
+  }
+
+  private static void awaitTokenRefreshes(AmadeusHttpTransport transport, long expected)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!Long.valueOf(expected).equals(transport.describe().get("tokenRefreshes"))
+        && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * A scheduled job that holds its scheduler thread until the test ends, like
+   * an airline refresh waiting on Amadeus.
+   */
+  @Configuration
+  @EnableScheduling
+  static class BlockingJobConfig {
+
+    @Scheduled(fixedDelay = 60_000)
+    public void block() throws InterruptedException {
+      jobThread = Thread.currentThread().getName();
+      JOB_RUNNING.countDown();
+      RELEASE_JOB.await(10, TimeUnit.SECONDS);
+      jobFinished = true;
+    }
+  }
+}
@@ -0,0 +1,268 @@
+package com.__final_backend.backend.test.unit.controller;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.controller.FlightController;
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.service.AirlineReferenceService;
+import com.__final_backend.backend.service.FareCalendarService;
+import com.__final_backend.backend.service.FlightService;
+import com.__final_backend.backend.service.FlightServiceImpl;
+import com.__final_backend.backend.service.MultiAirportSearchService;
+import com.__final_backend.backend.service.amadeus.AmadeusHttpTransport;
+import com.__final_backend.backend.service.amadeus.HedgedAmadeusCaller;
+import com.__final_backend.backend.service.cache.FlightSearchCache;
+import com.__final_backend.backend.service.db.SearchHistoryRecorder;
+import com.amadeus.Amadeus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the streaming search endpoint of FlightController
+ * Tests the NDJSON content type and framing, error lines when the search
+ * fails, that callers joining a search already in flight still receive a
+ * complete stream, and that one caller's deadline does not fail the search
+ * other callers share
+ */
+class FlightControllerTest {
+
+  private static final String SEARCH_URL = "/api/flights/search";
+  private static final String STREAM_URL = "/api/flights/search/stream";
+  private static final String SEARCH = "{\"startingLocation\":\"JFK\",\"endingLocation\":\"LHR\","
+      + "\"travelDate\":\"2026-12-01\",\"returnDate\":\"2026-12-08\",\"numberOfTravelers\":1,"
+      + "\"tripType\":\"round-trip\"}";
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private final FlightSearchProperties properties = new FlightSearchProperties();
+  private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+  @BeforeEach
+  void setUp() {
+    executor.setCorePoolSize(4);
+    executor.setMaxPoolSize(4);
+    executor.initialize();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Test that the stream is sent as NDJSON with one flight object per line
+   */
+  @Test
+  void testStreamWritesOneFlightPerLine() throws Exception {
+    FlightService flightService = mock(FlightService.class);
+    doAnswer(invocation -> {
+      Consumer<FlightDTO> consumer = invocation.getArgument(6);
+      consumer.accept(flight("BA112", 0));
+      consumer.accept(flight("BA113", 0));
+      return null;
+    }).when(flightService).streamFlights(any(), any(), any(), any(), any(), any(), any());
+
+    MvcResult result = stream(mockMvc(flightService));
+
+    assertTrue(MediaType.parseMediaType(result.getResponse().getContentType())
+        .isCompatibleWith(MediaType.parseMediaType("application/x-ndjson")));
+    List<JsonNode> lines = lines(result);
+    assertEquals(2, lines.size());
+    assertEquals("BA112", lines.get(0).get("flightNumber").asText());
+    assertEquals("BA113", lines.get(1).get("flightNumber").asText());
+  }
+
+  /**
+   * Test that a search failing before any flight is sent ends the stream with
+   * a single error line
+   */
+  @Test
+  void testFailedSearchEndsWithErrorLine() throws Exception {
+    FlightService flightService = mock(FlightService.class);
+    doThrow(new RuntimeException("Error from Amadeus API")).when(flightService)
+        .streamFlights(any(), any(), any(), any(), any(), any(), any());
+
+    List<JsonNode> lines = lines(stream(mockMvc(flightService)));
+
+    assertEquals(1, lines.size());
+    assertEquals("Error searching flights", lines.get(0).get("error").asText());
+  }
+
+  /**
+   * Test that a search failing part way keeps the flights already sent and
+   * adds an error line after them
+   */
+  @Test
+  void testSearchFailingMidStreamAppendsErrorLine() throws Exception {
+    FlightService flightService = mock(FlightService.class);
+    doAnswer(invocation -> {
+      Consumer<FlightDTO> consumer = invocation.getArgument(6);
+      consumer.accept(flight("BA112", 0));
+      throw new RuntimeException("Error mapping offers");
+    }).when(flightService).streamFlights(any(), any(), any(), any(), any(), any(), any());
+
+    List<JsonNode> lines = lines(stream(mockMvc(flightService)));
+
+    assertEquals(2, lines.size());
+    assertEquals("BA112", lines.get(0).get("flightNumber").asText());
+    assertTrue(lines.get(1).has("error"));
+  }
+
+  /**
+   * Test that two identical streams running at once share one Amadeus call
+   * and both receive every flight, the follower as a complete list once the
+   * leader has finished
+   */
+  @Test
+  void testCoalescedFollowerGetsCompleteStream() throws Exception {
+    String body = load("/amadeus/flight-offers-response.json");
+    HedgedAmadeusCaller caller = mock(HedgedAmadeusCaller.class);
+    CountDownLatch release = new CountDownLatch(1);
+    when(caller.execute(any(), any())).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return body;
+    });
+    FlightServiceImpl flightService = new FlightServiceImpl(mock(Amadeus.class), mock(AmadeusHttpTransport.class),
+        mock(AirlineReferenceService.class), new FlightSearchCache(properties), caller, executor, properties);
+    MockMvc mockMvc = mockMvc(flightService);
+
+    ExecutorService clients = Executors.newFixedThreadPool(2);
+    try {
+      Future<MvcResult> first = clients.submit(() -> stream(mockMvc));
+      Future<MvcResult> second = clients.submit(() -> stream(mockMvc));
+      // Both searches are running once both stream tasks hold a thread
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+      while (executor.getActiveCount() < 2 && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      Thread.sleep(100);
+      release.countDown();
+
+      List<JsonNode> firstLines = lines(first.get(5, TimeUnit.SECONDS));
+      List<JsonNode> secondLines = lines(second.get(5, TimeUnit.SECONDS));
+      assertFalse(firstLines.isEmpty());
+      assertEquals(firstLines, secondLines);
+      for (JsonNode line : secondLines) {
+        assertTrue(line.hasNonNull("flightNumber"));
+        assertFalse(line.has("error"));
+      }
+    } finally {
+      clients.shutdownNow();
+    }
+    verify(caller, times(1)).execute(any(), any());
+  }
+
+  /**
+   * Test that a caller reaching its deadline gets a timeout without
+   * interrupting the shared search, so a caller that joined it later, with
+   * time left, still receives the flights
+   */
+  @Test
+  void testDeadlineDoesNotFailCoalescedCallers() throws Exception {
+    properties.getAsync().setDeadline(Duration.ofMillis(400));
+    String body = load("/amadeus/flight-offers-response.json");
+    HedgedAmadeusCaller caller = mock(HedgedAmadeusCaller.class);
+    CountDownLatch release = new CountDownLatch(1);
+    when(caller.execute(any(), any())).thenAnswer(invocation -> {
+      // Throws if the search is interrupted
+      assertTrue(release.await(5, TimeUnit.SECONDS));
+      return body;
+    });
+    FlightServiceImpl flightService = new FlightServiceImpl(mock(Amadeus.class), mock(AmadeusHttpTransport.class),
+        mock(AirlineReferenceService.class), new FlightSearchCache(properties), caller, executor, properties);
+    MockMvc mockMvc = mockMvc(flightService);
+
+    MvcResult first = mockMvc.perform(post(SEARCH_URL).contentType(MediaType.APPLICATION_JSON).content(SEARCH))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    Thread.sleep(250);
+    MvcResult second = mockMvc.perform(post(SEARCH_URL).contentType(MediaType.APPLICATION_JSON).content(SEARCH))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    assertInstanceOf(TimeoutException.class, first.getAsyncResult(2000));
+    release.countDown();
+    mockMvc.perform(asyncDispatch(second)).andExpect(status().isOk());
+    JsonNode flights = objectMapper.readTree(second.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    assertTrue(flights.isArray());
+    assertFalse(flights.isEmpty());
+    verify(caller, times(1)).execute(any(), any());
+  }
+
+  private MockMvc mockMvc(FlightService flightService) {
+    FlightController controller = new FlightController(flightService, mock(FareCalendarService.class),
+        mock(MultiAirportSearchService.class), mock(SearchHistoryRecorder.class), executor, properties,
+        objectMapper);
+    return MockMvcBuilders.standaloneSetup(controller).build();
+  }
+
+  /** Posts the search, waits for the stream to be completed and dispatches the result. */
+  private static MvcResult stream(MockMvc mockMvc) throws Exception {
+    MvcResult result = mockMvc.perform(post(STREAM_URL)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(SEARCH))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    result.getAsyncResult(5000);
+    return mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andReturn();
+  }
+
+  private List<JsonNode> lines(MvcResult result) throws IOException {
+    String content = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    assertTrue(content.isEmpty() || content.endsWith("\n"), "Every line should be terminated");
+    List<JsonNode> lines = new ArrayList<>();
+    for (String line : content.split("\n")) {
+      if (!line.isEmpty()) {
+        lines.add(objectMapper.readTree(line));
+      }
+    }
+    return lines;
+  }
+
+  private static FlightDTO flight(String flightNumber, int offerIndex) {
+    FlightDTO flight = new FlightDTO();
+    flight.setFlightNumber(flightNumber);
+    flight.setDeparture("JFK");
+    flight.setArrival("LHR");
+    flight.setPrice(420.0);
+    flight.setOfferIndex(offerIndex);
+    return flight;
+  }
+
+  private static String load(String resource) throws IOException {
+    try (InputStream in = FlightControllerTest.class.getResourceAsStream(resource)) {
+      assertNotNull(in, "Missing test resource " + resource);
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.__final_backend.backend.test.unit.repository;
+
+import com.__final_backend.backend.entity.FlightSearch;
+import com.__final_backend.backend.repository.FlightSearchRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that entity inserts are sent in JDBC batches
+ * Runs the Flyway migrations against an in-memory database and counts the
+ * statements Hibernate prepares
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class InsertBatchingTest {
+
+  private static final int ROWS = 10_000;
+
+  @Autowired
+  private FlightSearchRepository flightSearchRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  /**
+   * Test inserting 10k flight searches
+   * Verifies that the inserts are batched: one insert statement per batch of
+   * 50 rows and one sequence call per block of 50 ids, instead of one round
+   * trip per row
+   */
+  @Test
+  void testTenThousandInsertsAreBatched() {
+    Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    List<FlightSearch> searches = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      FlightSearch search = new FlightSearch();
+      search.setOrigin("JFK");
+      search.setDestination("LAX");
+      search.setDepartureDate(LocalDate.of(2026, 11, 1).plusDays(i % 90));
+      search.setNumberOfTravelers(1 + i % 4);
+      search.setTripType("one-way");
+      searches.add(search);
+    }
+    long before = flightSearchRepository.count();
+    statistics.clear();
+
+    flightSearchRepository.saveAll(searches);
+    entityManager.flush();
+
+    assertEquals(ROWS, statistics.getEntityInsertCount());
+    // 200 insert batches and 200 sequence calls; without batching there would be over 10k
+    long statements = statistics.getPrepareStatementCount();
+    assertTrue(statements <= 2 * ROWS / 50 + 10, "Expected batched inserts but prepared " + statements
+        + " statements");
+
+    // Ids are handed out in consecutive blocks, so a block of 50 rows has consecutive ids
+    Long first = searches.get(0).getId();
+    assertEquals(first + 49, searches.get(49).getId());
+    assertEquals(ROWS, flightSearchRepository.count() - before);
+  }
+}
@@ -0,0 +1,98 @@
+package com.__final_backend.backend.test.unit.security;
+
+import com.__final_backend.backend.security.JwtAuthenticationFilter;
+import com.__final_backend.backend.security.JwtTokenUtil;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtAuthenticationFilter
+ * Tests that token verification is recorded by outcome, that requests without
+ * a token are not timed and that the chain always continues
+ */
+class JwtAuthenticationFilterTest {
+
+  private final JwtTokenUtil jwtTokenUtil = mock(JwtTokenUtil.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenUtil, registry);
+  private final FilterChain chain = mock(FilterChain.class);
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  /**
+   * Test that a valid token is recorded under the valid outcome and
+   * authenticates the request
+   */
+  @Test
+  void testValidTokenIsTimed() throws Exception {
+    Authentication authentication = new UsernamePasswordAuthenticationToken("user", null, List.of());
+    when(jwtTokenUtil.resolveToken(any())).thenReturn("good");
+    when(jwtTokenUtil.validateToken("good")).thenReturn(true);
+    when(jwtTokenUtil.getAuthentication("good")).thenReturn(authentication);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, chain);
+
+    assertEquals(1, timer("valid").count());
+    assertEquals(0, timer("invalid").count());
+    assertSame(authentication, SecurityContextHolder.getContext().getAuthentication());
+    verify(chain).doFilter(request, response);
+  }
+
+  /**
+   * Test that a rejected token is recorded under the invalid outcome and
+   * leaves the request unauthenticated
+   */
+  @Test
+  void testInvalidTokenIsTimed() throws Exception {
+    when(jwtTokenUtil.resolveToken(any())).thenReturn("bad");
+    when(jwtTokenUtil.validateToken("bad")).thenReturn(false);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, chain);
+
+    assertEquals(0, timer("valid").count());
+    assertEquals(1, timer("invalid").count());
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+    verify(jwtTokenUtil, never()).getAuthentication(any());
+    verify(chain).doFilter(request, response);
+  }
+
+  /**
+   * Test that a request without a token records nothing
+   */
+  @Test
+  void testRequestWithoutTokenIsNotTimed() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, chain);
+
+    assertEquals(0, timer("valid").count());
+    assertEquals(0, timer("invalid").count());
+    verify(chain).doFilter(request, response);
+  }
+
+  private Timer timer(String outcome) {
+    return registry.get(JwtAuthenticationFilter.TIMER_NAME).tag("outcome", outcome).timer();
+  }
+}
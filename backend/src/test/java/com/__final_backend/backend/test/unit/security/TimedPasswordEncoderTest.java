@@ -0,0 +1,94 @@
+package com.__final_backend.backend.test.unit.security;
+
+import com.__final_backend.backend.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TimedPasswordEncoder
+ * Tests that every call is delegated and that encode and matches are each
+ * recorded under their own operation tag
+ */
+class TimedPasswordEncoderTest {
+
+  private final PasswordEncoder delegate = mock(PasswordEncoder.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final TimedPasswordEncoder encoder = new TimedPasswordEncoder(delegate, registry);
+
+  /**
+   * Test that both timers are registered before any password is encoded
+   */
+  @Test
+  void testTimersAreRegistered() {
+    assertEquals(0, timer("encode").count());
+    assertEquals(0, timer("matches").count());
+  }
+
+  /**
+   * Test that encoding is delegated and recorded under the encode operation
+   */
+  @Test
+  void testEncodeIsDelegatedAndTimed() {
+    when(delegate.encode("secret")).thenReturn("hash");
+
+    assertEquals("hash", encoder.encode("secret"));
+
+    verify(delegate).encode("secret");
+    assertEquals(1, timer("encode").count());
+    assertEquals(0, timer("matches").count());
+  }
+
+  /**
+   * Test that both outcomes of matches are delegated and recorded under the
+   * matches operation
+   */
+  @Test
+  void testMatchesIsDelegatedAndTimed() {
+    when(delegate.matches("secret", "hash")).thenReturn(true);
+
+    assertTrue(encoder.matches("secret", "hash"));
+    assertFalse(encoder.matches("wrong", "hash"));
+
+    verify(delegate).matches("secret", "hash");
+    verify(delegate).matches("wrong", "hash");
+    assertEquals(2, timer("matches").count());
+    assertEquals(0, timer("encode").count());
+  }
+
+  /**
+   * Test that a failing delegate call is still recorded and the failure
+   * passed on
+   */
+  @Test
+  void testFailedCallIsTimed() {
+    when(delegate.encode(any())).thenThrow(new IllegalArgumentException("rawPassword cannot be null"));
+
+    assertThrows(IllegalArgumentException.class, () -> encoder.encode("secret"));
+
+    assertEquals(1, timer("encode").count());
+  }
+
+  /**
+   * Test that upgradeEncoding is delegated without being timed
+   */
+  @Test
+  void testUpgradeEncodingIsDelegated() {
+    when(delegate.upgradeEncoding("old")).thenReturn(true);
+
+    assertTrue(encoder.upgradeEncoding("old"));
+    assertFalse(encoder.upgradeEncoding("new"));
+
+    verify(delegate).upgradeEncoding("old");
+    assertEquals(0, timer("encode").count());
+    assertEquals(0, timer("matches").count());
+  }
+
+  private Timer timer(String operation) {
+    return registry.get(TimedPasswordEncoder.TIMER_NAME).tag("operation", operation).timer();
+  }
+}
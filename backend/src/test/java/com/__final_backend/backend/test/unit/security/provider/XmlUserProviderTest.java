@@ -2,6 +2,8 @@ package com.__final_backend.backend.test.unit.security.provider;
 
 import com.__final_backend.backend.entity.User;
 import com.__final_backend.backend.security.provider.XmlUserProvider;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -15,19 +17,22 @@ import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit tests for XmlUserProvider class.
- * Tests XML-based user storage operations through the UserProvider interface.
+ * Tests XML-based user storage operations through the UserProvider interface,
+ * and the timing of file reads and writes.
  */
 public class XmlUserProviderTest {
 
   private XmlUserProvider xmlUserProvider;
 
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
   @TempDir
   Path tempDir;
 
   @BeforeEach
   void setUp() {
     // Create a new provider with a test XML file
-    xmlUserProvider = new XmlUserProvider();
+    xmlUserProvider = new XmlUserProvider(registry);
 
     // Create a temporary XML file for testing
     String xmlFilePath = tempDir.resolve("test-users.xml").toString();
@@ -115,4 +120,32 @@ public class XmlUserProviderTest {
     assertTrue(allUsers.stream().anyMatch(u -> "xmlUser2".equals(u.getUsername())),
         "Should contain second user");
   }
+
+  /**
+   * Test that reading and writing the user file are recorded by the parse
+   * and write timers.
+   */
+  @Test
+  void testFileAccessIsTimed() {
+    // Arrange - A new file is created without parsing it
+    assertEquals(0, timer("parse").count(), "Creating the file should not parse it");
+    assertEquals(0, timer("write").count(), "Creating the file should not be timed as a write");
+    User testUser = new User();
+    testUser.setUsername("timedXmlUser");
+    testUser.setEmail("timed-xml@example.com");
+    testUser.setPasswordHash("xmlHashedPassword");
+    testUser.addRole("USER");
+
+    // Act - Save reads and writes the file, a lookup only reads it
+    xmlUserProvider.save(testUser);
+    xmlUserProvider.findByUsername("timedXmlUser");
+
+    // Assert - Each access is counted once under its operation
+    assertEquals(2, timer("parse").count(), "Save and lookup should each parse the file once");
+    assertEquals(1, timer("write").count(), "Save should write the file once");
+  }
+
+  private Timer timer(String operation) {
+    return registry.get(XmlUserProvider.TIMER_NAME).tag("operation", operation).timer();
+  }
 }
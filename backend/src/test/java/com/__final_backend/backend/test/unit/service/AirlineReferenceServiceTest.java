@@ -0,0 +1,216 @@
+package com.__final_backend.backend.test.unit.service;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.entity.AirlineReference;
+import com.__final_backend.backend.repository.AirlineReferenceRepository;
+import com.__final_backend.backend.service.AirlineReferenceService;
+import com.__final_backend.backend.service.amadeus.AmadeusCallMetrics;
+import com.__final_backend.backend.service.amadeus.AmadeusCallScheduler;
+import com.__final_backend.backend.service.amadeus.AmadeusUnavailableException;
+import com.__final_backend.backend.service.cache.AirlineNameCache;
+import com.__final_backend.backend.service.db.SqlDialect;
+import com.amadeus.Amadeus;
+import com.amadeus.resources.Airline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AirlineReferenceService
+ * Tests that unknown codes are queued and resolved in batches off the search
+ * path, that failed batches are retried with backoff and that stored names
+ * are served without calling Amadeus
+ */
+class AirlineReferenceServiceTest {
+
+  private final AirlineReferenceRepository repository = mock(AirlineReferenceRepository.class);
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final AmadeusCallScheduler scheduler = mock(AmadeusCallScheduler.class);
+  private final FlightSearchProperties properties = new FlightSearchProperties();
+  private AirlineNameCache cache;
+  private AirlineReferenceService service;
+
+  @BeforeEach
+  void setUp() {
+    properties.getAirlines().setBatchSize(2);
+    properties.getAirlines().setResolveInterval(Duration.ofMillis(100));
+    properties.getAirlines().setRetryMaxBackoff(Duration.ofMillis(400));
+    cache = new AirlineNameCache(properties);
+    service = new AirlineReferenceService(repository, jdbcTemplate, mock(Amadeus.class), cache, scheduler,
+        properties, SqlDialect.H2);
+  }
+
+  /**
+   * Test that an unknown code is returned as-is and queued, without calling
+   * Amadeus on the search path
+   */
+  @Test
+  void testUnknownCodeIsQueuedNotFetched() {
+    assertEquals("BA", service.getAirlineName("BA"));
+
+    verifyNoInteractions(scheduler, repository, jdbcTemplate);
+  }
+
+  /**
+   * Test that a missing or blank code is returned as-is and never queued
+   */
+  @Test
+  void testMissingCodeIsNotQueued() {
+    assertNull(service.getAirlineName(null));
+    assertEquals(" ", service.getAirlineName(" "));
+
+    service.resolvePendingCodes();
+    verifyNoInteractions(scheduler, repository, jdbcTemplate);
+  }
+
+  /**
+   * Test that queued codes are looked up together, at most batch-size codes
+   * per Amadeus call
+   */
+  @Test
+  void testQueuedCodesAreSentInBatches() throws Exception {
+    when(scheduler.execute(any(), any(), any())).thenReturn(new Airline[0]);
+    service.getAirlineName("BA");
+    service.getAirlineName("AA");
+    service.getAirlineName("DL");
+
+    service.resolvePendingCodes();
+
+    verify(scheduler, times(2)).execute(eq(AmadeusCallScheduler.Priority.BACKGROUND),
+        eq(AmadeusCallMetrics.Operation.AIRLINES), any());
+    // Amadeus knew none of them, so they are cached as missing and not queued again
+    service.resolvePendingCodes();
+    verify(scheduler, times(2)).execute(any(), any(), any());
+  }
+
+  /**
+   * Test that resolved airlines are cached and written in a single JDBC batch
+   */
+  @Test
+  void testResolvedAirlinesAreCachedAndWrittenInOneBatch() throws Exception {
+    Airline[] airlines = { airline("BA", "British Airways"), airline("AA", "American Airlines") };
+    when(scheduler.execute(any(), any(), any())).thenReturn(airlines);
+    service.getAirlineName("BA");
+    service.getAirlineName("AA");
+
+    service.resolvePendingCodes();
+
+    assertEquals("British Airways", service.getAirlineName("BA"));
+    assertEquals("American Airlines", service.getAirlineName("AA"));
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<AirlineReference>> rows = ArgumentCaptor.forClass(Collection.class);
+    verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), eq(2), any());
+    assertEquals(2, rows.getValue().size());
+    verify(repository, never()).saveAll(any());
+  }
+
+  /**
+   * Test that the codes of a failed batch are not cached and are looked up
+   * again once the resolve interval has passed, not on the very next run
+   */
+  @Test
+  void testFailedBatchIsQueuedAgain() throws Exception {
+    Airline[] airlines = { airline("BA", "British Airways") };
+    when(scheduler.execute(any(), any(), any()))
+        .thenThrow(new AmadeusUnavailableException("Amadeus is unavailable"))
+        .thenReturn(airlines);
+    service.getAirlineName("BA");
+
+    service.resolvePendingCodes();
+    assertNull(cache.get("BA"));
+
+    service.resolvePendingCodes();
+    verify(scheduler, times(1)).execute(any(), any(), any());
+
+    Thread.sleep(150);
+    service.resolvePendingCodes();
+    assertEquals("British Airways", cache.get("BA"));
+    verify(scheduler, times(2)).execute(any(), any(), any());
+  }
+
+  /**
+   * Test that the wait before retrying a failing code doubles with each
+   * failure, while other codes are still looked up right away
+   */
+  @Test
+  void testRetriesBackOffExponentially() throws Exception {
+    when(scheduler.execute(any(), any(), any()))
+        .thenThrow(new AmadeusUnavailableException("Amadeus is unavailable"));
+    service.getAirlineName("BA");
+
+    // First failure: retried after 100ms
+    service.resolvePendingCodes();
+    Thread.sleep(150);
+    service.resolvePendingCodes();
+    verify(scheduler, times(2)).execute(any(), any(), any());
+
+    // Second failure: not retried after 150ms, only after 200ms
+    Thread.sleep(150);
+    service.resolvePendingCodes();
+    verify(scheduler, times(2)).execute(any(), any(), any());
+    Thread.sleep(100);
+    service.resolvePendingCodes();
+    verify(scheduler, times(3)).execute(any(), any(), any());
+
+    // A new code is not held back by another code's backoff
+    service.getAirlineName("AA");
+    service.resolvePendingCodes();
+    verify(scheduler, times(4)).execute(any(), any(), any());
+  }
+
+  /**
+   * Test that names loaded from the table at startup are served without any
+   * Amadeus call
+   */
+  @Test
+  void testPreloadedNamesAreServedWithoutAmadeus() {
+    when(repository.findAll()).thenReturn(List.of(
+        new AirlineReference("BA", "British Airways", null, LocalDateTime.now()),
+        new AirlineReference("XQ", null, "SunExpress", LocalDateTime.now())));
+
+    service.preload();
+
+    assertEquals("British Airways", service.getAirlineName("BA"));
+    assertEquals("SunExpress", service.getAirlineName("XQ"));
+    service.resolvePendingCodes();
+    verifyNoInteractions(scheduler);
+  }
+
+  /**
+   * Test that a queued code whose table row is still fresh is restored from
+   * the table, while a stale row is fetched again
+   */
+  @Test
+  void testFreshTableRowsSkipAmadeus() throws Exception {
+    when(repository.findAllById(any())).thenReturn(List.of(
+        new AirlineReference("BA", "British Airways", null, LocalDateTime.now()),
+        new AirlineReference("AA", "American Airlines", null, LocalDateTime.now().minusDays(30))));
+    Airline[] airlines = { airline("AA", "American Airlines") };
+    when(scheduler.execute(any(), any(), any())).thenReturn(airlines);
+    service.getAirlineName("BA");
+    service.getAirlineName("AA");
+
+    service.resolvePendingCodes();
+
+    assertEquals("British Airways", cache.get("BA"));
+    assertEquals("American Airlines", cache.get("AA"));
+    verify(scheduler, times(1)).execute(any(), any(), any());
+  }
+
+  private static Airline airline(String code, String commonName) {
+    Airline airline = mock(Airline.class);
+    when(airline.getIataCode()).thenReturn(code);
+    when(airline.getCommonName()).thenReturn(commonName);
+    return airline;
+  }
+}
@@ -0,0 +1,191 @@
+package com.__final_backend.backend.test.unit.service;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.dto.FareCalendarEntryDTO;
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.service.FareCalendarService;
+import com.__final_backend.backend.service.FlightService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FareCalendarService
+ * Tests the window cap, the dates that are skipped, the cheapest fare per
+ * day and that failed or slow days are returned as unavailable
+ */
+class FareCalendarServiceTest {
+
+  private static final LocalDate TRAVEL_DATE = LocalDate.now().plusDays(30);
+
+  private final FlightService flightService = mock(FlightService.class);
+  private final FlightSearchProperties properties = new FlightSearchProperties();
+  private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+  @BeforeEach
+  void setUp() {
+    executor.setCorePoolSize(4);
+    executor.setMaxPoolSize(4);
+    executor.initialize();
+    when(flightService.searchFlights(any(), any(), any(), any(), any(), any()))
+        .thenReturn(List.of(flight("BA", 300.0)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Test that a window wider than the configured maximum is capped
+   */
+  @Test
+  void testWindowIsCapped() {
+    properties.getFlexibleDates().setMaxWindowDays(2);
+
+    List<FareCalendarEntryDTO> calendar = service().searchCalendar("JFK", "LHR", TRAVEL_DATE, null, 1,
+        "one-way", 10);
+
+    assertEquals(5, calendar.size());
+    assertEquals(TRAVEL_DATE.minusDays(2), calendar.get(0).getDepartureDate());
+    assertEquals(TRAVEL_DATE.plusDays(2), calendar.get(4).getDepartureDate());
+    verify(flightService, times(5)).searchFlights(any(), any(), any(), any(), any(), any());
+  }
+
+  /**
+   * Test that departure dates before today are not searched
+   */
+  @Test
+  void testPastDatesAreSkipped() {
+    LocalDate today = LocalDate.now();
+
+    List<FareCalendarEntryDTO> calendar = service().searchCalendar("JFK", "LHR", today, null, 1,
+        "one-way", 2);
+
+    assertEquals(List.of(today, today.plusDays(1), today.plusDays(2)),
+        calendar.stream().map(FareCalendarEntryDTO::getDepartureDate).toList());
+    verify(flightService, never()).searchFlights(any(), any(), eq(today.minusDays(1)), any(), any(), any());
+  }
+
+  /**
+   * Test that round-trip combinations returning before the departure date are
+   * not searched, and that entries are ordered by departure and then return
+   * date
+   */
+  @Test
+  void testReturnBeforeDepartureIsSkipped() {
+    LocalDate returnDate = TRAVEL_DATE.plusDays(1);
+
+    List<FareCalendarEntryDTO> calendar = service().searchCalendar("JFK", "LHR", TRAVEL_DATE, returnDate, 1,
+        "round-trip", 1);
+
+    // Three departures times three returns, less the one return before its departure
+    assertEquals(8, calendar.size());
+    for (FareCalendarEntryDTO entry : calendar) {
+      assertFalse(entry.getReturnDate().isBefore(entry.getDepartureDate()), entry.toString());
+    }
+    for (int i = 1; i < calendar.size(); i++) {
+      FareCalendarEntryDTO previous = calendar.get(i - 1);
+      FareCalendarEntryDTO current = calendar.get(i);
+      assertTrue(previous.getDepartureDate().isBefore(current.getDepartureDate())
+          || previous.getReturnDate().isBefore(current.getReturnDate()));
+    }
+    verify(flightService, times(8)).searchFlights(any(), any(), any(), any(), any(), any());
+  }
+
+  /**
+   * Test that a day whose search fails is returned as unavailable while the
+   * other days keep their fares
+   */
+  @Test
+  void testFailedDayIsUnavailable() {
+    when(flightService.searchFlights(any(), any(), eq(TRAVEL_DATE), any(), any(), any()))
+        .thenThrow(new RuntimeException("Error from Amadeus API"));
+
+    List<FareCalendarEntryDTO> calendar = service().searchCalendar("JFK", "LHR", TRAVEL_DATE, null, 1,
+        "one-way", 1);
+
+    assertEquals(List.of(true, false, true), calendar.stream().map(FareCalendarEntryDTO::isAvailable).toList());
+    assertNull(calendar.get(1).getLowestPrice());
+    assertEquals(300.0, calendar.get(0).getLowestPrice());
+  }
+
+  /**
+   * Test that each day reports its cheapest fare with that fare's airline and
+   * the number of flights found, ignoring flights without a price
+   */
+  @Test
+  void testCheapestFarePerDay() {
+    when(flightService.searchFlights(any(), any(), eq(TRAVEL_DATE), any(), any(), any())).thenReturn(List.of(
+        flight("BA", 300.0), flight("AA", 250.0), flight("DL", null), flight("UA", 275.0)));
+
+    List<FareCalendarEntryDTO> calendar = service().searchCalendar("JFK", "LHR", TRAVEL_DATE, null, 1,
+        "one-way", 0);
+
+    assertEquals(1, calendar.size());
+    FareCalendarEntryDTO entry = calendar.get(0);
+    assertTrue(entry.isAvailable());
+    assertEquals(250.0, entry.getLowestPrice());
+    assertEquals("AA", entry.getAirline());
+    assertEquals(4, entry.getFlightCount());
+    assertNull(entry.getReturnDate());
+  }
+
+  /**
+   * Test that a day still running at the day timeout is returned as
+   * unavailable without being interrupted, so a search it shares with other
+   * callers keeps running
+   */
+  @Test
+  void testSlowDayIsNotInterruptedAtTimeout() throws InterruptedException {
+    properties.getFlexibleDates().setDayTimeout(Duration.ofMillis(200));
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch finished = new CountDownLatch(1);
+    AtomicBoolean interrupted = new AtomicBoolean();
+    when(flightService.searchFlights(any(), any(), eq(TRAVEL_DATE), any(), any(), any())).thenAnswer(invocation -> {
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        interrupted.set(true);
+      }
+      finished.countDown();
+      return new ArrayList<FlightDTO>();
+    });
+
+    long start = System.nanoTime();
+    List<FareCalendarEntryDTO> calendar = service().searchCalendar("JFK", "LHR", TRAVEL_DATE, null, 1,
+        "one-way", 1);
+
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+    assertEquals(List.of(true, false, true), calendar.stream().map(FareCalendarEntryDTO::isAvailable).toList());
+    release.countDown();
+    assertTrue(finished.await(2, TimeUnit.SECONDS), "The slow day should run to completion");
+    assertFalse(interrupted.get(), "The slow day should not be interrupted");
+  }
+
+  private FareCalendarService service() {
+    return new FareCalendarService(flightService, executor, properties);
+  }
+
+  private static FlightDTO flight(String airline, Double price) {
+    FlightDTO flight = new FlightDTO();
+    flight.setAirline(airline);
+    flight.setDeparture("JFK");
+    flight.setArrival("LHR");
+    flight.setPrice(price);
+    return flight;
+  }
+}
@@ -0,0 +1,142 @@
+package com.__final_backend.backend.test.unit.service;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.dto.MultiAirportSearchResultDTO;
+import com.__final_backend.backend.service.FlightService;
+import com.__final_backend.backend.service.MultiAirportSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MultiAirportSearchService
+ * Tests that whole offers are ranked across pairs and that pairs running past
+ * the timeout are left out without being interrupted
+ */
+class MultiAirportSearchServiceTest {
+
+  private static final LocalDate TRAVEL_DATE = LocalDate.of(2026, 11, 20);
+  private static final LocalDate RETURN_DATE = LocalDate.of(2026, 11, 27);
+
+  private final FlightService flightService = mock(FlightService.class);
+  private final FlightSearchProperties properties = new FlightSearchProperties();
+  private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+  private MultiAirportSearchService service;
+
+  @BeforeEach
+  void setUp() {
+    executor.setCorePoolSize(4);
+    executor.setMaxPoolSize(4);
+    executor.initialize();
+    service = new MultiAirportSearchService(flightService, executor, properties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Test that the limit counts whole offers, so a round trip is never returned
+   * without its return flight, and that offers from different pairs get
+   * distinct offer indexes in rank order
+   */
+  @Test
+  void testLimitKeepsWholeOffersAcrossPairs() {
+    // JFK-BOS: a round trip at 300 and one at 500; EWR-BOS: a round trip at 250
+    when(flightService.searchFlights(eq("JFK"), eq("BOS"), any(), any(), any(), any())).thenReturn(List.of(
+        segment(0, 0, "JFK", "BOS", 300.0), segment(0, 1, "BOS", "JFK", 300.0),
+        segment(1, 0, "JFK", "BOS", 500.0), segment(1, 1, "BOS", "JFK", 500.0)));
+    when(flightService.searchFlights(eq("EWR"), eq("BOS"), any(), any(), any(), any())).thenReturn(List.of(
+        segment(0, 0, "EWR", "BOS", 250.0), segment(0, 1, "BOS", "EWR", 250.0)));
+
+    MultiAirportSearchResultDTO result = service.search(List.of("JFK", "EWR"), List.of("BOS"),
+        TRAVEL_DATE, RETURN_DATE, 1, "round-trip", 2);
+
+    List<FlightDTO> flights = result.getFlights();
+    assertEquals(4, flights.size());
+    assertEquals("EWR", flights.get(0).getDeparture());
+    assertEquals("BOS", flights.get(1).getDeparture());
+    assertEquals("JFK", flights.get(2).getDeparture());
+    assertEquals("BOS", flights.get(3).getDeparture());
+    assertEquals(List.of(0, 0, 1, 1), flights.stream().map(FlightDTO::getOfferIndex).toList());
+    assertEquals(List.of(0, 1, 0, 1), flights.stream().map(FlightDTO::getItineraryIndex).toList());
+    assertFalse(result.isPartial());
+    assertEquals(2, result.getPairsCompleted());
+  }
+
+  /**
+   * Test that renumbering copies the segments instead of changing the ones the
+   * flight service returned, which may be shared with the cache
+   */
+  @Test
+  void testReturnedSegmentsAreCopies() {
+    FlightDTO cached = segment(3, 0, "JFK", "BOS", 300.0);
+    when(flightService.searchFlights(eq("JFK"), eq("BOS"), any(), any(), any(), any()))
+        .thenReturn(List.of(cached));
+
+    MultiAirportSearchResultDTO result = service.search(List.of("JFK"), List.of("BOS"),
+        TRAVEL_DATE, null, 1, "one-way", null);
+
+    assertEquals(0, result.getFlights().get(0).getOfferIndex());
+    assertEquals(3, cached.getOfferIndex());
+  }
+
+  /**
+   * Test that a pair still running at the pair timeout is left out without
+   * being interrupted, so a search it shares with other callers keeps running
+   */
+  @Test
+  void testSlowPairIsNotInterruptedAtTimeout() throws InterruptedException {
+    properties.getMultiAirport().setPairTimeout(Duration.ofMillis(200));
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch finished = new CountDownLatch(1);
+    AtomicBoolean interrupted = new AtomicBoolean();
+    when(flightService.searchFlights(eq("JFK"), eq("BOS"), any(), any(), any(), any()))
+        .thenReturn(List.of(segment(0, 0, "JFK", "BOS", 300.0)));
+    when(flightService.searchFlights(eq("EWR"), eq("BOS"), any(), any(), any(), any())).thenAnswer(invocation -> {
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        interrupted.set(true);
+      }
+      finished.countDown();
+      return new ArrayList<FlightDTO>();
+    });
+
+    MultiAirportSearchResultDTO result = service.search(List.of("JFK", "EWR"), List.of("BOS"),
+        TRAVEL_DATE, null, 1, "one-way", null);
+
+    assertTrue(result.isPartial());
+    assertEquals(1, result.getPairsCompleted());
+    assertEquals(1, result.getFlights().size());
+    release.countDown();
+    assertTrue(finished.await(2, TimeUnit.SECONDS), "The slow pair should run to completion");
+    assertFalse(interrupted.get(), "The slow pair should not be interrupted");
+  }
+
+  private static FlightDTO segment(int offerIndex, int itineraryIndex, String departure, String arrival,
+      double price) {
+    FlightDTO flight = new FlightDTO();
+    flight.setOfferIndex(offerIndex);
+    flight.setItineraryIndex(itineraryIndex);
+    flight.setDeparture(departure);
+    flight.setArrival(arrival);
+    flight.setPrice(price);
+    return flight;
+  }
+}
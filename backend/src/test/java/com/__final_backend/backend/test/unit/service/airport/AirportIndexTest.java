@@ -0,0 +1,112 @@
+package com.__final_backend.backend.test.unit.service.airport;
+
+import com.__final_backend.backend.dto.AirportDTO;
+import com.__final_backend.backend.service.airport.AirportIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AirportIndex
+ * Tests prefix matching, popularity ranking, exact-code-first ranking and
+ * normalization of queries
+ */
+class AirportIndexTest {
+
+  private AirportIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = AirportIndex.builder(5)
+        .add(airport("JFK", "John F Kennedy International Airport", "New York", "NYC"), 90,
+            "John F Kennedy International Airport", "New York")
+        .add(city("NYC", "New York"), 100, "New York")
+        .add(airport("LGA", "LaGuardia Airport", "New York", "NYC"), 80, "LaGuardia Airport", "New York")
+        .add(airport("JED", "King Abdulaziz International Airport", "Jeddah", "JED"), 70,
+            "King Abdulaziz International Airport", "Jeddah")
+        .add(airport("JFN", "Northeast Ohio Regional Airport", "Jefferson", "JFN"), 1,
+            "Northeast Ohio Regional Airport", "Jefferson")
+        .add(airport("ZRH", "Zürich Airport", "Zürich", "ZRH"), 60, "Zürich Airport", "Zürich")
+        .build();
+  }
+
+  /**
+   * Test that entries sharing a prefix are ranked by popularity
+   */
+  @Test
+  void testPrefixRankedByPopularity() {
+    assertEquals(List.of("JFK", "JED", "JFN"), codes(index.suggest("j", 10)));
+    assertEquals(List.of("NYC", "JFK", "LGA"), codes(index.suggest("new", 10)));
+  }
+
+  /**
+   * Test that an entry whose code equals the query comes first even when
+   * more popular entries share the prefix
+   */
+  @Test
+  void testExactCodeRankedFirst() {
+    AirportIndex withCode = AirportIndex.builder(5)
+        .add(city("NYC", "New York"), 100, "New York")
+        .add(airport("JFK", "John F Kennedy International Airport", "New York", "NYC"), 90, "New York")
+        .add(airport("NEW", "Lakefront Airport", "New Orleans", "MSY"), 1, "Lakefront Airport", "New Orleans")
+        .build();
+
+    assertEquals(List.of("NYC", "JFK", "NEW"), codes(withCode.suggest("ne", 10)));
+    assertEquals(List.of("NEW", "NYC", "JFK"), codes(withCode.suggest("new", 10)));
+    assertEquals(List.of("NEW"), codes(withCode.suggest("NEW", 1)));
+  }
+
+  /**
+   * Test that an exact code is found even when its code is not reachable as
+   * a prefix of the typed text
+   */
+  @Test
+  void testExactCodeWithoutPrefixMatch() {
+    AirportIndex codeOnly = AirportIndex.builder(5)
+        .add(airport("AAA", "Anaa Airport", "Anaa", "AAA"), 1)
+        .build();
+    assertEquals(List.of("AAA"), codes(codeOnly.suggest("aaa", 5)));
+    assertTrue(codeOnly.suggest("aab", 5).isEmpty());
+  }
+
+  /**
+   * Test that words inside a name are searchable and that case, accents and
+   * punctuation are ignored
+   */
+  @Test
+  void testNormalizedWordMatching() {
+    assertEquals(List.of("JFK"), codes(index.suggest("Kennedy", 10)));
+    assertEquals(List.of("ZRH"), codes(index.suggest("ZURICH", 10)));
+    assertEquals(List.of("JFK"), codes(index.suggest("  f.  kennedy", 10)));
+  }
+
+  /**
+   * Test that the limit and the index-wide maximum both cap the result, and
+   * that blank or unmatched queries return nothing
+   */
+  @Test
+  void testLimitsAndEmptyQueries() {
+    assertEquals(2, index.suggest("j", 2).size());
+    assertEquals(3, index.suggest("new york", 50).size());
+    assertTrue(index.suggest("", 5).isEmpty());
+    assertTrue(index.suggest(null, 5).isEmpty());
+    assertTrue(index.suggest("j", 0).isEmpty());
+    assertTrue(index.suggest("qqq", 5).isEmpty());
+    assertEquals(6, index.size());
+  }
+
+  private static List<String> codes(List<AirportDTO> entries) {
+    return entries.stream().map(AirportDTO::getCode).toList();
+  }
+
+  private static AirportDTO airport(String code, String name, String city, String cityCode) {
+    return new AirportDTO(code, name, city, cityCode, "US", AirportDTO.TYPE_AIRPORT);
+  }
+
+  private static AirportDTO city(String code, String city) {
+    return new AirportDTO(code, city, city, code, "US", AirportDTO.TYPE_CITY);
+  }
+}
@@ -0,0 +1,177 @@
+package com.__final_backend.backend.test.unit.service.amadeus;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.service.amadeus.AmadeusCallMetrics;
+import com.__final_backend.backend.service.amadeus.AmadeusCallScheduler;
+import com.__final_backend.backend.service.amadeus.AmadeusCallScheduler.Priority;
+import com.__final_backend.backend.service.amadeus.AmadeusCircuitBreaker;
+import com.__final_backend.backend.service.amadeus.AmadeusHttpException;
+import com.__final_backend.backend.service.amadeus.AmadeusUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AmadeusCallScheduler
+ * Tests the token bucket, lane priority, 429 handling, outage reporting and
+ * cancelled calls
+ */
+class AmadeusCallSchedulerTest {
+
+  private static final AmadeusCallMetrics.Operation SEARCH = AmadeusCallMetrics.Operation.FLIGHT_OFFERS;
+
+  private final FlightSearchProperties properties = new FlightSearchProperties();
+  private AmadeusCircuitBreaker circuitBreaker;
+
+  @BeforeEach
+  void setUp() {
+    properties.getRateLimit().setPermitsPerSecond(1);
+    properties.getRateLimit().setBurst(3);
+    properties.getRateLimit().setInteractiveMaxWait(Duration.ofMillis(100));
+    properties.getRateLimit().setBackgroundMaxWait(Duration.ofMillis(100));
+    properties.getCircuitBreaker().setFailureThreshold(5);
+    circuitBreaker = new AmadeusCircuitBreaker(properties);
+  }
+
+  /**
+   * Test that calls beyond the burst are rejected at once when the wait for a
+   * token would exceed the lane's maximum
+   */
+  @Test
+  void testCallsBeyondBurstAreRejected() throws Exception {
+    AmadeusCallScheduler scheduler = scheduler();
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals("ok", scheduler.execute(Priority.INTERACTIVE, SEARCH, () -> "ok"));
+    }
+    long start = System.nanoTime();
+    assertThrows(RejectedExecutionException.class, () -> scheduler.execute(Priority.INTERACTIVE, SEARCH, () -> "ok"));
+    assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100),
+        "A call that cannot be served in time should be rejected without waiting");
+    assertEquals(1L, lane(scheduler, "interactive").get("rejected"));
+  }
+
+  /**
+   * Test that a 429 response drains the bucket, so the next call is rejected
+   * even though tokens were left before it
+   */
+  @Test
+  void testRateLimitedResponseDrainsBucket() throws Exception {
+    AmadeusCallScheduler scheduler = scheduler();
+
+    AmadeusHttpException tooManyRequests = assertThrows(AmadeusHttpException.class,
+        () -> scheduler.execute(Priority.INTERACTIVE, SEARCH, () -> {
+          throw new AmadeusHttpException(429, "Too Many Requests", null);
+        }));
+    assertEquals(429, tooManyRequests.getStatusCode());
+
+    assertEquals(0.0, scheduler.describe().get("availableTokens"));
+    assertThrows(RejectedExecutionException.class, () -> scheduler.execute(Priority.INTERACTIVE, SEARCH, () -> "ok"));
+    // Rate limiting means Amadeus is up, so the breaker stays closed
+    assertEquals(AmadeusCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+  }
+
+  /**
+   * Test that a waiting interactive call takes the next token before a
+   * background call that started waiting earlier
+   */
+  @Test
+  void testInteractiveCallsGoFirst() throws Exception {
+    properties.getRateLimit().setPermitsPerSecond(5);
+    properties.getRateLimit().setBurst(1);
+    properties.getRateLimit().setInteractiveMaxWait(Duration.ofSeconds(2));
+    properties.getRateLimit().setBackgroundMaxWait(Duration.ofSeconds(2));
+    AmadeusCallScheduler scheduler = scheduler();
+    scheduler.execute(Priority.INTERACTIVE, SEARCH, () -> "drain");
+    List<Priority> order = new CopyOnWriteArrayList<>();
+
+    Thread background = new Thread(() -> run(scheduler, Priority.BACKGROUND, order));
+    background.start();
+    awaitWaiting(scheduler, "background");
+    Thread interactive = new Thread(() -> run(scheduler, Priority.INTERACTIVE, order));
+    interactive.start();
+    background.join(5000);
+    interactive.join(5000);
+
+    assertEquals(List.of(Priority.INTERACTIVE, Priority.BACKGROUND), order);
+  }
+
+  /**
+   * Test that server errors are reported to the breaker and surfaced as
+   * AmadeusUnavailableException, and that an open breaker refuses calls
+   * without running them
+   */
+  @Test
+  void testOutagesOpenCircuit() {
+    properties.getCircuitBreaker().setFailureThreshold(2);
+    circuitBreaker = new AmadeusCircuitBreaker(properties);
+    AmadeusCallScheduler scheduler = scheduler();
+
+    for (int i = 0; i < 2; i++) {
+      assertThrows(AmadeusUnavailableException.class, () -> scheduler.execute(Priority.INTERACTIVE, SEARCH, () -> {
+        throw new AmadeusHttpException(503, "Service Unavailable", null);
+      }));
+    }
+
+    assertEquals(AmadeusCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    assertThrows(AmadeusUnavailableException.class, () -> scheduler.execute(Priority.INTERACTIVE, SEARCH, () -> {
+      fail("The call should not run while the circuit is open");
+      return null;
+    }));
+  }
+
+  /**
+   * Test that a call failing because its caller cancelled it is not counted
+   * as an outage
+   */
+  @Test
+  void testCancelledCallsDoNotOpenCircuit() {
+    properties.getCircuitBreaker().setFailureThreshold(1);
+    circuitBreaker = new AmadeusCircuitBreaker(properties);
+    AmadeusCallScheduler scheduler = scheduler();
+
+    try {
+      assertThrows(AmadeusHttpException.class, () -> scheduler.execute(Priority.INTERACTIVE, SEARCH, () -> {
+        Thread.currentThread().interrupt();
+        throw new AmadeusHttpException(0, "Interrupted waiting for Amadeus", null);
+      }));
+    } finally {
+      Thread.interrupted();
+    }
+
+    assertEquals(AmadeusCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+  }
+
+  private AmadeusCallScheduler scheduler() {
+    return new AmadeusCallScheduler(properties, circuitBreaker, new AmadeusCallMetrics(new SimpleMeterRegistry()));
+  }
+
+  private static void run(AmadeusCallScheduler scheduler, Priority priority, List<Priority> order) {
+    try {
+      scheduler.execute(priority, SEARCH, () -> order.add(priority));
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void awaitWaiting(AmadeusCallScheduler scheduler, String lane) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (!Integer.valueOf(1).equals(lane(scheduler, lane).get("waiting")) && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> lane(AmadeusCallScheduler scheduler, String lane) {
+    return (Map<String, Object>) scheduler.describe().get(lane);
+  }
+}
@@ -0,0 +1,118 @@
+package com.__final_backend.backend.test.unit.service.amadeus;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.service.amadeus.AmadeusCircuitBreaker;
+import com.__final_backend.backend.service.amadeus.AmadeusCircuitBreaker.Permit;
+import com.__final_backend.backend.service.amadeus.AmadeusCircuitBreaker.State;
+import com.__final_backend.backend.service.amadeus.AmadeusUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AmadeusCircuitBreaker
+ * Tests the state transitions and that only one half-open probe runs at a time
+ */
+class AmadeusCircuitBreakerTest {
+
+  private static final Duration OPEN_DURATION = Duration.ofMillis(50);
+
+  private AmadeusCircuitBreaker breaker;
+
+  @BeforeEach
+  void setUp() {
+    FlightSearchProperties properties = new FlightSearchProperties();
+    properties.getCircuitBreaker().setFailureThreshold(3);
+    properties.getCircuitBreaker().setOpenDuration(OPEN_DURATION);
+    breaker = new AmadeusCircuitBreaker(properties);
+  }
+
+  /**
+   * Test the full cycle: consecutive failures open the circuit, it becomes
+   * half-open after the open duration, and a successful probe closes it
+   */
+  @Test
+  void testClosedOpenHalfOpenClosed() throws InterruptedException {
+    breaker.onFailure(breaker.acquirePermission());
+    breaker.onFailure(breaker.acquirePermission());
+    assertEquals(State.CLOSED, breaker.getState());
+
+    breaker.onFailure(breaker.acquirePermission());
+    assertEquals(State.OPEN, breaker.getState());
+    assertThrows(AmadeusUnavailableException.class, breaker::acquirePermission);
+
+    Thread.sleep(OPEN_DURATION.toMillis() * 2);
+    Permit probe = breaker.acquirePermission();
+    assertTrue(probe.isProbe());
+    assertEquals(State.HALF_OPEN, breaker.getState());
+
+    breaker.onSuccess(probe);
+    assertEquals(State.CLOSED, breaker.getState());
+    assertFalse(breaker.acquirePermission().isProbe());
+  }
+
+  /**
+   * Test that a success in between resets the consecutive failure count
+   */
+  @Test
+  void testSuccessResetsFailureCount() {
+    breaker.onFailure(breaker.acquirePermission());
+    breaker.onFailure(breaker.acquirePermission());
+    breaker.onSuccess(breaker.acquirePermission());
+    breaker.onFailure(breaker.acquirePermission());
+    breaker.onFailure(breaker.acquirePermission());
+
+    assertEquals(State.CLOSED, breaker.getState());
+  }
+
+  /**
+   * Test that a failed probe opens the circuit again
+   */
+  @Test
+  void testFailedProbeReopens() throws InterruptedException {
+    open();
+    Thread.sleep(OPEN_DURATION.toMillis() * 2);
+
+    breaker.onFailure(breaker.acquirePermission());
+
+    assertEquals(State.OPEN, breaker.getState());
+    assertEquals(2L, breaker.describe().get("timesOpened"));
+  }
+
+  /**
+   * Test that only one probe is admitted while half-open, and that a call
+   * admitted before the circuit opened cannot end the probe or let a second
+   * one in when it finishes
+   */
+  @Test
+  void testSingleProbeWhileHalfOpen() throws InterruptedException {
+    Permit early = breaker.acquirePermission();
+    Permit earlier = breaker.acquirePermission();
+    open();
+    Thread.sleep(OPEN_DURATION.toMillis() * 2);
+
+    Permit probe = breaker.acquirePermission();
+    assertTrue(probe.isProbe());
+    assertThrows(AmadeusUnavailableException.class, breaker::acquirePermission);
+
+    // Calls from before the outage finish while the probe is still running
+    breaker.release(early);
+    breaker.onFailure(earlier);
+    assertEquals(State.HALF_OPEN, breaker.getState());
+    assertThrows(AmadeusUnavailableException.class, breaker::acquirePermission);
+
+    // The probe giving back its permit lets the next caller probe
+    breaker.release(probe);
+    assertTrue(breaker.acquirePermission().isProbe());
+  }
+
+  private void open() {
+    for (int i = 0; i < 3; i++) {
+      breaker.onFailure(breaker.acquirePermission());
+    }
+    assertEquals(State.OPEN, breaker.getState());
+  }
+}
@@ -0,0 +1,252 @@
+package com.__final_backend.backend.test.unit.service.amadeus;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.service.amadeus.AmadeusHttpException;
+import com.__final_backend.backend.service.amadeus.AmadeusHttpTransport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AmadeusHttpTransport
+ * Tests token fetching and reuse, the retry after a rejected token, gzip
+ * responses and the status codes of the exceptions thrown, against a local
+ * HTTP server
+ */
+class AmadeusHttpTransportTest {
+
+  private static final String OFFERS_PATH = "/v2/shopping/flight-offers";
+  private static final String BODY = "{\"data\":[]}";
+
+  private HttpServer server;
+  private final AtomicInteger tokensIssued = new AtomicInteger();
+  private final Set<String> rejectedTokens = ConcurrentHashMap.newKeySet();
+  private final List<String> authorizations = new CopyOnWriteArrayList<>();
+  private final List<String> queries = new CopyOnWriteArrayList<>();
+  private volatile int tokenStatus = 200;
+  private volatile int offersStatus = 200;
+  private volatile String acceptEncoding;
+
+  private final FlightSearchProperties properties = new FlightSearchProperties();
+  private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/v1/security/oauth2/token", exchange -> {
+      String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+      if (tokenStatus != 200 || !form.contains("client_id=key") || !form.contains("client_secret=s%26cret")) {
+        respond(exchange, tokenStatus == 200 ? 401 : tokenStatus, "{\"error\":\"invalid_client\"}", false);
+        return;
+      }
+      respond(exchange, 200, "{\"access_token\":\"token-" + tokensIssued.incrementAndGet()
+          + "\",\"expires_in\":1799}", false);
+    });
+    server.createContext(OFFERS_PATH, exchange -> {
+      String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+      authorizations.add(authorization);
+      queries.add(exchange.getRequestURI().getRawQuery());
+      acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+      if (rejectedTokens.contains(authorization.substring("Bearer ".length()))) {
+        respond(exchange, 401, "{\"errors\":[{\"code\":38192}]}", false);
+        return;
+      }
+      respond(exchange, offersStatus, offersStatus == 200 ? BODY : "{\"errors\":[{\"status\":" + offersStatus + "}]}",
+          "gzip".equals(acceptEncoding));
+    });
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  /**
+   * Test that the first call fetches a token, later calls reuse it, and the
+   * query parameters are encoded
+   */
+  @Test
+  void testTokenFetchedOnceAndReused() {
+    AmadeusHttpTransport transport = transport();
+    Map<String, String> params = new LinkedHashMap<>();
+    params.put("originLocationCode", "JFK");
+    params.put("departureDate", "2026-12-01");
+    params.put("note", "a b&c");
+
+    assertEquals(BODY, transport.get(OFFERS_PATH, params));
+    assertEquals(BODY, transport.get(OFFERS_PATH, Map.of()));
+
+    assertEquals(1, tokensIssued.get());
+    assertEquals(List.of("Bearer token-1", "Bearer token-1"), authorizations);
+    assertEquals("originLocationCode=JFK&departureDate=2026-12-01&note=a+b%26c", queries.get(0));
+    assertNull(queries.get(1));
+    assertEquals(1L, transport.describe().get("blockingTokenFetches"));
+    assertEquals(2L, transport.describe().get("requests"));
+    // The fetched token schedules its own refresh
+    verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+  }
+
+  /**
+   * Test that a token fetched in the background at startup is used without
+   * the caller waiting for the token endpoint
+   */
+  @Test
+  void testStartFetchesTokenInBackground() {
+    AmadeusHttpTransport transport = transport();
+    transport.start();
+    ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+    verify(taskScheduler).schedule(refresh.capture(), any(Instant.class));
+    refresh.getValue().run();
+
+    assertEquals(BODY, transport.get(OFFERS_PATH, Map.of()));
+
+    assertEquals(1, tokensIssued.get());
+    assertEquals(0L, transport.describe().get("blockingTokenFetches"));
+    assertEquals(1L, transport.describe().get("tokenRefreshes"));
+    assertNotNull(transport.describe().get("tokenValidForSeconds"));
+  }
+
+  /**
+   * Test that a call rejected with 401 is retried once with a new token
+   */
+  @Test
+  void testRejectedTokenRetriedWithNewToken() {
+    AmadeusHttpTransport transport = transport();
+    transport.get(OFFERS_PATH, Map.of());
+    rejectedTokens.add("token-1");
+
+    assertEquals(BODY, transport.get(OFFERS_PATH, Map.of()));
+
+    assertEquals(2, tokensIssued.get());
+    assertEquals(List.of("Bearer token-1", "Bearer token-1", "Bearer token-2"), authorizations);
+  }
+
+  /**
+   * Test that a 401 on the retry is thrown rather than retried again
+   */
+  @Test
+  void testRepeatedRejectionThrows() {
+    AmadeusHttpTransport transport = transport();
+    rejectedTokens.addAll(List.of("token-1", "token-2", "token-3"));
+
+    AmadeusHttpException e = assertThrows(AmadeusHttpException.class,
+        () -> transport.get(OFFERS_PATH, Map.of()));
+
+    assertEquals(401, e.getStatusCode());
+    assertEquals(2, tokensIssued.get());
+  }
+
+  /**
+   * Test that gzip responses are requested and inflated, and that plain
+   * responses are requested when gzip is disabled
+   */
+  @Test
+  void testGzipResponsesInflated() {
+    AmadeusHttpTransport transport = transport();
+    assertEquals(BODY, transport.get(OFFERS_PATH, Map.of()));
+    assertEquals("gzip", acceptEncoding);
+    assertEquals(1L, transport.describe().get("gzipResponses"));
+
+    properties.getTransport().setGzip(false);
+    AmadeusHttpTransport plain = transport();
+    assertEquals(BODY, plain.get(OFFERS_PATH, Map.of()));
+    assertNull(acceptEncoding);
+    assertEquals(0L, plain.describe().get("gzipResponses"));
+  }
+
+  /**
+   * Test that error responses are thrown with their status and body
+   */
+  @Test
+  void testErrorStatusThrown() {
+    AmadeusHttpTransport transport = transport();
+    offersStatus = 429;
+
+    AmadeusHttpException e = assertThrows(AmadeusHttpException.class,
+        () -> transport.get(OFFERS_PATH, Map.of()));
+
+    assertEquals(429, e.getStatusCode());
+    assertTrue(e.getMessage().contains("\"status\":429"), e.getMessage());
+  }
+
+  /**
+   * Test that a failed token request is thrown with its status
+   */
+  @Test
+  void testTokenFailureThrown() {
+    tokenStatus = 503;
+
+    AmadeusHttpException e = assertThrows(AmadeusHttpException.class,
+        () -> transport().get(OFFERS_PATH, Map.of()));
+
+    assertEquals(503, e.getStatusCode());
+    assertTrue(authorizations.isEmpty());
+  }
+
+  /**
+   * Test that a call to an unreachable host is thrown with status 0
+   */
+  @Test
+  void testConnectionFailureHasNoStatus() throws IOException {
+    int closedPort;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      closedPort = socket.getLocalPort();
+    }
+    AmadeusHttpTransport transport = new AmadeusHttpTransport(URI.create("http://127.0.0.1:" + closedPort),
+        "key", "s&cret", properties, taskScheduler);
+
+    AmadeusHttpException e = assertThrows(AmadeusHttpException.class,
+        () -> transport.get(OFFERS_PATH, Map.of()));
+
+    assertEquals(0, e.getStatusCode());
+    assertInstanceOf(IOException.class, e.getCause());
+  }
+
+  private AmadeusHttpTransport transport() {
+    URI baseUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    return new AmadeusHttpTransport(baseUri, "key", "s&cret", properties, taskScheduler);
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body, boolean gzip) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    if (gzip) {
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+      try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+        out.write(bytes);
+      }
+      bytes = compressed.toByteArray();
+      exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+    }
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
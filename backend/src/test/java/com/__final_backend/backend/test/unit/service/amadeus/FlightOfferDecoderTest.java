@@ -0,0 +1,112 @@
+package com.__final_backend.backend.test.unit.service.amadeus;
+
+import com.__final_backend.backend.service.amadeus.FlightOfferDecoder;
+import com.__final_backend.backend.service.amadeus.FlightOfferDecoder.DecodedOffers;
+import com.__final_backend.backend.service.amadeus.FlightOfferDecoder.Segment;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightOfferDecoder
+ * Decodes a captured Flight Offers Search response and checks every segment
+ * against the same fields read from the fully parsed JSON tree, which is what
+ * the SDK binding used to provide
+ */
+class FlightOfferDecoderTest {
+
+  /** A captured round-trip response with skipped sections and unusual values. */
+  static final String RESPONSE = "/amadeus/flight-offers-response.json";
+
+  /**
+   * Test that every segment field and offer price matches the parsed tree
+   */
+  @Test
+  void testSegmentsMatchParsedResponse() throws IOException {
+    String body = load(RESPONSE);
+    JsonObject tree = JsonParser.parseString(body).getAsJsonObject();
+
+    DecodedOffers decoded = FlightOfferDecoder.decode(body);
+
+    JsonArray offers = tree.getAsJsonArray("data");
+    assertEquals(offers.size(), decoded.getOfferCount());
+    List<Segment> segments = decoded.getSegments();
+    int next = 0;
+    for (int offerIndex = 0; offerIndex < offers.size(); offerIndex++) {
+      JsonObject offer = offers.get(offerIndex).getAsJsonObject();
+      double price = Double.parseDouble(offer.getAsJsonObject("price").get("total").getAsString());
+      JsonArray itineraries = offer.getAsJsonArray("itineraries");
+      for (int itineraryIndex = 0; itineraryIndex < itineraries.size(); itineraryIndex++) {
+        for (JsonElement element : itineraries.get(itineraryIndex).getAsJsonObject().getAsJsonArray("segments")) {
+          JsonObject expected = element.getAsJsonObject();
+          Segment segment = segments.get(next++);
+          String where = "segment " + expected.get("id").getAsString();
+          assertEquals(offerIndex, segment.getOfferIndex(), where);
+          assertEquals(itineraryIndex, segment.getItineraryIndex(), where);
+          assertEquals(expected.get("carrierCode").getAsString(), segment.getCarrierCode(), where);
+          assertEquals(expected.get("number").getAsString(), segment.getNumber(), where);
+          assertEquals(endpoint(expected, "departure", "iataCode"), segment.getDepartureIataCode(), where);
+          assertEquals(endpoint(expected, "departure", "at"), segment.getDepartureAt(), where);
+          assertEquals(endpoint(expected, "arrival", "iataCode"), segment.getArrivalIataCode(), where);
+          assertEquals(endpoint(expected, "arrival", "at"), segment.getArrivalAt(), where);
+          assertEquals(expected.has("aircraft") ? endpoint(expected, "aircraft", "code") : null,
+              segment.getAircraftCode(), where);
+          assertEquals(expected.get("duration").getAsString(), segment.getDuration(), where);
+          assertEquals(price, segment.getPrice(), where);
+        }
+      }
+    }
+    assertEquals(6, next);
+    assertEquals(next, segments.size());
+  }
+
+  /**
+   * Test that the dictionaries are read, including city codes nested in the
+   * location entries
+   */
+  @Test
+  void testDictionaries() throws IOException {
+    DecodedOffers decoded = FlightOfferDecoder.decode(load(RESPONSE));
+
+    assertEquals("BRITISH AIRWAYS", decoded.getDictionaries().getCarrierName("BA"));
+    assertNull(decoded.getDictionaries().getCarrierName("ZZ"));
+    assertEquals("BOEING 787-9", decoded.getDictionaries().getAircraftName("789"));
+    assertEquals("NYC", decoded.getDictionaries().getCityCode("EWR"));
+  }
+
+  /**
+   * Test that empty bodies decode to nothing and malformed ones are rejected
+   */
+  @Test
+  void testEmptyAndMalformedBodies() {
+    assertTrue(FlightOfferDecoder.decode((String) null).getSegments().isEmpty());
+    assertEquals(0, FlightOfferDecoder.decode("").getOfferCount());
+    assertEquals(0, FlightOfferDecoder.decode("{\"data\":[]}").getOfferCount());
+
+    assertThrows(IllegalStateException.class, () -> FlightOfferDecoder.decode("{\"data\":[{\"itineraries\":"));
+    assertThrows(IllegalStateException.class, () -> FlightOfferDecoder.decode("[]"));
+    assertThrows(IllegalStateException.class,
+        () -> FlightOfferDecoder.decode("{\"data\":[{\"price\":{\"total\":\"abc\"}}]}"));
+  }
+
+  private static String endpoint(JsonObject segment, String name, String field) {
+    JsonElement value = segment.getAsJsonObject(name).get(field);
+    return value == null ? null : value.getAsString();
+  }
+
+  static String load(String resource) throws IOException {
+    try (InputStream in = FlightOfferDecoderTest.class.getResourceAsStream(resource)) {
+      assertNotNull(in, "Missing test resource " + resource);
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package com.__final_backend.backend.test.unit.service.amadeus;
+
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.service.amadeus.FlightOfferDecoder;
+import com.__final_backend.backend.service.amadeus.FlightOfferMapper;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightOfferMapper
+ * Checks the mapped flights of a captured response against the mapping used
+ * before the fast paths were added, and the time and duration fast paths
+ * against the general parsers they replace
+ */
+class FlightOfferMapperTest {
+
+  private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+  /**
+   * Test that decoding and mapping a captured response gives the same flights
+   * as the previous mapping of the fully parsed response
+   */
+  @Test
+  void testMappingMatchesPreviousMapping() throws IOException {
+    String body = FlightOfferDecoderTest.load(FlightOfferDecoderTest.RESPONSE);
+    List<String> fallbackCodes = new ArrayList<>();
+    List<FlightDTO> mapped = new ArrayList<>();
+
+    FlightOfferMapper.map(FlightOfferDecoder.decode(body), code -> {
+      fallbackCodes.add(code);
+      return code;
+    }, mapped::add);
+
+    List<FlightDTO> expected = previousMapping(JsonParser.parseString(body).getAsJsonObject());
+    assertEquals(expected.size(), mapped.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).toString(), mapped.get(i).toString(), "flight " + i);
+    }
+    // Only the carrier missing from the dictionaries needs the fallback
+    assertEquals(List.of("ZZ"), fallbackCodes);
+    assertEquals("BRITISH AIRWAYS", mapped.get(1).getAirline());
+    assertEquals("ZZ", mapped.get(3).getAirline());
+    assertNull(mapped.get(3).getAircraft());
+    assertEquals("LON", mapped.get(3).getArrivalCity());
+  }
+
+  /**
+   * Test that a segment without a carrier code gets no airline and a flight
+   * number of just its number, without asking the fallback
+   */
+  @Test
+  void testSegmentWithoutCarrier() {
+    String body = "{\"data\": [{\"itineraries\": [{\"segments\": [{"
+        + "\"departure\": {\"iataCode\": \"JFK\", \"at\": \"2026-12-01T08:15:00\"},"
+        + "\"arrival\": {\"iataCode\": \"BOS\", \"at\": \"2026-12-01T09:35:00\"},"
+        + "\"number\": \"2187\", \"duration\": \"PT1H20M\"}]}],"
+        + "\"price\": {\"total\": \"100.00\"}}], \"dictionaries\": {}}";
+    List<String> fallbackCodes = new ArrayList<>();
+    List<FlightDTO> mapped = new ArrayList<>();
+
+    FlightOfferMapper.map(FlightOfferDecoder.decode(body), code -> {
+      fallbackCodes.add(code);
+      return code;
+    }, mapped::add);
+
+    assertEquals(1, mapped.size());
+    assertNull(mapped.get(0).getAirline());
+    assertEquals("2187", mapped.get(0).getFlightNumber());
+    assertEquals("JFK", mapped.get(0).getDeparture());
+    assertTrue(fallbackCodes.isEmpty());
+  }
+
+  /**
+   * Test that every time of day read at fixed positions equals the parsed and
+   * formatted time, with and without seconds and offsets
+   */
+  @Test
+  void testTimeOfDayMatchesParser() {
+    for (int minute = 0; minute < 24 * 60; minute++) {
+      String time = String.format("%02d:%02d", minute / 60, minute % 60);
+      for (String dateTime : List.of("2026-12-01T" + time + ":00", "2026-12-01T" + time,
+          "2026-12-01T" + time + ":59+05:30", "2026-12-01T" + time + ":00Z")) {
+        assertEquals(previousTimeOfDay(dateTime), FlightOfferMapper.timeOfDay(dateTime), dateTime);
+      }
+    }
+    assertEquals("N/A", FlightOfferMapper.timeOfDay(null));
+    assertEquals("N/A", FlightOfferMapper.timeOfDay(""));
+    assertEquals("N/A", FlightOfferMapper.timeOfDay("garbage"));
+    assertEquals("25:61", FlightOfferMapper.timeOfDay("2026-12-01T25:61:00"));
+  }
+
+  /**
+   * Test that durations read digit by digit equal Duration.parse, and that
+   * other forms fall back to it
+   */
+  @Test
+  void testDurationMinutesMatchesParser() {
+    for (int hours = 0; hours <= 60; hours++) {
+      for (int minutes = 0; minutes < 60; minutes++) {
+        String duration = "PT" + (hours > 0 ? hours + "H" : "") + (minutes > 0 || hours == 0 ? minutes + "M" : "");
+        assertEquals(previousDurationMinutes(duration), FlightOfferMapper.durationMinutes(duration), duration);
+      }
+    }
+    for (String duration : List.of("P1DT2H30M", "PT1H30M15S", "PT90M", "PT1H", "PT0M", "P2D", "PT", "PTM",
+        "PT1M2H", "PT1H2", "pt1h", "PT-5M", "")) {
+      assertEquals(previousDurationMinutes(duration), FlightOfferMapper.durationMinutes(duration), duration);
+    }
+    assertNull(FlightOfferMapper.durationMinutes(null));
+  }
+
+  /**
+   * The SDK-based mapping used before the streaming decoder, applied to the
+   * parsed JSON tree the SDK bound its objects from.
+   */
+  private static List<FlightDTO> previousMapping(JsonObject response) {
+    JsonObject dictionaries = response.getAsJsonObject("dictionaries");
+    List<FlightDTO> flights = new ArrayList<>();
+    JsonArray offers = response.getAsJsonArray("data");
+    for (int offerIndex = 0; offerIndex < offers.size(); offerIndex++) {
+      JsonObject offer = offers.get(offerIndex).getAsJsonObject();
+      double price = Double.parseDouble(offer.getAsJsonObject("price").get("total").getAsString());
+      JsonArray itineraries = offer.getAsJsonArray("itineraries");
+      for (int itineraryIndex = 0; itineraryIndex < itineraries.size(); itineraryIndex++) {
+        for (JsonElement element : itineraries.get(itineraryIndex).getAsJsonObject().getAsJsonArray("segments")) {
+          JsonObject segment = element.getAsJsonObject();
+          FlightDTO dto = new FlightDTO();
+          dto.setOfferIndex(offerIndex);
+          dto.setItineraryIndex(itineraryIndex);
+
+          String airlineCode = segment.get("carrierCode").getAsString();
+          String airlineName = lookup(dictionaries, "carriers", airlineCode);
+          dto.setAirline(airlineName != null ? airlineName : airlineCode);
+          dto.setFlightNumber(airlineCode + segment.get("number").getAsString());
+
+          dto.setDeparture(segment.getAsJsonObject("departure").get("iataCode").getAsString());
+          dto.setArrival(segment.getAsJsonObject("arrival").get("iataCode").getAsString());
+          dto.setDepartureCity(cityCode(dictionaries, dto.getDeparture()));
+          dto.setArrivalCity(cityCode(dictionaries, dto.getArrival()));
+          if (segment.has("aircraft")) {
+            dto.setAircraft(lookup(dictionaries, "aircraft", segment.getAsJsonObject("aircraft").get("code").getAsString()));
+          }
+
+          dto.setDepartureTime(previousTimeOfDay(segment.getAsJsonObject("departure").get("at").getAsString()));
+          dto.setArrivalTime(previousTimeOfDay(segment.getAsJsonObject("arrival").get("at").getAsString()));
+          dto.setDurationMinutes(previousDurationMinutes(segment.get("duration").getAsString()));
+
+          dto.setPrice(price);
+          flights.add(dto);
+        }
+      }
+    }
+    return flights;
+  }
+
+  private static String lookup(JsonObject dictionaries, String section, String code) {
+    JsonElement value = dictionaries.getAsJsonObject(section).get(code);
+    return value == null ? null : value.getAsString();
+  }
+
+  private static String cityCode(JsonObject dictionaries, String airport) {
+    JsonElement location = dictionaries.getAsJsonObject("locations").get(airport);
+    return location == null ? null : location.getAsJsonObject().get("cityCode").getAsString();
+  }
+
+  private static String previousTimeOfDay(String dateTime) {
+    try {
+      return ZonedDateTime.parse(dateTime).format(TIME_FORMAT);
+    } catch (DateTimeParseException e1) {
+      try {
+        return LocalDateTime.parse(dateTime).format(TIME_FORMAT);
+      } catch (DateTimeParseException e2) {
+        return dateTime.substring(11, 16);
+      }
+    }
+  }
+
+  private static Integer previousDurationMinutes(String duration) {
+    if (duration == null || duration.isEmpty()) {
+      return null;
+    }
+    try {
+      return (int) Duration.parse(duration).toMinutes();
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package com.__final_backend.backend.test.unit.service.amadeus;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.service.amadeus.AmadeusCallMetrics;
+import com.__final_backend.backend.service.amadeus.AmadeusCallScheduler;
+import com.__final_backend.backend.service.amadeus.AmadeusCircuitBreaker;
+import com.__final_backend.backend.service.amadeus.HedgedAmadeusCaller;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HedgedAmadeusCaller
+ * Tests that slow calls are hedged once enough latencies are known, and only
+ * within the hedge budget
+ */
+class HedgedAmadeusCallerTest {
+
+  private static final AmadeusCallMetrics.Operation SEARCH = AmadeusCallMetrics.Operation.FLIGHT_OFFERS;
+
+  private final FlightSearchProperties properties = new FlightSearchProperties();
+  private final ThreadPoolTaskExecutor hedgeExecutor = new ThreadPoolTaskExecutor();
+  private AmadeusCallScheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    properties.getRateLimit().setPermitsPerSecond(1000);
+    properties.getRateLimit().setBurst(100);
+    properties.getHedging().setEnabled(true);
+    properties.getHedging().setMinDelay(Duration.ofMillis(50));
+    properties.getHedging().setBudgetPercent(100);
+    hedgeExecutor.setCorePoolSize(4);
+    hedgeExecutor.setMaxPoolSize(4);
+    hedgeExecutor.setQueueCapacity(0);
+    hedgeExecutor.initialize();
+    scheduler = new AmadeusCallScheduler(properties, new AmadeusCircuitBreaker(properties),
+        new AmadeusCallMetrics(new SimpleMeterRegistry()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    hedgeExecutor.shutdown();
+  }
+
+  /**
+   * Test that a call slower than the hedge delay is answered by the hedge
+   */
+  @Test
+  void testSlowCallIsHedged() throws Exception {
+    HedgedAmadeusCaller caller = caller();
+    warmUp(caller);
+    AtomicInteger attempts = new AtomicInteger();
+
+    long start = System.nanoTime();
+    String result = caller.execute(SEARCH, () -> {
+      if (attempts.incrementAndGet() == 1) {
+        pause(2000);
+        return "primary";
+      }
+      return "hedge";
+    });
+
+    assertEquals("hedge", result);
+    assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000),
+        "The hedge should answer before the slow primary call");
+    assertEquals(1L, caller.describe().get("hedges"));
+  }
+
+  /**
+   * Test that no hedge is sent when the budget allows none
+   */
+  @Test
+  void testNoHedgeWithoutBudget() throws Exception {
+    properties.getHedging().setBudgetPercent(0);
+    HedgedAmadeusCaller caller = caller();
+    warmUp(caller);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = caller.execute(SEARCH, () -> {
+      attempts.incrementAndGet();
+      pause(200);
+      return "primary";
+    });
+
+    assertEquals("primary", result);
+    assertEquals(1, attempts.get());
+    assertEquals(0L, caller.describe().get("hedges"));
+  }
+
+  /**
+   * Test that calls are not hedged before enough latencies are recorded, and
+   * that with hedging disabled calls run on the calling thread
+   */
+  @Test
+  void testNoHedgeWithoutSamplesOrWhenDisabled() throws Exception {
+    HedgedAmadeusCaller caller = caller();
+    AtomicInteger attempts = new AtomicInteger();
+
+    caller.execute(SEARCH, () -> {
+      attempts.incrementAndGet();
+      pause(200);
+      return "primary";
+    });
+    assertEquals(1, attempts.get());
+
+    properties.getHedging().setEnabled(false);
+    HedgedAmadeusCaller disabled = caller();
+    assertSame(Thread.currentThread(), disabled.execute(SEARCH, Thread::currentThread));
+    assertEquals(0L, disabled.describe().get("hedges"));
+  }
+
+  /**
+   * Test that the failure is rethrown when both the call and its hedge fail
+   */
+  @Test
+  void testFailureWhenBothAttemptsFail() throws Exception {
+    HedgedAmadeusCaller caller = caller();
+    warmUp(caller);
+
+    IllegalStateException error = assertThrows(IllegalStateException.class, () -> caller.execute(SEARCH, () -> {
+      pause(100);
+      throw new IllegalStateException("bad response");
+    }));
+    assertEquals("bad response", error.getMessage());
+  }
+
+  private HedgedAmadeusCaller caller() {
+    return new HedgedAmadeusCaller(scheduler, hedgeExecutor, properties);
+  }
+
+  private static void pause(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void warmUp(HedgedAmadeusCaller caller) throws Exception {
+    for (int i = 0; i < 20; i++) {
+      caller.execute(SEARCH, () -> "warm-up");
+    }
+  }
+}
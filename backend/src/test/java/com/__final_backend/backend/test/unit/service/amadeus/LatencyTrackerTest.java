@@ -0,0 +1,59 @@
+package com.__final_backend.backend.test.unit.service.amadeus;
+
+import com.__final_backend.backend.service.amadeus.LatencyTracker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyTracker
+ * Tests percentiles over the window and the replacement of old samples
+ */
+class LatencyTrackerTest {
+
+  /**
+   * Test percentiles of a full window of known samples
+   */
+  @Test
+  void testPercentiles() {
+    LatencyTracker tracker = new LatencyTracker(100);
+    for (int i = 100; i >= 1; i--) {
+      tracker.record(i);
+    }
+
+    assertEquals(100, tracker.size());
+    assertEquals(50, tracker.percentile(50));
+    assertEquals(95, tracker.percentile(95));
+    assertEquals(100, tracker.percentile(100));
+    assertEquals(1, tracker.percentile(0));
+  }
+
+  /**
+   * Test that an empty tracker reports no percentile
+   */
+  @Test
+  void testEmptyTracker() {
+    LatencyTracker tracker = new LatencyTracker(10);
+
+    assertEquals(0, tracker.size());
+    assertEquals(-1, tracker.percentile(95));
+  }
+
+  /**
+   * Test that once the window is full the oldest samples are replaced, so the
+   * percentile follows recent latencies
+   */
+  @Test
+  void testOldSamplesAreReplaced() {
+    LatencyTracker tracker = new LatencyTracker(4);
+    for (int i = 0; i < 4; i++) {
+      tracker.record(1_000);
+    }
+    for (int i = 0; i < 4; i++) {
+      tracker.record(10);
+    }
+
+    assertEquals(4, tracker.size());
+    assertEquals(10, tracker.percentile(100));
+  }
+}
@@ -0,0 +1,168 @@
+package com.__final_backend.backend.test.unit.service.amadeus.stub;
+
+import com.__final_backend.backend.config.AmadeusStubProperties;
+import com.__final_backend.backend.service.amadeus.stub.AmadeusStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AmadeusStubServer
+ * Tests the latency distribution, the injected 429 and 500 rates, the
+ * requests-per-second limit and the validation of search parameters
+ */
+class AmadeusStubServerTest {
+
+  private static final String SEARCH = "/v2/shopping/flight-offers?originLocationCode=JFK"
+      + "&destinationLocationCode=LHR&departureDate=2026-12-01&adults=1&max=5";
+
+  private final AmadeusStubProperties settings = new AmadeusStubProperties();
+  private final HttpClient client = HttpClient.newHttpClient();
+  private AmadeusStubServer stub;
+
+  @BeforeEach
+  void setUp() {
+    // No delay unless a test asks for one
+    settings.setLatencyMedian(Duration.ofNanos(1));
+    settings.setLatencyP99(Duration.ofNanos(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (stub != null) {
+      stub.stop();
+    }
+  }
+
+  /**
+   * Test that sampled latencies have the configured median and 99th
+   * percentile
+   */
+  @Test
+  void testLatencyFollowsConfiguredQuantiles() {
+    settings.setLatencyMedian(Duration.ofMillis(150));
+    settings.setLatencyP99(Duration.ofMillis(1200));
+    AmadeusStubServer sampler = new AmadeusStubServer(settings);
+
+    long[] samples = new long[50_000];
+    for (int i = 0; i < samples.length; i++) {
+      samples[i] = sampler.sampleLatencyNanos();
+    }
+    Arrays.sort(samples);
+
+    double median = samples[samples.length / 2] / 1e6;
+    double p99 = samples[(int) (samples.length * 0.99)] / 1e6;
+    assertEquals(150, median, 150 * 0.05, "median ms");
+    assertEquals(1200, p99, 1200 * 0.10, "p99 ms");
+  }
+
+  /**
+   * Test that roughly the configured share of requests is answered with 429
+   */
+  @Test
+  void testTooManyRequestsRate() throws Exception {
+    settings.setTooManyRequestsRate(0.3);
+    start();
+
+    int throttled = 0;
+    for (int i = 0; i < 200; i++) {
+      if (get(SEARCH).statusCode() == 429) {
+        throttled++;
+      }
+    }
+
+    assertEquals(60, throttled, 25);
+    assertEquals((long) throttled, stub.describe().get("throttled"));
+    assertEquals(200L - throttled, stub.describe().get("served"));
+  }
+
+  /**
+   * Test that roughly the configured share of requests fails with 500 in the
+   * API's error format
+   */
+  @Test
+  void testServerErrorRate() throws Exception {
+    settings.setErrorRate(0.2);
+    start();
+
+    int failed = 0;
+    for (int i = 0; i < 200; i++) {
+      HttpResponse<String> response = get(SEARCH);
+      if (response.statusCode() == 500) {
+        assertTrue(response.body().contains("\"errors\""), response.body());
+        failed++;
+      }
+    }
+
+    assertEquals(40, failed, 20);
+    assertEquals((long) failed, stub.describe().get("serverErrors"));
+  }
+
+  /**
+   * Test that requests beyond the per-second limit are answered with 429
+   * straight away
+   */
+  @Test
+  void testRequestsPerSecondLimit() throws Exception {
+    settings.setMaxRequestsPerSecond(5);
+    start();
+
+    int ok = 0;
+    int throttled = 0;
+    long firstSecond = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+    for (int i = 0; i < 30; i++) {
+      int status = get(SEARCH).statusCode();
+      if (status == 200) {
+        ok++;
+      } else if (status == 429) {
+        throttled++;
+      }
+    }
+    long windows = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime()) - firstSecond + 1;
+
+    // The burst may span several one-second windows on a slow machine
+    assertTrue(ok >= 5 && ok <= 5 * windows, "served " + ok + " in " + windows + " windows");
+    assertTrue(throttled > 0);
+    assertEquals(30, ok + throttled);
+  }
+
+  /**
+   * Test that a search missing a mandatory parameter is rejected with 400
+   * naming the parameter
+   */
+  @Test
+  void testMissingMandatoryParameterIsRejected() throws Exception {
+    start();
+
+    HttpResponse<String> response = get("/v2/shopping/flight-offers?originLocationCode=JFK"
+        + "&destinationLocationCode=LHR&departureDate=2026-12-01");
+
+    assertEquals(400, response.statusCode());
+    assertTrue(response.body().contains("MANDATORY DATA MISSING"), response.body());
+    assertTrue(response.body().contains("adults"), response.body());
+    assertEquals(200, get(SEARCH).statusCode());
+  }
+
+  private void start() throws IOException {
+    stub = new AmadeusStubServer(settings);
+    stub.start();
+  }
+
+  private HttpResponse<String> get(String pathAndQuery) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + stub.getPort() + pathAndQuery))
+        .GET()
+        .build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+}
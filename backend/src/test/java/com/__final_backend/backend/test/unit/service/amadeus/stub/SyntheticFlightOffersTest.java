@@ -0,0 +1,117 @@
+package com.__final_backend.backend.test.unit.service.amadeus.stub;
+
+import com.__final_backend.backend.service.amadeus.FlightOfferDecoder;
+import com.__final_backend.backend.service.amadeus.FlightOfferDecoder.DecodedOffers;
+import com.__final_backend.backend.service.amadeus.stub.SyntheticFlightOffers;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SyntheticFlightOffers
+ * Tests that generated responses decode through FlightOfferDecoder like real
+ * ones, and that they are deterministic and sorted by price
+ */
+class SyntheticFlightOffersTest {
+
+  /**
+   * Test that a round-trip response decodes into offers with an outbound and
+   * a return itinerary whose carriers, aircraft and cities are all in the
+   * dictionaries
+   */
+  @Test
+  void testResponseDecodes() {
+    Map<String, String> params = params("JFK", "LHR");
+    params.put("returnDate", "2026-12-08");
+
+    DecodedOffers decoded = FlightOfferDecoder.decode(SyntheticFlightOffers.search(params, 20));
+
+    assertEquals(20, decoded.getOfferCount());
+    for (FlightOfferDecoder.Segment segment : decoded.getSegments()) {
+      assertNotNull(segment.getCarrierCode());
+      assertNotNull(decoded.getDictionaries().getCarrierName(segment.getCarrierCode()), segment.getCarrierCode());
+      assertNotNull(decoded.getDictionaries().getAircraftName(segment.getAircraftCode()));
+      assertNotNull(decoded.getDictionaries().getCityCode(segment.getDepartureIataCode()));
+      assertNotNull(segment.getNumber());
+      assertNotNull(segment.getDuration());
+      assertNotNull(segment.getPrice());
+    }
+    List<FlightOfferDecoder.Segment> first = segmentsOf(decoded, 0);
+    assertEquals("JFK", first.get(0).getDepartureIataCode());
+    assertEquals(2, first.stream().mapToInt(FlightOfferDecoder.Segment::getItineraryIndex).distinct().count());
+    assertEquals("LHR", first.stream().filter(segment -> segment.getItineraryIndex() == 1).findFirst()
+        .orElseThrow().getDepartureIataCode());
+  }
+
+  /**
+   * Test that offers are sorted by price and that the same search always
+   * returns the same body
+   */
+  @Test
+  void testOffersAreSortedAndDeterministic() {
+    String body = SyntheticFlightOffers.search(params("JFK", "CDG"), 50);
+
+    DecodedOffers decoded = FlightOfferDecoder.decode(body);
+    double previous = 0;
+    for (int offer = 0; offer < decoded.getOfferCount(); offer++) {
+      double price = segmentsOf(decoded, offer).get(0).getPrice();
+      assertTrue(price >= previous, "offer " + offer);
+      previous = price;
+    }
+    assertEquals(body, SyntheticFlightOffers.search(params("JFK", "CDG"), 50));
+  }
+
+  /**
+   * Test that the requested max and the configured limit both cap the number
+   * of offers
+   */
+  @Test
+  void testOfferCountIsCapped() {
+    Map<String, String> params = params("JFK", "LHR");
+    params.put("max", "7");
+
+    assertEquals(7, FlightOfferDecoder.decode(SyntheticFlightOffers.search(params, 20)).getOfferCount());
+    assertEquals(3, FlightOfferDecoder.decode(SyntheticFlightOffers.search(params, 3)).getOfferCount());
+  }
+
+  /**
+   * Test that an airline reference response names every requested code
+   */
+  @Test
+  void testAirlinesResponse() {
+    JsonObject response = JsonParser.parseString(SyntheticFlightOffers.airlines(List.of("BA", "QQ")))
+        .getAsJsonObject();
+
+    assertEquals(2, response.getAsJsonArray("data").size());
+    JsonObject ba = response.getAsJsonArray("data").get(0).getAsJsonObject();
+    assertEquals("BA", ba.get("iataCode").getAsString());
+    assertEquals("BRITISH AIRWAYS", ba.get("commonName").getAsString());
+    assertEquals("QQ", response.getAsJsonArray("data").get(1).getAsJsonObject().get("iataCode").getAsString());
+  }
+
+  private static Map<String, String> params(String origin, String destination) {
+    Map<String, String> params = new HashMap<>();
+    params.put("originLocationCode", origin);
+    params.put("destinationLocationCode", destination);
+    params.put("departureDate", "2026-12-01");
+    params.put("adults", "2");
+    return params;
+  }
+
+  private static List<FlightOfferDecoder.Segment> segmentsOf(DecodedOffers decoded, int offerIndex) {
+    List<FlightOfferDecoder.Segment> segments = new ArrayList<>();
+    for (FlightOfferDecoder.Segment segment : decoded.getSegments()) {
+      if (segment.getOfferIndex() == offerIndex) {
+        segments.add(segment);
+      }
+    }
+    return segments;
+  }
+}
@@ -0,0 +1,130 @@
+package com.__final_backend.backend.test.unit.service.cache;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.service.cache.AirlineNameCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AirlineNameCache
+ * Tests the separate TTLs of resolved and missing codes, the size bound and
+ * the published metrics
+ */
+class AirlineNameCacheTest {
+
+  private final FlightSearchProperties properties = new FlightSearchProperties();
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker = nanos::get;
+
+  @BeforeEach
+  void setUp() {
+    properties.getAirlines().setCacheTtl(Duration.ofHours(48));
+    properties.getAirlines().setNegativeCacheTtl(Duration.ofHours(1));
+  }
+
+  /**
+   * Test that a resolved name is returned, a missing code is returned as the
+   * code itself and an unknown code is not cached
+   */
+  @Test
+  void testPositiveNegativeAndUnknownCodes() {
+    AirlineNameCache cache = new AirlineNameCache(properties, ticker);
+    cache.putName("BA", "British Airways");
+    cache.putMissing("ZZ");
+
+    assertEquals("British Airways", cache.get("BA"));
+    assertEquals("ZZ", cache.get("ZZ"));
+    assertNull(cache.get("AA"));
+    assertEquals(Set.of("BA"), cache.resolvedCodes());
+  }
+
+  /**
+   * Test that a missing code expires after the short negative TTL while a
+   * resolved name stays until the long TTL
+   */
+  @Test
+  void testNegativeEntriesExpireBeforeNames() {
+    AirlineNameCache cache = new AirlineNameCache(properties, ticker);
+    cache.putName("BA", "British Airways");
+    cache.putMissing("ZZ");
+
+    advance(Duration.ofMinutes(61));
+    assertNull(cache.get("ZZ"));
+    assertEquals("British Airways", cache.get("BA"));
+
+    advance(Duration.ofHours(47));
+    assertNull(cache.get("BA"));
+  }
+
+  /**
+   * Test that resolving a code that was recorded as missing gives it the long
+   * TTL
+   */
+  @Test
+  void testResolvedCodeGetsLongTtl() {
+    AirlineNameCache cache = new AirlineNameCache(properties, ticker);
+    cache.putMissing("XQ");
+    cache.putName("XQ", "SunExpress");
+
+    advance(Duration.ofHours(2));
+
+    assertEquals("SunExpress", cache.get("XQ"));
+  }
+
+  /**
+   * Test that the cache holds no more than the configured number of codes
+   */
+  @Test
+  void testMaximumSizeIsEnforced() throws InterruptedException {
+    properties.getAirlines().setCacheMaximumSize(10);
+    AirlineNameCache cache = new AirlineNameCache(properties, ticker);
+
+    for (int i = 0; i < 100; i++) {
+      cache.putName("C" + i, "Carrier " + i);
+    }
+
+    // Eviction runs in Caffeine's background maintenance
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (cache.resolvedCodes().size() > 10 && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertTrue(cache.resolvedCodes().size() <= 10);
+    assertTrue(cache.stats().evictionCount() >= 90);
+  }
+
+  /**
+   * Test that hits and misses are published under the airlineNames cache
+   * name, along with the hit ratio
+   */
+  @Test
+  void testMetricsAreBound() {
+    AirlineNameCache cache = new AirlineNameCache(properties, ticker);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+    cache.putName("BA", "British Airways");
+
+    cache.get("BA");
+    cache.get("BA");
+    cache.get("AA");
+
+    assertEquals(2.0, registry.get("cache.gets").tag("cache", "airlineNames").tag("result", "hit")
+        .functionCounter().count());
+    assertEquals(1.0, registry.get("cache.gets").tag("cache", "airlineNames").tag("result", "miss")
+        .functionCounter().count());
+    assertEquals(2.0 / 3, registry.get("cache.hit.ratio").tag("cache", "airlineNames").gauge().value(), 1e-9);
+    assertEquals(2L, cache.describe().get("hits"));
+  }
+
+  private void advance(Duration duration) {
+    nanos.addAndGet(duration.toNanos());
+  }
+}
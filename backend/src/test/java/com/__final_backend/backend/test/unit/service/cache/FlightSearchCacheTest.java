@@ -0,0 +1,203 @@
+package com.__final_backend.backend.test.unit.service.cache;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.service.cache.FlightSearchCache;
+import com.__final_backend.backend.service.cache.FlightSearchKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightSearchCache and FlightSearchKey
+ * Tests key normalization, fresh and stale lookups, disabling the cache and
+ * the published metrics
+ */
+class FlightSearchCacheTest {
+
+
+  /**
+   * Test that hits and misses are published under the flightSearch cache
+   * name, along with the hit ratio, and that peeking is not counted
+   */
+  @Test
+  void testMetricsAreBound() {
+    FlightSearchCache cache = new FlightSearchCache(properties);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+    FlightSearchKey key = FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, null, 1, "one-way");
+    cache.put(key, new ArrayList<>());
+
+    cache.get(key);
+    cache.get(FlightSearchKey.of("JFK", "ORD", TRAVEL_DATE, null, 1, "one-way"));
+    cache.get(key);
+    cache.get(key);
+    cache.peek(key);
+
+    assertEquals(3.0, registry.get("cache.gets").tag("cache", "flightSearch").tag("result", "hit")
+        .functionCounter().count());
+    assertEquals(1.0, registry.get("cache.gets").tag("cache", "flightSearch").tag("result", "miss")
+        .functionCounter().count());
+    assertEquals(0.75, registry.get("cache.hit.ratio").tag("cache", "flightSearch").gauge().value(), 1e-9);
+  }
+  private static final LocalDate TRAVEL_DATE = LocalDate.of(2026, 11, 20);
+  private static final LocalDate RETURN_DATE = LocalDate.of(2026, 11, 27);
+
+  private final FlightSearchProperties properties = new FlightSearchProperties();
+
+  @BeforeEach
+  void setUp() {
+    properties.getCache().setTtl(Duration.ofMinutes(5));
+    properties.getCache().setStaleTtl(Duration.ofHours(1));
+  }
+
+  /**
+   * Test that searches differing only in case, whitespace or an ignored return
+   * date map to the same key
+   */
+  @Test
+  void testEquivalentSearchesShareKey() {
+    FlightSearchKey key = FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, null, 1, "one-way");
+
+    assertEquals(key, FlightSearchKey.of(" jfk", "lax ", TRAVEL_DATE, null, 1, "One-Way"));
+    assertEquals(key.hashCode(), FlightSearchKey.of(" jfk", "lax ", TRAVEL_DATE, null, 1, "One-Way").hashCode());
+    // The return date only matters for round trips
+    assertEquals(key, FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, RETURN_DATE, 1, "one-way"));
+    assertNull(FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, RETURN_DATE, 1, "one-way").getReturnDate());
+  }
+
+  /**
+   * Test that only the exact trip type "round-trip" keeps the return date, so
+   * normalizing the key does not change which searches send one to Amadeus
+   */
+  @Test
+  void testOnlyExactRoundTripKeepsReturnDate() {
+    assertEquals(RETURN_DATE, FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, RETURN_DATE, 1, "round-trip")
+        .getReturnDate());
+    assertNull(FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, RETURN_DATE, 1, "Round-Trip").getReturnDate());
+    assertNull(FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, RETURN_DATE, 1, " round-trip").getReturnDate());
+  }
+
+  /**
+   * Test that searches which produce different Amadeus requests get different
+   * keys
+   */
+  @Test
+  void testDifferentSearchesGetDifferentKeys() {
+    FlightSearchKey key = FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, null, 1, "one-way");
+
+    assertNotEquals(key, FlightSearchKey.of("LAX", "JFK", TRAVEL_DATE, null, 1, "one-way"));
+    assertNotEquals(key, FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE.plusDays(1), null, 1, "one-way"));
+    assertNotEquals(key, FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, null, 2, "one-way"));
+    assertNotEquals(
+        FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, RETURN_DATE, 1, "round-trip"),
+        FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, RETURN_DATE.plusDays(1), 1, "round-trip"));
+  }
+
+  /**
+   * Test that stored results are returned for an equivalent search and that
+   * the stored list cannot be modified
+   */
+  @Test
+  void testPutAndGet() {
+    FlightSearchCache cache = new FlightSearchCache(properties);
+    List<FlightDTO> results = new ArrayList<>(List.of(flight("AA100")));
+
+    List<FlightDTO> stored = cache.put(FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, null, 1, "one-way"), results);
+    results.clear();
+
+    List<FlightDTO> cached = cache.get(FlightSearchKey.of("jfk", "lax", TRAVEL_DATE, null, 1, "one-way"));
+    assertNotNull(cached);
+    assertEquals(1, cached.size());
+    assertEquals("AA100", cached.get(0).getFlightNumber());
+    assertThrows(UnsupportedOperationException.class, () -> stored.add(flight("AA200")));
+    assertNull(cache.get(FlightSearchKey.of("JFK", "SFO", TRAVEL_DATE, null, 1, "one-way")));
+    assertEquals(1, cache.stats().hitCount());
+    assertEquals(1, cache.stats().missCount());
+  }
+
+  /**
+   * Test that peeking finds stored results without counting a hit or miss,
+   * so a cold search re-checked by its loader is counted as one miss
+   */
+  @Test
+  void testPeekIsNotCounted() {
+    FlightSearchCache cache = new FlightSearchCache(properties);
+    FlightSearchKey key = FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, null, 1, "one-way");
+
+    assertNull(cache.get(key));
+    assertNull(cache.peek(key));
+    cache.put(key, List.of(flight("AA100")));
+    assertEquals("AA100", cache.peek(key).get(0).getFlightNumber());
+
+    assertEquals(0, cache.stats().hitCount());
+    assertEquals(1, cache.stats().missCount());
+    assertEquals(1L, cache.describe().get("misses"));
+  }
+
+  /**
+   * Test that results outlive their fresh TTL as stale fallbacks only
+   */
+  @Test
+  void testExpiredResultsRemainAvailableAsStale() throws InterruptedException {
+    properties.getCache().setTtl(Duration.ofMillis(50));
+    FlightSearchCache cache = new FlightSearchCache(properties);
+    FlightSearchKey key = FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, null, 1, "one-way");
+    cache.put(key, List.of(flight("AA100")));
+
+    Thread.sleep(150);
+
+    assertNull(cache.get(key));
+    List<FlightDTO> stale = cache.getStale(key);
+    assertNotNull(stale);
+    assertEquals("AA100", stale.get(0).getFlightNumber());
+  }
+
+  /**
+   * Test that a disabled cache stores nothing but still returns an
+   * unmodifiable copy of the results
+   */
+  @Test
+  void testDisabledCacheStoresNothing() {
+    properties.getCache().setEnabled(false);
+    FlightSearchCache cache = new FlightSearchCache(properties);
+    FlightSearchKey key = FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, null, 1, "one-way");
+
+    List<FlightDTO> stored = cache.put(key, List.of(flight("AA100")));
+
+    assertEquals(1, stored.size());
+    assertNull(cache.get(key));
+    assertNull(cache.getStale(key));
+  }
+
+  /**
+   * Test that invalidating the cache drops fresh and stale entries
+   */
+  @Test
+  void testInvalidateAll() {
+    FlightSearchCache cache = new FlightSearchCache(properties);
+    FlightSearchKey key = FlightSearchKey.of("JFK", "LAX", TRAVEL_DATE, null, 1, "one-way");
+    cache.put(key, List.of(flight("AA100")));
+
+    cache.invalidateAll();
+
+    assertNull(cache.get(key));
+    assertNull(cache.getStale(key));
+  }
+
+  private static FlightDTO flight(String flightNumber) {
+    FlightDTO flight = new FlightDTO();
+    flight.setFlightNumber(flightNumber);
+    flight.setDeparture("JFK");
+    flight.setArrival("LAX");
+    flight.setPrice(199.0);
+    return flight;
+  }
+}
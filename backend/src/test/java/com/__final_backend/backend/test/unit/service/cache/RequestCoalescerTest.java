@@ -0,0 +1,205 @@
+package com.__final_backend.backend.test.unit.service.cache;
+
+import com.__final_backend.backend.service.cache.RequestCoalescer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestCoalescer
+ * Tests that concurrent calls for one key share a single execution and its
+ * outcome, and that followers leave on their own without disturbing it
+ */
+class RequestCoalescerTest {
+
+  private final RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Test that callers arriving while the leader runs receive the leader's
+   * result without running the loader themselves
+   */
+  @Test
+  void testFollowersShareLeaderResult() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+
+    Future<String> leader = executor.submit(() -> coalescer.execute("JFK-LAX", () -> {
+      loads.incrementAndGet();
+      started.countDown();
+      await(release);
+      return "offers";
+    }));
+    assertTrue(started.await(2, TimeUnit.SECONDS));
+    Future<String> first = executor.submit(() -> coalescer.execute("JFK-LAX", () -> {
+      loads.incrementAndGet();
+      return "other";
+    }));
+    Future<String> second = executor.submit(() -> coalescer.execute("JFK-LAX", () -> {
+      loads.incrementAndGet();
+      return "other";
+    }));
+    waitForCoalesced(2);
+    release.countDown();
+
+    assertEquals("offers", leader.get(2, TimeUnit.SECONDS));
+    assertEquals("offers", first.get(2, TimeUnit.SECONDS));
+    assertEquals("offers", second.get(2, TimeUnit.SECONDS));
+    assertEquals(1, loads.get());
+    assertEquals(1, coalescer.getExecutionCount());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  /**
+   * Test that the leader's exception is rethrown, unwrapped, to the leader and
+   * to every follower
+   */
+  @Test
+  void testLeaderExceptionPropagatesToFollowers() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    IllegalStateException failure = new IllegalStateException("Amadeus unavailable");
+
+    Future<String> leader = executor.submit(() -> coalescer.execute("JFK-LAX", () -> {
+      started.countDown();
+      await(release);
+      throw failure;
+    }));
+    assertTrue(started.await(2, TimeUnit.SECONDS));
+    Future<String> follower = executor.submit(() -> coalescer.execute("JFK-LAX", () -> "other"));
+    waitForCoalesced(1);
+    release.countDown();
+
+    ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(2, TimeUnit.SECONDS));
+    ExecutionException followerError = assertThrows(ExecutionException.class,
+        () -> follower.get(2, TimeUnit.SECONDS));
+    assertSame(failure, leaderError.getCause());
+    assertSame(failure, followerError.getCause());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  /**
+   * Test that followers with different maximum waits leave independently: the
+   * one with the shorter wait times out while the leader and the follower
+   * with time left still get the result of the single execution
+   */
+  @Test
+  void testFollowersWithDifferentDeadlines() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+
+    Future<String> leader = executor.submit(() -> coalescer.execute("JFK-LAX", () -> {
+      loads.incrementAndGet();
+      started.countDown();
+      await(release);
+      return "offers";
+    }, Duration.ofMillis(100)));
+    assertTrue(started.await(2, TimeUnit.SECONDS));
+    Future<String> early = executor.submit(() -> coalescer.execute("JFK-LAX", () -> "other",
+        Duration.ofMillis(100)));
+    Future<String> late = executor.submit(() -> coalescer.execute("JFK-LAX", () -> "other",
+        Duration.ofSeconds(5)));
+    waitForCoalesced(2);
+
+    ExecutionException timedOut = assertThrows(ExecutionException.class, () -> early.get(2, TimeUnit.SECONDS));
+    assertInstanceOf(CompletionException.class, timedOut.getCause());
+    assertInstanceOf(TimeoutException.class, timedOut.getCause().getCause());
+    assertFalse(leader.isDone(), "The leader should not be affected by a follower giving up");
+    release.countDown();
+
+    assertEquals("offers", leader.get(2, TimeUnit.SECONDS));
+    assertEquals("offers", late.get(2, TimeUnit.SECONDS));
+    assertEquals(1, loads.get());
+  }
+
+  /**
+   * Test that interrupting a follower ends its wait straight away and leaves
+   * the leader running
+   */
+  @Test
+  void testInterruptedFollowerLeavesWait() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<String> leader = executor.submit(() -> coalescer.execute("JFK-LAX", () -> {
+      started.countDown();
+      await(release);
+      return "offers";
+    }));
+    assertTrue(started.await(2, TimeUnit.SECONDS));
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    CountDownLatch left = new CountDownLatch(1);
+    Future<?> follower = executor.submit(() -> {
+      try {
+        coalescer.execute("JFK-LAX", () -> "other");
+      } catch (RuntimeException e) {
+        failure.set(e);
+      } finally {
+        left.countDown();
+      }
+    });
+    waitForCoalesced(1);
+
+    follower.cancel(true);
+
+    assertTrue(left.await(2, TimeUnit.SECONDS), "The follower should stop waiting when interrupted");
+    assertInstanceOf(CancellationException.class, failure.get());
+    release.countDown();
+    assertEquals("offers", leader.get(2, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Test that a key is released once its execution finishes, so a later call
+   * runs the loader again, and that different keys never coalesce
+   */
+  @Test
+  void testKeyIsReleasedAfterCompletion() {
+    assertEquals("first", coalescer.execute("JFK-LAX", () -> "first"));
+    assertEquals("second", coalescer.execute("JFK-LAX", () -> "second"));
+    assertThrows(IllegalArgumentException.class, () -> coalescer.execute("JFK-LAX", () -> {
+      throw new IllegalArgumentException("bad search");
+    }));
+    assertEquals("third", coalescer.execute("JFK-LAX", () -> "third"));
+    assertEquals("other", coalescer.execute("BOS-SFO", () -> "other"));
+
+    assertEquals(5, coalescer.getExecutionCount());
+    assertEquals(0, coalescer.getCoalescedCount());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  private void waitForCoalesced(long expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (coalescer.getCoalescedCount() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, coalescer.getCoalescedCount());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.__final_backend.backend.test.unit.service.db;
+
+import com.__final_backend.backend.config.DatabaseConfig;
+import com.__final_backend.backend.dto.TrendingRouteDTO;
+import com.__final_backend.backend.service.db.RoutePopularityService;
+import com.__final_backend.backend.service.db.RoutePopularityService.RouteDay;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RoutePopularityService
+ * Runs against the migrated in-memory database to test the running counts and
+ * the trending window
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({RoutePopularityService.class, DatabaseConfig.class})
+class RoutePopularityServiceTest {
+
+  @Autowired
+  private RoutePopularityService routePopularityService;
+
+  /**
+   * Test that increments add up per route and that only days inside the window
+   * are counted
+   */
+  @Test
+  void testTrendingRoutesWithinWindow() {
+    LocalDate today = LocalDate.now();
+    routePopularityService.increment(Map.of(
+        new RouteDay("AMS", "CDG", today), 3L,
+        new RouteDay("LHR", "DXB", today), 2L,
+        new RouteDay("SIN", "HKG", today.minusDays(10)), 50L));
+    routePopularityService.increment(Map.of(
+        new RouteDay("LHR", "DXB", today.minusDays(1)), 4L,
+        new RouteDay("AMS", "CDG", today), 1L));
+
+    // The seed data adds one search each for a few other routes today
+    List<TrendingRouteDTO> trending = routePopularityService.findTrending(7, 2);
+
+    assertEquals(2, trending.size());
+    assertEquals("LHR", trending.get(0).getOrigin());
+    assertEquals("DXB", trending.get(0).getDestination());
+    assertEquals(6, trending.get(0).getSearches());
+    assertEquals("AMS", trending.get(1).getOrigin());
+    assertEquals(4, trending.get(1).getSearches());
+
+    // A wider window reaches the older searches; the limit keeps only the top route
+    List<TrendingRouteDTO> top = routePopularityService.findTrending(30, 1);
+    assertEquals(1, top.size());
+    assertEquals("SIN", top.get(0).getOrigin());
+    assertEquals(50, top.get(0).getSearches());
+  }
+
+  /**
+   * Test that windows and limits outside the allowed range are rejected
+   */
+  @Test
+  void testOutOfRangeArgumentsAreRejected() {
+    assertThrows(IllegalArgumentException.class, () -> routePopularityService.findTrending(0, 10));
+    assertThrows(IllegalArgumentException.class,
+        () -> routePopularityService.findTrending(RoutePopularityService.MAX_DAYS + 1, 10));
+    assertThrows(IllegalArgumentException.class,
+        () -> routePopularityService.findTrending(7, RoutePopularityService.MAX_LIMIT + 1));
+  }
+}
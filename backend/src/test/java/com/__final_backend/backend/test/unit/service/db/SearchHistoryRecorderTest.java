@@ -0,0 +1,227 @@
+package com.__final_backend.backend.test.unit.service.db;
+
+import com.__final_backend.backend.config.FlightSearchProperties;
+import com.__final_backend.backend.service.db.RoutePopularityService;
+import com.__final_backend.backend.service.db.SearchHistoryRecorder;
+import com.__final_backend.backend.service.db.SqlDialect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SearchHistoryRecorder
+ * Tests batching of queued searches, retrying failed batches per search,
+ * dropping when the queue is full and reserving ids on MySQL
+ */
+class SearchHistoryRecorderTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private RoutePopularityService routePopularityService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private final FlightSearchProperties properties = new FlightSearchProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private SearchHistoryRecorder recorder;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    properties.getHistory().setFlushInterval(Duration.ofMillis(50));
+    AtomicLong sequence = new AtomicLong(1);
+    when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+        .thenAnswer(invocation -> sequence.getAndAdd(50));
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (recorder != null) {
+      recorder.stop();
+    }
+  }
+
+  /**
+   * Test that queued searches are inserted in batches no larger than the batch
+   * size
+   */
+  @Test
+  void testSearchesAreWrittenInBatches() throws InterruptedException {
+    properties.getHistory().setBatchSize(3);
+    List<Integer> batchSizes = new ArrayList<>();
+    when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+      synchronized (batchSizes) {
+        batchSizes.add(invocation.<Collection<?>>getArgument(1).size());
+      }
+      return new int[0][];
+    });
+    start();
+
+    for (int i = 0; i < 7; i++) {
+      record();
+    }
+
+    // Searches are counted as written once their batch has committed
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (count("written") < 7 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(7, count("written"));
+    assertEquals(7, count("queued"));
+    synchronized (batchSizes) {
+      assertEquals(7, batchSizes.stream().mapToInt(Integer::intValue).sum());
+      assertTrue(batchSizes.size() >= 3);
+      assertTrue(batchSizes.stream().allMatch(size -> size <= 3));
+    }
+
+    // Every batch also adds its searches to the route counts
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Map<RoutePopularityService.RouteDay, Long>> counts = ArgumentCaptor.forClass(Map.class);
+    verify(routePopularityService, times(batchSizes.size())).increment(counts.capture());
+    assertEquals(7L, counts.getAllValues().stream()
+        .flatMap(batch -> batch.values().stream())
+        .mapToLong(Long::longValue)
+        .sum());
+  }
+
+  /**
+   * Test that a failed batch is retried one search at a time, so only the
+   * search that still fails is lost and only written searches are counted per
+   * route
+   */
+  @Test
+  void testFailedBatchIsRetriedPerSearch() throws InterruptedException {
+    properties.getHistory().setBatchSize(3);
+    properties.getHistory().setFlushInterval(Duration.ofSeconds(1));
+    AtomicInteger singleInserts = new AtomicInteger();
+    when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+      if (invocation.<Collection<?>>getArgument(1).size() > 1) {
+        throw new DataIntegrityViolationException("bad search in batch");
+      }
+      if (singleInserts.incrementAndGet() == 2) {
+        throw new DataIntegrityViolationException("bad search");
+      }
+      return new int[0][];
+    });
+    start();
+
+    for (int i = 0; i < 3; i++) {
+      record();
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (count("written") + count("failed") < 3 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(2, count("written"));
+    assertEquals(1, count("failed"));
+    assertEquals(3, singleInserts.get());
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Map<RoutePopularityService.RouteDay, Long>> counts = ArgumentCaptor.forClass(Map.class);
+    verify(routePopularityService, times(2)).increment(counts.capture());
+    assertEquals(2L, counts.getAllValues().stream()
+        .flatMap(batch -> batch.values().stream())
+        .mapToLong(Long::longValue)
+        .sum());
+  }
+
+  /**
+   * Test that searches are dropped and counted rather than blocking when the
+   * writer is stuck and the queue is full
+   */
+  @Test
+  void testSearchesAreDroppedWhenQueueIsFull() throws InterruptedException {
+    properties.getHistory().setQueueCapacity(2);
+    properties.getHistory().setBatchSize(1);
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+      writing.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return new int[0][];
+    });
+    start();
+
+    // The first search occupies the writer, the next two fill the queue
+    record();
+    assertTrue(writing.await(2, TimeUnit.SECONDS));
+    for (int i = 0; i < 4; i++) {
+      record();
+    }
+
+    assertEquals(3, count("queued"));
+    assertEquals(2, count("dropped"));
+    release.countDown();
+  }
+
+  /**
+   * Test that on MySQL a block of ids is reserved by locking and raising the
+   * sequence row in a transaction of its own
+   */
+  @Test
+  void testIdsAreReservedFromSequenceTableOnMysql() throws InterruptedException {
+    properties.getHistory().setBatchSize(3);
+    when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenReturn(new int[0][]);
+    start(SqlDialect.MYSQL);
+
+    for (int i = 0; i < 3; i++) {
+      record();
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (count("written") < 3 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(3, count("written"));
+    // One block of 50 covers all three searches
+    verify(jdbcTemplate).queryForObject("SELECT next_val FROM flight_searches_seq FOR UPDATE", Long.class);
+    verify(jdbcTemplate).update("UPDATE flight_searches_seq SET next_val = next_val + ?", 50);
+    verify(transactionManager).getTransaction(argThat(definition -> definition != null
+        && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+  }
+
+  private void start() {
+    start(SqlDialect.H2);
+  }
+
+  private void start(SqlDialect dialect) {
+    recorder = new SearchHistoryRecorder(jdbcTemplate, routePopularityService, transactionManager, properties,
+        meterRegistry, dialect);
+    recorder.start();
+  }
+
+  private void record() {
+    recorder.record("testUser", "jfk", "lax", LocalDate.of(2026, 11, 20), null, 1, "one-way");
+  }
+
+  private double count(String outcome) {
+    return meterRegistry.get(SearchHistoryRecorder.RECORDS_METER).tag("outcome", outcome).counter().count();
+  }
+}
@@ -0,0 +1,149 @@
+package com.__final_backend.backend.test.unit.service.query;
+
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.dto.FlightOfferDTO;
+import com.__final_backend.backend.dto.FlightOffersResponseDTO;
+import com.__final_backend.backend.dto.FlightSegmentDTO;
+import com.__final_backend.backend.service.query.FlightOfferGrouper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightOfferGrouper
+ * Tests that segments are folded into offers and itineraries, that names are
+ * replaced by indexes into de-duplicated lookup tables and that staleness is
+ * carried over
+ */
+class FlightOfferGrouperTest {
+
+  /**
+   * Test that the segments of a round trip become one offer with an outbound
+   * and a return itinerary, carrying the price once
+   */
+  @Test
+  void testRoundTripBecomesOneOffer() {
+    FlightOffersResponseDTO response = FlightOfferGrouper.group(List.of(
+        segment(0, 0, "AA10", "JFK", "ORD", "American Airlines", "Boeing 737", 400.0),
+        segment(0, 0, "AA11", "ORD", "LAX", "American Airlines", "Airbus A321", 400.0),
+        segment(0, 1, "AA12", "LAX", "JFK", "American Airlines", "Boeing 737", 400.0),
+        segment(1, 0, "DL20", "JFK", "LAX", "Delta", "Airbus A321", 350.0),
+        segment(1, 1, "DL21", "LAX", "JFK", "Delta", "Airbus A321", 350.0)));
+
+    assertEquals(2, response.getOffers().size());
+    FlightOfferDTO roundTrip = response.getOffers().get(0);
+    assertEquals(400.0, roundTrip.getPrice());
+    assertEquals(2, roundTrip.getItineraries().size());
+    assertEquals(List.of("AA10", "AA11"), numbers(roundTrip.getItineraries().get(0)));
+    assertEquals(List.of("AA12"), numbers(roundTrip.getItineraries().get(1)));
+    FlightSegmentDTO first = roundTrip.getItineraries().get(0).get(0);
+    assertEquals("JFK", first.getDeparture());
+    assertEquals("ORD", first.getArrival());
+    assertEquals(350.0, response.getOffers().get(1).getPrice());
+    assertEquals(Map.of("JFK", "New York", "ORD", "Chicago", "LAX", "Los Angeles"), response.getCities());
+  }
+
+  /**
+   * Test that airline and aircraft names are listed once each, in first-seen
+   * order, and that every segment points at its name by index
+   */
+  @Test
+  void testLookupTablesAreDistinctAndStable() {
+    List<FlightDTO> flights = List.of(
+        segment(0, 0, "AA10", "JFK", "ORD", "American Airlines", "Boeing 737", 400.0),
+        segment(0, 0, "DL11", "ORD", "LAX", "Delta", "Airbus A321", 400.0),
+        segment(1, 0, "AA20", "JFK", "LAX", "American Airlines", "Airbus A321", 350.0),
+        segment(2, 0, "DL30", "JFK", "LAX", "Delta", "Boeing 737", 300.0));
+
+    FlightOffersResponseDTO response = FlightOfferGrouper.group(flights);
+
+    assertEquals(List.of("American Airlines", "Delta"), response.getAirlines());
+    assertEquals(List.of("Boeing 737", "Airbus A321"), response.getAircraft());
+    List<FlightSegmentDTO> segments = segments(response);
+    assertEquals(Arrays.asList(0, 1, 0, 1), segments.stream().map(FlightSegmentDTO::getAirline).toList());
+    assertEquals(Arrays.asList(0, 1, 1, 0), segments.stream().map(FlightSegmentDTO::getAircraft).toList());
+
+    // Grouping the same result again gives the same indexes
+    FlightOffersResponseDTO again = FlightOfferGrouper.group(flights);
+    assertEquals(response.getAirlines(), again.getAirlines());
+    assertEquals(response.getAircraft(), again.getAircraft());
+    assertEquals(segments.stream().map(FlightSegmentDTO::getAirline).toList(),
+        segments(again).stream().map(FlightSegmentDTO::getAirline).toList());
+  }
+
+  /**
+   * Test that a missing airline or aircraft name becomes a null index and is
+   * not added to the lookup tables
+   */
+  @Test
+  void testNullNamesHaveNullIndexes() {
+    FlightOffersResponseDTO response = FlightOfferGrouper.group(List.of(
+        segment(0, 0, "AA10", "JFK", "LAX", null, null, 400.0),
+        segment(1, 0, "DL20", "JFK", "LAX", "Delta", null, 350.0)));
+
+    assertEquals(List.of("Delta"), response.getAirlines());
+    assertTrue(response.getAircraft().isEmpty());
+    List<FlightSegmentDTO> segments = segments(response);
+    assertNull(segments.get(0).getAirline());
+    assertNull(segments.get(0).getAircraft());
+    assertEquals(0, segments.get(1).getAirline());
+    assertNull(segments.get(1).getAircraft());
+  }
+
+  /**
+   * Test that the response is marked stale when the flights came from a stale
+   * cache entry, and fresh otherwise
+   */
+  @Test
+  void testStaleIsPropagated() {
+    FlightDTO fresh = segment(0, 0, "AA10", "JFK", "LAX", "American Airlines", "Boeing 737", 400.0);
+    FlightDTO stale = segment(1, 0, "DL20", "JFK", "LAX", "Delta", "Airbus A321", 350.0);
+    stale.setStale(true);
+
+    assertFalse(FlightOfferGrouper.group(List.of(fresh)).isStale());
+    assertTrue(FlightOfferGrouper.group(List.of(fresh, stale)).isStale());
+    assertFalse(FlightOfferGrouper.group(List.of()).isStale());
+  }
+
+  private static List<FlightSegmentDTO> segments(FlightOffersResponseDTO response) {
+    List<FlightSegmentDTO> segments = new ArrayList<>();
+    for (FlightOfferDTO offer : response.getOffers()) {
+      offer.getItineraries().forEach(segments::addAll);
+    }
+    return segments;
+  }
+
+  private static List<String> numbers(List<FlightSegmentDTO> itinerary) {
+    return itinerary.stream().map(FlightSegmentDTO::getFlightNumber).toList();
+  }
+
+  private static FlightDTO segment(int offerIndex, int itineraryIndex, String flightNumber, String departure,
+      String arrival, String airline, String aircraft, double price) {
+    FlightDTO flight = new FlightDTO();
+    flight.setOfferIndex(offerIndex);
+    flight.setItineraryIndex(itineraryIndex);
+    flight.setFlightNumber(flightNumber);
+    flight.setDeparture(departure);
+    flight.setArrival(arrival);
+    flight.setDepartureCity(city(departure));
+    flight.setArrivalCity(city(arrival));
+    flight.setAirline(airline);
+    flight.setAircraft(aircraft);
+    flight.setPrice(price);
+    return flight;
+  }
+
+  private static String city(String airport) {
+    return switch (airport) {
+      case "JFK" -> "New York";
+      case "ORD" -> "Chicago";
+      case "LAX" -> "Los Angeles";
+      default -> null;
+    };
+  }
+}
@@ -0,0 +1,152 @@
+package com.__final_backend.backend.test.unit.service.query;
+
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.service.query.FlightResultPage;
+import com.__final_backend.backend.service.query.InvalidResultQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightResultPage
+ * Tests cursor paging by offer and the rejection of cursors that do not belong to the
+ * search or result list they are sent with
+ */
+class FlightResultPageTest {
+
+  private static final String SCOPE = "JFK|LAX|2026-11-20|null|1|one-way|price";
+
+  /**
+   * Test paging through a result with cursors until the last page
+   */
+  @Test
+  void testPagesCoverResultOnce() {
+    List<FlightDTO> results = flights(5, 100.0);
+
+    FlightResultPage first = FlightResultPage.of(results, 2, null, SCOPE);
+    FlightResultPage second = FlightResultPage.of(results, 2, first.getNextCursor(), SCOPE);
+    FlightResultPage third = FlightResultPage.of(results, 2, second.getNextCursor(), SCOPE);
+
+    assertEquals(5, first.getTotalCount());
+    assertEquals(List.of("AA0", "AA1"), numbers(first));
+    assertEquals(List.of("AA2", "AA3"), numbers(second));
+    assertEquals(List.of("AA4"), numbers(third));
+    assertNull(third.getNextCursor());
+  }
+
+  /**
+   * Test that round trips with connections are paged by offer, so no offer is
+   * split across pages, and that the total counts offers rather than segments
+   */
+  @Test
+  void testRoundTripsArePagedByOffer() {
+    List<FlightDTO> results = new ArrayList<>();
+    for (int offer = 0; offer < 3; offer++) {
+      results.add(segment(offer, 0, "AA" + offer + "0"));
+      results.add(segment(offer, 0, "AA" + offer + "1"));
+      results.add(segment(offer, 1, "AA" + offer + "2"));
+    }
+
+    FlightResultPage first = FlightResultPage.of(results, 2, null, SCOPE);
+    FlightResultPage second = FlightResultPage.of(results, 2, first.getNextCursor(), SCOPE);
+
+    assertEquals(3, first.getTotalCount());
+    assertEquals(List.of("AA00", "AA01", "AA02", "AA10", "AA11", "AA12"), numbers(first));
+    assertEquals(List.of("AA20", "AA21", "AA22"), numbers(second));
+    assertNull(second.getNextCursor());
+  }
+
+  /**
+   * Test that a cursor is rejected for a different search or query
+   */
+  @Test
+  void testCursorFromAnotherScopeIsRejected() {
+    List<FlightDTO> results = flights(5, 100.0);
+    String cursor = FlightResultPage.of(results, 2, null, SCOPE).getNextCursor();
+
+    InvalidResultQueryException error = assertThrows(InvalidResultQueryException.class,
+        () -> FlightResultPage.of(results, 2, cursor, SCOPE.replace("price", "duration")));
+    assertEquals("Page cursor does not match this search", error.getMessage());
+  }
+
+  /**
+   * Test that a cursor is rejected once the result list it was cut from has
+   * changed, but still accepted for an equal list fetched again
+   */
+  @Test
+  void testCursorForChangedResultsIsRejected() {
+    String cursor = FlightResultPage.of(flights(5, 100.0), 2, null, SCOPE).getNextCursor();
+
+    // The same offers fetched again keep the cursor valid
+    assertEquals(List.of("AA2", "AA3"), numbers(FlightResultPage.of(flights(5, 100.0), 2, cursor, SCOPE)));
+
+    // New prices after the cached result expired
+    assertThrows(InvalidResultQueryException.class,
+        () -> FlightResultPage.of(flights(5, 120.0), 2, cursor, SCOPE));
+
+    // A stale fallback replaced by fresh results with the same offers
+    List<FlightDTO> stale = flights(5, 100.0);
+    stale.forEach(flight -> flight.setStale(true));
+    String staleCursor = FlightResultPage.of(stale, 2, null, SCOPE).getNextCursor();
+    assertThrows(InvalidResultQueryException.class,
+        () -> FlightResultPage.of(flights(5, 100.0), 2, staleCursor, SCOPE));
+  }
+
+  /**
+   * Test that malformed or tampered cursors and out of range page sizes are
+   * rejected
+   */
+  @Test
+  void testMalformedCursorsAreRejected() {
+    List<FlightDTO> results = flights(5, 100.0);
+    String cursor = FlightResultPage.of(results, 2, null, SCOPE).getNextCursor();
+    String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+    assertThrows(InvalidResultQueryException.class, () -> FlightResultPage.of(results, 2, "not base64!", SCOPE));
+    assertThrows(InvalidResultQueryException.class, () -> FlightResultPage.of(results, 2, encode("1:2:abc"), SCOPE));
+    assertThrows(InvalidResultQueryException.class,
+        () -> FlightResultPage.of(results, 2, encode(raw.replaceFirst(":2:", ":-2:")), SCOPE));
+    assertThrows(InvalidResultQueryException.class,
+        () -> FlightResultPage.of(results, 2, encode(raw.replaceFirst(":2:", ":two:")), SCOPE));
+    assertThrows(InvalidResultQueryException.class,
+        () -> FlightResultPage.of(results, 2, encode(raw + "0"), SCOPE));
+    assertThrows(InvalidResultQueryException.class, () -> FlightResultPage.of(results, 0, null, SCOPE));
+    assertThrows(InvalidResultQueryException.class,
+        () -> FlightResultPage.of(results, FlightResultPage.MAX_PAGE_SIZE + 1, null, SCOPE));
+  }
+
+  private static String encode(String raw) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static List<String> numbers(FlightResultPage page) {
+    return page.getFlights().stream().map(FlightDTO::getFlightNumber).toList();
+  }
+
+  private static FlightDTO segment(int offerIndex, int itineraryIndex, String flightNumber) {
+    FlightDTO flight = new FlightDTO();
+    flight.setFlightNumber(flightNumber);
+    flight.setOfferIndex(offerIndex);
+    flight.setItineraryIndex(itineraryIndex);
+    flight.setPrice(300.0 + offerIndex);
+    return flight;
+  }
+
+  private static List<FlightDTO> flights(int count, double price) {
+    List<FlightDTO> flights = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      FlightDTO flight = new FlightDTO();
+      flight.setFlightNumber("AA" + i);
+      flight.setOfferIndex(i);
+      flight.setDepartureTime("08:00");
+      flight.setPrice(price + i);
+      flights.add(flight);
+    }
+    return flights;
+  }
+}
@@ -0,0 +1,181 @@
+package com.__final_backend.backend.test.unit.service.query;
+
+import com.__final_backend.backend.dto.FlightDTO;
+import com.__final_backend.backend.dto.FlightSearchRequestDTO;
+import com.__final_backend.backend.service.query.FlightResultQuery;
+import com.__final_backend.backend.service.query.InvalidResultQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightResultQuery
+ * Tests sorting, filtering, that multi-segment offers are kept whole and the
+ * rejection of invalid options
+ */
+class FlightResultQueryTest {
+
+  private final List<FlightDTO> flights = List.of(
+      flight(0, 0, "AA100", "American Airlines", "08:15", 320.0, 330),
+      flight(1, 0, "BA200", "British Airways", "23:30", 180.0, 420),
+      flight(2, 0, "DL300", "Delta", "13:05", null, 300),
+      flight(3, 0, "AA400", "American Airlines", "05:45", 250.0, 360));
+
+  // Round trips with a connection on the way out
+  private final List<FlightDTO> roundTrips = List.of(
+      flight(0, 0, "AA10", "American Airlines", "07:00", 400.0, 120),
+      flight(0, 0, "AA11", "American Airlines", "10:30", 400.0, 300),
+      flight(0, 1, "UA12", "United Airlines", "22:00", 400.0, 330),
+      flight(1, 0, "DL20", "Delta", "09:00", 350.0, 90),
+      flight(1, 0, "DL21", "Delta", "12:15", 350.0, 280),
+      flight(1, 1, "DL22", "Delta", "06:00", 350.0, 340),
+      flight(2, 0, "BA30", "British Airways", "23:30", 500.0, 420),
+      flight(2, 1, "BA31", "British Airways", "05:00", 500.0, 440));
+
+  /**
+   * Test sorting by price in both directions, with missing prices last
+   */
+  @Test
+  void testSortByPrice() {
+    FlightSearchRequestDTO request = new FlightSearchRequestDTO();
+    request.setSortBy("price");
+
+    assertEquals(List.of("BA200", "AA400", "AA100", "DL300"), numbers(FlightResultQuery.from(request).apply(flights)));
+
+    request.setSortDirection("desc");
+    assertEquals(List.of("AA100", "AA400", "BA200", "DL300"), numbers(FlightResultQuery.from(request).apply(flights)));
+  }
+
+  /**
+   * Test that a query without options returns the flights unchanged and
+   * leaves the input list alone
+   */
+  @Test
+  void testNoOptionsKeepsProviderOrder() {
+    List<FlightDTO> result = FlightResultQuery.from(new FlightSearchRequestDTO()).apply(flights);
+
+    assertEquals(numbers(flights), numbers(result));
+    assertNotSame(flights, result);
+  }
+
+  /**
+   * Test the price, airline and departure window filters together
+   */
+  @Test
+  void testFilters() {
+    FlightSearchRequestDTO request = new FlightSearchRequestDTO();
+    request.setMaxPrice(300.0);
+    request.setAirlines(List.of(" aa ", "BA"));
+
+    assertEquals(List.of("BA200", "AA400"), numbers(FlightResultQuery.from(request).apply(flights)));
+
+    // A window running past midnight
+    request.setDepartureAfter(LocalTime.of(22, 0));
+    request.setDepartureBefore(LocalTime.of(6, 0));
+    assertEquals(List.of("BA200", "AA400"), numbers(FlightResultQuery.from(request).apply(flights)));
+
+    request.setDepartureAfter(LocalTime.of(5, 0));
+    request.setDepartureBefore(LocalTime.of(12, 0));
+    assertEquals(List.of("AA400"), numbers(FlightResultQuery.from(request).apply(flights)));
+  }
+
+  /**
+   * Test that round trips are sorted as whole offers by the offer price or by
+   * the first segment of the outbound itinerary, never splitting an offer
+   */
+  @Test
+  void testRoundTripsAreSortedAsWholeOffers() {
+    FlightSearchRequestDTO request = new FlightSearchRequestDTO();
+    request.setSortBy("price");
+    assertEquals(List.of("DL20", "DL21", "DL22", "AA10", "AA11", "UA12", "BA30", "BA31"),
+        numbers(FlightResultQuery.from(request).apply(roundTrips)));
+
+    // The return legs at 05:00 and 06:00 do not move their offers to the front
+    request.setSortBy("departureTime");
+    request.setSortDirection("desc");
+    assertEquals(List.of("BA30", "BA31", "DL20", "DL21", "DL22", "AA10", "AA11", "UA12"),
+        numbers(FlightResultQuery.from(request).apply(roundTrips)));
+
+    request.setSortBy("duration");
+    request.setSortDirection("asc");
+    assertEquals(List.of("DL20", "DL21", "DL22", "AA10", "AA11", "UA12", "BA30", "BA31"),
+        numbers(FlightResultQuery.from(request).apply(roundTrips)));
+  }
+
+  /**
+   * Test that round trips are filtered as whole offers: by offer price, by any
+   * segment's airline and by the outbound departure time
+   */
+  @Test
+  void testRoundTripsAreFilteredAsWholeOffers() {
+    FlightSearchRequestDTO byPrice = new FlightSearchRequestDTO();
+    byPrice.setMaxPrice(450.0);
+    assertEquals(List.of("AA10", "AA11", "UA12", "DL20", "DL21", "DL22"),
+        numbers(FlightResultQuery.from(byPrice).apply(roundTrips)));
+
+    // United only flies the return leg of the first offer
+    FlightSearchRequestDTO byAirline = new FlightSearchRequestDTO();
+    byAirline.setAirlines(List.of("UA"));
+    assertEquals(List.of("AA10", "AA11", "UA12"), numbers(FlightResultQuery.from(byAirline).apply(roundTrips)));
+
+    FlightSearchRequestDTO byDeparture = new FlightSearchRequestDTO();
+    byDeparture.setDepartureAfter(LocalTime.of(8, 0));
+    byDeparture.setDepartureBefore(LocalTime.of(12, 0));
+    assertEquals(List.of("DL20", "DL21", "DL22"), numbers(FlightResultQuery.from(byDeparture).apply(roundTrips)));
+  }
+
+  /**
+   * Test that unknown sort fields and directions and negative prices are
+   * rejected
+   */
+  @Test
+  void testInvalidOptionsAreRejected() {
+    FlightSearchRequestDTO unknownField = new FlightSearchRequestDTO();
+    unknownField.setSortBy("seats");
+    assertThrows(InvalidResultQueryException.class, () -> FlightResultQuery.from(unknownField));
+
+    FlightSearchRequestDTO unknownDirection = new FlightSearchRequestDTO();
+    unknownDirection.setSortBy("price");
+    unknownDirection.setSortDirection("sideways");
+    assertThrows(InvalidResultQueryException.class, () -> FlightResultQuery.from(unknownDirection));
+
+    FlightSearchRequestDTO negativePrice = new FlightSearchRequestDTO();
+    negativePrice.setMaxPrice(-1.0);
+    assertThrows(InvalidResultQueryException.class, () -> FlightResultQuery.from(negativePrice));
+  }
+
+  /**
+   * Test that equal queries describe themselves identically, whatever the
+   * order of the airline filter
+   */
+  @Test
+  void testCanonicalDescription() {
+    FlightSearchRequestDTO first = new FlightSearchRequestDTO();
+    first.setAirlines(List.of("BA", "AA"));
+    FlightSearchRequestDTO second = new FlightSearchRequestDTO();
+    second.setAirlines(List.of("aa", "ba"));
+
+    assertEquals(FlightResultQuery.from(first).toString(), FlightResultQuery.from(second).toString());
+  }
+
+  private static List<String> numbers(List<FlightDTO> flights) {
+    return flights.stream().map(FlightDTO::getFlightNumber).collect(Collectors.toList());
+  }
+
+  private static FlightDTO flight(int offerIndex, int itineraryIndex, String flightNumber, String airline,
+      String departureTime, Double price, int durationMinutes) {
+    FlightDTO flight = new FlightDTO();
+    flight.setOfferIndex(offerIndex);
+    flight.setItineraryIndex(itineraryIndex);
+    flight.setFlightNumber(flightNumber);
+    flight.setAirline(airline);
+    flight.setDepartureTime(departureTime);
+    flight.setPrice(price);
+    flight.setDurationMinutes(durationMinutes);
+    return flight;
+  }
+}